@@ -0,0 +1,50 @@
+package com.rintisa.benchmark;
+
+import com.rintisa.dao.impl.UsuarioDao;
+import com.rintisa.exception.DatabaseException;
+import com.rintisa.service.impl.UsuarioService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UsuarioService.autenticar completo: búsqueda del usuario, verificación BCrypt y
+ * actualización del último acceso. La verificación BCrypt domina el resultado.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AutenticacionBenchmark {
+
+    private UsuarioService usuarioService;
+    private String usuario;
+
+    @Setup(Level.Trial)
+    public void preparar(BaseDatosBenchmark baseDatos) {
+        usuarioService = new UsuarioService(new UsuarioDao());
+        usuario = baseDatos.usuario;
+    }
+
+    @Benchmark
+    public boolean autenticar() throws DatabaseException {
+        return usuarioService.autenticar(usuario, BaseDatosBenchmark.CLAVE);
+    }
+
+    @Benchmark
+    public boolean autenticarClaveIncorrecta() throws DatabaseException {
+        return usuarioService.autenticar(usuario, "incorrecta");
+    }
+}
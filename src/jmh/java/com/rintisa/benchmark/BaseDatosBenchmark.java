@@ -0,0 +1,91 @@
+package com.rintisa.benchmark;
+
+import com.rintisa.util.GeneradorDatosSinteticos;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Base de datos H2 en memoria, en modo MySQL, con el esquema de los benchmarks y
+ * los datos de {@link GeneradorDatosSinteticos} para un año fijo.
+ *
+ * Cada fork de JMH es una JVM nueva, así que la base se crea y se carga una vez
+ * por fork, antes de la primera iteración. DatabaseConfig se apunta a ella con
+ * las propiedades de sistema db.*, que deben fijarse antes de que se cargue la
+ * clase; por eso ningún benchmark debe tocar un DAO fuera de su método @Setup.
+ *
+ * Los volúmenes se pueden cambiar desde la línea de comandos de JMH, por ejemplo
+ * -p recepciones=100000.
+ */
+@State(Scope.Benchmark)
+public class BaseDatosBenchmark {
+
+    static final String URL = "jdbc:h2:mem:rintisa_benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;"
+        + "DB_CLOSE_DELAY=-1;NON_KEYWORDS=YEAR,VALUE";
+
+    static final String CLAVE = "clave123";
+
+    // Rango fijo de fechas, para que los datos no dependan del día en que se corre
+    static final LocalDateTime INICIO = LocalDate.of(2024, 1, 1).atStartOfDay();
+    static final LocalDateTime FIN = LocalDate.of(2024, 12, 31).atTime(LocalTime.MAX);
+
+    @Param({"50"})
+    public int proveedores;
+
+    @Param({"2000"})
+    public int productos;
+
+    @Param({"20000"})
+    public int recepciones;
+
+    @Param({"5"})
+    public int detallesPorRecepcion;
+
+    /** Usuario generado con la contraseña {@link #CLAVE}. */
+    String usuario;
+
+    @Setup(Level.Trial)
+    public void crear() throws SQLException {
+        System.setProperty("db.url", URL);
+        System.setProperty("db.username", "sa");
+        System.setProperty("db.password", "");
+        System.setProperty("db.pool.minIdle", "1");
+        // Los proxies del monitor de consultas se medirían junto con los DAO
+        System.setProperty("db.monitor.habilitado", "false");
+
+        try (Connection conn = DriverManager.getConnection(URL, "sa", "")) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("DROP ALL OBJECTS");
+                stmt.execute("RUNSCRIPT FROM 'classpath:/esquema-benchmark.sql'");
+            }
+
+            GeneradorDatosSinteticos generador = new GeneradorDatosSinteticos(42,
+                INICIO.toLocalDate(), FIN.toLocalDate());
+            generador.setUsuarios(10);
+            generador.setProveedores(proveedores);
+            generador.setProductos(productos);
+            generador.setRecepciones(recepciones);
+            generador.setDetallesPorRecepcion(detallesPorRecepcion);
+            generador.setAccesos(1000);
+            generador.setClaveUsuarios(CLAVE);
+            generador.generar(conn);
+
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT username FROM usuarios ORDER BY id LIMIT 1")) {
+                rs.next();
+                usuario = rs.getString(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.rintisa.benchmark;
+
+import com.rintisa.dao.impl.ProductoDao;
+import com.rintisa.exception.DatabaseException;
+import com.rintisa.model.Producto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consultas de ProductoDao sin caché ni índice en memoria, es decir, el costo de ir
+ * a la base de datos.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductosBenchmark {
+
+    private ProductoDao dao;
+
+    @Setup(Level.Trial)
+    public void preparar(BaseDatosBenchmark baseDatos) {
+        dao = new ProductoDao();
+    }
+
+    @Benchmark
+    public List<Producto> findAll() throws DatabaseException {
+        return dao.findAll();
+    }
+
+    @Benchmark
+    public List<Producto> buscar() throws DatabaseException {
+        return dao.buscar("aceite");
+    }
+}
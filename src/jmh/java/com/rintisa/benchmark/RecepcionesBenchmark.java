@@ -0,0 +1,75 @@
+package com.rintisa.benchmark;
+
+import com.rintisa.dao.impl.RecepcionMercanciaDao;
+import com.rintisa.exception.DatabaseException;
+import com.rintisa.model.DetalleRecepcion;
+import com.rintisa.model.RecepcionMercancia;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consultas de RecepcionMercanciaDao sobre los datos de {@link BaseDatosBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RecepcionesBenchmark {
+
+    private RecepcionMercanciaDao dao;
+    private int recepciones;
+    private int proveedores;
+
+    @Setup(Level.Trial)
+    public void preparar(BaseDatosBenchmark baseDatos) {
+        dao = new RecepcionMercanciaDao();
+        recepciones = baseDatos.recepciones;
+        proveedores = baseDatos.proveedores;
+    }
+
+    @Benchmark
+    public List<RecepcionMercancia> findAll() throws DatabaseException {
+        return dao.findAll();
+    }
+
+    // Un proveedor en un mes, como el filtro de la pantalla de recepciones
+    @Benchmark
+    public List<RecepcionMercancia> search() throws DatabaseException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDateTime desde = BaseDatosBenchmark.INICIO.plusDays(random.nextInt(335));
+        return dao.search(null, null, 1L + random.nextInt(proveedores), null, desde, desde.plusDays(30));
+    }
+
+    @Benchmark
+    public List<DetalleRecepcion> findDetallesByRecepcionId() throws DatabaseException {
+        return dao.findDetallesByRecepcionId(1L + ThreadLocalRandom.current().nextInt(recepciones));
+    }
+
+    // Todo el año: el rango más pesado del tablero
+    @Benchmark
+    public Map<String, Object> getEstadisticas() throws DatabaseException {
+        return dao.getEstadisticas(BaseDatosBenchmark.INICIO, BaseDatosBenchmark.FIN);
+    }
+
+    @Benchmark
+    public String generateNextNumeroRecepcion() throws DatabaseException {
+        return dao.generateNextNumeroRecepcion();
+    }
+}
@@ -0,0 +1,51 @@
+package com.rintisa.benchmark;
+
+import com.rintisa.dao.impl.RecepcionMercanciaDao;
+import com.rintisa.exception.ReportException;
+import com.rintisa.service.impl.RecepcionMercanciaService;
+import com.rintisa.service.impl.RecepcionReporteService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reporte general de recepciones de todo el año de {@link BaseDatosBenchmark}.
+ *
+ * El libro se escribe en una salida que descarta los bytes, así se mide la
+ * lectura por cursor y la escritura del libro sin el disco. Con -prof gc el
+ * gc.alloc.rate.norm muestra lo que cuesta cada reporte; para comprobar que el
+ * heap no crece con las filas, correr con -p recepciones=1000000 y -jvmArgs -Xmx256m.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReportesBenchmark {
+
+    private RecepcionReporteService reporteService;
+
+    @Setup(Level.Trial)
+    public void preparar(BaseDatosBenchmark baseDatos) {
+        reporteService = new RecepcionReporteService(
+            new RecepcionMercanciaService(new RecepcionMercanciaDao()));
+    }
+
+    @Benchmark
+    public long reporteGeneral() throws ReportException {
+        return reporteService.generarReporteGeneral(
+            BaseDatosBenchmark.INICIO, BaseDatosBenchmark.FIN, OutputStream.nullOutputStream(), null);
+    }
+}
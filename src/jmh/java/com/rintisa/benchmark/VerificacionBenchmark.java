@@ -0,0 +1,92 @@
+package com.rintisa.benchmark;
+
+import com.rintisa.dao.impl.RecepcionMercanciaDao;
+import com.rintisa.exception.DatabaseException;
+import com.rintisa.model.DetalleRecepcion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verificación de una recepción con RecepcionMercanciaDao.updateDetalles, que
+ * actualiza todas sus líneas en un solo lote. La recepción se crea en el
+ * @Setup con {@link #lineas} detalles sobre los datos de {@link BaseDatosBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VerificacionBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int lineas;
+
+    private RecepcionMercanciaDao dao;
+    private List<DetalleRecepcion> detalles;
+    private int vuelta;
+
+    @Setup(Level.Trial)
+    public void preparar(BaseDatosBenchmark baseDatos) throws SQLException, DatabaseException {
+        long recepcionId;
+        try (Connection conn = DriverManager.getConnection(BaseDatosBenchmark.URL, "sa", "")) {
+            // Copia la cabecera de la primera recepción generada
+            try (Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate(
+                    "INSERT INTO recepciones_mercancia (numero_recepcion, numero_documento, fecha, "
+                    + "fecha_recepcion, proveedor_id, usuario_id, usuario_nombre, estado, total) "
+                    + "SELECT 'BENCH-" + lineas + "', numero_documento, fecha, fecha_recepcion, "
+                    + "proveedor_id, usuario_id, usuario_nombre, 'PENDIENTE', 0 "
+                    + "FROM recepciones_mercancia ORDER BY id LIMIT 1",
+                    Statement.RETURN_GENERATED_KEYS);
+                try (ResultSet rs = stmt.getGeneratedKeys()) {
+                    rs.next();
+                    recepcionId = rs.getLong(1);
+                }
+            }
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "INSERT INTO detalle_recepcion (recepcion_id, producto_id, cantidad_esperada, "
+                    + "precio_unitario, estado) VALUES (?, ?, 10, 5.00, 'PENDIENTE')")) {
+                for (int i = 0; i < lineas; i++) {
+                    stmt.setLong(1, recepcionId);
+                    stmt.setLong(2, 1L + i % baseDatos.productos);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+            }
+        }
+
+        dao = new RecepcionMercanciaDao();
+        detalles = dao.findDetallesByRecepcionId(recepcionId);
+    }
+
+    // Cada llamada cambia las cantidades para que todas las filas se escriban
+    @Benchmark
+    public void updateDetalles() throws DatabaseException {
+        vuelta++;
+        for (DetalleRecepcion detalle : detalles) {
+            detalle.setCantidadRecibida(vuelta % 2 == 0 ? detalle.getCantidadEsperada() : vuelta % 10);
+            detalle.setEstado(DetalleRecepcion.EstadoDetalle.VERIFICADO);
+        }
+        dao.updateDetalles(detalles);
+    }
+}
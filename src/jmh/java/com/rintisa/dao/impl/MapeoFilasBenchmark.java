@@ -0,0 +1,128 @@
+package com.rintisa.dao.impl;
+
+import com.rintisa.benchmark.BaseDatosBenchmark;
+import com.rintisa.config.DatabaseConfig;
+import com.rintisa.model.Producto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lectura de filas por nombre de columna frente a lectura por índice con
+ * {@link PlanColumnas}, sobre la misma consulta de productos. Ambas variantes
+ * mapean las mismas columnas que ProductoDao.
+ *
+ * La consulta lee la tabla productos_mapeo, que se llena en el @Setup con
+ * {@link #filas} copias de los productos generados, para medir también
+ * resultados mucho más grandes que el catálogo.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapeoFilasBenchmark {
+
+    private static final String SQL = "SELECT * FROM productos_mapeo ORDER BY nombre";
+
+    private static final PlanColumnas.Columnas COLUMNAS = new PlanColumnas.Columnas(
+        "id", "codigo", "nombre", "descripcion", "unidad_medida", "precio_unitario",
+        "stock_minimo", "stock_actual", "activo", "fecha_registro", "fecha_modificacion");
+
+    @Param({"2000", "100000"})
+    public int filas;
+
+    @Setup(Level.Trial)
+    public void preparar(BaseDatosBenchmark baseDatos) throws SQLException {
+        // Crea la tabla de prueba; de paso el pool queda listo antes del calentamiento
+        try (Connection conn = DatabaseConfig.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP TABLE IF EXISTS productos_mapeo");
+            stmt.execute("CREATE TABLE productos_mapeo AS SELECT * FROM productos WHERE 1 = 0");
+            stmt.execute("INSERT INTO productos_mapeo SELECT r.n, CONCAT('M', r.n), p.nombre, "
+                + "p.descripcion, p.unidad_medida, p.precio_unitario, p.stock_minimo, "
+                + "p.stock_actual, p.activo, p.fecha_registro, p.fecha_modificacion "
+                + "FROM SYSTEM_RANGE(1, " + filas + ") r(n) "
+                + "JOIN productos p ON p.id = MOD(r.n - 1, " + baseDatos.productos + ") + 1");
+            stmt.execute("CREATE INDEX idx_productos_mapeo_nombre ON productos_mapeo (nombre)");
+        }
+    }
+
+    @Benchmark
+    public List<Producto> porNombre() throws SQLException {
+        List<Producto> productos = new ArrayList<>();
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SQL);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                Producto producto = new Producto();
+                producto.setId(rs.getLong("id"));
+                producto.setCodigo(rs.getString("codigo"));
+                producto.setNombre(rs.getString("nombre"));
+                producto.setDescripcion(rs.getString("descripcion"));
+                producto.setUnidadMedida(rs.getString("unidad_medida"));
+                producto.setPrecioUnitario(rs.getDouble("precio_unitario"));
+                producto.setStockMinimo(rs.getInt("stock_minimo"));
+                producto.setStockActual(rs.getInt("stock_actual"));
+                producto.setActivo(rs.getBoolean("activo"));
+                producto.setFechaRegistro(rs.getTimestamp("fecha_registro").toLocalDateTime());
+                Timestamp fechaModificacion = rs.getTimestamp("fecha_modificacion");
+                if (fechaModificacion != null) {
+                    producto.setFechaModificacion(fechaModificacion.toLocalDateTime());
+                }
+                productos.add(producto);
+            }
+        }
+        return productos;
+    }
+
+    @Benchmark
+    public List<Producto> porIndice() throws SQLException {
+        List<Producto> productos = new ArrayList<>();
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SQL);
+             ResultSet rs = stmt.executeQuery()) {
+            int[] columnas = PlanColumnas.indices(SQL, rs, COLUMNAS);
+            while (rs.next()) {
+                int c = 0;
+                Producto producto = new Producto();
+                producto.setId(rs.getLong(columnas[c++]));
+                producto.setCodigo(rs.getString(columnas[c++]));
+                producto.setNombre(rs.getString(columnas[c++]));
+                producto.setDescripcion(rs.getString(columnas[c++]));
+                producto.setUnidadMedida(rs.getString(columnas[c++]));
+                producto.setPrecioUnitario(rs.getDouble(columnas[c++]));
+                producto.setStockMinimo(rs.getInt(columnas[c++]));
+                producto.setStockActual(rs.getInt(columnas[c++]));
+                producto.setActivo(rs.getBoolean(columnas[c++]));
+                producto.setFechaRegistro(rs.getTimestamp(columnas[c++]).toLocalDateTime());
+                Timestamp fechaModificacion = rs.getTimestamp(columnas[c++]);
+                if (fechaModificacion != null) {
+                    producto.setFechaModificacion(fechaModificacion.toLocalDateTime());
+                }
+                productos.add(producto);
+            }
+        }
+        return productos;
+    }
+}
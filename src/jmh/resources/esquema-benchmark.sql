@@ -0,0 +1,108 @@
+-- Esquema mínimo para los benchmarks (H2 en modo MySQL).
+-- Reconstruido a partir de las columnas que leen y escriben los DAO; solo incluye
+-- las tablas que usan los benchmarks.
+
+CREATE TABLE roles (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    nombre VARCHAR(50) NOT NULL UNIQUE,
+    descripcion VARCHAR(255),
+    activo BOOLEAN NOT NULL DEFAULT TRUE
+);
+
+CREATE TABLE usuarios (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    username VARCHAR(50) NOT NULL UNIQUE,
+    password VARCHAR(100) NOT NULL,
+    nombre VARCHAR(100),
+    apellido VARCHAR(100),
+    email VARCHAR(100),
+    activo BOOLEAN NOT NULL DEFAULT TRUE,
+    fecha_creacion TIMESTAMP NOT NULL,
+    ultimo_acceso TIMESTAMP NULL,
+    rol_id BIGINT,
+    FOREIGN KEY (rol_id) REFERENCES roles(id)
+);
+
+CREATE TABLE proveedores (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    codigo VARCHAR(20) NOT NULL UNIQUE,
+    razon_social VARCHAR(200) NOT NULL,
+    ruc VARCHAR(11) UNIQUE,
+    direccion VARCHAR(255),
+    telefono VARCHAR(20),
+    email VARCHAR(100),
+    activo BOOLEAN NOT NULL DEFAULT TRUE
+);
+
+CREATE TABLE productos (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    codigo VARCHAR(20) NOT NULL UNIQUE,
+    nombre VARCHAR(200) NOT NULL,
+    descripcion VARCHAR(500),
+    unidad_medida VARCHAR(20),
+    precio_unitario DECIMAL(12, 2) NOT NULL DEFAULT 0,
+    stock_minimo INT NOT NULL DEFAULT 0,
+    stock_actual INT NOT NULL DEFAULT 0,
+    activo BOOLEAN NOT NULL DEFAULT TRUE,
+    fecha_registro TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    fecha_modificacion TIMESTAMP NULL
+);
+
+CREATE TABLE recepciones_mercancia (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    numero_recepcion VARCHAR(20) NOT NULL UNIQUE,
+    numero_documento VARCHAR(50),
+    numero_orden_compra VARCHAR(50),
+    numero_guia_remision VARCHAR(50),
+    fecha TIMESTAMP NOT NULL,
+    fecha_recepcion TIMESTAMP NOT NULL,
+    proveedor_id BIGINT NOT NULL,
+    usuario_id BIGINT,
+    usuario_nombre VARCHAR(100),
+    responsable_id BIGINT,
+    responsable_nombre VARCHAR(100),
+    estado VARCHAR(20) NOT NULL,
+    total DECIMAL(14, 2) NOT NULL DEFAULT 0,
+    observaciones VARCHAR(500),
+    fecha_creacion TIMESTAMP NULL,
+    usuario_creacion BIGINT,
+    FOREIGN KEY (proveedor_id) REFERENCES proveedores(id)
+);
+
+CREATE INDEX idx_recepciones_fecha ON recepciones_mercancia (fecha_recepcion, id);
+CREATE INDEX idx_recepciones_proveedor ON recepciones_mercancia (proveedor_id);
+-- Filtro por estado con el mismo orden que la paginación por clave
+CREATE INDEX idx_recepciones_estado ON recepciones_mercancia (estado, fecha_recepcion, id);
+
+CREATE TABLE detalle_recepcion (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    recepcion_id BIGINT NOT NULL,
+    producto_id BIGINT NOT NULL,
+    cantidad_esperada INT NOT NULL,
+    cantidad_recibida INT NULL,
+    precio_unitario DECIMAL(12, 2) NOT NULL,
+    estado VARCHAR(20),
+    observaciones VARCHAR(500),
+    FOREIGN KEY (recepcion_id) REFERENCES recepciones_mercancia(id),
+    FOREIGN KEY (producto_id) REFERENCES productos(id)
+);
+
+CREATE INDEX idx_detalle_recepcion ON detalle_recepcion (recepcion_id);
+CREATE INDEX idx_detalle_producto ON detalle_recepcion (producto_id);
+
+CREATE TABLE recepcion_sequence (
+    prefix VARCHAR(10) NOT NULL,
+    year INT NOT NULL,
+    current_value BIGINT NOT NULL,
+    PRIMARY KEY (prefix, year)
+);
+
+CREATE TABLE accesos (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    usuario_id BIGINT NOT NULL,
+    fecha_acceso TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    tipo_acceso VARCHAR(20) NOT NULL,
+    ip_address VARCHAR(45),
+    detalles VARCHAR(255),
+    FOREIGN KEY (usuario_id) REFERENCES usuarios(id)
+);
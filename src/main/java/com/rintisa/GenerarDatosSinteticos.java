@@ -0,0 +1,91 @@
+package com.rintisa;
+
+import com.rintisa.config.DatabaseConfig;
+import com.rintisa.util.GeneradorDatosSinteticos;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Carga datos sintéticos en la base configurada para pruebas de escala.
+ *
+ * Uso: GenerarDatosSinteticos [--recepciones=N] [--detalles=N] [--proveedores=N]
+ *      [--productos=N] [--usuarios=N] [--accesos=N] [--desde=AAAA-MM-DD]
+ *      [--hasta=AAAA-MM-DD] [--semilla=N] [--filas=N] [--clave=texto]
+ *
+ * --detalles es el promedio de líneas por recepción y --filas el número de filas
+ * por sentencia INSERT. Sin fechas genera el último año. Los usuarios creados se
+ * llaman sintetico&lt;id&gt; y comparten la contraseña --clave. Si se usan las tablas
+ * de resumen, ejecutar después ReconstruirResumenEstadisticas.
+ */
+public class GenerarDatosSinteticos {
+    private static final Logger logger = LoggerFactory.getLogger(GenerarDatosSinteticos.class);
+
+    public static void main(String[] args) {
+        int codigo = 0;
+        try {
+            Map<String, String> opciones = leerOpciones(args);
+            LocalDate hasta = opciones.containsKey("hasta")
+                ? LocalDate.parse(opciones.get("hasta")) : LocalDate.now();
+            LocalDate desde = opciones.containsKey("desde")
+                ? LocalDate.parse(opciones.get("desde")) : hasta.minusYears(1);
+
+            GeneradorDatosSinteticos generador = new GeneradorDatosSinteticos(
+                Long.parseLong(opciones.getOrDefault("semilla", "1")), desde, hasta);
+            if (opciones.containsKey("recepciones")) generador.setRecepciones(entero(opciones, "recepciones"));
+            if (opciones.containsKey("detalles")) generador.setDetallesPorRecepcion(entero(opciones, "detalles"));
+            if (opciones.containsKey("proveedores")) generador.setProveedores(entero(opciones, "proveedores"));
+            if (opciones.containsKey("productos")) generador.setProductos(entero(opciones, "productos"));
+            if (opciones.containsKey("usuarios")) generador.setUsuarios(entero(opciones, "usuarios"));
+            if (opciones.containsKey("accesos")) generador.setAccesos(entero(opciones, "accesos"));
+            if (opciones.containsKey("filas")) generador.setFilasPorSentencia(entero(opciones, "filas"));
+            if (opciones.containsKey("clave")) generador.setClaveUsuarios(opciones.get("clave"));
+
+            long inicio = System.nanoTime();
+            Map<String, Long> filas;
+            try (Connection conn = DatabaseConfig.getConexionIndependiente()) {
+                filas = generador.generar(conn);
+            }
+            long segundos = Math.max(1, (System.nanoTime() - inicio) / 1_000_000_000L);
+            long total = filas.values().stream().mapToLong(Long::longValue).sum();
+
+            filas.forEach((tabla, cantidad) -> System.out.println(tabla + ": " + cantidad));
+            System.out.println("Total: " + total + " filas en " + segundos + " s (" + total / segundos + " filas/s)");
+
+        } catch (DateTimeParseException e) {
+            System.err.println("Fecha inválida: " + e.getParsedString() + " (formato AAAA-MM-DD)");
+            codigo = 2;
+        } catch (IllegalArgumentException e) {
+            System.err.println("Argumento inválido: " + e.getMessage());
+            codigo = 2;
+        } catch (Exception e) {
+            logger.error("Error al generar datos sintéticos", e);
+            System.err.println("Error: " + e.getMessage());
+            codigo = 1;
+        } finally {
+            DatabaseConfig.shutdown();
+        }
+        System.exit(codigo);
+    }
+
+    private static Map<String, String> leerOpciones(String[] args) {
+        Map<String, String> opciones = new HashMap<>();
+        for (String arg : args) {
+            int igual = arg.indexOf('=');
+            if (!arg.startsWith("--") || igual < 0) {
+                throw new IllegalArgumentException(arg + " (se espera --opcion=valor)");
+            }
+            opciones.put(arg.substring(2, igual), arg.substring(igual + 1));
+        }
+        return opciones;
+    }
+
+    private static int entero(Map<String, String> opciones, String clave) {
+        return Integer.parseInt(opciones.get(clave).replace("_", ""));
+    }
+}
@@ -2,12 +2,16 @@ package com.rintisa;
 
 import com.rintisa.controller.RolController;
 import com.rintisa.controller.UsuarioController;
+import com.rintisa.dao.impl.ProductoDao;
 import com.rintisa.dao.impl.RolDao;
 import com.rintisa.dao.impl.UsuarioDao;
+import com.rintisa.service.impl.IndiceProductos;
 import com.rintisa.service.impl.RolService;
 import com.rintisa.service.impl.UsuarioService;
 import com.rintisa.view.LoginView;
+import com.rintisa.config.ArranqueAplicacion;
 import com.rintisa.config.DatabaseConfig;
+import com.rintisa.config.VigilanteEdt;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import com.rintisa.util.IconManager;
@@ -19,6 +23,7 @@ import java.awt.*;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.concurrent.CompletableFuture;
 
 import com.rintisa.config.LoggingInitializer;
 
@@ -26,46 +31,55 @@ public class MainApplication {
     private static final Logger logger = LoggerFactory.getLogger(MainApplication.class);
 
     public static void main(String[] args) {
+        ArranqueAplicacion arranque = new ArranqueAplicacion();
         try {
-            // Configurar el sistema de logging
-            System.setProperty("logback.configurationFile", "logback.xml");
-           
-            LogUtils.initializeLogging();
-            logger.info("Iniciando aplicación");
-            
-            // Inicializar logging
-            LoggingInitializer.initializeLogging();
-            LoggingInitializer.logSystemInfo();
-            
-            // Verificar recursos al inicio
-            logger.info("Verificando recursos de la aplicación...");
-            IconManager.listAvailableResources();
-            
-            // Crear directorio de logs si no existe
-            Path logPath = Paths.get("logs");
-            if (!Files.exists(logPath)) {
-                Files.createDirectories(logPath);
-            }
+            // Configurar el sistema de logging; todo lo demás lo usa
+            arranque.paso("logging", () -> {
+                System.setProperty("logback.configurationFile", "logback.xml");
+                LogUtils.initializeLogging();
+                logger.info("Iniciando aplicación");
+
+                LoggingInitializer.initializeLogging();
+                LoggingInitializer.logSystemInfo();
 
-            // Configurar Look and Feel del sistema
-            configureLookAndFeel();
+                // Crear directorio de logs si no existe
+                Path logPath = Paths.get("logs");
+                if (!Files.exists(logPath)) {
+                    Files.createDirectories(logPath);
+                }
+            });
+
+            // Con -Dedt.vigilante=true registra los bloqueos del hilo de eventos
+            VigilanteEdt.instalarSiHabilitado();
 
-            // Iniciar la aplicación
             logger.info("Iniciando Sistema RINTISA");
             logger.info("JVM: {}", System.getProperty("java.version"));
             logger.info("OS: {} {}", 
                 System.getProperty("os.name"), 
                 System.getProperty("os.version"));
 
-            // Verificar conexión a base de datos
-            if (DatabaseConfig.testConnection()) {
+            // Fases independientes en paralelo
+            CompletableFuture<Void> lookAndFeel = arranque.faseEnEdt("look and feel",
+                MainApplication::configureLookAndFeel);
+
+            // El login no la espera: muestra "Conectando..." hasta que el pool esté listo
+            arranque.fase("pool de conexiones", () -> {
+                DatabaseConfig.getListo().join();
                 logger.info("Conexión a base de datos establecida");
-            } else {
-                throw new Exception("No se pudo conectar a la base de datos");
-            }
+                IndiceProductos.getInstancia().cargarEnSegundoPlano(new ProductoDao());
+            });
+
+            // No se espera: si la ventana pide un icono en curso, comparte su conversión
+            arranque.fase("iconos", () -> {
+                logger.info("Verificando recursos de la aplicación...");
+                IconManager.listAvailableResources();
+                logger.info("Iconos precargados: {}", IconManager.precargar());
+            });
+
+            arranque.esperar(lookAndFeel);
 
             // Inicializar la aplicación
-            initializeApplication();
+            initializeApplication(arranque);
 
         } catch (Exception e) {
             logger.error("Error fatal al iniciar la aplicación", e);
@@ -90,7 +104,7 @@ public class MainApplication {
         }
     }
 
-    private static void initializeApplication() {
+    private static void initializeApplication(ArranqueAplicacion arranque) {
         SwingUtilities.invokeLater(() -> {
             try {
                 // Inicializar DAOs
@@ -115,6 +129,8 @@ public class MainApplication {
                 // Mostrar ventana de login
                 LoginView.mostrar(usuarioController);
                 logger.info("Ventana de login mostrada");
+                // mostrar() la crea en otro evento; este corre después de setVisible
+                SwingUtilities.invokeLater(() -> arranque.finalizar("ventana de login"));
 
             } catch (Exception e) {
                 logger.error("Error durante la inicialización", e);
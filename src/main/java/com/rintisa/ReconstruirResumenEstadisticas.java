@@ -0,0 +1,43 @@
+package com.rintisa;
+
+import com.rintisa.config.DatabaseConfig;
+import com.rintisa.dao.impl.ResumenRecepcionesDao;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Reconstruye las tablas de resumen diario de recepciones.
+ *
+ * Uso: ReconstruirResumenEstadisticas [desde AAAA-MM-DD] [hasta AAAA-MM-DD]
+ * Sin argumentos procesa desde la recepción más antigua hasta la más reciente.
+ * Debe ejecutarse una vez antes de habilitar db.estadisticas.resumen, y cada vez
+ * que se modifiquen recepciones fuera de la aplicación.
+ */
+public class ReconstruirResumenEstadisticas {
+    private static final Logger logger = LoggerFactory.getLogger(ReconstruirResumenEstadisticas.class);
+
+    public static void main(String[] args) {
+        int codigo = 0;
+        try {
+            LocalDate desde = args.length > 0 ? LocalDate.parse(args[0]) : null;
+            LocalDate hasta = args.length > 1 ? LocalDate.parse(args[1]) : desde;
+
+            int dias = new ResumenRecepcionesDao().reconstruir(desde, hasta);
+            System.out.println("Resumen reconstruido: " + dias + " días");
+
+        } catch (DateTimeParseException e) {
+            System.err.println("Fecha inválida: " + e.getParsedString() + " (formato AAAA-MM-DD)");
+            codigo = 2;
+        } catch (Exception e) {
+            logger.error("Error al reconstruir el resumen de estadísticas", e);
+            System.err.println("Error: " + e.getMessage());
+            codigo = 1;
+        } finally {
+            DatabaseConfig.shutdown();
+        }
+        System.exit(codigo);
+    }
+}
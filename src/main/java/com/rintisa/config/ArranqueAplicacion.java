@@ -0,0 +1,176 @@
+package com.rintisa.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.SwingUtilities;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Orquesta el arranque de la aplicación: corre en paralelo las fases que no
+ * dependen entre sí y registra cuándo empezó y terminó cada una.
+ *
+ * Los tiempos se miden desde el inicio de la JVM, así la línea de tiempo que
+ * se escribe en el log al llegar a la ventana de login sirve para comparar el
+ * tiempo de arranque entre versiones.
+ */
+public final class ArranqueAplicacion {
+    private static final Logger logger = LoggerFactory.getLogger(ArranqueAplicacion.class);
+
+    private static final int HILOS = 3;
+
+    /** Trabajo de una fase; puede fallar con cualquier excepción. */
+    @FunctionalInterface
+    public interface Paso {
+        void ejecutar() throws Exception;
+    }
+
+    private static final class Registro {
+        final String nombre;
+        final String hilo;
+        final long inicioMs;
+        volatile long finMs = -1;
+        volatile boolean fallo;
+
+        Registro(String nombre, String hilo, long inicioMs) {
+            this.nombre = nombre;
+            this.hilo = hilo;
+            this.inicioMs = inicioMs;
+        }
+    }
+
+    // Instante de inicio de la JVM en la escala de System.nanoTime()
+    private final long origenNanos;
+    private final ExecutorService ejecutor;
+    private final List<Registro> registros = new ArrayList<>();
+    private final List<CompletableFuture<Void>> pendientes = new ArrayList<>();
+
+    public ArranqueAplicacion() {
+        this.origenNanos = System.nanoTime()
+            - TimeUnit.MILLISECONDS.toNanos(ManagementFactory.getRuntimeMXBean().getUptime());
+        AtomicInteger contador = new AtomicInteger();
+        this.ejecutor = Executors.newFixedThreadPool(HILOS, r -> {
+            Thread t = new Thread(r, "arranque-" + contador.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /** Ejecuta una fase en el hilo actual; sirve para las que deben ir primero. */
+    public void paso(String nombre, Paso paso) throws Exception {
+        Registro registro = iniciar(nombre);
+        try {
+            paso.ejecutar();
+        } catch (Exception e) {
+            registro.fallo = true;
+            throw e;
+        } finally {
+            registro.finMs = ahoraMs();
+        }
+    }
+
+    /** Lanza una fase en segundo plano. */
+    public CompletableFuture<Void> fase(String nombre, Paso paso) {
+        CompletableFuture<Void> resultado = new CompletableFuture<>();
+        ejecutor.execute(() -> correr(nombre, paso, resultado));
+        return pendiente(resultado);
+    }
+
+    /** Lanza una fase en el hilo de eventos de Swing, en paralelo con las demás. */
+    public CompletableFuture<Void> faseEnEdt(String nombre, Paso paso) {
+        CompletableFuture<Void> resultado = new CompletableFuture<>();
+        SwingUtilities.invokeLater(() -> correr(nombre, paso, resultado));
+        return pendiente(resultado);
+    }
+
+    /**
+     * Espera a que terminen las fases indicadas.
+     * @throws Exception el error de la primera fase que falló
+     */
+    public void esperar(CompletableFuture<?>... fases) throws Exception {
+        try {
+            CompletableFuture.allOf(fases).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Exception) {
+                throw (Exception) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Registra el hito final del arranque (por ejemplo, la ventana de login
+     * visible). Cuando terminan las fases que siguen en curso, escribe la
+     * línea de tiempo y libera los hilos.
+     */
+    public void finalizar(String hito) {
+        Registro registro = iniciar(hito);
+        registro.finMs = registro.inicioMs;
+
+        CompletableFuture<?>[] fases;
+        synchronized (pendientes) {
+            fases = pendientes.toArray(new CompletableFuture<?>[0]);
+        }
+        CompletableFuture.allOf(fases).whenComplete((r, e) -> {
+            registrarLineaDeTiempo(hito, registro.inicioMs);
+            ejecutor.shutdown();
+        });
+    }
+
+    private void correr(String nombre, Paso paso, CompletableFuture<Void> resultado) {
+        Registro registro = iniciar(nombre);
+        try {
+            paso.ejecutar();
+            registro.finMs = ahoraMs();
+            resultado.complete(null);
+        } catch (Exception e) {
+            registro.fallo = true;
+            registro.finMs = ahoraMs();
+            resultado.completeExceptionally(e);
+        }
+    }
+
+    private CompletableFuture<Void> pendiente(CompletableFuture<Void> fase) {
+        synchronized (pendientes) {
+            pendientes.add(fase);
+        }
+        return fase;
+    }
+
+    private Registro iniciar(String nombre) {
+        Registro registro = new Registro(nombre, Thread.currentThread().getName(), ahoraMs());
+        synchronized (registros) {
+            registros.add(registro);
+        }
+        return registro;
+    }
+
+    private long ahoraMs() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - origenNanos);
+    }
+
+    private void registrarLineaDeTiempo(String hito, long hitoMs) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Arranque: %s a los %d ms del inicio de la JVM", hito, hitoMs));
+        synchronized (registros) {
+            registros.sort((a, b) -> Long.compare(a.inicioMs, b.inicioMs));
+            for (Registro r : registros) {
+                if (r.nombre.equals(hito)) {
+                    continue;
+                }
+                sb.append(String.format("%n  %-22s %6d .. %6d ms (%5d ms) [%s]%s",
+                    r.nombre, r.inicioMs, r.finMs, r.finMs - r.inicioMs, r.hilo,
+                    r.fallo ? " FALLÓ" : ""));
+            }
+        }
+        logger.info(sb.toString());
+    }
+}
@@ -11,22 +11,74 @@ import java.io.InputStream;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
+/**
+ * Configuración y pool de conexiones de la base de datos.
+ *
+ * Al cargar la clase solo se leen las propiedades; el pool se crea en un hilo
+ * aparte para que la interfaz no espere a la base de datos. {@link #getListo()}
+ * indica cuándo está disponible, y si no conecta dentro de db.pool.timeoutInicio
+ * ms el intento falla. Las conexiones pedidas antes esperan al pool como mucho
+ * ese tiempo, y si el último intento falló se reintenta.
+ */
 public class DatabaseConfig {
     
     private static final Logger logger = LoggerFactory.getLogger(DatabaseConfig.class);
-    private static HikariDataSource dataSource;
+    private static volatile HikariDataSource dataSource;
     private static final Properties properties = new Properties();
+    private static volatile CompletableFuture<Void> listo;
+    private static long timeoutInicio;
     
     static {
         try {
             loadProperties();
-            initializeDataSource();
+            timeoutInicio = Long.parseLong(properties.getProperty("db.pool.timeoutInicio", "10000"));
+            iniciarPool();
         } catch (IOException e) {
             logger.error("Error fatal al cargar configuración de base de datos", e);
             throw new RuntimeException("No se pudo inicializar la conexión a la base de datos", e);
         }
     }
+
+    /**
+     * Inicia el pool en segundo plano, salvo que ya esté listo o iniciándose.
+     * Si el intento anterior falló, empieza uno nuevo.
+     * @return Se completa cuando el pool tiene su primera conexión, o con el error
+     */
+    public static synchronized CompletableFuture<Void> iniciarPool() {
+        CompletableFuture<Void> actual = listo;
+        if (actual != null && !actual.isCompletedExceptionally()) {
+            return actual;
+        }
+        CompletableFuture<Void> futuro = new CompletableFuture<>();
+        listo = futuro;
+        Thread hilo = new Thread(() -> {
+            try {
+                initializeDataSource();
+                futuro.complete(null);
+            } catch (Exception e) {
+                logger.error("No se pudo iniciar el pool de conexiones", e);
+                futuro.completeExceptionally(e);
+            }
+        }, "pool-bd-inicio");
+        hilo.setDaemon(true);
+        hilo.start();
+        return futuro;
+    }
+
+    /** Se completa cuando el pool está disponible, o con el error si no pudo conectar. */
+    public static CompletableFuture<Void> getListo() {
+        return listo;
+    }
+
+    public static boolean isListo() {
+        CompletableFuture<Void> futuro = listo;
+        return futuro.isDone() && !futuro.isCompletedExceptionally();
+    }
     
     private static void loadProperties() throws IOException {
         try (InputStream input = DatabaseConfig.class.getClassLoader()
@@ -35,6 +87,12 @@ public class DatabaseConfig {
                 throw new IOException("No se pudo encontrar database.properties");
             }
             properties.load(input);
+            // Las propiedades de sistema db.* tienen prioridad (p. ej. -Ddb.url=...)
+            for (String clave : System.getProperties().stringPropertyNames()) {
+                if (clave.startsWith("db.")) {
+                    properties.setProperty(clave, System.getProperty(clave));
+                }
+            }
             logger.info("Propiedades de base de datos cargadas correctamente");
         }
     }
@@ -59,26 +117,74 @@ public class DatabaseConfig {
         config.setIdleTimeout(Long.parseLong(
             properties.getProperty("db.pool.timeout", "300000")));
         
+        // Sin conexión en este tiempo, el intento de inicio falla en lugar de esperar
+        config.setInitializationFailTimeout(timeoutInicio);
+        
         // Configuración adicional
         config.addDataSourceProperty("cachePrepStmts", "true");
         config.addDataSourceProperty("prepStmtCacheSize", "250");
         config.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
         config.addDataSourceProperty("useServerPrepStmts", "true");
+        // Envía los lotes de executeBatch() en un solo viaje al servidor
+        config.addDataSourceProperty("rewriteBatchedStatements", "true");
         
         dataSource = new HikariDataSource(config);
         logger.info("Pool de conexiones inicializado correctamente");
     }
     
+    /**
+     * Obtiene una conexión del pool. Si el hilo actual tiene una transacción
+     * abierta con {@link TransactionManager}, devuelve la conexión de esa transacción.
+     */
     public static Connection getConnection() throws SQLException {
+        Connection enTransaccion = TransactionManager.conexionActual();
+        if (enTransaccion != null) {
+            return enTransaccion;
+        }
+        return getConexionIndependiente();
+    }
+    
+    /**
+     * Obtiene una conexión propia del pool aunque el hilo tenga una transacción
+     * abierta. Para operaciones que deben confirmarse por separado.
+     */
+    public static Connection getConexionIndependiente() throws SQLException {
+        VigilanteEdt.verificarJdbc();
+        long inicio = System.nanoTime();
+        Connection conn = esperarPool().getConnection();
+        return MonitorConsultas.instrumentar(conn, System.nanoTime() - inicio);
+    }
+    
+    private static HikariDataSource esperarPool() throws SQLException {
+        HikariDataSource ds = dataSource;
+        if (ds != null) {
+            return ds;
+        }
+        CompletableFuture<Void> futuro = listo;
+        if (futuro.isCompletedExceptionally()) {
+            futuro = iniciarPool();
+        }
+        try {
+            futuro.get(timeoutInicio, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new SQLException("La base de datos no respondió en " + timeoutInicio + " ms");
+        } catch (ExecutionException e) {
+            throw new SQLException("No se pudo conectar a la base de datos: "
+                + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrumpido esperando el pool de conexiones", e);
+        }
         if (dataSource == null) {
             throw new SQLException("El pool de conexiones no está inicializado");
         }
-        return dataSource.getConnection();
+        return dataSource;
     }
     
     public static void shutdown() {
-        if (dataSource != null && !dataSource.isClosed()) {
-            dataSource.close();
+        HikariDataSource ds = dataSource;
+        if (ds != null && !ds.isClosed()) {
+            ds.close();
             logger.info("Pool de conexiones cerrado correctamente");
         }
     }
@@ -99,4 +205,49 @@ public class DatabaseConfig {
     public static String getUsername() {
         return properties.getProperty("db.username", "root");
     }
+    
+    public static String getProperty(String key, String defaultValue) {
+        return properties.getProperty(key, defaultValue);
+    }
+    
+    /**
+     * Propiedad entera mayor que cero. Si no está definida se usa el valor por
+     * defecto; si no es un entero positivo, también, con una advertencia en el log.
+     */
+    public static int getIntProperty(String key, int defaultValue) {
+        String valor = properties.getProperty(key);
+        if (valor == null) {
+            return defaultValue;
+        }
+        try {
+            int numero = Integer.parseInt(valor.trim());
+            if (numero > 0) {
+                return numero;
+            }
+        } catch (NumberFormatException e) {
+            // Se informa abajo
+        }
+        logger.warn("Valor inválido para {}: '{}', usando {}", key, valor, defaultValue);
+        return defaultValue;
+    }
+    
+    /**
+     * Como {@link #getIntProperty(String, int)} para valores long.
+     */
+    public static long getLongProperty(String key, long defaultValue) {
+        String valor = properties.getProperty(key);
+        if (valor == null) {
+            return defaultValue;
+        }
+        try {
+            long numero = Long.parseLong(valor.trim());
+            if (numero > 0) {
+                return numero;
+            }
+        } catch (NumberFormatException e) {
+            // Se informa abajo
+        }
+        logger.warn("Valor inválido para {}: '{}', usando {}", key, valor, defaultValue);
+        return defaultValue;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,391 @@
+package com.rintisa.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Instrumentación de las conexiones que entrega {@link DatabaseConfig}.
+ *
+ * Se habilita con db.monitor.habilitado=true. Cada conexión se envuelve en un
+ * proxy que mide las sentencias que ejecuta y acumula, por forma de SQL (la
+ * sentencia sin literales), un histograma de latencias, las filas leídas o
+ * afectadas y los métodos que la llamaron. Las sentencias que superan db.monitor.umbralLentaMs
+ * se registran en el logger "com.rintisa.sql.lentas". El reporte acumulado se
+ * obtiene con {@link #reporte()} y se escribe en el log al cerrar la aplicación.
+ *
+ * El tiempo de un SELECT es el de su ejecución. Sus filas se cuentan con
+ * {@link ResultadoContado}, que delega directamente en el ResultSet del driver:
+ * leer columnas no pasa por reflexión.
+ */
+public final class MonitorConsultas {
+
+    private static final Logger logger = LoggerFactory.getLogger(MonitorConsultas.class);
+    private static final Logger loggerLentas = LoggerFactory.getLogger("com.rintisa.sql.lentas");
+
+    // Límites superiores (ms) de cada intervalo del histograma; el último es ilimitado
+    private static final long[] LIMITES_MS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000};
+
+    private static final int MAX_LLAMADORES = 10;
+    private static final String FORMA_OTRAS = "(otras sentencias)";
+
+    private static final Pattern LITERAL_CADENA = Pattern.compile("'(?:[^'\\\\]|\\\\.|'')*'");
+    private static final Pattern LITERAL_NUMERO = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern LISTA_IN = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern ESPACIOS = Pattern.compile("\\s+");
+
+    private static final boolean habilitado =
+        Boolean.parseBoolean(DatabaseConfig.getProperty("db.monitor.habilitado", "false"));
+    private static final long umbralLentaMs = DatabaseConfig.getLongProperty("db.monitor.umbralLentaMs", 500);
+    private static final int maxFormas = DatabaseConfig.getIntProperty("db.monitor.maxFormas", 500);
+
+    private static final Map<String, Estadistica> porForma = new ConcurrentHashMap<>();
+    private static final Estadistica esperaConexion = new Estadistica("(espera de conexión)");
+    private static final Map<String, String> formasNormalizadas = new ConcurrentHashMap<>();
+
+    static {
+        if (habilitado) {
+            Runtime.getRuntime().addShutdownHook(new Thread(
+                () -> logger.info("Reporte de consultas al cerrar:\n{}", reporte()),
+                "monitor-consultas-reporte"));
+        }
+    }
+
+    private MonitorConsultas() {
+    }
+
+    public static boolean isHabilitado() {
+        return habilitado;
+    }
+
+    /**
+     * Envuelve una conexión del pool y registra cuánto se esperó por ella.
+     */
+    static Connection instrumentar(Connection fisica, long esperaNanos) {
+        if (!habilitado) {
+            return fisica;
+        }
+        esperaConexion.registrar(esperaNanos, 0, llamador());
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+            new Class<?>[] { Connection.class }, new ConexionInstrumentada(fisica));
+    }
+
+    /**
+     * Reporte de texto con las formas de SQL ordenadas por tiempo total.
+     */
+    public static String reporte() {
+        List<Estadistica> estadisticas = new ArrayList<>(porForma.values());
+        estadisticas.sort(Comparator.comparingLong((Estadistica e) -> e.totalNanos.sum()).reversed());
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-8s %10s %9s %9s %9s %10s  %s%n",
+            "llamadas", "total ms", "prom ms", "p95 ms", "max ms", "filas", "sentencia"));
+        esperaConexion.agregarFila(sb);
+        for (Estadistica e : estadisticas) {
+            e.agregarFila(sb);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Escribe el reporte en el log.
+     */
+    public static void volcarReporte() {
+        logger.info("Reporte de consultas:\n{}", reporte());
+    }
+
+    /**
+     * Descarta todo lo acumulado.
+     */
+    public static void reiniciar() {
+        porForma.clear();
+        esperaConexion.reiniciar();
+    }
+
+    /**
+     * Sentencia sin literales, con espacios compactados y listas IN reducidas, para
+     * que las ejecuciones con distintos valores se acumulen juntas.
+     */
+    static String forma(String sql) {
+        if (sql == null) {
+            return "(sin sql)";
+        }
+        String forma = formasNormalizadas.get(sql);
+        if (forma == null) {
+            forma = LITERAL_CADENA.matcher(sql).replaceAll("?");
+            forma = LITERAL_NUMERO.matcher(forma).replaceAll("?");
+            forma = ESPACIOS.matcher(forma).replaceAll(" ").trim();
+            forma = LISTA_IN.matcher(forma).replaceAll("(?, ...)");
+            // Acotado: el SQL armado con literales no debe hacer crecer el caché sin límite
+            if (formasNormalizadas.size() < maxFormas * 4) {
+                formasNormalizadas.put(sql, forma);
+            }
+        }
+        return forma;
+    }
+
+    private static void registrar(String sql, long nanos, long filas, String llamador) {
+        String forma = forma(sql);
+        Estadistica estadistica = porForma.get(forma);
+        if (estadistica == null) {
+            if (porForma.size() >= maxFormas) {
+                forma = FORMA_OTRAS;
+            }
+            estadistica = porForma.computeIfAbsent(forma, Estadistica::new);
+        }
+        estadistica.registrar(nanos, filas, llamador);
+
+        long ms = nanos / 1_000_000;
+        if (ms >= umbralLentaMs) {
+            loggerLentas.warn("Consulta lenta: {} ms en {}: {}", ms, llamador, forma);
+        }
+    }
+
+    private static void registrarFilas(String sql, long filas) {
+        Estadistica estadistica = porForma.get(forma(sql));
+        if (estadistica != null) {
+            estadistica.filas.add(filas);
+        }
+    }
+
+    // Primer método de la aplicación fuera de este paquete en la pila actual
+    private static String llamador() {
+        Optional<StackWalker.StackFrame> frame = StackWalker.getInstance().walk(s -> s
+            .filter(f -> f.getClassName().startsWith("com.rintisa.")
+                && !f.getClassName().startsWith("com.rintisa.config."))
+            .findFirst());
+        return frame.map(f -> simple(f.getClassName()) + "." + f.getMethodName() + ":" + f.getLineNumber())
+            .orElse("(desconocido)");
+    }
+
+    private static String simple(String clase) {
+        return clase.substring(clase.lastIndexOf('.') + 1);
+    }
+
+    private static Object invocar(Object destino, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(destino, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Acumulado de una forma de SQL.
+     */
+    private static final class Estadistica {
+        final String forma;
+        final LongAdder llamadas = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LongAdder filas = new LongAdder();
+        final AtomicLong maxNanos = new AtomicLong();
+        final LongAdder[] intervalos = new LongAdder[LIMITES_MS.length + 1];
+        final Map<String, LongAdder> llamadores = new ConcurrentHashMap<>();
+
+        Estadistica(String forma) {
+            this.forma = forma;
+            for (int i = 0; i < intervalos.length; i++) {
+                intervalos[i] = new LongAdder();
+            }
+        }
+
+        void registrar(long nanos, long afectadasOLeidas, String llamador) {
+            llamadas.increment();
+            totalNanos.add(nanos);
+            filas.add(afectadasOLeidas);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+
+            long ms = nanos / 1_000_000;
+            int i = 0;
+            while (i < LIMITES_MS.length && ms >= LIMITES_MS[i]) {
+                i++;
+            }
+            intervalos[i].increment();
+
+            LongAdder contador = llamadores.get(llamador);
+            if (contador == null && llamadores.size() < MAX_LLAMADORES) {
+                contador = llamadores.computeIfAbsent(llamador, k -> new LongAdder());
+            }
+            if (contador != null) {
+                contador.increment();
+            }
+        }
+
+        // Límite superior del intervalo que contiene el percentil 95
+        long p95Ms() {
+            long total = 0;
+            for (LongAdder intervalo : intervalos) {
+                total += intervalo.sum();
+            }
+            long acumulado = 0;
+            for (int i = 0; i < intervalos.length; i++) {
+                acumulado += intervalos[i].sum();
+                if (acumulado * 100 >= total * 95) {
+                    return i < LIMITES_MS.length ? LIMITES_MS[i] : maxNanos.get() / 1_000_000;
+                }
+            }
+            return 0;
+        }
+
+        void agregarFila(StringBuilder sb) {
+            long n = llamadas.sum();
+            if (n == 0) {
+                return;
+            }
+            double totalMs = totalNanos.sum() / 1_000_000.0;
+            sb.append(String.format("%-8d %10.1f %9.2f %9d %9.1f %10d  %s%n",
+                n, totalMs, totalMs / n, p95Ms(), maxNanos.get() / 1_000_000.0, filas.sum(), forma));
+            llamadores.entrySet().stream()
+                .sorted(Map.Entry.<String, LongAdder>comparingByValue(
+                    Comparator.comparingLong(LongAdder::sum)).reversed())
+                .forEach(e -> sb.append(String.format("%59s %d x %s%n", "", e.getValue().sum(), e.getKey())));
+        }
+
+        void reiniciar() {
+            llamadas.reset();
+            totalNanos.reset();
+            filas.reset();
+            maxNanos.set(0);
+            for (LongAdder intervalo : intervalos) {
+                intervalo.reset();
+            }
+            llamadores.clear();
+        }
+    }
+
+    private static final class ConexionInstrumentada implements InvocationHandler {
+        private final Connection fisica;
+
+        ConexionInstrumentada(Connection fisica) {
+            this.fisica = fisica;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "prepareStatement":
+                case "prepareCall":
+                case "createStatement": {
+                    Statement stmt = (Statement) invocar(fisica, method, args);
+                    String sql = args != null && args.length > 0 && args[0] instanceof String
+                        ? (String) args[0] : null;
+                    Class<?> tipo = stmt instanceof CallableStatement ? CallableStatement.class
+                        : stmt instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+                    return Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                        new Class<?>[] { tipo }, new SentenciaInstrumentada(stmt, sql, (Connection) proxy));
+                }
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "MonitorConsultas$Conexion[" + fisica + "]";
+                default:
+                    return invocar(fisica, method, args);
+            }
+        }
+    }
+
+    private static final class SentenciaInstrumentada implements InvocationHandler {
+        private final Statement fisica;
+        private final Connection conexion;
+        private String sql;
+        private String ejecutada;
+        private ResultadoContado abierto;
+
+        SentenciaInstrumentada(Statement fisica, String sql, Connection conexion) {
+            this.fisica = fisica;
+            this.sql = sql;
+            this.conexion = conexion;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String nombre = method.getName();
+            if (nombre.equals("getConnection")) {
+                return conexion;
+            }
+            if (nombre.equals("addBatch") && args != null && args.length == 1) {
+                sql = (String) args[0];
+            }
+            if (nombre.equals("close")) {
+                terminarAbierto();
+                return invocar(fisica, method, args);
+            }
+            if (nombre.equals("getResultSet")) {
+                ResultSet rs = (ResultSet) invocar(fisica, method, args);
+                return rs != null ? contarFilas(rs, ejecutada, (Statement) proxy) : null;
+            }
+            if (!nombre.startsWith("execute")) {
+                return invocar(fisica, method, args);
+            }
+
+            // Un execute nuevo cierra el ResultSet anterior de la sentencia
+            terminarAbierto();
+            String sentencia = args != null && args.length > 0 && args[0] instanceof String
+                ? (String) args[0] : sql;
+            ejecutada = sentencia;
+            long inicio = System.nanoTime();
+            Object resultado = null;
+            try {
+                resultado = invocar(fisica, method, args);
+            } finally {
+                long nanos = System.nanoTime() - inicio;
+                registrar(sentencia, nanos, filasAfectadas(resultado), llamador());
+            }
+            return resultado instanceof ResultSet
+                ? contarFilas((ResultSet) resultado, sentencia, (Statement) proxy) : resultado;
+        }
+
+        private ResultSet contarFilas(ResultSet rs, String sentencia, Statement proxy) {
+            if (abierto != null && abierto.envuelve(rs)) {
+                return abierto;
+            }
+            terminarAbierto();
+            abierto = new ResultadoContado(rs, proxy, filas -> registrarFilas(sentencia, filas));
+            return abierto;
+        }
+
+        private void terminarAbierto() {
+            if (abierto != null) {
+                abierto.terminar();
+                abierto = null;
+            }
+        }
+
+        private static long filasAfectadas(Object resultado) {
+            if (resultado instanceof Integer) {
+                return Math.max(0, (Integer) resultado);
+            }
+            if (resultado instanceof Long) {
+                return Math.max(0, (Long) resultado);
+            }
+            if (resultado instanceof int[]) {
+                long total = 0;
+                for (int n : (int[]) resultado) {
+                    total += Math.max(0, n);
+                }
+                return total;
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,1029 @@
+package com.rintisa.config;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.*;
+import java.util.Calendar;
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+/**
+ * ResultSet de {@link MonitorConsultas}: delega cada llamada en el del driver y
+ * cuenta las filas que entrega next(). El total se informa una sola vez, cuando
+ * next() llega al final, al cerrarse o al cerrarse su sentencia.
+ */
+final class ResultadoContado implements ResultSet {
+    private final ResultSet fisico;
+    private final Statement sentencia;
+    private final LongConsumer alTerminar;
+    private long filas;
+    private boolean terminado;
+
+    ResultadoContado(ResultSet fisico, Statement sentencia, LongConsumer alTerminar) {
+        this.fisico = fisico;
+        this.sentencia = sentencia;
+        this.alTerminar = alTerminar;
+    }
+
+    boolean envuelve(ResultSet rs) {
+        return fisico == rs;
+    }
+
+    void terminar() {
+        if (!terminado) {
+            terminado = true;
+            alTerminar.accept(filas);
+        }
+    }
+
+    @Override
+    public boolean next() throws SQLException {
+        boolean hay = fisico.next();
+        if (hay) {
+            filas++;
+        } else {
+            terminar();
+        }
+        return hay;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            fisico.close();
+        } finally {
+            terminar();
+        }
+    }
+
+    @Override
+    public Statement getStatement() throws SQLException {
+        return sentencia;
+    }
+
+    @Override
+    public boolean absolute(int filas) throws SQLException {
+        return fisico.absolute(filas);
+    }
+
+    @Override
+    public void afterLast() throws SQLException {
+        fisico.afterLast();
+    }
+
+    @Override
+    public void beforeFirst() throws SQLException {
+        fisico.beforeFirst();
+    }
+
+    @Override
+    public void cancelRowUpdates() throws SQLException {
+        fisico.cancelRowUpdates();
+    }
+
+    @Override
+    public void clearWarnings() throws SQLException {
+        fisico.clearWarnings();
+    }
+
+    @Override
+    public void deleteRow() throws SQLException {
+        fisico.deleteRow();
+    }
+
+    @Override
+    public int findColumn(String etiqueta) throws SQLException {
+        return fisico.findColumn(etiqueta);
+    }
+
+    @Override
+    public boolean first() throws SQLException {
+        return fisico.first();
+    }
+
+    @Override
+    public Array getArray(String etiqueta) throws SQLException {
+        return fisico.getArray(etiqueta);
+    }
+
+    @Override
+    public Array getArray(int columna) throws SQLException {
+        return fisico.getArray(columna);
+    }
+
+    @Override
+    public InputStream getAsciiStream(String etiqueta) throws SQLException {
+        return fisico.getAsciiStream(etiqueta);
+    }
+
+    @Override
+    public InputStream getAsciiStream(int columna) throws SQLException {
+        return fisico.getAsciiStream(columna);
+    }
+
+    @Deprecated
+    @Override
+    public BigDecimal getBigDecimal(String etiqueta, int escala) throws SQLException {
+        return fisico.getBigDecimal(etiqueta, escala);
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(String etiqueta) throws SQLException {
+        return fisico.getBigDecimal(etiqueta);
+    }
+
+    @Deprecated
+    @Override
+    public BigDecimal getBigDecimal(int columna, int escala) throws SQLException {
+        return fisico.getBigDecimal(columna, escala);
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(int columna) throws SQLException {
+        return fisico.getBigDecimal(columna);
+    }
+
+    @Override
+    public InputStream getBinaryStream(String etiqueta) throws SQLException {
+        return fisico.getBinaryStream(etiqueta);
+    }
+
+    @Override
+    public InputStream getBinaryStream(int columna) throws SQLException {
+        return fisico.getBinaryStream(columna);
+    }
+
+    @Override
+    public Blob getBlob(String etiqueta) throws SQLException {
+        return fisico.getBlob(etiqueta);
+    }
+
+    @Override
+    public Blob getBlob(int columna) throws SQLException {
+        return fisico.getBlob(columna);
+    }
+
+    @Override
+    public boolean getBoolean(String etiqueta) throws SQLException {
+        return fisico.getBoolean(etiqueta);
+    }
+
+    @Override
+    public boolean getBoolean(int columna) throws SQLException {
+        return fisico.getBoolean(columna);
+    }
+
+    @Override
+    public byte getByte(String etiqueta) throws SQLException {
+        return fisico.getByte(etiqueta);
+    }
+
+    @Override
+    public byte getByte(int columna) throws SQLException {
+        return fisico.getByte(columna);
+    }
+
+    @Override
+    public byte[] getBytes(String etiqueta) throws SQLException {
+        return fisico.getBytes(etiqueta);
+    }
+
+    @Override
+    public byte[] getBytes(int columna) throws SQLException {
+        return fisico.getBytes(columna);
+    }
+
+    @Override
+    public Reader getCharacterStream(String etiqueta) throws SQLException {
+        return fisico.getCharacterStream(etiqueta);
+    }
+
+    @Override
+    public Reader getCharacterStream(int columna) throws SQLException {
+        return fisico.getCharacterStream(columna);
+    }
+
+    @Override
+    public Clob getClob(String etiqueta) throws SQLException {
+        return fisico.getClob(etiqueta);
+    }
+
+    @Override
+    public Clob getClob(int columna) throws SQLException {
+        return fisico.getClob(columna);
+    }
+
+    @Override
+    public int getConcurrency() throws SQLException {
+        return fisico.getConcurrency();
+    }
+
+    @Override
+    public String getCursorName() throws SQLException {
+        return fisico.getCursorName();
+    }
+
+    @Override
+    public Date getDate(String etiqueta, Calendar calendario) throws SQLException {
+        return fisico.getDate(etiqueta, calendario);
+    }
+
+    @Override
+    public Date getDate(String etiqueta) throws SQLException {
+        return fisico.getDate(etiqueta);
+    }
+
+    @Override
+    public Date getDate(int columna, Calendar calendario) throws SQLException {
+        return fisico.getDate(columna, calendario);
+    }
+
+    @Override
+    public Date getDate(int columna) throws SQLException {
+        return fisico.getDate(columna);
+    }
+
+    @Override
+    public double getDouble(String etiqueta) throws SQLException {
+        return fisico.getDouble(etiqueta);
+    }
+
+    @Override
+    public double getDouble(int columna) throws SQLException {
+        return fisico.getDouble(columna);
+    }
+
+    @Override
+    public int getFetchDirection() throws SQLException {
+        return fisico.getFetchDirection();
+    }
+
+    @Override
+    public int getFetchSize() throws SQLException {
+        return fisico.getFetchSize();
+    }
+
+    @Override
+    public float getFloat(String etiqueta) throws SQLException {
+        return fisico.getFloat(etiqueta);
+    }
+
+    @Override
+    public float getFloat(int columna) throws SQLException {
+        return fisico.getFloat(columna);
+    }
+
+    @Override
+    public int getHoldability() throws SQLException {
+        return fisico.getHoldability();
+    }
+
+    @Override
+    public int getInt(String etiqueta) throws SQLException {
+        return fisico.getInt(etiqueta);
+    }
+
+    @Override
+    public int getInt(int columna) throws SQLException {
+        return fisico.getInt(columna);
+    }
+
+    @Override
+    public long getLong(String etiqueta) throws SQLException {
+        return fisico.getLong(etiqueta);
+    }
+
+    @Override
+    public long getLong(int columna) throws SQLException {
+        return fisico.getLong(columna);
+    }
+
+    @Override
+    public ResultSetMetaData getMetaData() throws SQLException {
+        return fisico.getMetaData();
+    }
+
+    @Override
+    public Reader getNCharacterStream(String etiqueta) throws SQLException {
+        return fisico.getNCharacterStream(etiqueta);
+    }
+
+    @Override
+    public Reader getNCharacterStream(int columna) throws SQLException {
+        return fisico.getNCharacterStream(columna);
+    }
+
+    @Override
+    public NClob getNClob(String etiqueta) throws SQLException {
+        return fisico.getNClob(etiqueta);
+    }
+
+    @Override
+    public NClob getNClob(int columna) throws SQLException {
+        return fisico.getNClob(columna);
+    }
+
+    @Override
+    public String getNString(String etiqueta) throws SQLException {
+        return fisico.getNString(etiqueta);
+    }
+
+    @Override
+    public String getNString(int columna) throws SQLException {
+        return fisico.getNString(columna);
+    }
+
+    @Override
+    public <T> T getObject(String etiqueta, Class<T> tipo) throws SQLException {
+        return fisico.getObject(etiqueta, tipo);
+    }
+
+    @Override
+    public Object getObject(String etiqueta, Map<String, Class<?>> tipos) throws SQLException {
+        return fisico.getObject(etiqueta, tipos);
+    }
+
+    @Override
+    public Object getObject(String etiqueta) throws SQLException {
+        return fisico.getObject(etiqueta);
+    }
+
+    @Override
+    public <T> T getObject(int columna, Class<T> tipo) throws SQLException {
+        return fisico.getObject(columna, tipo);
+    }
+
+    @Override
+    public Object getObject(int columna, Map<String, Class<?>> tipos) throws SQLException {
+        return fisico.getObject(columna, tipos);
+    }
+
+    @Override
+    public Object getObject(int columna) throws SQLException {
+        return fisico.getObject(columna);
+    }
+
+    @Override
+    public Ref getRef(String etiqueta) throws SQLException {
+        return fisico.getRef(etiqueta);
+    }
+
+    @Override
+    public Ref getRef(int columna) throws SQLException {
+        return fisico.getRef(columna);
+    }
+
+    @Override
+    public int getRow() throws SQLException {
+        return fisico.getRow();
+    }
+
+    @Override
+    public RowId getRowId(String etiqueta) throws SQLException {
+        return fisico.getRowId(etiqueta);
+    }
+
+    @Override
+    public RowId getRowId(int columna) throws SQLException {
+        return fisico.getRowId(columna);
+    }
+
+    @Override
+    public SQLXML getSQLXML(String etiqueta) throws SQLException {
+        return fisico.getSQLXML(etiqueta);
+    }
+
+    @Override
+    public SQLXML getSQLXML(int columna) throws SQLException {
+        return fisico.getSQLXML(columna);
+    }
+
+    @Override
+    public short getShort(String etiqueta) throws SQLException {
+        return fisico.getShort(etiqueta);
+    }
+
+    @Override
+    public short getShort(int columna) throws SQLException {
+        return fisico.getShort(columna);
+    }
+
+    @Override
+    public String getString(String etiqueta) throws SQLException {
+        return fisico.getString(etiqueta);
+    }
+
+    @Override
+    public String getString(int columna) throws SQLException {
+        return fisico.getString(columna);
+    }
+
+    @Override
+    public Time getTime(String etiqueta, Calendar calendario) throws SQLException {
+        return fisico.getTime(etiqueta, calendario);
+    }
+
+    @Override
+    public Time getTime(String etiqueta) throws SQLException {
+        return fisico.getTime(etiqueta);
+    }
+
+    @Override
+    public Time getTime(int columna, Calendar calendario) throws SQLException {
+        return fisico.getTime(columna, calendario);
+    }
+
+    @Override
+    public Time getTime(int columna) throws SQLException {
+        return fisico.getTime(columna);
+    }
+
+    @Override
+    public Timestamp getTimestamp(String etiqueta, Calendar calendario) throws SQLException {
+        return fisico.getTimestamp(etiqueta, calendario);
+    }
+
+    @Override
+    public Timestamp getTimestamp(String etiqueta) throws SQLException {
+        return fisico.getTimestamp(etiqueta);
+    }
+
+    @Override
+    public Timestamp getTimestamp(int columna, Calendar calendario) throws SQLException {
+        return fisico.getTimestamp(columna, calendario);
+    }
+
+    @Override
+    public Timestamp getTimestamp(int columna) throws SQLException {
+        return fisico.getTimestamp(columna);
+    }
+
+    @Override
+    public int getType() throws SQLException {
+        return fisico.getType();
+    }
+
+    @Override
+    public URL getURL(String etiqueta) throws SQLException {
+        return fisico.getURL(etiqueta);
+    }
+
+    @Override
+    public URL getURL(int columna) throws SQLException {
+        return fisico.getURL(columna);
+    }
+
+    @Deprecated
+    @Override
+    public InputStream getUnicodeStream(String etiqueta) throws SQLException {
+        return fisico.getUnicodeStream(etiqueta);
+    }
+
+    @Deprecated
+    @Override
+    public InputStream getUnicodeStream(int columna) throws SQLException {
+        return fisico.getUnicodeStream(columna);
+    }
+
+    @Override
+    public SQLWarning getWarnings() throws SQLException {
+        return fisico.getWarnings();
+    }
+
+    @Override
+    public void insertRow() throws SQLException {
+        fisico.insertRow();
+    }
+
+    @Override
+    public boolean isAfterLast() throws SQLException {
+        return fisico.isAfterLast();
+    }
+
+    @Override
+    public boolean isBeforeFirst() throws SQLException {
+        return fisico.isBeforeFirst();
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException {
+        return fisico.isClosed();
+    }
+
+    @Override
+    public boolean isFirst() throws SQLException {
+        return fisico.isFirst();
+    }
+
+    @Override
+    public boolean isLast() throws SQLException {
+        return fisico.isLast();
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> tipo) throws SQLException {
+        return fisico.isWrapperFor(tipo);
+    }
+
+    @Override
+    public boolean last() throws SQLException {
+        return fisico.last();
+    }
+
+    @Override
+    public void moveToCurrentRow() throws SQLException {
+        fisico.moveToCurrentRow();
+    }
+
+    @Override
+    public void moveToInsertRow() throws SQLException {
+        fisico.moveToInsertRow();
+    }
+
+    @Override
+    public boolean previous() throws SQLException {
+        return fisico.previous();
+    }
+
+    @Override
+    public void refreshRow() throws SQLException {
+        fisico.refreshRow();
+    }
+
+    @Override
+    public boolean relative(int filas) throws SQLException {
+        return fisico.relative(filas);
+    }
+
+    @Override
+    public boolean rowDeleted() throws SQLException {
+        return fisico.rowDeleted();
+    }
+
+    @Override
+    public boolean rowInserted() throws SQLException {
+        return fisico.rowInserted();
+    }
+
+    @Override
+    public boolean rowUpdated() throws SQLException {
+        return fisico.rowUpdated();
+    }
+
+    @Override
+    public void setFetchDirection(int direccion) throws SQLException {
+        fisico.setFetchDirection(direccion);
+    }
+
+    @Override
+    public void setFetchSize(int filas) throws SQLException {
+        fisico.setFetchSize(filas);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> tipo) throws SQLException {
+        return fisico.unwrap(tipo);
+    }
+
+    @Override
+    public void updateArray(String etiqueta, Array valor) throws SQLException {
+        fisico.updateArray(etiqueta, valor);
+    }
+
+    @Override
+    public void updateArray(int columna, Array valor) throws SQLException {
+        fisico.updateArray(columna, valor);
+    }
+
+    @Override
+    public void updateAsciiStream(String etiqueta, InputStream valor, int longitud) throws SQLException {
+        fisico.updateAsciiStream(etiqueta, valor, longitud);
+    }
+
+    @Override
+    public void updateAsciiStream(String etiqueta, InputStream valor, long longitud) throws SQLException {
+        fisico.updateAsciiStream(etiqueta, valor, longitud);
+    }
+
+    @Override
+    public void updateAsciiStream(String etiqueta, InputStream valor) throws SQLException {
+        fisico.updateAsciiStream(etiqueta, valor);
+    }
+
+    @Override
+    public void updateAsciiStream(int columna, InputStream valor, int longitud) throws SQLException {
+        fisico.updateAsciiStream(columna, valor, longitud);
+    }
+
+    @Override
+    public void updateAsciiStream(int columna, InputStream valor, long longitud) throws SQLException {
+        fisico.updateAsciiStream(columna, valor, longitud);
+    }
+
+    @Override
+    public void updateAsciiStream(int columna, InputStream valor) throws SQLException {
+        fisico.updateAsciiStream(columna, valor);
+    }
+
+    @Override
+    public void updateBigDecimal(String etiqueta, BigDecimal valor) throws SQLException {
+        fisico.updateBigDecimal(etiqueta, valor);
+    }
+
+    @Override
+    public void updateBigDecimal(int columna, BigDecimal valor) throws SQLException {
+        fisico.updateBigDecimal(columna, valor);
+    }
+
+    @Override
+    public void updateBinaryStream(String etiqueta, InputStream valor, int longitud) throws SQLException {
+        fisico.updateBinaryStream(etiqueta, valor, longitud);
+    }
+
+    @Override
+    public void updateBinaryStream(String etiqueta, InputStream valor, long longitud) throws SQLException {
+        fisico.updateBinaryStream(etiqueta, valor, longitud);
+    }
+
+    @Override
+    public void updateBinaryStream(String etiqueta, InputStream valor) throws SQLException {
+        fisico.updateBinaryStream(etiqueta, valor);
+    }
+
+    @Override
+    public void updateBinaryStream(int columna, InputStream valor, int longitud) throws SQLException {
+        fisico.updateBinaryStream(columna, valor, longitud);
+    }
+
+    @Override
+    public void updateBinaryStream(int columna, InputStream valor, long longitud) throws SQLException {
+        fisico.updateBinaryStream(columna, valor, longitud);
+    }
+
+    @Override
+    public void updateBinaryStream(int columna, InputStream valor) throws SQLException {
+        fisico.updateBinaryStream(columna, valor);
+    }
+
+    @Override
+    public void updateBlob(String etiqueta, InputStream valor, long longitud) throws SQLException {
+        fisico.updateBlob(etiqueta, valor, longitud);
+    }
+
+    @Override
+    public void updateBlob(String etiqueta, InputStream valor) throws SQLException {
+        fisico.updateBlob(etiqueta, valor);
+    }
+
+    @Override
+    public void updateBlob(String etiqueta, Blob valor) throws SQLException {
+        fisico.updateBlob(etiqueta, valor);
+    }
+
+    @Override
+    public void updateBlob(int columna, InputStream valor, long longitud) throws SQLException {
+        fisico.updateBlob(columna, valor, longitud);
+    }
+
+    @Override
+    public void updateBlob(int columna, InputStream valor) throws SQLException {
+        fisico.updateBlob(columna, valor);
+    }
+
+    @Override
+    public void updateBlob(int columna, Blob valor) throws SQLException {
+        fisico.updateBlob(columna, valor);
+    }
+
+    @Override
+    public void updateBoolean(String etiqueta, boolean valor) throws SQLException {
+        fisico.updateBoolean(etiqueta, valor);
+    }
+
+    @Override
+    public void updateBoolean(int columna, boolean valor) throws SQLException {
+        fisico.updateBoolean(columna, valor);
+    }
+
+    @Override
+    public void updateByte(String etiqueta, byte valor) throws SQLException {
+        fisico.updateByte(etiqueta, valor);
+    }
+
+    @Override
+    public void updateByte(int columna, byte valor) throws SQLException {
+        fisico.updateByte(columna, valor);
+    }
+
+    @Override
+    public void updateBytes(String etiqueta, byte[] valor) throws SQLException {
+        fisico.updateBytes(etiqueta, valor);
+    }
+
+    @Override
+    public void updateBytes(int columna, byte[] valor) throws SQLException {
+        fisico.updateBytes(columna, valor);
+    }
+
+    @Override
+    public void updateCharacterStream(String etiqueta, Reader valor, int longitud) throws SQLException {
+        fisico.updateCharacterStream(etiqueta, valor, longitud);
+    }
+
+    @Override
+    public void updateCharacterStream(String etiqueta, Reader valor, long longitud) throws SQLException {
+        fisico.updateCharacterStream(etiqueta, valor, longitud);
+    }
+
+    @Override
+    public void updateCharacterStream(String etiqueta, Reader valor) throws SQLException {
+        fisico.updateCharacterStream(etiqueta, valor);
+    }
+
+    @Override
+    public void updateCharacterStream(int columna, Reader valor, int longitud) throws SQLException {
+        fisico.updateCharacterStream(columna, valor, longitud);
+    }
+
+    @Override
+    public void updateCharacterStream(int columna, Reader valor, long longitud) throws SQLException {
+        fisico.updateCharacterStream(columna, valor, longitud);
+    }
+
+    @Override
+    public void updateCharacterStream(int columna, Reader valor) throws SQLException {
+        fisico.updateCharacterStream(columna, valor);
+    }
+
+    @Override
+    public void updateClob(String etiqueta, Reader valor, long longitud) throws SQLException {
+        fisico.updateClob(etiqueta, valor, longitud);
+    }
+
+    @Override
+    public void updateClob(String etiqueta, Reader valor) throws SQLException {
+        fisico.updateClob(etiqueta, valor);
+    }
+
+    @Override
+    public void updateClob(String etiqueta, Clob valor) throws SQLException {
+        fisico.updateClob(etiqueta, valor);
+    }
+
+    @Override
+    public void updateClob(int columna, Reader valor, long longitud) throws SQLException {
+        fisico.updateClob(columna, valor, longitud);
+    }
+
+    @Override
+    public void updateClob(int columna, Reader valor) throws SQLException {
+        fisico.updateClob(columna, valor);
+    }
+
+    @Override
+    public void updateClob(int columna, Clob valor) throws SQLException {
+        fisico.updateClob(columna, valor);
+    }
+
+    @Override
+    public void updateDate(String etiqueta, Date valor) throws SQLException {
+        fisico.updateDate(etiqueta, valor);
+    }
+
+    @Override
+    public void updateDate(int columna, Date valor) throws SQLException {
+        fisico.updateDate(columna, valor);
+    }
+
+    @Override
+    public void updateDouble(String etiqueta, double valor) throws SQLException {
+        fisico.updateDouble(etiqueta, valor);
+    }
+
+    @Override
+    public void updateDouble(int columna, double valor) throws SQLException {
+        fisico.updateDouble(columna, valor);
+    }
+
+    @Override
+    public void updateFloat(String etiqueta, float valor) throws SQLException {
+        fisico.updateFloat(etiqueta, valor);
+    }
+
+    @Override
+    public void updateFloat(int columna, float valor) throws SQLException {
+        fisico.updateFloat(columna, valor);
+    }
+
+    @Override
+    public void updateInt(String etiqueta, int valor) throws SQLException {
+        fisico.updateInt(etiqueta, valor);
+    }
+
+    @Override
+    public void updateInt(int columna, int valor) throws SQLException {
+        fisico.updateInt(columna, valor);
+    }
+
+    @Override
+    public void updateLong(String etiqueta, long valor) throws SQLException {
+        fisico.updateLong(etiqueta, valor);
+    }
+
+    @Override
+    public void updateLong(int columna, long valor) throws SQLException {
+        fisico.updateLong(columna, valor);
+    }
+
+    @Override
+    public void updateNCharacterStream(String etiqueta, Reader valor, long longitud) throws SQLException {
+        fisico.updateNCharacterStream(etiqueta, valor, longitud);
+    }
+
+    @Override
+    public void updateNCharacterStream(String etiqueta, Reader valor) throws SQLException {
+        fisico.updateNCharacterStream(etiqueta, valor);
+    }
+
+    @Override
+    public void updateNCharacterStream(int columna, Reader valor, long longitud) throws SQLException {
+        fisico.updateNCharacterStream(columna, valor, longitud);
+    }
+
+    @Override
+    public void updateNCharacterStream(int columna, Reader valor) throws SQLException {
+        fisico.updateNCharacterStream(columna, valor);
+    }
+
+    @Override
+    public void updateNClob(String etiqueta, Reader valor, long longitud) throws SQLException {
+        fisico.updateNClob(etiqueta, valor, longitud);
+    }
+
+    @Override
+    public void updateNClob(String etiqueta, Reader valor) throws SQLException {
+        fisico.updateNClob(etiqueta, valor);
+    }
+
+    @Override
+    public void updateNClob(String etiqueta, NClob valor) throws SQLException {
+        fisico.updateNClob(etiqueta, valor);
+    }
+
+    @Override
+    public void updateNClob(int columna, Reader valor, long longitud) throws SQLException {
+        fisico.updateNClob(columna, valor, longitud);
+    }
+
+    @Override
+    public void updateNClob(int columna, Reader valor) throws SQLException {
+        fisico.updateNClob(columna, valor);
+    }
+
+    @Override
+    public void updateNClob(int columna, NClob valor) throws SQLException {
+        fisico.updateNClob(columna, valor);
+    }
+
+    @Override
+    public void updateNString(String etiqueta, String valor) throws SQLException {
+        fisico.updateNString(etiqueta, valor);
+    }
+
+    @Override
+    public void updateNString(int columna, String valor) throws SQLException {
+        fisico.updateNString(columna, valor);
+    }
+
+    @Override
+    public void updateNull(String etiqueta) throws SQLException {
+        fisico.updateNull(etiqueta);
+    }
+
+    @Override
+    public void updateNull(int columna) throws SQLException {
+        fisico.updateNull(columna);
+    }
+
+    @Override
+    public void updateObject(String etiqueta, Object valor, int escala) throws SQLException {
+        fisico.updateObject(etiqueta, valor, escala);
+    }
+
+    @Override
+    public void updateObject(String etiqueta, Object valor, SQLType tipoSql, int escala) throws SQLException {
+        fisico.updateObject(etiqueta, valor, tipoSql, escala);
+    }
+
+    @Override
+    public void updateObject(String etiqueta, Object valor, SQLType tipoSql) throws SQLException {
+        fisico.updateObject(etiqueta, valor, tipoSql);
+    }
+
+    @Override
+    public void updateObject(String etiqueta, Object valor) throws SQLException {
+        fisico.updateObject(etiqueta, valor);
+    }
+
+    @Override
+    public void updateObject(int columna, Object valor, int escala) throws SQLException {
+        fisico.updateObject(columna, valor, escala);
+    }
+
+    @Override
+    public void updateObject(int columna, Object valor, SQLType tipoSql, int escala) throws SQLException {
+        fisico.updateObject(columna, valor, tipoSql, escala);
+    }
+
+    @Override
+    public void updateObject(int columna, Object valor, SQLType tipoSql) throws SQLException {
+        fisico.updateObject(columna, valor, tipoSql);
+    }
+
+    @Override
+    public void updateObject(int columna, Object valor) throws SQLException {
+        fisico.updateObject(columna, valor);
+    }
+
+    @Override
+    public void updateRef(String etiqueta, Ref valor) throws SQLException {
+        fisico.updateRef(etiqueta, valor);
+    }
+
+    @Override
+    public void updateRef(int columna, Ref valor) throws SQLException {
+        fisico.updateRef(columna, valor);
+    }
+
+    @Override
+    public void updateRow() throws SQLException {
+        fisico.updateRow();
+    }
+
+    @Override
+    public void updateRowId(String etiqueta, RowId valor) throws SQLException {
+        fisico.updateRowId(etiqueta, valor);
+    }
+
+    @Override
+    public void updateRowId(int columna, RowId valor) throws SQLException {
+        fisico.updateRowId(columna, valor);
+    }
+
+    @Override
+    public void updateSQLXML(String etiqueta, SQLXML valor) throws SQLException {
+        fisico.updateSQLXML(etiqueta, valor);
+    }
+
+    @Override
+    public void updateSQLXML(int columna, SQLXML valor) throws SQLException {
+        fisico.updateSQLXML(columna, valor);
+    }
+
+    @Override
+    public void updateShort(String etiqueta, short valor) throws SQLException {
+        fisico.updateShort(etiqueta, valor);
+    }
+
+    @Override
+    public void updateShort(int columna, short valor) throws SQLException {
+        fisico.updateShort(columna, valor);
+    }
+
+    @Override
+    public void updateString(String etiqueta, String valor) throws SQLException {
+        fisico.updateString(etiqueta, valor);
+    }
+
+    @Override
+    public void updateString(int columna, String valor) throws SQLException {
+        fisico.updateString(columna, valor);
+    }
+
+    @Override
+    public void updateTime(String etiqueta, Time valor) throws SQLException {
+        fisico.updateTime(etiqueta, valor);
+    }
+
+    @Override
+    public void updateTime(int columna, Time valor) throws SQLException {
+        fisico.updateTime(columna, valor);
+    }
+
+    @Override
+    public void updateTimestamp(String etiqueta, Timestamp valor) throws SQLException {
+        fisico.updateTimestamp(etiqueta, valor);
+    }
+
+    @Override
+    public void updateTimestamp(int columna, Timestamp valor) throws SQLException {
+        fisico.updateTimestamp(columna, valor);
+    }
+
+    @Override
+    public boolean wasNull() throws SQLException {
+        return fisico.wasNull();
+    }
+}
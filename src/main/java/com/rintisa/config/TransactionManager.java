@@ -0,0 +1,189 @@
+package com.rintisa.config;
+
+import com.rintisa.exception.DatabaseException;
+import com.rintisa.exception.ValidationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unidad de trabajo asociada al hilo actual.
+ *
+ * Mientras se ejecuta un trabajo con {@link #enTransaccion(Trabajo)}, toda llamada a
+ * {@link DatabaseConfig#getConnection()} desde el mismo hilo devuelve la misma conexión,
+ * por lo que los DAO participan en la transacción sin cambios. Sobre esa conexión compartida
+ * close(), commit() y setAutoCommit() no tienen efecto, y rollback() marca la transacción
+ * para que sea revertida al terminar. Solo el trabajo más externo confirma o revierte.
+ */
+public final class TransactionManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionManager.class);
+
+    private static final ThreadLocal<Transaccion> actual = new ThreadLocal<>();
+
+    @FunctionalInterface
+    public interface Trabajo<T> {
+        T ejecutar() throws DatabaseException, ValidationException;
+    }
+
+    @FunctionalInterface
+    public interface TrabajoSinResultado {
+        void ejecutar() throws DatabaseException, ValidationException;
+    }
+
+    private TransactionManager() {
+    }
+
+    /**
+     * Ejecuta el trabajo dentro de una transacción. Si el hilo ya tiene una
+     * transacción activa, el trabajo se une a ella.
+     */
+    public static <T> T enTransaccion(Trabajo<T> trabajo)
+            throws DatabaseException, ValidationException {
+        if (actual.get() != null) {
+            return trabajo.ejecutar();
+        }
+
+        Connection fisica;
+        try {
+            fisica = DatabaseConfig.getConnection();
+            fisica.setAutoCommit(false);
+        } catch (SQLException e) {
+            logger.error("Error al iniciar transacción", e);
+            throw new DatabaseException("Error al iniciar transacción: " + e.getMessage(), e);
+        }
+
+        Transaccion tx = new Transaccion(fisica);
+        actual.set(tx);
+        try {
+            T resultado = trabajo.ejecutar();
+            if (tx.soloRollback) {
+                throw new DatabaseException(
+                    "La transacción fue revertida por un error en una operación interna");
+            }
+            fisica.commit();
+            logger.debug("Transacción confirmada");
+            return resultado;
+        } catch (SQLException e) {
+            revertir(fisica);
+            logger.error("Error al confirmar transacción", e);
+            throw new DatabaseException("Error al confirmar transacción: " + e.getMessage(), e);
+        } catch (DatabaseException | ValidationException | RuntimeException e) {
+            revertir(fisica);
+            throw e;
+        } finally {
+            actual.remove();
+            try {
+                fisica.setAutoCommit(true);
+                fisica.close();
+            } catch (SQLException e) {
+                logger.error("Error al cerrar conexión de la transacción", e);
+            }
+            for (Runnable accion : tx.alFinalizar) {
+                try {
+                    accion.run();
+                } catch (RuntimeException e) {
+                    logger.error("Error en acción posterior a la transacción", e);
+                }
+            }
+        }
+    }
+
+    public static void enTransaccion(TrabajoSinResultado trabajo)
+            throws DatabaseException, ValidationException {
+        enTransaccion(() -> {
+            trabajo.ejecutar();
+            return null;
+        });
+    }
+
+    /**
+     * Indica si el hilo actual tiene una transacción activa.
+     */
+    public static boolean hayTransaccionActiva() {
+        return actual.get() != null;
+    }
+
+    /**
+     * Ejecuta la acción cuando termine la transacción activa del hilo, tanto si se
+     * confirma como si se revierte, o de inmediato si no hay transacción. Sirve para
+     * que los cachés descarten datos solo cuando los cambios ya son visibles.
+     */
+    public static void alFinalizar(Runnable accion) {
+        Transaccion tx = actual.get();
+        if (tx != null) {
+            tx.alFinalizar.add(accion);
+        } else {
+            accion.run();
+        }
+    }
+
+    /**
+     * Conexión de la transacción activa en el hilo, o null si no hay ninguna.
+     */
+    static Connection conexionActual() {
+        Transaccion tx = actual.get();
+        return tx != null ? tx.compartida : null;
+    }
+
+    private static void revertir(Connection conn) {
+        try {
+            conn.rollback();
+            logger.debug("Rollback ejecutado");
+        } catch (SQLException ex) {
+            logger.error("Error al hacer rollback", ex);
+        }
+    }
+
+    private static final class Transaccion implements InvocationHandler {
+        private final Connection fisica;
+        private final Connection compartida;
+        private boolean soloRollback;
+        private final List<Runnable> alFinalizar = new ArrayList<>();
+
+        Transaccion(Connection fisica) {
+            this.fisica = fisica;
+            this.compartida = (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(), new Class<?>[] { Connection.class }, this);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                case "commit":
+                case "setAutoCommit":
+                    return null;
+                case "getAutoCommit":
+                    return false;
+                case "rollback":
+                    if (args == null || args.length == 0) {
+                        soloRollback = true;
+                        return null;
+                    }
+                    break;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "TransactionManager$Conexion[" + fisica + "]";
+                default:
+                    break;
+            }
+            try {
+                return method.invoke(fisica, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.rintisa.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.AbstractButton;
+import javax.swing.SwingUtilities;
+import java.awt.AWTEvent;
+import java.awt.Component;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+import java.awt.event.InvocationEvent;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseEvent;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Detecta bloqueos del hilo de eventos de Swing (EDT). Se habilita con
+ * -Dedt.vigilante=true.
+ *
+ * Reemplaza la cola de eventos por una que anota qué evento se está
+ * atendiendo y desde cuándo. Un hilo aparte revisa esa anotación y, si un
+ * evento lleva más de edt.vigilante.umbralMs (500 por defecto), escribe en el
+ * logger "com.rintisa.edt" la pila del EDT en ese momento y el evento que lo
+ * disparó (por ejemplo, el clic en un botón). Al terminar ese evento se
+ * registra cuánto duró el bloqueo.
+ *
+ * Además, {@link DatabaseConfig} llama a {@link #verificarJdbc()} al pedir
+ * una conexión: si se pide desde el EDT se registra la vista o controlador que
+ * la originó junto con el método que la pidió, una vez por cada combinación,
+ * para poder sacar esas llamadas del hilo de eventos.
+ */
+public final class VigilanteEdt {
+    private static final Logger logger = LoggerFactory.getLogger("com.rintisa.edt");
+
+    private static final boolean habilitado = Boolean.getBoolean("edt.vigilante");
+    private static final long umbralMs = Long.getLong("edt.vigilante.umbralMs", 500L);
+
+    /** Evento en atención; los campos los escribe el EDT y los lee el vigilante. */
+    private static final class Despacho {
+        final String evento;
+        final Thread hilo;
+        volatile long inicioNanos;
+        volatile boolean reportado;
+
+        Despacho(String evento, Thread hilo) {
+            this.evento = evento;
+            this.hilo = hilo;
+            this.inicioNanos = System.nanoTime();
+        }
+
+        long transcurridoMs() {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicioNanos);
+        }
+    }
+
+    // El evento que se está atendiendo, o null si el EDT espera el siguiente
+    private static volatile Despacho actual;
+    private static volatile boolean instalado;
+
+    // Lugares de la aplicación que pidieron conexiones desde el EDT, con cuántas veces
+    private static final Map<String, AtomicInteger> accesosJdbc = new ConcurrentHashMap<>();
+
+    private VigilanteEdt() {
+    }
+
+    public static boolean isHabilitado() {
+        return habilitado;
+    }
+
+    /**
+     * Instala la cola de eventos vigilada y arranca el hilo que la revisa, si
+     * está habilitado con edt.vigilante. Puede llamarse desde cualquier hilo.
+     */
+    public static synchronized void instalarSiHabilitado() {
+        if (!habilitado || instalado) {
+            return;
+        }
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(new ColaVigilada());
+
+        Thread vigilante = new Thread(VigilanteEdt::vigilar, "vigilante-edt");
+        vigilante.setDaemon(true);
+        vigilante.start();
+        instalado = true;
+        logger.info("Vigilante del EDT activo: umbral {} ms", umbralMs);
+    }
+
+    /**
+     * Registra el pedido de una conexión hecho desde el EDT. Cada lugar de la
+     * aplicación se informa con su pila la primera vez; las siguientes solo
+     * suman al contador.
+     */
+    static void verificarJdbc() {
+        if (!habilitado || !SwingUtilities.isEventDispatchThread()) {
+            return;
+        }
+        StackTraceElement[] pila = new Throwable().getStackTrace();
+        String lugar = lugarEnAplicacion(pila);
+        int veces = accesosJdbc.computeIfAbsent(lugar, k -> new AtomicInteger()).incrementAndGet();
+        Despacho despacho = actual;
+        String evento = despacho != null ? despacho.evento : "(desconocido)";
+        if (veces == 1) {
+            logger.warn("Conexión a la base de datos pedida desde el EDT en {} atendiendo {}",
+                lugar, evento, pilaComoError("Pila del pedido de conexión", pila));
+        } else {
+            logger.debug("Conexión desde el EDT en {} ({} veces)", lugar, veces);
+        }
+    }
+
+    /** Lugares que pidieron conexiones desde el EDT y cuántas veces. */
+    public static Map<String, Integer> getAccesosJdbc() {
+        Map<String, Integer> copia = new TreeMap<>();
+        accesosJdbc.forEach((lugar, veces) -> copia.put(lugar, veces.get()));
+        return copia;
+    }
+
+    private static void vigilar() {
+        long intervaloMs = Math.max(20, umbralMs / 4);
+        while (true) {
+            try {
+                Thread.sleep(intervaloMs);
+            } catch (InterruptedException e) {
+                return;
+            }
+            Despacho despacho = actual;
+            if (despacho == null || despacho.reportado) {
+                continue;
+            }
+            long transcurrido = despacho.transcurridoMs();
+            if (transcurrido >= umbralMs) {
+                despacho.reportado = true;
+                logger.warn("EDT bloqueado hace {} ms atendiendo {}", transcurrido, despacho.evento,
+                    pilaComoError("Pila del EDT", despacho.hilo.getStackTrace()));
+            }
+        }
+    }
+
+    /**
+     * Cola que anota el evento en atención. Los diálogos modales atienden
+     * eventos dentro de otro evento, así que se guarda una pila: el tiempo que
+     * el evento externo pasa esperando al diálogo no cuenta como bloqueo.
+     */
+    private static final class ColaVigilada extends EventQueue {
+        // Solo se usa en el EDT
+        private final Deque<Despacho> enCurso = new ArrayDeque<>();
+
+        @Override
+        public AWTEvent getNextEvent() throws InterruptedException {
+            // Esperando el siguiente evento: el EDT está libre
+            actual = null;
+            return super.getNextEvent();
+        }
+
+        @Override
+        protected void dispatchEvent(AWTEvent event) {
+            Despacho despacho = new Despacho(describir(event), Thread.currentThread());
+            enCurso.push(despacho);
+            actual = despacho;
+            try {
+                super.dispatchEvent(event);
+            } finally {
+                enCurso.pop();
+                if (despacho.reportado) {
+                    logger.warn("EDT liberado tras {} ms atendiendo {}",
+                        despacho.transcurridoMs(), despacho.evento);
+                }
+                Despacho externo = enCurso.peek();
+                if (externo != null) {
+                    // El evento externo sigue desde ahora
+                    externo.inicioNanos = System.nanoTime();
+                }
+                actual = externo;
+            }
+        }
+    }
+
+    private static String describir(AWTEvent event) {
+        String tipo;
+        if (event instanceof MouseEvent) {
+            tipo = "ratón (" + nombreId(event) + ")";
+        } else if (event instanceof KeyEvent) {
+            tipo = "tecla " + KeyEvent.getKeyText(((KeyEvent) event).getKeyCode())
+                + " (" + nombreId(event) + ")";
+        } else if (event instanceof InvocationEvent) {
+            // La clase del Runnable de invokeLater suele ser una lambda de la vista
+            String parametros = event.paramString();
+            int inicio = parametros.indexOf("runnable=");
+            if (inicio < 0) {
+                return "invokeLater";
+            }
+            int fin = parametros.indexOf(',', inicio);
+            return "invokeLater " + parametros.substring(inicio + "runnable=".length(),
+                fin > 0 ? fin : parametros.length());
+        } else {
+            tipo = event.getClass().getSimpleName() + " (" + nombreId(event) + ")";
+        }
+        Object origen = event.getSource();
+        return origen instanceof Component ? tipo + " en " + describir((Component) origen) : tipo;
+    }
+
+    private static String nombreId(AWTEvent event) {
+        String parametros = event.paramString();
+        int coma = parametros.indexOf(',');
+        return coma > 0 ? parametros.substring(0, coma) : parametros;
+    }
+
+    private static String describir(Component componente) {
+        StringBuilder sb = new StringBuilder(componente.getClass().getSimpleName());
+        if (componente instanceof AbstractButton && ((AbstractButton) componente).getText() != null) {
+            sb.append(" \"").append(((AbstractButton) componente).getText()).append('"');
+        } else if (componente.getName() != null) {
+            sb.append(" '").append(componente.getName()).append('\'');
+        }
+        // La vista que contiene el componente ubica la pantalla
+        for (Component padre = componente.getParent(); padre != null; padre = padre.getParent()) {
+            if (padre.getClass().getName().startsWith("com.rintisa.view.")) {
+                sb.append(" de ").append(padre.getClass().getSimpleName());
+                break;
+            }
+        }
+        return sb.toString();
+    }
+
+    // Vista o controlador que originó el pedido y el primer método de la aplicación
+    // fuera de config (normalmente el DAO), para que dos pantallas que usan el
+    // mismo DAO se informen por separado
+    private static String lugarEnAplicacion(StackTraceElement[] pila) {
+        String acceso = null;
+        for (StackTraceElement elemento : pila) {
+            String clase = elemento.getClassName();
+            if (!clase.startsWith("com.rintisa.") || clase.startsWith("com.rintisa.config.")) {
+                continue;
+            }
+            String lugar = clase + "." + elemento.getMethodName() + ":" + elemento.getLineNumber();
+            if (clase.startsWith("com.rintisa.view.") || clase.startsWith("com.rintisa.controller.")) {
+                return acceso == null ? lugar : lugar + " -> " + acceso;
+            }
+            if (acceso == null) {
+                acceso = lugar;
+            }
+        }
+        return acceso != null ? acceso : "(fuera de la aplicación)";
+    }
+
+    private static Throwable pilaComoError(String mensaje, StackTraceElement[] pila) {
+        Throwable pilaCapturada = new Throwable(mensaje);
+        pilaCapturada.setStackTrace(pila);
+        return pilaCapturada;
+    }
+}
@@ -2,9 +2,12 @@ package com.rintisa.controller;
 
 import com.rintisa.config.DatabaseConfig;
 import com.rintisa.model.RecepcionMercancia;
+import com.rintisa.model.CursorRecepcion;
 import com.rintisa.model.DetalleRecepcion;
+import com.rintisa.model.PaginaRecepciones;
 import com.rintisa.model.Producto;
 import com.rintisa.model.Proveedor;
+import com.rintisa.dao.impl.VersionDatosDao;
 import com.rintisa.service.interfaces.IRecepcionMercanciaService;
 import com.rintisa.service.interfaces.IProductoService;
 import com.rintisa.service.interfaces.IProveedorService;
@@ -19,7 +22,10 @@ import com.rintisa.model.EstadoItem;
 import com.rintisa.model.Usuario;
 import com.rintisa.model.enums.EstadoRecepcion;
 import com.rintisa.service.impl.RecepcionMercanciaService;
+import com.rintisa.service.impl.CacheReportes;
+import com.rintisa.service.impl.ColaReportes;
 import com.rintisa.service.impl.RecepcionReporteService;
+import com.rintisa.service.impl.TrabajoReporte;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -27,10 +33,13 @@ import java.sql.SQLException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Map;
+import java.util.function.Consumer;
 
 public class RecepcionMercanciaController {
     private static final Logger logger = LoggerFactory.getLogger(RecepcionMercanciaController.class);
@@ -182,6 +191,18 @@ public class RecepcionMercanciaController {
         }
     }
     
+    /**
+     * Obtiene los detalles de varias recepciones, agrupados por ID de recepción
+     */
+    public Map<Long, List<DetalleRecepcion>> obtenerDetalles(Collection<Long> recepcionIds) {
+        try {
+            return recepcionService.listarDetalles(recepcionIds);
+        } catch (Exception e) {
+            logger.error("Error al obtener detalles de recepciones", e);
+            throw new RuntimeException("No se pudieron obtener los detalles: " + e.getMessage());
+        }
+    }
+    
      /**
      * Verifica si el usuario tiene permiso para verificar recepciones
      */
@@ -301,7 +322,44 @@ public class RecepcionMercanciaController {
         }
     }
 
-   
+    /**
+     * Lista una página de recepciones según filtros. Pasar el cursor devuelto
+     * por la página anterior para continuar; null para la primera página.
+     */
+    public PaginaRecepciones listarRecepcionesPagina(
+            LocalDateTime fechaInicio,
+            LocalDateTime fechaFin,
+            EstadoRecepcion estado,
+            CursorRecepcion despuesDe,
+            int tamanio) {
+        try {
+            return recepcionService.listarPagina(fechaInicio, fechaFin, estado, despuesDe, tamanio);
+        } catch (DatabaseException e) {
+            logger.error("Error al listar página de recepciones", e);
+            throw new RuntimeException("Error al obtener lista de recepciones: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Busca una página de recepciones por número, orden de compra, estado y
+     * fechas. Los criterios nulos o vacíos se ignoran.
+     */
+    public PaginaRecepciones buscarRecepcionesPagina(
+            String numeroRecepcion,
+            String numeroOrdenCompra,
+            EstadoRecepcion estado,
+            LocalDateTime fechaInicio,
+            LocalDateTime fechaFin,
+            CursorRecepcion despuesDe,
+            int tamanio) {
+        try {
+            return recepcionService.buscarPagina(numeroRecepcion, numeroOrdenCompra, estado,
+                fechaInicio, fechaFin, despuesDe, tamanio);
+        } catch (DatabaseException e) {
+            logger.error("Error al buscar página de recepciones", e);
+            throw new RuntimeException("Error al buscar recepciones: " + e.getMessage());
+        }
+    }
 
     /**
      * Exporta una recepción a PDF o Excel
@@ -464,6 +522,37 @@ public class RecepcionMercanciaController {
     }
         }
     
+    /**
+     * Escribe el reporte general directamente en la salida, sin armarlo en memoria.
+     * @return Número de recepciones escritas
+     */
+    public long generarReporteGeneral(LocalDateTime fechaInicio, LocalDateTime fechaFin,
+                                      OutputStream salida) throws ReportException {
+        logger.debug("Generando reporte general para período: {} - {}", fechaInicio, fechaFin);
+        return reporteService.generarReporteGeneral(fechaInicio, fechaFin, salida, null);
+    }
+    
+    /**
+     * Encola el reporte general en {@link ColaReportes} a nombre del usuario actual;
+     * se reutiliza el archivo anterior del mismo período si no cambiaron los datos.
+     * @param alTerminar Se llama en el hilo de eventos cuando el reporte termina
+     * @return Trabajo para seguir el avance o cancelarlo
+     * @throws ReportException si el usuario ya tiene el máximo de reportes en proceso
+     */
+    public TrabajoReporte encolarReporteGeneral(LocalDateTime fechaInicio, LocalDateTime fechaFin,
+                                                Consumer<TrabajoReporte> alTerminar)
+            throws ReportException {
+        Usuario usuario = usuarioController.getUsuarioActual();
+        String username = usuario != null ? usuario.getUsername() : "";
+        CacheReportes.Clave clave = new CacheReportes.Clave("Recepciones",
+                VersionDatosDao.RECEPCIONES, VersionDatosDao.PROVEEDORES)
+            .con("desde", fechaInicio)
+            .con("hasta", fechaFin);
+        return ColaReportes.getInstancia().enviar(username, clave,
+            (salida, avance) -> reporteService.generarReporteGeneral(fechaInicio, fechaFin, salida, avance),
+            alTerminar);
+    }
+    
     //@Override
     public RecepcionMercancia findByNumeroDocumento(String numeroDocumento) throws DatabaseException {
     String sql = "SELECT * FROM recepciones_mercancia WHERE numero_documento = ?";
@@ -0,0 +1,135 @@
+package com.rintisa.dao.impl;
+
+import com.rintisa.config.DatabaseConfig;
+import com.rintisa.exception.DatabaseException;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caché de lectura con tamaño máximo (LRU) y tiempo de vida por entrada.
+ *
+ * La carga se hace fuera del bloqueo. Si el caché se invalida mientras una carga
+ * está en curso, el valor cargado se devuelve pero no se guarda, para no volver a
+ * publicar datos anteriores a la invalidación.
+ *
+ * Los resultados vacíos (null u Optional vacío) no se guardan: un registro creado
+ * después de una búsqueda fallida debe verse enseguida, no al vencer la entrada.
+ */
+final class CacheLectura<K, V> {
+
+    private static final int MAX_ENTRADAS_DEFECTO = 1000;
+    private static final long TTL_SEGUNDOS_DEFECTO = 300;
+
+    @FunctionalInterface
+    interface Cargador<V> {
+        V cargar() throws DatabaseException;
+    }
+
+    private static final class Entrada<V> {
+        final V valor;
+        final long expiraEn;
+
+        Entrada(V valor, long expiraEn) {
+            this.valor = valor;
+            this.expiraEn = expiraEn;
+        }
+    }
+
+    private final String nombre;
+    private final long ttlNanos;
+    private final LinkedHashMap<K, Entrada<V>> entradas;
+    private long generacion;
+
+    private final AtomicLong aciertos = new AtomicLong();
+    private final AtomicLong fallos = new AtomicLong();
+    private final AtomicLong desalojos = new AtomicLong();
+    private final AtomicLong expiraciones = new AtomicLong();
+
+    CacheLectura(String nombre, int maxEntradas, long ttlSegundos) {
+        this.nombre = nombre;
+        this.ttlNanos = ttlSegundos * 1_000_000_000L;
+        this.entradas = new LinkedHashMap<K, Entrada<V>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entrada<V>> eldest) {
+                if (size() > maxEntradas) {
+                    desalojos.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Crea un caché con el tamaño y tiempo de vida de db.cache.maxEntradas y
+     * db.cache.ttlSegundos.
+     */
+    static <K, V> CacheLectura<K, V> desdeConfiguracion(String nombre) {
+        return new CacheLectura<>(nombre,
+            DatabaseConfig.getIntProperty("db.cache.maxEntradas", MAX_ENTRADAS_DEFECTO),
+            DatabaseConfig.getLongProperty("db.cache.ttlSegundos", TTL_SEGUNDOS_DEFECTO));
+    }
+
+    V obtener(K clave, Cargador<V> cargador) throws DatabaseException {
+        long generacionCarga;
+        synchronized (this) {
+            Entrada<V> entrada = entradas.get(clave);
+            if (entrada != null) {
+                if (System.nanoTime() - entrada.expiraEn < 0) {
+                    aciertos.incrementAndGet();
+                    return entrada.valor;
+                }
+                entradas.remove(clave);
+                expiraciones.incrementAndGet();
+            }
+            generacionCarga = generacion;
+        }
+
+        fallos.incrementAndGet();
+        V valor = cargador.cargar();
+
+        synchronized (this) {
+            if (generacionCarga == generacion && !vacio(valor)) {
+                entradas.put(clave, new Entrada<>(valor, System.nanoTime() + ttlNanos));
+            }
+        }
+        return valor;
+    }
+
+    private static boolean vacio(Object valor) {
+        return valor == null || (valor instanceof Optional && ((Optional<?>) valor).isEmpty());
+    }
+
+    synchronized void invalidar(K clave) {
+        generacion++;
+        entradas.remove(clave);
+    }
+
+    synchronized void invalidarTodo() {
+        generacion++;
+        entradas.clear();
+    }
+
+    /**
+     * Contadores del caché: aciertos, fallos, desalojos por tamaño, expiraciones y tamaño actual.
+     */
+    Map<String, Long> getContadores() {
+        Map<String, Long> contadores = new LinkedHashMap<>();
+        contadores.put("aciertos", aciertos.get());
+        contadores.put("fallos", fallos.get());
+        contadores.put("desalojos", desalojos.get());
+        contadores.put("expiraciones", expiraciones.get());
+        synchronized (this) {
+            contadores.put("entradas", (long) entradas.size());
+        }
+        return contadores;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheLectura[" + nombre + "] " + getContadores();
+    }
+}
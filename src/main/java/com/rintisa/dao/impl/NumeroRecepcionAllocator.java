@@ -0,0 +1,144 @@
+package com.rintisa.dao.impl;
+
+import com.rintisa.config.DatabaseConfig;
+import com.rintisa.exception.DatabaseException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generador de números de recepción por bloques (hi/lo).
+ *
+ * En lugar de bloquear la fila de recepcion_sequence por cada recepción, se reserva
+ * un bloque de números con una sola transacción y se reparten desde memoria.
+ * Los números son únicos entre JVMs; los que queden sin usar al cerrar la aplicación
+ * se pierden, por lo que la numeración puede tener huecos.
+ */
+final class NumeroRecepcionAllocator {
+    private static final Logger logger = LoggerFactory.getLogger(NumeroRecepcionAllocator.class);
+
+    private static final int TAMANIO_BLOQUE_DEFECTO = 20;
+
+    private final String prefix;
+    private volatile Bloque bloque;
+
+    NumeroRecepcionAllocator(String prefix) {
+        this.prefix = prefix;
+    }
+
+    /**
+     * Devuelve el siguiente número con formato PREFIJO-AAAA-NNNNN.
+     */
+    String siguiente() throws DatabaseException {
+        int year = LocalDate.now().getYear();
+        while (true) {
+            Bloque actual = bloque;
+            if (actual != null && actual.year == year) {
+                long valor = actual.siguiente.getAndIncrement();
+                if (valor <= actual.ultimo) {
+                    return String.format("%s-%d-%05d", prefix, year, valor);
+                }
+            }
+            synchronized (this) {
+                // Otro hilo pudo haber reservado un bloque nuevo mientras esperábamos
+                if (bloque == actual) {
+                    bloque = reservarBloque(year);
+                }
+            }
+        }
+    }
+
+    private Bloque reservarBloque(int year) throws DatabaseException {
+        int tamanio = tamanioBloque();
+        String selectSql = "SELECT current_value FROM recepcion_sequence " +
+                          "WHERE prefix = ? AND year = ? FOR UPDATE";
+        String updateSql = "UPDATE recepcion_sequence SET current_value = ? " +
+                          "WHERE prefix = ? AND year = ?";
+        String insertSql = "INSERT INTO recepcion_sequence (prefix, year, current_value) " +
+                          "VALUES (?, ?, ?)";
+
+        // La reserva no debe unirse a la transacción del llamador: si esta se revirtiera,
+        // los números ya entregados desde memoria podrían repetirse.
+        Connection conn = null;
+        try {
+            conn = DatabaseConfig.getConexionIndependiente();
+            conn.setAutoCommit(false);
+
+            long anterior;
+            try (PreparedStatement stmt = conn.prepareStatement(selectSql)) {
+                stmt.setString(1, prefix);
+                stmt.setInt(2, year);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    anterior = rs.next() ? rs.getLong("current_value") : -1;
+                }
+            }
+
+            long ultimo;
+            if (anterior >= 0) {
+                ultimo = anterior + tamanio;
+                try (PreparedStatement stmt = conn.prepareStatement(updateSql)) {
+                    stmt.setLong(1, ultimo);
+                    stmt.setString(2, prefix);
+                    stmt.setInt(3, year);
+                    stmt.executeUpdate();
+                }
+            } else {
+                anterior = 0;
+                ultimo = tamanio;
+                try (PreparedStatement stmt = conn.prepareStatement(insertSql)) {
+                    stmt.setString(1, prefix);
+                    stmt.setInt(2, year);
+                    stmt.setLong(3, ultimo);
+                    stmt.executeUpdate();
+                }
+            }
+
+            conn.commit();
+            logger.debug("Bloque de números reservado para {}-{}: {} a {}",
+                prefix, year, anterior + 1, ultimo);
+            return new Bloque(year, anterior + 1, ultimo);
+
+        } catch (SQLException e) {
+            if (conn != null) {
+                try {
+                    conn.rollback();
+                } catch (SQLException ex) {
+                    logger.error("Error al realizar rollback", ex);
+                }
+            }
+            logger.error("Error al reservar bloque de números de recepción", e);
+            throw new DatabaseException("Error al generar número de recepción: " + e.getMessage());
+        } finally {
+            if (conn != null) {
+                try {
+                    conn.setAutoCommit(true);
+                    conn.close();
+                } catch (SQLException e) {
+                    logger.error("Error al cerrar conexión", e);
+                }
+            }
+        }
+    }
+
+    private static int tamanioBloque() {
+        return DatabaseConfig.getIntProperty("db.recepcion.bloqueNumeros", TAMANIO_BLOQUE_DEFECTO);
+    }
+
+    private static final class Bloque {
+        final int year;
+        final long ultimo;
+        final AtomicLong siguiente;
+
+        Bloque(int year, long primero, long ultimo) {
+            this.year = year;
+            this.ultimo = ultimo;
+            this.siguiente = new AtomicLong(primero);
+        }
+    }
+}
@@ -62,8 +62,9 @@ public class PermisosPantallaDao implements IPermisosPantallaDao {
             
             stmt.setLong(1, id);
             try (ResultSet rs = stmt.executeQuery()) {
+                int[] columnas = PlanColumnas.indices(sql, rs, COLUMNAS_PERMISO);
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToPermisosPantalla(rs));
+                    return Optional.of(mapResultSetToPermisosPantalla(rs, columnas));
                 }
             }
             return Optional.empty();
@@ -81,9 +82,10 @@ public class PermisosPantallaDao implements IPermisosPantallaDao {
         try (Connection conn = DatabaseConfig.getConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
+            int[] columnas = PlanColumnas.indices(sql, rs, COLUMNAS_PERMISO);
             
             while (rs.next()) {
-                permisos.add(mapResultSetToPermisosPantalla(rs));
+                permisos.add(mapResultSetToPermisosPantalla(rs, columnas));
             }
             return permisos;
         } catch (SQLException e) {
@@ -145,8 +147,9 @@ public class PermisosPantallaDao implements IPermisosPantallaDao {
             
             stmt.setString(1, rolNombre);
             try (ResultSet rs = stmt.executeQuery()) {
+                int[] columnas = PlanColumnas.indices(sql, rs, COLUMNAS_PERMISO);
                 while (rs.next()) {
-                    permisos.add(mapResultSetToPermisosPantalla(rs));
+                    permisos.add(mapResultSetToPermisosPantalla(rs, columnas));
                 }
             }
             return permisos;
@@ -168,8 +171,9 @@ public class PermisosPantallaDao implements IPermisosPantallaDao {
             stmt.setString(2, pantalla.name());
             
             try (ResultSet rs = stmt.executeQuery()) {
+                int[] columnas = PlanColumnas.indices(sql, rs, COLUMNAS_PERMISO);
                 if (rs.next()) {
-                    return mapResultSetToPermisosPantalla(rs);
+                    return mapResultSetToPermisosPantalla(rs, columnas);
                 }
                 return null;
             }
@@ -243,16 +247,22 @@ public class PermisosPantallaDao implements IPermisosPantallaDao {
         }
     }
 
-    private PermisosPantalla mapResultSetToPermisosPantalla(ResultSet rs) throws SQLException {
+    // Columnas que lee mapResultSetToPermisosPantalla, en el orden en que las lee
+    private static final PlanColumnas.Columnas COLUMNAS_PERMISO = new PlanColumnas.Columnas(
+        "id", "rol_nombre", "pantalla", "acceso", "edicion", "eliminacion",
+        "fecha_modificacion", "usuario_modificacion");
+
+    private PermisosPantalla mapResultSetToPermisosPantalla(ResultSet rs, int[] columnas) throws SQLException {
+        int c = 0;
         PermisosPantalla permiso = new PermisosPantalla();
-        permiso.setId(rs.getLong("id"));
-        permiso.setRolNombre(rs.getString("rol_nombre"));
-        permiso.setPantalla(Pantalla.valueOf(rs.getString("pantalla")));
-        permiso.setAcceso(rs.getBoolean("acceso"));
-        permiso.setEdicion(rs.getBoolean("edicion"));
-        permiso.setEliminacion(rs.getBoolean("eliminacion"));
-        permiso.setFechaModificacion(rs.getTimestamp("fecha_modificacion").toLocalDateTime());
-        permiso.setUsuarioModificacion(rs.getLong("usuario_modificacion"));
+        permiso.setId(rs.getLong(columnas[c++]));
+        permiso.setRolNombre(rs.getString(columnas[c++]));
+        permiso.setPantalla(Pantalla.valueOf(rs.getString(columnas[c++])));
+        permiso.setAcceso(rs.getBoolean(columnas[c++]));
+        permiso.setEdicion(rs.getBoolean(columnas[c++]));
+        permiso.setEliminacion(rs.getBoolean(columnas[c++]));
+        permiso.setFechaModificacion(rs.getTimestamp(columnas[c++]).toLocalDateTime());
+        permiso.setUsuarioModificacion(rs.getLong(columnas[c++]));
         return permiso;
     }
 }
@@ -0,0 +1,79 @@
+package com.rintisa.dao.impl;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Posiciones de las columnas de un ResultSet, resueltas una vez por consulta.
+ *
+ * Leer por nombre obliga al driver a buscar la etiqueta en cada getXxx de cada
+ * fila. Los mappers declaran en un {@link Columnas} las columnas que leen y, antes
+ * de recorrer las filas, piden sus índices con {@link #indices}; luego leen por
+ * posición. El plan se guarda por texto SQL y se vuelve a calcular si el número de
+ * columnas del resultado ya no coincide (por ejemplo, un SELECT * tras cambiar la
+ * tabla).
+ *
+ * Las etiquetas se comparan sin distinguir mayúsculas y, si se repiten, vale la
+ * primera, igual que ResultSet.findColumn. Una columna que no está en el resultado
+ * recibe el índice 0, de modo que leerla lanza SQLException como lo haría la
+ * lectura por nombre.
+ */
+final class PlanColumnas {
+
+    // Límite de consultas distintas con plan guardado; las demás se resuelven cada vez
+    private static final int MAX_PLANES = 500;
+
+    private static final Map<String, PlanColumnas> planes = new ConcurrentHashMap<>();
+
+    /**
+     * Lista de columnas que lee un mapper, en el orden de los índices devueltos.
+     */
+    static final class Columnas {
+        private final String[] nombres;
+
+        Columnas(String... nombres) {
+            this.nombres = nombres;
+        }
+    }
+
+    private final int totalColumnas;
+    private final Map<String, Integer> posiciones;
+    // Se indexa por identidad: cada mapper tiene una sola instancia de Columnas
+    private final Map<Columnas, int[]> indicesPorMapper = new ConcurrentHashMap<>();
+
+    private PlanColumnas(ResultSetMetaData metaData) throws SQLException {
+        this.totalColumnas = metaData.getColumnCount();
+        this.posiciones = new HashMap<>(totalColumnas * 2);
+        for (int i = 1; i <= totalColumnas; i++) {
+            posiciones.putIfAbsent(metaData.getColumnLabel(i).toLowerCase(Locale.ROOT), i);
+        }
+    }
+
+    /**
+     * Índices (base 1) de las columnas del mapper en el resultado de la consulta.
+     */
+    static int[] indices(String sql, ResultSet rs, Columnas columnas) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        PlanColumnas plan = planes.get(sql);
+        if (plan == null || plan.totalColumnas != metaData.getColumnCount()) {
+            plan = new PlanColumnas(metaData);
+            if (planes.size() < MAX_PLANES || planes.containsKey(sql)) {
+                planes.put(sql, plan);
+            }
+        }
+        return plan.indicesPorMapper.computeIfAbsent(columnas, plan::resolver);
+    }
+
+    private int[] resolver(Columnas columnas) {
+        int[] indices = new int[columnas.nombres.length];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = posiciones.getOrDefault(columnas.nombres[i].toLowerCase(Locale.ROOT), 0);
+        }
+        return indices;
+    }
+}
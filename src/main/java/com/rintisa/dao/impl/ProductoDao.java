@@ -65,8 +65,9 @@ public class ProductoDao implements IProductoDao {
             stmt.setLong(1, id);
             
             try (ResultSet rs = stmt.executeQuery()) {
+                int[] columnas = PlanColumnas.indices(sql, rs, COLUMNAS_PRODUCTO);
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToProduct(rs));
+                    return Optional.of(mapResultSetToProduct(rs, columnas));
                 }
             }
             
@@ -85,9 +86,10 @@ public class ProductoDao implements IProductoDao {
         try (Connection conn = DatabaseConfig.getConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
+            int[] columnas = PlanColumnas.indices(sql, rs, COLUMNAS_PRODUCTO);
             
             while (rs.next()) {
-                productos.add(mapResultSetToProduct(rs));
+                productos.add(mapResultSetToProduct(rs, columnas));
             }
             
             return productos;
@@ -155,8 +157,9 @@ public class ProductoDao implements IProductoDao {
             stmt.setString(1, codigo);
             
             try (ResultSet rs = stmt.executeQuery()) {
+                int[] columnas = PlanColumnas.indices(sql, rs, COLUMNAS_PRODUCTO);
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToProduct(rs));
+                    return Optional.of(mapResultSetToProduct(rs, columnas));
                 }
             }
             
@@ -178,8 +181,9 @@ public class ProductoDao implements IProductoDao {
             stmt.setBoolean(1, activo);
             
             try (ResultSet rs = stmt.executeQuery()) {
+                int[] columnas = PlanColumnas.indices(sql, rs, COLUMNAS_PRODUCTO);
                 while (rs.next()) {
-                    productos.add(mapResultSetToProduct(rs));
+                    productos.add(mapResultSetToProduct(rs, columnas));
                 }
             }
             
@@ -191,32 +195,49 @@ public class ProductoDao implements IProductoDao {
     }
     
     
+    /**
+     * Productos activos que contienen cada palabra del criterio en su código,
+     * nombre, descripción o unidad de medida, no necesariamente en el mismo campo.
+     * Es lo mismo que devuelve IndiceProductos.buscar cuando el índice está cargado.
+     */
     @Override
     public List<Producto> buscar(String criterio) throws DatabaseException {
-        String sql = "SELECT * FROM productos WHERE " +
-                    "(codigo LIKE ? OR " +
-                    "nombre LIKE ? OR " +
-                    "descripcion LIKE ? OR " +
-                    "unidad_medida LIKE ?) " +
-                    "AND activo = true " +
-                    "ORDER BY codigo";
+        List<String> palabras = new ArrayList<>();
+        for (String palabra : criterio.trim().split("\\s+")) {
+            if (!palabra.isEmpty()) {
+                palabras.add(palabra);
+            }
+        }
+
+        StringBuilder sb = new StringBuilder("SELECT * FROM productos WHERE activo = true ");
+        for (int i = 0; i < palabras.size(); i++) {
+            sb.append("AND (codigo LIKE ? OR ")
+              .append("nombre LIKE ? OR ")
+              .append("descripcion LIKE ? OR ")
+              .append("unidad_medida LIKE ?) ");
+        }
+        sb.append("ORDER BY codigo");
+        String sql = sb.toString();
 
         List<Producto> productos = new ArrayList<>();
         
         try (Connection conn = DatabaseConfig.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             
-            String criterioLike = "%" + criterio.trim() + "%";
-            
-            // Establecer el criterio para cada campo de búsqueda
-            stmt.setString(1, criterioLike);
-            stmt.setString(2, criterioLike);
-            stmt.setString(3, criterioLike);
-            stmt.setString(4, criterioLike);
+            // Cada palabra se busca en los cuatro campos; % y _ se toman literalmente
+            int index = 1;
+            for (String palabra : palabras) {
+                String palabraLike = "%" + palabra.replace("\\", "\\\\")
+                    .replace("%", "\\%").replace("_", "\\_") + "%";
+                for (int campo = 0; campo < 4; campo++) {
+                    stmt.setString(index++, palabraLike);
+                }
+            }
             
             try (ResultSet rs = stmt.executeQuery()) {
+                int[] columnas = PlanColumnas.indices(sql, rs, COLUMNAS_PRODUCTO);
                 while (rs.next()) {
-                    productos.add(mapResultSetToProduct(rs));
+                    productos.add(mapResultSetToProduct(rs, columnas));
                 }
             }
             
@@ -284,8 +305,9 @@ public class ProductoDao implements IProductoDao {
             }
             
             try (ResultSet rs = stmt.executeQuery()) {
+                int[] columnas = PlanColumnas.indices(sql.toString(), rs, COLUMNAS_PRODUCTO);
                 while (rs.next()) {
-                    productos.add(mapResultSetToProduct(rs));
+                    productos.add(mapResultSetToProduct(rs, columnas));
                 }
             }
             
@@ -300,20 +322,26 @@ public class ProductoDao implements IProductoDao {
     }
     
 
-    private Producto mapResultSetToProduct(ResultSet rs) throws SQLException {
+    // Columnas que lee mapResultSetToProduct, en el orden en que las lee
+    private static final PlanColumnas.Columnas COLUMNAS_PRODUCTO = new PlanColumnas.Columnas(
+        "id", "codigo", "nombre", "descripcion", "unidad_medida", "precio_unitario",
+        "stock_minimo", "stock_actual", "activo", "fecha_registro", "fecha_modificacion");
+
+    private Producto mapResultSetToProduct(ResultSet rs, int[] columnas) throws SQLException {
+        int c = 0;
         Producto producto = new Producto();
-        producto.setId(rs.getLong("id"));
-        producto.setCodigo(rs.getString("codigo"));
-        producto.setNombre(rs.getString("nombre"));
-        producto.setDescripcion(rs.getString("descripcion"));
-        producto.setUnidadMedida(rs.getString("unidad_medida"));
-        producto.setPrecioUnitario(rs.getDouble("precio_unitario"));
-        producto.setStockMinimo(rs.getInt("stock_minimo"));
-        producto.setStockActual(rs.getInt("stock_actual"));
-        producto.setActivo(rs.getBoolean("activo"));
-        producto.setFechaRegistro(rs.getTimestamp("fecha_registro").toLocalDateTime());
+        producto.setId(rs.getLong(columnas[c++]));
+        producto.setCodigo(rs.getString(columnas[c++]));
+        producto.setNombre(rs.getString(columnas[c++]));
+        producto.setDescripcion(rs.getString(columnas[c++]));
+        producto.setUnidadMedida(rs.getString(columnas[c++]));
+        producto.setPrecioUnitario(rs.getDouble(columnas[c++]));
+        producto.setStockMinimo(rs.getInt(columnas[c++]));
+        producto.setStockActual(rs.getInt(columnas[c++]));
+        producto.setActivo(rs.getBoolean(columnas[c++]));
+        producto.setFechaRegistro(rs.getTimestamp(columnas[c++]).toLocalDateTime());
         
-        Timestamp fechaModificacion = rs.getTimestamp("fecha_modificacion");
+        Timestamp fechaModificacion = rs.getTimestamp(columnas[c++]);
         if (fechaModificacion != null) {
             producto.setFechaModificacion(fechaModificacion.toLocalDateTime());
         }
@@ -0,0 +1,145 @@
+package com.rintisa.dao.impl;
+
+import com.rintisa.config.TransactionManager;
+import com.rintisa.dao.interfaces.IProductoDao;
+import com.rintisa.exception.DatabaseException;
+import com.rintisa.model.Producto;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * IProductoDao con caché de lectura delante de otro IProductoDao.
+ *
+ * Se cachean findById, findByCodigo, findAll y findByActivo; las búsquedas por
+ * criterio o filtros van siempre a la base de datos. save, update y delete
+ * invalidan el caché al terminar la transacción en curso. Dentro de una
+ * transacción las lecturas no usan el caché, porque podrían ver cambios que aún
+ * no se han confirmado. Los objetos devueltos son copias, así que modificarlos
+ * no altera el caché.
+ */
+public class ProductoDaoCache implements IProductoDao {
+
+    // Compartidos por todas las instancias para que una actualización invalide
+    // lo que hayan cargado las demás
+    private static final CacheLectura<Long, Optional<Producto>> porId =
+        CacheLectura.desdeConfiguracion("productos.id");
+    private static final CacheLectura<String, Optional<Producto>> porCodigo =
+        CacheLectura.desdeConfiguracion("productos.codigo");
+    private static final CacheLectura<String, List<Producto>> listas =
+        CacheLectura.desdeConfiguracion("productos.listas");
+
+    private final IProductoDao delegado;
+
+    public ProductoDaoCache(IProductoDao delegado) {
+        this.delegado = delegado;
+    }
+
+    @Override
+    public Optional<Producto> findById(Long id) throws DatabaseException {
+        if (TransactionManager.hayTransaccionActiva()) {
+            return delegado.findById(id);
+        }
+        return copiar(porId.obtener(id, () -> delegado.findById(id)));
+    }
+
+    @Override
+    public Optional<Producto> findByCodigo(String codigo) throws DatabaseException {
+        if (TransactionManager.hayTransaccionActiva()) {
+            return delegado.findByCodigo(codigo);
+        }
+        return copiar(porCodigo.obtener(codigo, () -> delegado.findByCodigo(codigo)));
+    }
+
+    @Override
+    public List<Producto> findAll() throws DatabaseException {
+        if (TransactionManager.hayTransaccionActiva()) {
+            return delegado.findAll();
+        }
+        return copiar(listas.obtener("todos", delegado::findAll));
+    }
+
+    @Override
+    public List<Producto> findByActivo(boolean activo) throws DatabaseException {
+        if (TransactionManager.hayTransaccionActiva()) {
+            return delegado.findByActivo(activo);
+        }
+        return copiar(listas.obtener("activo=" + activo, () -> delegado.findByActivo(activo)));
+    }
+
+    @Override
+    public List<Producto> buscar(String criterio) throws DatabaseException {
+        return delegado.buscar(criterio);
+    }
+
+    @Override
+    public List<Producto> buscarPorFiltros(Map<String, Object> filtros) throws DatabaseException {
+        return delegado.buscarPorFiltros(filtros);
+    }
+
+    @Override
+    public Producto save(Producto producto) throws DatabaseException {
+        try {
+            return delegado.save(producto);
+        } finally {
+            // Con el id ya asignado, por si se consultó antes de existir
+            invalidar(producto.getId());
+        }
+    }
+
+    @Override
+    public void update(Producto producto) throws DatabaseException {
+        try {
+            delegado.update(producto);
+        } finally {
+            invalidar(producto.getId());
+        }
+    }
+
+    @Override
+    public void delete(Long id) throws DatabaseException {
+        try {
+            delegado.delete(id);
+        } finally {
+            invalidar(id);
+        }
+    }
+
+    /**
+     * Contadores de aciertos, fallos y desalojos de cada caché de productos.
+     */
+    public static Map<String, Map<String, Long>> getEstadisticasCache() {
+        Map<String, Map<String, Long>> estadisticas = new LinkedHashMap<>();
+        estadisticas.put("porId", porId.getContadores());
+        estadisticas.put("porCodigo", porCodigo.getContadores());
+        estadisticas.put("listas", listas.getContadores());
+        return estadisticas;
+    }
+
+    // El código de un producto puede cambiar, así que las búsquedas por código
+    // y las listas se descartan completas
+    private static void invalidar(Long id) {
+        TransactionManager.alFinalizar(() -> {
+            if (id != null) {
+                porId.invalidar(id);
+            }
+            porCodigo.invalidarTodo();
+            listas.invalidarTodo();
+        });
+    }
+
+    private static Optional<Producto> copiar(Optional<Producto> producto) {
+        return producto.map(Producto::new);
+    }
+
+    private static List<Producto> copiar(List<Producto> productos) {
+        List<Producto> copia = new ArrayList<>(productos.size());
+        for (Producto producto : productos) {
+            copia.add(new Producto(producto));
+        }
+        return copia;
+    }
+}
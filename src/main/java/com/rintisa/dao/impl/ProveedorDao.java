@@ -24,9 +24,10 @@ public class ProveedorDao implements IProveedorDao {
         try (Connection conn = DatabaseConfig.getConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
+            int[] columnas = PlanColumnas.indices(sql, rs, COLUMNAS_PROVEEDOR);
 
             while (rs.next()) {
-                proveedores.add(mapResultSetToProveedor(rs));
+                proveedores.add(mapResultSetToProveedor(rs, columnas));
             }
             return proveedores;
         } catch (SQLException e) {
@@ -44,8 +45,9 @@ public class ProveedorDao implements IProveedorDao {
             
             stmt.setLong(1, id);
             try (ResultSet rs = stmt.executeQuery()) {
+                int[] columnas = PlanColumnas.indices(sql, rs, COLUMNAS_PROVEEDOR);
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToProveedor(rs));
+                    return Optional.of(mapResultSetToProveedor(rs, columnas));
                 }
             }
             return Optional.empty();
@@ -64,8 +66,9 @@ public class ProveedorDao implements IProveedorDao {
             
             stmt.setString(1, codigo);
             try (ResultSet rs = stmt.executeQuery()) {
+                int[] columnas = PlanColumnas.indices(sql, rs, COLUMNAS_PROVEEDOR);
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToProveedor(rs));
+                    return Optional.of(mapResultSetToProveedor(rs, columnas));
                 }
             }
             return Optional.empty();
@@ -84,8 +87,9 @@ public class ProveedorDao implements IProveedorDao {
             
             stmt.setString(1, ruc);
             try (ResultSet rs = stmt.executeQuery()) {
+                int[] columnas = PlanColumnas.indices(sql, rs, COLUMNAS_PROVEEDOR);
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToProveedor(rs));
+                    return Optional.of(mapResultSetToProveedor(rs, columnas));
                 }
             }
             return Optional.empty();
@@ -105,8 +109,9 @@ public class ProveedorDao implements IProveedorDao {
             
             stmt.setBoolean(1, activo);
             try (ResultSet rs = stmt.executeQuery()) {
+                int[] columnas = PlanColumnas.indices(sql, rs, COLUMNAS_PROVEEDOR);
                 while (rs.next()) {
-                    proveedores.add(mapResultSetToProveedor(rs));
+                    proveedores.add(mapResultSetToProveedor(rs, columnas));
                 }
             }
             return proveedores;
@@ -136,6 +141,7 @@ public class ProveedorDao implements IProveedorDao {
             if (affectedRows == 0) {
                 throw new DatabaseException("No se pudo guardar el proveedor");
             }
+            VersionDatosDao.incrementar(VersionDatosDao.PROVEEDORES);
 
             try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
                 if (generatedKeys.next()) {
@@ -172,6 +178,7 @@ public class ProveedorDao implements IProveedorDao {
             if (affectedRows == 0) {
                 throw new DatabaseException("No se pudo actualizar el proveedor");
             }
+            VersionDatosDao.incrementar(VersionDatosDao.PROVEEDORES);
         } catch (SQLException e) {
             logger.error("Error al actualizar proveedor", e);
             throw new DatabaseException("Error al actualizar proveedor: " + e.getMessage());
@@ -190,22 +197,28 @@ public class ProveedorDao implements IProveedorDao {
             if (affectedRows == 0) {
                 throw new DatabaseException("No se pudo eliminar el proveedor");
             }
+            VersionDatosDao.incrementar(VersionDatosDao.PROVEEDORES);
         } catch (SQLException e) {
             logger.error("Error al eliminar proveedor", e);
             throw new DatabaseException("Error al eliminar proveedor: " + e.getMessage());
         }
     }
 
-    private Proveedor mapResultSetToProveedor(ResultSet rs) throws SQLException {
+    // Columnas que lee mapResultSetToProveedor, en el orden en que las lee
+    private static final PlanColumnas.Columnas COLUMNAS_PROVEEDOR = new PlanColumnas.Columnas(
+        "id", "codigo", "razon_social", "ruc", "direccion", "telefono", "email", "activo");
+
+    private Proveedor mapResultSetToProveedor(ResultSet rs, int[] columnas) throws SQLException {
+        int c = 0;
         Proveedor proveedor = new Proveedor();
-        proveedor.setId(rs.getLong("id"));
-        proveedor.setCodigo(rs.getString("codigo"));
-        proveedor.setRazonSocial(rs.getString("razon_social"));
-        proveedor.setRuc(rs.getString("ruc"));
-        proveedor.setDireccion(rs.getString("direccion"));
-        proveedor.setTelefono(rs.getString("telefono"));
-        proveedor.setEmail(rs.getString("email"));
-        proveedor.setActivo(rs.getBoolean("activo"));
+        proveedor.setId(rs.getLong(columnas[c++]));
+        proveedor.setCodigo(rs.getString(columnas[c++]));
+        proveedor.setRazonSocial(rs.getString(columnas[c++]));
+        proveedor.setRuc(rs.getString(columnas[c++]));
+        proveedor.setDireccion(rs.getString(columnas[c++]));
+        proveedor.setTelefono(rs.getString(columnas[c++]));
+        proveedor.setEmail(rs.getString(columnas[c++]));
+        proveedor.setActivo(rs.getBoolean(columnas[c++]));
         return proveedor;
     }
 }
\ No newline at end of file
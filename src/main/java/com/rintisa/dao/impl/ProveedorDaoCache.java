@@ -0,0 +1,136 @@
+package com.rintisa.dao.impl;
+
+import com.rintisa.config.TransactionManager;
+import com.rintisa.dao.interfaces.IProveedorDao;
+import com.rintisa.exception.DatabaseException;
+import com.rintisa.model.Proveedor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * IProveedorDao con caché de lectura delante de otro IProveedorDao.
+ *
+ * Funciona igual que {@link ProductoDaoCache}: las consultas por id, código, RUC
+ * y las listas se cachean, las escrituras invalidan al terminar la transacción y
+ * se devuelven copias de los proveedores cacheados.
+ */
+public class ProveedorDaoCache implements IProveedorDao {
+
+    private static final CacheLectura<Long, Optional<Proveedor>> porId =
+        CacheLectura.desdeConfiguracion("proveedores.id");
+    private static final CacheLectura<String, Optional<Proveedor>> porClave =
+        CacheLectura.desdeConfiguracion("proveedores.clave");
+    private static final CacheLectura<String, List<Proveedor>> listas =
+        CacheLectura.desdeConfiguracion("proveedores.listas");
+
+    private final IProveedorDao delegado;
+
+    public ProveedorDaoCache(IProveedorDao delegado) {
+        this.delegado = delegado;
+    }
+
+    @Override
+    public List<Proveedor> findAll() throws DatabaseException {
+        if (TransactionManager.hayTransaccionActiva()) {
+            return delegado.findAll();
+        }
+        return copiar(listas.obtener("todos", delegado::findAll));
+    }
+
+    @Override
+    public Optional<Proveedor> findById(Long id) throws DatabaseException {
+        if (TransactionManager.hayTransaccionActiva()) {
+            return delegado.findById(id);
+        }
+        return copiar(porId.obtener(id, () -> delegado.findById(id)));
+    }
+
+    @Override
+    public Optional<Proveedor> findByCodigo(String codigo) throws DatabaseException {
+        if (TransactionManager.hayTransaccionActiva()) {
+            return delegado.findByCodigo(codigo);
+        }
+        return copiar(porClave.obtener("codigo:" + codigo, () -> delegado.findByCodigo(codigo)));
+    }
+
+    @Override
+    public Optional<Proveedor> findByRuc(String ruc) throws DatabaseException {
+        if (TransactionManager.hayTransaccionActiva()) {
+            return delegado.findByRuc(ruc);
+        }
+        return copiar(porClave.obtener("ruc:" + ruc, () -> delegado.findByRuc(ruc)));
+    }
+
+    @Override
+    public List<Proveedor> findByActivo(boolean activo) throws DatabaseException {
+        if (TransactionManager.hayTransaccionActiva()) {
+            return delegado.findByActivo(activo);
+        }
+        return copiar(listas.obtener("activo=" + activo, () -> delegado.findByActivo(activo)));
+    }
+
+    @Override
+    public Proveedor save(Proveedor proveedor) throws DatabaseException {
+        try {
+            return delegado.save(proveedor);
+        } finally {
+            // Con el id ya asignado, por si se consultó antes de existir
+            invalidar(proveedor.getId());
+        }
+    }
+
+    @Override
+    public void update(Proveedor proveedor) throws DatabaseException {
+        try {
+            delegado.update(proveedor);
+        } finally {
+            invalidar(proveedor.getId());
+        }
+    }
+
+    @Override
+    public void delete(Long id) throws DatabaseException {
+        try {
+            delegado.delete(id);
+        } finally {
+            invalidar(id);
+        }
+    }
+
+    /**
+     * Contadores de aciertos, fallos y desalojos de cada caché de proveedores.
+     */
+    public static Map<String, Map<String, Long>> getEstadisticasCache() {
+        Map<String, Map<String, Long>> estadisticas = new LinkedHashMap<>();
+        estadisticas.put("porId", porId.getContadores());
+        estadisticas.put("porClave", porClave.getContadores());
+        estadisticas.put("listas", listas.getContadores());
+        return estadisticas;
+    }
+
+    private static void invalidar(Long id) {
+        TransactionManager.alFinalizar(() -> {
+            if (id != null) {
+                porId.invalidar(id);
+            }
+            porClave.invalidarTodo();
+            listas.invalidarTodo();
+        });
+    }
+
+    private static Optional<Proveedor> copiar(Optional<Proveedor> proveedor) {
+        return proveedor.map(Proveedor::new);
+    }
+
+    private static List<Proveedor> copiar(List<Proveedor> proveedores) {
+        List<Proveedor> copia = new ArrayList<>(proveedores.size());
+        for (Proveedor proveedor : proveedores) {
+            copia.add(new Proveedor(proveedor));
+        }
+        return copia;
+    }
+}
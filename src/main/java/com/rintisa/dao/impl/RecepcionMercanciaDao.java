@@ -6,10 +6,13 @@ import com.rintisa.dao.interfaces.IRecepcionMercanciaDao;
 import com.rintisa.exception.DatabaseException;
 import com.rintisa.exception.ValidationException;
 import com.rintisa.model.RecepcionMercancia;
+import com.rintisa.model.CursorRecepcion;
 import com.rintisa.model.DetalleRecepcion;
 
+import com.rintisa.model.PaginaRecepciones;
 import com.rintisa.model.Producto;
 import com.rintisa.model.Proveedor;
+import com.rintisa.model.ResumenRecepcion;
 import com.rintisa.model.RecepcionItem;
 import com.rintisa.model.enums.EstadoRecepcion;
 import com.rintisa.model.Usuario;
@@ -18,16 +21,57 @@ import org.slf4j.LoggerFactory;
 
 import java.sql.*;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 public class RecepcionMercanciaDao implements IRecepcionMercanciaDao {
     private static final Logger logger = LoggerFactory.getLogger(RecepcionMercanciaDao.class);
+    
+    // Compartido por todas las instancias: los bloques de números se reservan por JVM
+    private static final NumeroRecepcionAllocator numeradorRecepciones =
+        new NumeroRecepcionAllocator("REC");
+    
+    /** Clave del mapa de getEstadisticas con la duración en ms de cada sección. */
+    public static final String CLAVE_TIEMPOS_ESTADISTICAS = "tiemposMs";
+    
+    private static final int HILOS_ESTADISTICAS_DEFECTO = 3;
+    
+    // Máximo de ids por cláusula IN al cargar detalles de varias recepciones
+    private static final int TAMANIO_LOTE_IN = 500;
+    
+    // Filas por viaje al leer con cursor en drivers distintos de MySQL
+    private static final int FILAS_POR_LOTE_CURSOR = 1000;
+    
+    private static final String SQL_SELECT_DETALLES = "SELECT dr.*, " +
+                "p.id as producto_id, p.codigo as producto_codigo, " +
+                "p.nombre as producto_nombre, p.unidad_medida, " +
+                "p.precio_unitario as producto_precio " +
+                "FROM detalle_recepcion dr " +
+                "INNER JOIN productos p ON dr.producto_id = p.id ";
+    
+    // Resumen diario; se recalcula después de confirmar cada cambio, igual que
+    // la versión de datos de recepciones (VersionDatosDao)
+    private static final ResumenRecepcionesDao resumen = new ResumenRecepcionesDao();
 
     @Override
     public RecepcionMercancia save(RecepcionMercancia recepcion) throws DatabaseException {
@@ -78,6 +122,8 @@ public class RecepcionMercanciaDao implements IRecepcionMercanciaDao {
 
             // Guardar los items
             saveItems(conn, recepcion);
+            resumen.actualizarRecepcion(conn, recepcion.getId());
+            VersionDatosDao.incrementar(VersionDatosDao.RECEPCIONES);
 
             logger.info("Recepción guardada exitosamente con ID: {}", recepcion.getId());
             return recepcion;
@@ -134,8 +180,10 @@ public class RecepcionMercanciaDao implements IRecepcionMercanciaDao {
             stmt.setLong(1, id);
 
             try (ResultSet rs = stmt.executeQuery()) {
+                int[] columnas = PlanColumnas.indices(sql, rs, COLUMNAS_RECEPCION);
+                Referencias referencias = new Referencias();
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToRecepcion(rs));
+                    return Optional.of(mapResultSetToRecepcion(rs, columnas, referencias));
                 }
             }
 
@@ -157,9 +205,11 @@ public class RecepcionMercanciaDao implements IRecepcionMercanciaDao {
     try (Connection conn = DatabaseConfig.getConnection();
          Statement stmt = conn.createStatement();
          ResultSet rs = stmt.executeQuery(sql)) {
+        int[] columnas = PlanColumnas.indices(sql, rs, COLUMNAS_RECEPCION);
+        Referencias referencias = new Referencias();
         
         while (rs.next()) {
-            recepciones.add(mapResultSetToRecepcion(rs));
+            recepciones.add(mapResultSetToRecepcion(rs, columnas, referencias));
         }
         return recepciones;
     } catch (SQLException e) {
@@ -190,8 +240,10 @@ public class RecepcionMercanciaDao implements IRecepcionMercanciaDao {
         stmt.setTimestamp(2, Timestamp.valueOf(fechaFin));
 
         try (ResultSet rs = stmt.executeQuery()) {
+            int[] columnas = PlanColumnas.indices(sql, rs, COLUMNAS_RECEPCION);
+            Referencias referencias = new Referencias();
             while (rs.next()) {
-                recepciones.add(mapResultSetToRecepcion(rs));
+                recepciones.add(mapResultSetToRecepcion(rs, columnas, referencias));
             }
         }
 
@@ -253,6 +305,8 @@ public class RecepcionMercanciaDao implements IRecepcionMercanciaDao {
         if (affectedRows == 0) {
             throw new DatabaseException("No se encontró la recepción con ID: " + recepcion.getId());
         }
+        resumen.actualizarRecepcion(conn, recepcion.getId());
+        VersionDatosDao.incrementar(VersionDatosDao.RECEPCIONES);
 
         logger.debug("Recepción actualizada exitosamente. ID: {}", recepcion.getId());
 
@@ -289,8 +343,10 @@ public class RecepcionMercanciaDao implements IRecepcionMercanciaDao {
             stmt.setString(1, estado.name());
             
             try (ResultSet rs = stmt.executeQuery()) {
+                int[] columnas = PlanColumnas.indices(sql, rs, COLUMNAS_RECEPCION);
+                Referencias referencias = new Referencias();
                 while (rs.next()) {
-                    recepciones.add(mapResultSetToRecepcion(rs));
+                    recepciones.add(mapResultSetToRecepcion(rs, columnas, referencias));
                 }
             }
             
@@ -333,6 +389,9 @@ public class RecepcionMercanciaDao implements IRecepcionMercanciaDao {
                 }
             }
 
+            resumen.actualizarRecepcion(conn, detalle.getRecepcion().getId());
+            VersionDatosDao.incrementar(VersionDatosDao.RECEPCIONES);
+
             logger.debug("Detalle guardado con ID: {}", detalle.getId());
             return detalle;
             
@@ -350,6 +409,9 @@ public class RecepcionMercanciaDao implements IRecepcionMercanciaDao {
         conn = DatabaseConfig.getConnection();
         conn.setAutoCommit(false);
         
+        // Día y proveedor del resumen, antes de que la recepción deje de existir
+        ResumenRecepcionesDao.Ubicacion ubicacion = resumen.ubicarRecepcion(conn, id);
+        
         // Primero eliminar los detalles
         String sqlDetalles = "DELETE FROM detalle_recepcion WHERE recepcion_id = ?";
         try (PreparedStatement stmt = conn.prepareStatement(sqlDetalles)) {
@@ -372,6 +434,8 @@ public class RecepcionMercanciaDao implements IRecepcionMercanciaDao {
         
         // Commit si todo fue exitoso
         conn.commit();
+        resumen.actualizar(Collections.singleton(ubicacion));
+        VersionDatosDao.incrementar(VersionDatosDao.RECEPCIONES);
         logger.info("Recepción {} y sus detalles eliminados exitosamente", id);
         
     } catch (Exception e) {
@@ -403,139 +467,112 @@ public class RecepcionMercanciaDao implements IRecepcionMercanciaDao {
                       
     @Override
     public String generateNextNumeroRecepcion() throws DatabaseException {
-    logger.debug("Generando nuevo número de recepción");
-    
-    // Obtener el año actual
-    int yearActual = LocalDateTime.now().getYear();
-    String prefix = "REC";
-    
-    Connection conn = null;
-    PreparedStatement stmtSelect = null;
-    PreparedStatement stmtInsert = null;
-    PreparedStatement stmtUpdate = null;
-    ResultSet rs = null;
-
-    try {
-        conn = DatabaseConfig.getConnection();
-        conn.setAutoCommit(false); // Iniciar transacción
-
-        // Consultar el último valor para el año actual
-        String selectSql = "SELECT current_value FROM recepcion_sequence " +
-                          "WHERE prefix = ? AND year = ? FOR UPDATE";
-        
-        stmtSelect = conn.prepareStatement(selectSql);
-        stmtSelect.setString(1, prefix);
-        stmtSelect.setInt(2, yearActual);
-        rs = stmtSelect.executeQuery();
-
-        int nextValue;
-        
-        if (rs.next()) {
-            // Si existe un registro para este año, incrementar el valor
-            nextValue = rs.getInt("current_value") + 1;
-            
-            // Actualizar el valor
-            String updateSql = "UPDATE recepcion_sequence SET current_value = ? " +
-                             "WHERE prefix = ? AND year = ?";
-            
-            stmtUpdate = conn.prepareStatement(updateSql);
-            stmtUpdate.setInt(1, nextValue);
-            stmtUpdate.setString(2, prefix);
-            stmtUpdate.setInt(3, yearActual);
-            stmtUpdate.executeUpdate();
-            
-        } else {
-            // Si no existe registro para este año, crear uno nuevo comenzando en 1
-            nextValue = 1;
-            
-            String insertSql = "INSERT INTO recepcion_sequence (prefix, year, current_value) " +
-                             "VALUES (?, ?, ?)";
-            
-            stmtInsert = conn.prepareStatement(insertSql);
-            stmtInsert.setString(1, prefix);
-            stmtInsert.setInt(2, yearActual);
-            stmtInsert.setInt(3, nextValue);
-            stmtInsert.executeUpdate();
-        }
-
-        // Commit de la transacción
-        conn.commit();
-
         // Formato: REC-YYYY-NNNNN (ejemplo: REC-2024-00001)
-        String numeroRecepcion = String.format("%s-%d-%05d", prefix, yearActual, nextValue);
-        
-        logger.info("Número de recepción generado: {}", numeroRecepcion);
+        String numeroRecepcion = numeradorRecepciones.siguiente();
+        logger.debug("Número de recepción generado: {}", numeroRecepcion);
         return numeroRecepcion;
-
-    } catch (SQLException e) {
-        // Rollback en caso de error
-        if (conn != null) {
-            try {
-                conn.rollback();
-            } catch (SQLException ex) {
-                logger.error("Error al realizar rollback", ex);
-            }
-        }
-        logger.error("Error al generar número de recepción", e);
-        throw new DatabaseException("Error al generar número de recepción: " + e.getMessage());
-    } finally {
-        // Cerrar todos los recursos en orden inverso
-        try {
-            if (rs != null) rs.close();
-            if (stmtSelect != null) stmtSelect.close();
-            if (stmtInsert != null) stmtInsert.close();
-            if (stmtUpdate != null) stmtUpdate.close();
-            if (conn != null) {
-                conn.setAutoCommit(true); // Restaurar autocommit
-                conn.close();
-            }
-        } catch (SQLException e) {
-            logger.error("Error al cerrar recursos", e);
-        }
     }
-}
     
     
     @Override
     public Map<String, Object> getEstadisticas(LocalDateTime fechaInicio, LocalDateTime fechaFin) 
         throws DatabaseException {
     logger.debug("Obteniendo estadísticas para el período {} - {}", fechaInicio, fechaFin);
+    long inicio = System.nanoTime();
+    
+    if (usarResumen(fechaInicio, fechaFin)) {
+        Map<String, Object> estadisticas = resumen.getEstadisticas(
+            fechaInicio.toLocalDate(), fechaFin.toLocalDate());
+        Map<String, Long> desglose = new LinkedHashMap<>();
+        desglose.put("resumen", (System.nanoTime() - inicio) / 1_000_000);
+        desglose.put("total", desglose.get("resumen"));
+        estadisticas.put(CLAVE_TIEMPOS_ESTADISTICAS, desglose);
+        return estadisticas;
+    }
     
-    Map<String, Object> estadisticas = new HashMap<>();
-    Connection conn = null;
+    // Cada sección corre en paralelo con su propia conexión del pool
+    Map<String, Long> tiempos = new ConcurrentHashMap<>();
+    Future<Map<String, Object>> generales = programarSeccion("generales", tiempos,
+        conn -> getEstadisticasGenerales(conn, fechaInicio, fechaFin));
+    Future<Map<String, Object>> porEstado = programarSeccion("porEstado", tiempos,
+        conn -> getEstadisticasPorEstado(conn, fechaInicio, fechaFin));
+    Future<List<Map<String, Object>>> porProveedor = programarSeccion("porProveedor", tiempos,
+        conn -> getEstadisticasPorProveedor(conn, fechaInicio, fechaFin));
+    Future<List<Map<String, Object>>> productos = programarSeccion("productosMasRecibidos", tiempos,
+        conn -> getProductosMasRecibidos(conn, fechaInicio, fechaFin));
+    Future<Map<String, Object>> discrepancias = programarSeccion("analisisDiscrepancias", tiempos,
+        conn -> getAnalisisDiscrepancias(conn, fechaInicio, fechaFin));
+    List<Future<?>> secciones = Arrays.asList(generales, porEstado, porProveedor, productos, discrepancias);
     
     try {
-        conn = DatabaseConfig.getConnection();
-        
-        // Obtener estadísticas generales
-        estadisticas.putAll(getEstadisticasGenerales(conn, fechaInicio, fechaFin));
+        Map<String, Object> estadisticas = new HashMap<>();
+        estadisticas.putAll(generales.get());
+        estadisticas.put("porEstado", porEstado.get());
+        estadisticas.put("porProveedor", porProveedor.get());
+        estadisticas.put("productosMasRecibidos", productos.get());
+        estadisticas.put("analisisDiscrepancias", discrepancias.get());
         
-        // Obtener estadísticas por estado
-        estadisticas.put("porEstado", getEstadisticasPorEstado(conn, fechaInicio, fechaFin));
-        
-        // Obtener estadísticas por proveedor
-        estadisticas.put("porProveedor", getEstadisticasPorProveedor(conn, fechaInicio, fechaFin));
-        
-        // Obtener productos más recibidos
-        estadisticas.put("productosMasRecibidos", getProductosMasRecibidos(conn, fechaInicio, fechaFin));
-        
-        // Obtener análisis de discrepancias
-        estadisticas.put("analisisDiscrepancias", getAnalisisDiscrepancias(conn, fechaInicio, fechaFin));
+        Map<String, Long> desglose = new LinkedHashMap<>();
+        for (String seccion : Arrays.asList("generales", "porEstado", "porProveedor",
+                "productosMasRecibidos", "analisisDiscrepancias")) {
+            desglose.put(seccion, tiempos.get(seccion));
+        }
+        desglose.put("total", (System.nanoTime() - inicio) / 1_000_000);
+        estadisticas.put(CLAVE_TIEMPOS_ESTADISTICAS, desglose);
+        logger.debug("Tiempos de estadísticas (ms): {}", desglose);
         
         return estadisticas;
         
-    } catch (SQLException e) {
-        logger.error("Error al obtener estadísticas", e);
-        throw new DatabaseException("Error al obtener estadísticas: " + e.getMessage());
-    } finally {
-        if (conn != null) {
-            try {
-                conn.close();
-            } catch (SQLException e) {
-                logger.error("Error al cerrar conexión", e);
+    } catch (ExecutionException e) {
+        secciones.forEach(f -> f.cancel(true));
+        logger.error("Error al obtener estadísticas", e.getCause());
+        throw new DatabaseException("Error al obtener estadísticas: " + e.getCause().getMessage());
+    } catch (InterruptedException e) {
+        secciones.forEach(f -> f.cancel(true));
+        Thread.currentThread().interrupt();
+        throw new DatabaseException("Obtención de estadísticas interrumpida");
+    }
+    }
+    
+    // El resumen solo cubre días completos; otros rangos se calculan en vivo
+    private static boolean usarResumen(LocalDateTime fechaInicio, LocalDateTime fechaFin) {
+        return resumen.isHabilitado()
+            && fechaInicio.toLocalTime().equals(LocalTime.MIDNIGHT)
+            && !fechaFin.toLocalTime().isBefore(LocalTime.of(23, 59, 59));
+    }
+    
+    @FunctionalInterface
+    private interface ConsultaSeccion<T> {
+        T ejecutar(Connection conn) throws SQLException;
+    }
+    
+    // Ejecuta una sección de estadísticas en el ejecutor acotado y registra su duración
+    private static <T> Future<T> programarSeccion(String nombre, Map<String, Long> tiempos,
+                                                  ConsultaSeccion<T> consulta) {
+        return EjecutorEstadisticas.INSTANCIA.submit(() -> {
+            long inicio = System.nanoTime();
+            try (Connection conn = DatabaseConfig.getConnection()) {
+                return consulta.ejecutar(conn);
+            } finally {
+                tiempos.put(nombre, (System.nanoTime() - inicio) / 1_000_000);
             }
-        }
+        });
     }
+    
+    // Acotado para que varios tableros a la vez no agoten el pool de conexiones.
+    // Se crea en el primer uso para no leer la configuración al cargar la clase.
+    private static final class EjecutorEstadisticas {
+        static final ExecutorService INSTANCIA = crearEjecutorEstadisticas();
+    }
+    
+    private static ExecutorService crearEjecutorEstadisticas() {
+        int hilos = DatabaseConfig.getIntProperty("db.estadisticas.hilos", HILOS_ESTADISTICAS_DEFECTO);
+        AtomicInteger contador = new AtomicInteger();
+        return Executors.newFixedThreadPool(hilos, r -> {
+            Thread t = new Thread(r, "estadisticas-recepcion-" + contador.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
     }
     
     
@@ -600,8 +637,10 @@ public class RecepcionMercanciaDao implements IRecepcionMercanciaDao {
         }
 
         try (ResultSet rs = stmt.executeQuery()) {
+            int[] columnas = PlanColumnas.indices(sql.toString(), rs, COLUMNAS_RECEPCION);
+            Referencias referencias = new Referencias();
             while (rs.next()) {
-                recepciones.add(mapResultSetToRecepcion(rs));
+                recepciones.add(mapResultSetToRecepcion(rs, columnas, referencias));
             }
         }
 
@@ -613,7 +652,120 @@ public class RecepcionMercanciaDao implements IRecepcionMercanciaDao {
         throw new DatabaseException("Error al buscar recepciones: " + e.getMessage());
     }
 }
-    
+
+    @Override
+    public PaginaRecepciones findPagina(CursorRecepcion despuesDe, int tamanio)
+        throws DatabaseException {
+        return searchPagina(null, null, null, null, null, null, despuesDe, tamanio);
+    }
+
+    @Override
+    public PaginaRecepciones findPaginaByFechas(LocalDateTime fechaInicio, LocalDateTime fechaFin,
+                                                CursorRecepcion despuesDe, int tamanio)
+        throws DatabaseException {
+        return searchPagina(null, null, null, null, fechaInicio, fechaFin, despuesDe, tamanio);
+    }
+
+    @Override
+    public PaginaRecepciones searchPagina(String numeroRecepcion, String numeroOrdenCompra,
+                                          Long proveedorId, EstadoRecepcion estado,
+                                          LocalDateTime fechaInicio, LocalDateTime fechaFin,
+                                          CursorRecepcion despuesDe, int tamanio)
+        throws DatabaseException {
+        if (tamanio <= 0) {
+            throw new IllegalArgumentException("El tamaño de página debe ser mayor a cero");
+        }
+        logger.debug("Buscando página de recepciones después de {} (tamaño {})", despuesDe, tamanio);
+
+        StringBuilder sql = new StringBuilder();
+        List<Object> params = new ArrayList<>();
+
+        sql.append("SELECT rm.*, u.username as responsable_username, ")
+           .append("p.razon_social as proveedor_nombre ")
+           .append("FROM recepciones_mercancia rm ")
+           .append("LEFT JOIN usuarios u ON rm.usuario_id = u.id ")
+           .append("LEFT JOIN proveedores p ON rm.proveedor_id = p.id ")
+           .append("WHERE 1=1 ");
+
+        if (numeroRecepcion != null && !numeroRecepcion.trim().isEmpty()) {
+            sql.append("AND rm.numero_recepcion LIKE ? ");
+            params.add("%" + numeroRecepcion.trim() + "%");
+        }
+
+        if (numeroOrdenCompra != null && !numeroOrdenCompra.trim().isEmpty()) {
+            sql.append("AND rm.numero_orden_compra LIKE ? ");
+            params.add("%" + numeroOrdenCompra.trim() + "%");
+        }
+
+        if (proveedorId != null) {
+            sql.append("AND rm.proveedor_id = ? ");
+            params.add(proveedorId);
+        }
+
+        if (estado != null) {
+            sql.append("AND rm.estado = ? ");
+            params.add(estado.name());
+        }
+
+        if (fechaInicio != null) {
+            sql.append("AND rm.fecha_recepcion >= ? ");
+            params.add(Timestamp.valueOf(fechaInicio));
+        }
+
+        if (fechaFin != null) {
+            sql.append("AND rm.fecha_recepcion <= ? ");
+            params.add(Timestamp.valueOf(fechaFin));
+        }
+
+        // Búsqueda por clave: continuar justo después de la última fila entregada
+        if (despuesDe != null) {
+            Timestamp fechaCursor = Timestamp.valueOf(despuesDe.getFechaRecepcion());
+            sql.append("AND (rm.fecha_recepcion < ? OR (rm.fecha_recepcion = ? AND rm.id < ?)) ");
+            params.add(fechaCursor);
+            params.add(fechaCursor);
+            params.add(despuesDe.getId());
+        }
+
+        // Se pide una fila extra para saber si existe una página siguiente
+        sql.append("ORDER BY rm.fecha_recepcion DESC, rm.id DESC LIMIT ?");
+        params.add(tamanio + 1);
+
+        List<RecepcionMercancia> recepciones = new ArrayList<>(tamanio);
+        CursorRecepcion siguiente = null;
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+
+            for (int i = 0; i < params.size(); i++) {
+                stmt.setObject(i + 1, params.get(i));
+            }
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                int[] columnas = PlanColumnas.indices(sql.toString(), rs, COLUMNAS_RECEPCION);
+                Referencias referencias = new Referencias();
+                Timestamp ultimaFecha = null;
+                long ultimoId = 0;
+                while (rs.next()) {
+                    if (recepciones.size() == tamanio) {
+                        siguiente = new CursorRecepcion(ultimaFecha.toLocalDateTime(), ultimoId);
+                        break;
+                    }
+                    recepciones.add(mapResultSetToRecepcion(rs, columnas, referencias));
+                    ultimaFecha = rs.getTimestamp("fecha_recepcion");
+                    ultimoId = rs.getLong("id");
+                }
+            }
+
+            logger.debug("Página obtenida con {} recepciones, hay más: {}",
+                recepciones.size(), siguiente != null);
+            return new PaginaRecepciones(recepciones, siguiente);
+
+        } catch (SQLException e) {
+            logger.error("Error al obtener página de recepciones", e);
+            throw new DatabaseException("Error al obtener página de recepciones: " + e.getMessage());
+        }
+    }
+
     
     @Override
     public void anular(Long recepcionId, String motivo, Long usuarioId) throws DatabaseException {
@@ -672,8 +824,11 @@ public class RecepcionMercanciaDao implements IRecepcionMercanciaDao {
             updateStmt.setLong(3, recepcionId);
             updateStmt.executeUpdate();
         }
+        ResumenRecepcionesDao.Ubicacion ubicacion = resumen.ubicarRecepcion(conn, recepcionId);
 
         conn.commit();
+        resumen.actualizar(Collections.singleton(ubicacion));
+        VersionDatosDao.incrementar(VersionDatosDao.RECEPCIONES);
         logger.info("Recepción {} anulada exitosamente", recepcionId);
 
     } catch (SQLException | ValidationException e) {
@@ -703,8 +858,12 @@ public class RecepcionMercanciaDao implements IRecepcionMercanciaDao {
         String sql = "DELETE FROM detalle_recepcion WHERE recepcion_id = ?";
         try (Connection conn = DatabaseConfig.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
+            // Productos del resumen, antes de que los detalles dejen de existir
+            ResumenRecepcionesDao.Ubicacion ubicacion = resumen.ubicarRecepcion(conn, recepcionId);
             stmt.setLong(1, recepcionId);
             stmt.executeUpdate();
+            resumen.actualizar(Collections.singleton(ubicacion));
+            VersionDatosDao.incrementar(VersionDatosDao.RECEPCIONES);
             logger.debug("Detalles de la recepción {} eliminados", recepcionId);
         } catch (SQLException e) {
             logger.error("Error al eliminar detalles de recepción", e);
@@ -722,9 +881,10 @@ public class RecepcionMercanciaDao implements IRecepcionMercanciaDao {
             stmt.setLong(1, recepcion.getId());
             
             try (ResultSet rs = stmt.executeQuery()) {
+                int[] columnas = PlanColumnas.indices(sql, rs, COLUMNAS_ITEM);
                 List<RecepcionItem> items = new ArrayList<>();
                 while (rs.next()) {
-                    items.add(mapResultSetToItem(rs));
+                    items.add(mapResultSetToItem(rs, columnas));
                 }
                 recepcion.setItems(items);
             }
@@ -787,8 +947,11 @@ public class RecepcionMercanciaDao implements IRecepcionMercanciaDao {
 
         // Actualizar total de la recepción destino
         actualizarTotalRecepcion(recepcionDestinoId, conn);
+        ResumenRecepcionesDao.Ubicacion ubicacion = resumen.ubicarRecepcion(conn, recepcionDestinoId);
 
         conn.commit();
+        resumen.actualizar(Collections.singleton(ubicacion));
+        VersionDatosDao.incrementar(VersionDatosDao.RECEPCIONES);
 
     } catch (SQLException | ValidationException e) {
         if (conn != null) {
@@ -828,8 +991,10 @@ public class RecepcionMercanciaDao implements IRecepcionMercanciaDao {
         List<RecepcionMercancia> recepciones = new ArrayList<>();
         
         try (ResultSet rs = stmt.executeQuery()) {
+            int[] columnas = PlanColumnas.indices(sql, rs, COLUMNAS_RECEPCION);
+            Referencias referencias = new Referencias();
             while (rs.next()) {
-                recepciones.add(mapResultSetToRecepcion(rs));
+                recepciones.add(mapResultSetToRecepcion(rs, columnas, referencias));
             }
         }
         
@@ -856,8 +1021,10 @@ public class RecepcionMercanciaDao implements IRecepcionMercanciaDao {
         stmt.setString(1, numeroRecepcion);
         
         try (ResultSet rs = stmt.executeQuery()) {
+            int[] columnas = PlanColumnas.indices(sql, rs, COLUMNAS_RECEPCION);
+            Referencias referencias = new Referencias();
             if (rs.next()) {
-                return Optional.of(mapResultSetToRecepcion(rs));
+                return Optional.of(mapResultSetToRecepcion(rs, columnas, referencias));
             }
         }
         
@@ -885,8 +1052,10 @@ public class RecepcionMercanciaDao implements IRecepcionMercanciaDao {
         List<RecepcionMercancia> recepciones = new ArrayList<>();
         
         try (ResultSet rs = stmt.executeQuery()) {
+            int[] columnas = PlanColumnas.indices(sql, rs, COLUMNAS_RECEPCION);
+            Referencias referencias = new Referencias();
             while (rs.next()) {
-                recepciones.add(mapResultSetToRecepcion(rs));
+                recepciones.add(mapResultSetToRecepcion(rs, columnas, referencias));
             }
         }
         
@@ -915,8 +1084,10 @@ public class RecepcionMercanciaDao implements IRecepcionMercanciaDao {
         List<RecepcionMercancia> recepciones = new ArrayList<>();
         
         try (ResultSet rs = stmt.executeQuery()) {
+            int[] columnas = PlanColumnas.indices(sql, rs, COLUMNAS_RECEPCION);
+            Referencias referencias = new Referencias();
             while (rs.next()) {
-                recepciones.add(mapResultSetToRecepcion(rs));
+                recepciones.add(mapResultSetToRecepcion(rs, columnas, referencias));
             }
         }
         
@@ -965,8 +1136,10 @@ public class RecepcionMercanciaDao implements IRecepcionMercanciaDao {
 
         List<RecepcionMercancia> recepciones = new ArrayList<>();
         try (ResultSet rs = stmt.executeQuery()) {
+            int[] columnas = PlanColumnas.indices(sql, rs, COLUMNAS_RECEPCION);
+            Referencias referencias = new Referencias();
             while (rs.next()) {
-                recepciones.add(mapResultSetToRecepcion(rs));
+                recepciones.add(mapResultSetToRecepcion(rs, columnas, referencias));
             }
         }
         return recepciones;
@@ -995,8 +1168,10 @@ public class RecepcionMercanciaDao implements IRecepcionMercanciaDao {
         List<RecepcionMercancia> recepciones = new ArrayList<>();
         
         try (ResultSet rs = stmt.executeQuery()) {
+            int[] columnas = PlanColumnas.indices(sql, rs, COLUMNAS_RECEPCION);
+            Referencias referencias = new Referencias();
             while (rs.next()) {
-                recepciones.add(mapResultSetToRecepcion(rs));
+                recepciones.add(mapResultSetToRecepcion(rs, columnas, referencias));
             }
         }
         return recepciones;
@@ -1023,8 +1198,10 @@ public class RecepcionMercanciaDao implements IRecepcionMercanciaDao {
 
         List<RecepcionMercancia> recepciones = new ArrayList<>();
         try (ResultSet rs = stmt.executeQuery()) {
+            int[] columnas = PlanColumnas.indices(sql, rs, COLUMNAS_RECEPCION);
+            Referencias referencias = new Referencias();
             while (rs.next()) {
-                recepciones.add(mapResultSetToRecepcion(rs));
+                recepciones.add(mapResultSetToRecepcion(rs, columnas, referencias));
             }
         }
         return recepciones;
@@ -1113,8 +1290,11 @@ public class RecepcionMercanciaDao implements IRecepcionMercanciaDao {
                 throw new DatabaseException("No se pudo actualizar el estado de la recepción");
             }
         }
+        ResumenRecepcionesDao.Ubicacion ubicacion = resumen.ubicarRecepcion(conn, recepcionId);
 
         conn.commit();
+        resumen.actualizar(Collections.singleton(ubicacion));
+        VersionDatosDao.incrementar(VersionDatosDao.RECEPCIONES);
     } catch (Exception e) {
         if (conn != null) {
             try {
@@ -1175,6 +1355,8 @@ public class RecepcionMercanciaDao implements IRecepcionMercanciaDao {
         if (affectedRows == 0) {
             throw new DatabaseException("No se encontró el detalle con ID: " + detalle.getId());
         }
+        resumen.actualizar(resumen.ubicarDetalles(conn, Collections.singleton(detalle.getId())));
+        VersionDatosDao.incrementar(VersionDatosDao.RECEPCIONES);
 
         logger.debug("Detalle actualizado exitosamente. ID: {}", detalle.getId());
 
@@ -1184,6 +1366,80 @@ public class RecepcionMercanciaDao implements IRecepcionMercanciaDao {
     }
 }
     
+    @Override
+    public void updateDetalles(List<DetalleRecepcion> detalles) throws DatabaseException {
+        if (detalles == null || detalles.isEmpty()) {
+            return;
+        }
+        logger.debug("Actualizando {} detalles en lote", detalles.size());
+        long inicio = System.nanoTime();
+
+        String sql = "UPDATE detalle_recepcion SET " +
+                    "cantidad_recibida = ?, " +
+                    "estado = ?, " +
+                    "observaciones = ? " +
+                    "WHERE id = ?";
+
+        Connection conn = null;
+        try {
+            conn = DatabaseConfig.getConnection();
+            conn.setAutoCommit(false);
+
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                for (DetalleRecepcion detalle : detalles) {
+                    stmt.setInt(1, detalle.getCantidadRecibida());
+                    stmt.setString(2, detalle.getEstado().toString());
+                    if (detalle.getObservaciones() != null && !detalle.getObservaciones().trim().isEmpty()) {
+                        stmt.setString(3, detalle.getObservaciones().trim());
+                    } else {
+                        stmt.setNull(3, Types.VARCHAR);
+                    }
+                    stmt.setLong(4, detalle.getId());
+                    stmt.addBatch();
+                }
+
+                int[] resultados = stmt.executeBatch();
+                for (int i = 0; i < resultados.length; i++) {
+                    if (resultados[i] == 0) {
+                        throw new DatabaseException("No se encontró el detalle con ID: " +
+                            detalles.get(i).getId());
+                    }
+                }
+            }
+            Set<Long> ids = new HashSet<>();
+            for (DetalleRecepcion detalle : detalles) {
+                ids.add(detalle.getId());
+            }
+            Collection<ResumenRecepcionesDao.Ubicacion> ubicaciones = resumen.ubicarDetalles(conn, ids);
+
+            conn.commit();
+            resumen.actualizar(ubicaciones);
+            VersionDatosDao.incrementar(VersionDatosDao.RECEPCIONES);
+            logger.debug("{} detalles actualizados en {} ms", detalles.size(),
+                (System.nanoTime() - inicio) / 1_000_000);
+
+        } catch (Exception e) {
+            if (conn != null) {
+                try {
+                    conn.rollback();
+                } catch (SQLException ex) {
+                    logger.error("Error al realizar rollback", ex);
+                }
+            }
+            logger.error("Error al actualizar detalles en lote", e);
+            throw new DatabaseException("Error al actualizar detalles: " + e.getMessage());
+        } finally {
+            if (conn != null) {
+                try {
+                    conn.setAutoCommit(true);
+                    conn.close();
+                } catch (SQLException e) {
+                    logger.error("Error al cerrar conexión", e);
+                }
+            }
+        }
+    }
+    
       @Override
     public RecepcionMercancia findByNumeroDocumento(String numeroDocumento) throws DatabaseException {
         String sql = "SELECT * FROM recepciones_mercancia WHERE numero_documento = ?";
@@ -1194,8 +1450,10 @@ public class RecepcionMercanciaDao implements IRecepcionMercanciaDao {
             stmt.setString(1, numeroDocumento);
 
             try (ResultSet rs = stmt.executeQuery()) {
+                int[] columnas = PlanColumnas.indices(sql, rs, COLUMNAS_RECEPCION);
+                Referencias referencias = new Referencias();
                 if (rs.next()) {
-                    return mapResultSetToRecepcion(rs);
+                    return mapResultSetToRecepcion(rs, columnas, referencias);
                 }
             }
         } catch (SQLException e) {
@@ -1228,6 +1486,8 @@ public class RecepcionMercanciaDao implements IRecepcionMercanciaDao {
                 recepcionId = rs.getLong("recepcion_id");
             }
         }
+        Collection<ResumenRecepcionesDao.Ubicacion> ubicaciones =
+            resumen.ubicarDetalles(conn, Collections.singleton(detalleId));
 
         // Eliminar el detalle
         String deleteSql = "DELETE FROM detalle_recepcion WHERE id = ?";
@@ -1243,6 +1503,8 @@ public class RecepcionMercanciaDao implements IRecepcionMercanciaDao {
         actualizarTotalRecepcion(recepcionId, conn);
 
         conn.commit();
+        resumen.actualizar(ubicaciones);
+        VersionDatosDao.incrementar(VersionDatosDao.RECEPCIONES);
     } catch (Exception e) {
         if (conn != null) {
             try {
@@ -1617,56 +1879,93 @@ public class RecepcionMercanciaDao implements IRecepcionMercanciaDao {
     
    
 
-      private RecepcionMercancia mapResultSetToRecepcion(ResultSet rs) throws SQLException {
+    // Columnas que lee mapResultSetToRecepcion, en el orden en que las lee
+    private static final PlanColumnas.Columnas COLUMNAS_RECEPCION = new PlanColumnas.Columnas(
+        "id", "numero_recepcion", "numero_documento", "numero_orden_compra",
+        "numero_guia_remision", "fecha", "estado", "proveedor_id", "proveedor_nombre",
+        "usuario_id", "usuario_nombre", "responsable_id", "responsable_nombre");
+
+    // Proveedores y usuarios ya creados al leer un mismo ResultSet: las filas con
+    // el mismo id y nombre comparten la instancia en lugar de crear una cada una
+    private static final class Referencias {
+        private final Map<Long, Proveedor> proveedores = new HashMap<>();
+        private final Map<Long, Usuario> usuarios = new HashMap<>();
+
+        Proveedor proveedor(long id, String razonSocial) {
+            Proveedor proveedor = proveedores.get(id);
+            if (proveedor == null || !Objects.equals(proveedor.getRazonSocial(), razonSocial)) {
+                proveedor = new Proveedor();
+                proveedor.setId(id);
+                proveedor.setRazonSocial(razonSocial);
+                proveedores.put(id, proveedor);
+            }
+            return proveedor;
+        }
+
+        Usuario usuario(long id, String nombre) {
+            Usuario usuario = usuarios.get(id);
+            if (usuario == null || !Objects.equals(usuario.getNombre(), nombre)) {
+                usuario = new Usuario();
+                usuario.setId(id);
+                usuario.setNombre(nombre);
+                usuarios.put(id, usuario);
+            }
+            return usuario;
+        }
+    }
+
+      private RecepcionMercancia mapResultSetToRecepcion(ResultSet rs, int[] columnas,
+                                                         Referencias referencias) throws SQLException {
+        int c = 0;
         RecepcionMercancia recepcion = new RecepcionMercancia();
-        recepcion.setId(rs.getLong("id"));
-        recepcion.setNumeroRecepcion(rs.getString("numero_recepcion"));
-        recepcion.setNumeroDocumento(rs.getString("numero_documento"));
-        recepcion.setNumeroOrdenCompra(rs.getString("numero_orden_compra"));
-        recepcion.setNumeroGuiaRemision(rs.getString("numero_guia_remision"));
-        recepcion.setFecha(rs.getTimestamp("fecha").toLocalDateTime());
-        recepcion.setEstado(EstadoRecepcion.valueOf(rs.getString("estado")));
+        recepcion.setId(rs.getLong(columnas[c++]));
+        recepcion.setNumeroRecepcion(rs.getString(columnas[c++]));
+        recepcion.setNumeroDocumento(rs.getString(columnas[c++]));
+        recepcion.setNumeroOrdenCompra(rs.getString(columnas[c++]));
+        recepcion.setNumeroGuiaRemision(rs.getString(columnas[c++]));
+        recepcion.setFecha(rs.getTimestamp(columnas[c++]).toLocalDateTime());
+        recepcion.setEstado(EstadoRecepcion.valueOf(rs.getString(columnas[c++])));
 
         // Mapear proveedor
-        Proveedor proveedor = new Proveedor();
-        proveedor.setId(rs.getLong("proveedor_id"));
-        proveedor.setRazonSocial(rs.getString("proveedor_nombre"));
-        recepcion.setProveedor(proveedor);
+        long proveedorId = rs.getLong(columnas[c++]);
+        recepcion.setProveedor(referencias.proveedor(proveedorId, rs.getString(columnas[c++])));
 
         // Mapear usuario
-        Usuario usuario = new Usuario();
-        usuario.setId(rs.getLong("usuario_id"));
-        usuario.setNombre(rs.getString("usuario_nombre"));
-        recepcion.setUsuario(usuario);
+        long usuarioId = rs.getLong(columnas[c++]);
+        recepcion.setUsuario(referencias.usuario(usuarioId, rs.getString(columnas[c++])));
 
         // Mapear responsable
-        Usuario responsable = new Usuario();
-        responsable.setId(rs.getLong("responsable_id"));
-        responsable.setNombre(rs.getString("responsable_nombre"));
-        recepcion.setResponsable(responsable);
+        long responsableId = rs.getLong(columnas[c++]);
+        recepcion.setResponsable(referencias.usuario(responsableId, rs.getString(columnas[c++])));
 
         return recepcion;
     }
 
-     private RecepcionItem mapResultSetToItem(ResultSet rs) throws SQLException {
+    // Columnas que lee mapResultSetToItem, en el orden en que las lee
+    private static final PlanColumnas.Columnas COLUMNAS_ITEM = new PlanColumnas.Columnas(
+        "id", "cantidad", "precio_unitario", "lote", "fecha_vencimiento", "observaciones",
+        "producto_id", "producto_nombre");
+
+     private RecepcionItem mapResultSetToItem(ResultSet rs, int[] columnas) throws SQLException {
+        int c = 0;
         RecepcionItem item = new RecepcionItem();
         
-        item.setId(rs.getLong("id"));
-        item.setCantidad(rs.getInt("cantidad"));
-        item.setPrecioUnitario(rs.getDouble("precio_unitario"));
-        item.setLote(rs.getString("lote"));
+        item.setId(rs.getLong(columnas[c++]));
+        item.setCantidad(rs.getInt(columnas[c++]));
+        item.setPrecioUnitario(rs.getDouble(columnas[c++]));
+        item.setLote(rs.getString(columnas[c++]));
         
-        Timestamp fechaVenc = rs.getTimestamp("fecha_vencimiento");
+        Timestamp fechaVenc = rs.getTimestamp(columnas[c++]);
         if (fechaVenc != null) {
             item.setFechaVencimiento(fechaVenc.toLocalDateTime());
         }
         
-        item.setObservaciones(rs.getString("observaciones"));
+        item.setObservaciones(rs.getString(columnas[c++]));
 
         // Mapear producto
         Producto producto = new Producto();
-        producto.setId(rs.getLong("producto_id"));
-        producto.setNombre(rs.getString("producto_nombre"));
+        producto.setId(rs.getLong(columnas[c++]));
+        producto.setNombre(rs.getString(columnas[c++]));
         item.setProducto(producto);
 
         return item;
@@ -1674,12 +1973,7 @@ public class RecepcionMercanciaDao implements IRecepcionMercanciaDao {
      
     // Métodos específicos para la gestión de recepciones
     public List<DetalleRecepcion> findDetallesByRecepcionId(Long recepcionId) throws DatabaseException {
-        String sql = "SELECT dr.*, " +
-                "p.id as producto_id, p.codigo as producto_codigo, " +
-                "p.nombre as producto_nombre, p.unidad_medida, " +
-                "p.precio_unitario as producto_precio " +
-                "FROM detalle_recepcion dr " +
-                "INNER JOIN productos p ON dr.producto_id = p.id " +
+        String sql = SQL_SELECT_DETALLES +
                 "WHERE dr.recepcion_id = ? " +
                 "ORDER BY p.codigo";
                 
@@ -1689,45 +1983,13 @@ public class RecepcionMercanciaDao implements IRecepcionMercanciaDao {
          
         stmt.setLong(1, recepcionId);
         try (ResultSet rs = stmt.executeQuery()) {
+            int[] columnas = PlanColumnas.indices(sql, rs, COLUMNAS_DETALLE);
             while (rs.next()) {
-                DetalleRecepcion detalle = new DetalleRecepcion();
-                detalle.setId(rs.getLong("id"));
-                
-                // Crear y configurar el producto
-                Producto producto = new Producto();
-                producto.setId(rs.getLong("producto_id"));
-                producto.setCodigo(rs.getString("producto_codigo"));
-                producto.setNombre(rs.getString("producto_nombre"));
-                producto.setUnidadMedida(rs.getString("unidad_medida"));
-                producto.setPrecioUnitario(rs.getDouble("precio_unitario"));
-                
-                detalle.setProducto(producto);
-                detalle.setCantidadEsperada(rs.getInt("cantidad_esperada"));
-                
-                // Manejar cantidad_recibida que puede ser null
-                Object cantidadRecibida = rs.getObject("cantidad_recibida");
-                if (cantidadRecibida != null) {
-                    detalle.setCantidadRecibida(rs.getInt("cantidad_recibida"));
-                }
-                
-                detalle.setPrecioUnitario(rs.getDouble("precio_unitario"));
-                
-                // Obtener observaciones (puede ser null)
-                String observaciones = rs.getString("observaciones");
-                if (observaciones != null) {
-                    detalle.setObservaciones(observaciones);
-                }
-                
-                // Establecer estado
-                String estadoStr = rs.getString("estado");
-                if (estadoStr != null) {
-                    detalle.setEstado(DetalleRecepcion.EstadoDetalle.valueOf(estadoStr));
-                }
-                
+                DetalleRecepcion detalle = mapResultSetToDetalleConProducto(rs, columnas);
                 detalles.add(detalle);
                 logger.debug("Detalle cargado - ID: {}, Producto: {}, Cantidad Esp: {}, Cantidad Rec: {}", 
                     detalle.getId(), 
-                    producto.getCodigo(), 
+                    detalle.getProducto().getCodigo(), 
                     detalle.getCantidadEsperada(),
                     detalle.getCantidadRecibida());
             }
@@ -1740,6 +2002,208 @@ public class RecepcionMercanciaDao implements IRecepcionMercanciaDao {
     }
     }
 
+    @Override
+    public Map<Long, List<DetalleRecepcion>> findDetallesByRecepcionIds(Collection<Long> recepcionIds)
+        throws DatabaseException {
+        Map<Long, List<DetalleRecepcion>> detallesPorRecepcion = new LinkedHashMap<>();
+        if (recepcionIds == null || recepcionIds.isEmpty()) {
+            return detallesPorRecepcion;
+        }
+
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(recepcionIds));
+        ids.removeIf(Objects::isNull);
+        for (Long id : ids) {
+            detallesPorRecepcion.put(id, new ArrayList<>());
+        }
+        logger.debug("Cargando detalles de {} recepciones en lotes de {}", ids.size(), TAMANIO_LOTE_IN);
+
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            for (int desde = 0; desde < ids.size(); desde += TAMANIO_LOTE_IN) {
+                List<Long> lote = ids.subList(desde, Math.min(desde + TAMANIO_LOTE_IN, ids.size()));
+                String sql = SQL_SELECT_DETALLES +
+                        "WHERE dr.recepcion_id IN (" +
+                        String.join(",", Collections.nCopies(lote.size(), "?")) + ") " +
+                        "ORDER BY dr.recepcion_id, p.codigo";
+
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    int index = 1;
+                    for (Long id : lote) {
+                        stmt.setLong(index++, id);
+                    }
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        int[] columnas = PlanColumnas.indices(sql, rs, COLUMNAS_DETALLE);
+                        while (rs.next()) {
+                            detallesPorRecepcion.get(rs.getLong("recepcion_id"))
+                                .add(mapResultSetToDetalleConProducto(rs, columnas));
+                        }
+                    }
+                }
+            }
+            return detallesPorRecepcion;
+
+        } catch (SQLException e) {
+            logger.error("Error al obtener detalles de recepciones: {}", e.getMessage());
+            throw new DatabaseException("Error al obtener detalles: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public long countByFechas(LocalDateTime fechaInicio, LocalDateTime fechaFin) throws DatabaseException {
+        String sql = "SELECT COUNT(*) FROM recepciones_mercancia WHERE fecha_recepcion BETWEEN ? AND ?";
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            stmt.setTimestamp(1, Timestamp.valueOf(fechaInicio));
+            stmt.setTimestamp(2, Timestamp.valueOf(fechaFin));
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+
+        } catch (SQLException e) {
+            logger.error("Error al contar recepciones por fechas", e);
+            throw new DatabaseException("Error al contar recepciones por fechas: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public long recorrerResumenPorFechas(LocalDateTime fechaInicio, LocalDateTime fechaFin,
+                                         Consumer<ResumenRecepcion> consumidor,
+                                         Consumer<Runnable> alCancelar)
+        throws DatabaseException {
+        logger.debug("Recorriendo resumen de recepciones entre {} y {}", fechaInicio, fechaFin);
+
+        // Los totales se agregan en el servidor solo para las recepciones del rango,
+        // así no hace falta cargar los detalles en memoria
+        String sql = "SELECT rm.id, rm.numero_recepcion, rm.fecha_recepcion, " +
+                "p.razon_social, rm.numero_orden_compra, rm.estado, rm.observaciones, " +
+                "COALESCE(d.total_items, 0), COALESCE(d.total_valor, 0) " +
+                "FROM recepciones_mercancia rm " +
+                "LEFT JOIN proveedores p ON rm.proveedor_id = p.id " +
+                "LEFT JOIN (SELECT dr.recepcion_id, " +
+                "SUM(dr.cantidad_esperada) AS total_items, " +
+                "SUM(dr.cantidad_esperada * dr.precio_unitario) AS total_valor " +
+                "FROM detalle_recepcion dr " +
+                "INNER JOIN recepciones_mercancia r ON dr.recepcion_id = r.id " +
+                "WHERE r.fecha_recepcion BETWEEN ? AND ? " +
+                "GROUP BY dr.recepcion_id) d ON d.recepcion_id = rm.id " +
+                "WHERE rm.fecha_recepcion BETWEEN ? AND ? " +
+                "ORDER BY rm.fecha_recepcion DESC, rm.id DESC";
+
+        long filas = 0;
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql,
+                 ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            configurarCursor(conn, stmt);
+            Timestamp inicio = Timestamp.valueOf(fechaInicio);
+            Timestamp fin = Timestamp.valueOf(fechaFin);
+            stmt.setTimestamp(1, inicio);
+            stmt.setTimestamp(2, fin);
+            stmt.setTimestamp(3, inicio);
+            stmt.setTimestamp(4, fin);
+
+            // Con el cursor de MySQL, cerrar el ResultSet a mitad lee las filas que
+            // faltan; cancelar la sentencia antes corta el envío en el servidor
+            if (alCancelar != null) {
+                alCancelar.accept(() -> cancelar(stmt));
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Timestamp fecha = rs.getTimestamp(3);
+                    String estado = rs.getString(6);
+                    consumidor.accept(new ResumenRecepcion(
+                        rs.getLong(1),
+                        rs.getString(2),
+                        fecha != null ? fecha.toLocalDateTime() : null,
+                        rs.getString(4),
+                        rs.getString(5),
+                        estado != null ? EstadoRecepcion.valueOf(estado) : null,
+                        rs.getString(7),
+                        rs.getLong(8),
+                        rs.getDouble(9)));
+                    filas++;
+                }
+            }
+
+            logger.debug("Se recorrieron {} recepciones", filas);
+            return filas;
+
+        } catch (SQLException e) {
+            logger.error("Error al recorrer recepciones por fechas", e);
+            throw new DatabaseException("Error al recorrer recepciones por fechas: " + e.getMessage());
+        } finally {
+            if (alCancelar != null) {
+                alCancelar.accept(null);
+            }
+        }
+    }
+
+    private static void cancelar(Statement stmt) {
+        try {
+            stmt.cancel();
+        } catch (SQLException e) {
+            logger.debug("No se pudo cancelar la consulta: {}", e.getMessage());
+        }
+    }
+
+    // Connector/J solo entrega las filas de a una, sin leer todo el resultado,
+    // con fetchSize Integer.MIN_VALUE; los demás drivers usan un lote normal
+    private static void configurarCursor(Connection conn, Statement stmt) throws SQLException {
+        String producto = conn.getMetaData().getDatabaseProductName();
+        if (producto != null && producto.toLowerCase().contains("mysql")) {
+            stmt.setFetchSize(Integer.MIN_VALUE);
+        } else {
+            stmt.setFetchSize(FILAS_POR_LOTE_CURSOR);
+        }
+    }
+
+    // Columnas que lee mapResultSetToDetalleConProducto, en el orden en que las lee
+    private static final PlanColumnas.Columnas COLUMNAS_DETALLE = new PlanColumnas.Columnas(
+        "id", "producto_id", "producto_codigo", "producto_nombre", "unidad_medida",
+        "precio_unitario", "cantidad_esperada", "cantidad_recibida", "observaciones", "estado");
+
+    // Mapea una fila de SQL_SELECT_DETALLES, incluyendo el producto
+    private DetalleRecepcion mapResultSetToDetalleConProducto(ResultSet rs, int[] columnas) throws SQLException {
+        int c = 0;
+        DetalleRecepcion detalle = new DetalleRecepcion();
+        detalle.setId(rs.getLong(columnas[c++]));
+        
+        // Crear y configurar el producto
+        Producto producto = new Producto();
+        producto.setId(rs.getLong(columnas[c++]));
+        producto.setCodigo(rs.getString(columnas[c++]));
+        producto.setNombre(rs.getString(columnas[c++]));
+        producto.setUnidadMedida(rs.getString(columnas[c++]));
+        double precioUnitario = rs.getDouble(columnas[c++]);
+        producto.setPrecioUnitario(precioUnitario);
+        
+        detalle.setProducto(producto);
+        detalle.setCantidadEsperada(rs.getInt(columnas[c++]));
+        
+        // Manejar cantidad_recibida que puede ser null
+        int cantidadRecibida = rs.getInt(columnas[c++]);
+        if (!rs.wasNull()) {
+            detalle.setCantidadRecibida(cantidadRecibida);
+        }
+        
+        detalle.setPrecioUnitario(precioUnitario);
+        
+        // Obtener observaciones (puede ser null)
+        String observaciones = rs.getString(columnas[c++]);
+        if (observaciones != null) {
+            detalle.setObservaciones(observaciones);
+        }
+        
+        // Establecer estado
+        String estadoStr = rs.getString(columnas[c++]);
+        if (estadoStr != null) {
+            detalle.setEstado(DetalleRecepcion.EstadoDetalle.valueOf(estadoStr));
+        }
+        return detalle;
+    }
+
     private DetalleRecepcion mapResultSetToDetalle(ResultSet rs) throws SQLException {
         DetalleRecepcion detalle = new DetalleRecepcion();
         detalle.setId(rs.getLong("id"));
@@ -1789,8 +2253,10 @@ public class RecepcionMercanciaDao implements IRecepcionMercanciaDao {
         }
 
         try (ResultSet rs = stmt.executeQuery()) {
+            int[] columnas = PlanColumnas.indices(sql.toString(), rs, COLUMNAS_RECEPCION);
+            Referencias referencias = new Referencias();
             while (rs.next()) {
-                recepciones.add(mapResultSetToRecepcion(rs));
+                recepciones.add(mapResultSetToRecepcion(rs, columnas, referencias));
             }
         }
 
@@ -1832,8 +2298,10 @@ public class RecepcionMercanciaDao implements IRecepcionMercanciaDao {
         }
 
         try (ResultSet rs = stmt.executeQuery()) {
+            int[] columnas = PlanColumnas.indices(sql, rs, COLUMNAS_RECEPCION);
+            Referencias referencias = new Referencias();
             while (rs.next()) {
-                recepciones.add(mapResultSetToRecepcion(rs));
+                recepciones.add(mapResultSetToRecepcion(rs, columnas, referencias));
             }
         }
 
@@ -1851,6 +2319,9 @@ public class RecepcionMercanciaDao implements IRecepcionMercanciaDao {
     public Map<EstadoRecepcion, Integer> getConteosPorEstado() 
         throws DatabaseException {
     logger.debug("Obteniendo conteos por estado");
+    if (resumen.isHabilitado()) {
+        return resumen.getConteosPorEstado();
+    }
     
     String sql = "SELECT estado, COUNT(*) as conteo " +
                 "FROM recepciones_mercancia " +
@@ -1911,8 +2382,10 @@ public class RecepcionMercanciaDao implements IRecepcionMercanciaDao {
         stmt.setTimestamp(3, Timestamp.valueOf(fechaFin));
 
         try (ResultSet rs = stmt.executeQuery()) {
+            int[] columnas = PlanColumnas.indices(sql, rs, COLUMNAS_RECEPCION);
+            Referencias referencias = new Referencias();
             while (rs.next()) {
-                recepciones.add(mapResultSetToRecepcion(rs));
+                recepciones.add(mapResultSetToRecepcion(rs, columnas, referencias));
             }
         }
 
@@ -1940,6 +2413,9 @@ public class RecepcionMercanciaDao implements IRecepcionMercanciaDao {
     public Map<String, Object> getEstadisticasPorFechas(LocalDateTime fechaInicio, LocalDateTime fechaFin) 
         throws DatabaseException {
     logger.debug("Obteniendo estadísticas entre {} y {}", fechaInicio, fechaFin);
+    if (usarResumen(fechaInicio, fechaFin)) {
+        return resumen.getEstadisticasPorFechas(fechaInicio.toLocalDate(), fechaFin.toLocalDate());
+    }
     
     String sql = "SELECT " +
                 "COUNT(*) as total_recepciones, " +
@@ -1999,8 +2475,10 @@ public class RecepcionMercanciaDao implements IRecepcionMercanciaDao {
             stmt.setTimestamp(2, Timestamp.valueOf(fechaFin));
 
             try (ResultSet rs = stmt.executeQuery()) {
+                int[] columnas = PlanColumnas.indices(sql, rs, COLUMNAS_RECEPCION);
+                Referencias referencias = new Referencias();
                 while (rs.next()) {
-                    RecepcionMercancia recepcion = mapResultSetToRecepcion(rs);
+                    RecepcionMercancia recepcion = mapResultSetToRecepcion(rs, columnas, referencias);
                     recepciones.add(recepcion);
                 }
             }
@@ -2029,8 +2507,9 @@ public class RecepcionMercanciaDao implements IRecepcionMercanciaDao {
             
             List<RecepcionItem> items = new ArrayList<>();
             try (ResultSet rs = stmt.executeQuery()) {
+                int[] columnas = PlanColumnas.indices(sql, rs, COLUMNAS_ITEM);
                 while (rs.next()) {
-                    items.add(mapResultSetToItem(rs));
+                    items.add(mapResultSetToItem(rs, columnas));
                 }
             }
             
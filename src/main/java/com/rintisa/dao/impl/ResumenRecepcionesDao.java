@@ -0,0 +1,635 @@
+package com.rintisa.dao.impl;
+
+import com.rintisa.config.DatabaseConfig;
+import com.rintisa.config.TransactionManager;
+import com.rintisa.dao.interfaces.IResumenRecepcionesDao;
+import com.rintisa.exception.DatabaseException;
+import com.rintisa.model.enums.EstadoRecepcion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Mantiene las tablas de resumen diario de recepciones.
+ *
+ * El mantenimiento es incremental: cada operación que modifica una recepción o sus
+ * detalles vuelve a agregar solo el día y proveedor, y los productos, que tocó. Las
+ * consultas por rango leen el resumen en lugar de recorrer recepciones_mercancia y
+ * detalle_recepcion.
+ *
+ * El recálculo no corre en la transacción del cambio sino al terminarla, en una
+ * conexión propia, igual que VersionDatosDao. Con InnoDB en REPEATABLE READ un
+ * INSERT ... SELECT dentro de la transacción del escritor tomaría bloqueos
+ * compartidos sobre todo el día en las tablas de origen hasta el commit, y dos
+ * escritores del mismo día se bloquearían entre sí. Aquí las tablas de origen se
+ * leen con un SELECT simple, que es una lectura consistente sin bloqueos, y solo
+ * se bloquean las filas del resumen. Si el recálculo falla el cambio ya está
+ * confirmado: el error se registra y el resumen se repara con
+ * ReconstruirResumenEstadisticas.
+ */
+public class ResumenRecepcionesDao implements IResumenRecepcionesDao {
+    private static final Logger logger = LoggerFactory.getLogger(ResumenRecepcionesDao.class);
+
+    private static final String SQL_CREAR_RESUMEN_RECEPCION =
+        "CREATE TABLE IF NOT EXISTS resumen_recepcion_diaria (" +
+        "fecha DATE NOT NULL, " +
+        "proveedor_id BIGINT NOT NULL, " +
+        "estado VARCHAR(20) NOT NULL, " +
+        "cantidad INT NOT NULL, " +
+        "monto_total DECIMAL(15,2) NOT NULL, " +
+        "monto_minimo DECIMAL(15,2) NULL, " +
+        "monto_maximo DECIMAL(15,2) NULL, " +
+        "PRIMARY KEY (fecha, proveedor_id, estado))";
+
+    private static final String SQL_CREAR_RESUMEN_PRODUCTO =
+        "CREATE TABLE IF NOT EXISTS resumen_producto_diario (" +
+        "fecha DATE NOT NULL, " +
+        "producto_id BIGINT NOT NULL, " +
+        "estado VARCHAR(20) NOT NULL, " +
+        "cantidad_recibida BIGINT NOT NULL, " +
+        "monto_recibido DECIMAL(15,2) NOT NULL, " +
+        "lineas INT NOT NULL, " +
+        "lineas_discrepancia INT NOT NULL, " +
+        "suma_diferencia BIGINT NOT NULL, " +
+        "perdida DECIMAL(15,2) NOT NULL, " +
+        "recepciones INT NOT NULL, " +
+        "PRIMARY KEY (fecha, producto_id, estado))";
+
+    private static final String SQL_INSERTAR_RESUMEN_RECEPCION =
+        "INSERT INTO resumen_recepcion_diaria " +
+        "(fecha, proveedor_id, estado, cantidad, monto_total, monto_minimo, monto_maximo) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SQL_AGREGAR_RECEPCIONES =
+        "SELECT COALESCE(proveedor_id, 0), estado, COUNT(*), COALESCE(SUM(total), 0), " +
+        "MIN(total), MAX(total) " +
+        "FROM recepciones_mercancia " +
+        "WHERE fecha_recepcion >= ? AND fecha_recepcion < ? ";
+
+    private static final String SQL_INSERTAR_RESUMEN_PRODUCTO =
+        "INSERT INTO resumen_producto_diario " +
+        "(fecha, producto_id, estado, cantidad_recibida, monto_recibido, lineas, " +
+        "lineas_discrepancia, suma_diferencia, perdida, recepciones) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SQL_AGREGAR_PRODUCTOS =
+        "SELECT dr.producto_id, rm.estado, " +
+        "COALESCE(SUM(dr.cantidad_recibida), 0), " +
+        "COALESCE(SUM(dr.cantidad_recibida * dr.precio_unitario), 0), " +
+        "COUNT(*), " +
+        "COUNT(CASE WHEN dr.cantidad_recibida <> dr.cantidad_esperada THEN 1 END), " +
+        "COALESCE(SUM(CASE WHEN dr.cantidad_recibida <> dr.cantidad_esperada " +
+        "   THEN ABS(dr.cantidad_recibida - dr.cantidad_esperada) END), 0), " +
+        "COALESCE(SUM(CASE WHEN dr.cantidad_recibida < dr.cantidad_esperada " +
+        "   THEN (dr.cantidad_esperada - dr.cantidad_recibida) * dr.precio_unitario END), 0), " +
+        "COUNT(DISTINCT rm.id) " +
+        "FROM detalle_recepcion dr " +
+        "JOIN recepciones_mercancia rm ON dr.recepcion_id = rm.id " +
+        "WHERE rm.fecha_recepcion >= ? AND rm.fecha_recepcion < ? ";
+
+    private static volatile boolean tablasVerificadas;
+
+    /**
+     * Día, proveedor y productos de una recepción: lo que se vuelve a agregar.
+     * Dos ubicaciones son iguales si coinciden día y proveedor.
+     */
+    static final class Ubicacion {
+        final LocalDate dia;
+        final long proveedorId;
+        final Set<Long> productoIds = new LinkedHashSet<>();
+
+        Ubicacion(LocalDate dia, long proveedorId) {
+            this.dia = dia;
+            this.proveedorId = proveedorId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Ubicacion)) return false;
+            Ubicacion that = (Ubicacion) o;
+            return dia.equals(that.dia) && proveedorId == that.proveedorId;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(dia, proveedorId);
+        }
+    }
+
+    @Override
+    public boolean isHabilitado() {
+        return Boolean.parseBoolean(DatabaseConfig.getProperty("db.estadisticas.resumen", "false"));
+    }
+
+    // ---------------------------------------------------------------------
+    // Mantenimiento incremental (usado por RecepcionMercanciaDao)
+    // ---------------------------------------------------------------------
+
+    /**
+     * Ubica una recepción con los productos de sus detalles. Si la operación
+     * va a quitar detalles, debe llamarse antes de quitarlos para que esos
+     * productos también se vuelvan a agregar.
+     */
+    Ubicacion ubicarRecepcion(Connection conn, Long recepcionId) throws SQLException {
+        if (!isHabilitado() || recepcionId == null) {
+            return null;
+        }
+        String sql = "SELECT rm.fecha_recepcion, rm.proveedor_id, dr.producto_id " +
+                    "FROM recepciones_mercancia rm " +
+                    "LEFT JOIN detalle_recepcion dr ON dr.recepcion_id = rm.id " +
+                    "WHERE rm.id = ?";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setLong(1, recepcionId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                Collection<Ubicacion> ubicaciones = leerUbicaciones(rs);
+                return ubicaciones.isEmpty() ? null : ubicaciones.iterator().next();
+            }
+        }
+    }
+
+    Collection<Ubicacion> ubicarDetalles(Connection conn, Collection<Long> detalleIds) throws SQLException {
+        if (!isHabilitado() || detalleIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        String sql = "SELECT rm.fecha_recepcion, rm.proveedor_id, dr.producto_id " +
+                    "FROM detalle_recepcion dr " +
+                    "JOIN recepciones_mercancia rm ON dr.recepcion_id = rm.id " +
+                    "WHERE dr.id IN (" + String.join(",", Collections.nCopies(detalleIds.size(), "?")) + ")";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            for (Long id : detalleIds) {
+                stmt.setLong(index++, id);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                return leerUbicaciones(rs);
+            }
+        }
+    }
+
+    // Filas (fecha_recepcion, proveedor_id, producto_id) agrupadas por día y proveedor
+    private static Collection<Ubicacion> leerUbicaciones(ResultSet rs) throws SQLException {
+        Map<Ubicacion, Ubicacion> ubicaciones = new LinkedHashMap<>();
+        while (rs.next()) {
+            Timestamp fecha = rs.getTimestamp(1);
+            if (fecha == null) {
+                continue;
+            }
+            Ubicacion ubicacion = new Ubicacion(fecha.toLocalDateTime().toLocalDate(), rs.getLong(2));
+            ubicacion = ubicaciones.computeIfAbsent(ubicacion, u -> u);
+            long productoId = rs.getLong(3);
+            if (!rs.wasNull()) {
+                ubicacion.productoIds.add(productoId);
+            }
+        }
+        return ubicaciones.values();
+    }
+
+    /**
+     * Ubica una recepción y programa el recálculo de su resumen. Solo para
+     * cambios en autocommit o dentro de TransactionManager; los DAO con
+     * transacción propia ubican antes del commit y llaman a
+     * {@link #actualizar(Collection)} después.
+     */
+    void actualizarRecepcion(Connection conn, Long recepcionId) throws SQLException {
+        actualizar(Collections.singleton(ubicarRecepcion(conn, recepcionId)));
+    }
+
+    /**
+     * Vuelve a agregar las filas de resumen de las ubicaciones dadas: día ×
+     * proveedor en resumen_recepcion_diaria y día × producto, solo de sus
+     * productos, en resumen_producto_diario.
+     *
+     * Corre cuando el cambio ya está confirmado: al terminar la transacción
+     * activa del hilo, o de inmediato si no hay una. Los DAO que manejan su
+     * propia transacción deben llamarlo después del commit.
+     */
+    void actualizar(Collection<Ubicacion> ubicaciones) {
+        if (!isHabilitado()) {
+            return;
+        }
+        List<Ubicacion> pendientes = new ArrayList<>();
+        for (Ubicacion ubicacion : ubicaciones) {
+            if (ubicacion != null) {
+                pendientes.add(ubicacion);
+            }
+        }
+        if (pendientes.isEmpty()) {
+            return;
+        }
+        TransactionManager.alFinalizar(() -> {
+            try {
+                recalcular(pendientes);
+            } catch (SQLException e) {
+                logger.error("Error al actualizar el resumen de recepciones; " +
+                    "se corrige con ReconstruirResumenEstadisticas", e);
+            }
+        });
+    }
+
+    private void recalcular(Collection<Ubicacion> ubicaciones) throws SQLException {
+        asegurarTablas();
+        try (Connection conn = DatabaseConfig.getConexionIndependiente()) {
+            conn.setAutoCommit(false);
+            try {
+                Map<LocalDate, Set<Long>> productosPorDia = new LinkedHashMap<>();
+                for (Ubicacion ubicacion : ubicaciones) {
+                    agregarRecepciones(conn, ubicacion.dia, ubicacion.proveedorId);
+                    conn.commit();
+                    productosPorDia.computeIfAbsent(ubicacion.dia, d -> new LinkedHashSet<>())
+                        .addAll(ubicacion.productoIds);
+                }
+                for (Map.Entry<LocalDate, Set<Long>> entrada : productosPorDia.entrySet()) {
+                    if (!entrada.getValue().isEmpty()) {
+                        agregarProductos(conn, entrada.getKey(), entrada.getValue());
+                        conn.commit();
+                    }
+                }
+            } catch (SQLException e) {
+                try {
+                    conn.rollback();
+                } catch (SQLException ex) {
+                    logger.error("Error al realizar rollback", ex);
+                }
+                throw e;
+            }
+        }
+    }
+
+    // Cada agregación es una transacción: primero el DELETE, que bloquea solo las
+    // filas del resumen y hace esperar a otro recálculo de la misma clave; después
+    // el SELECT de origen, una lectura consistente sin bloqueos que, por ir
+    // después del DELETE, ya ve lo que confirmó ese otro recálculo.
+
+    // Reagrega día × proveedor; con proveedorId null reagrega todos los proveedores del día
+    private void agregarRecepciones(Connection conn, LocalDate dia, Long proveedorId) throws SQLException {
+        String borrar = "DELETE FROM resumen_recepcion_diaria WHERE fecha = ?" +
+                       (proveedorId != null ? " AND proveedor_id = ?" : "");
+        try (PreparedStatement stmt = conn.prepareStatement(borrar)) {
+            stmt.setDate(1, Date.valueOf(dia));
+            if (proveedorId != null) {
+                stmt.setLong(2, proveedorId);
+            }
+            stmt.executeUpdate();
+        }
+
+        String agregar = SQL_AGREGAR_RECEPCIONES +
+                        (proveedorId != null ? "AND COALESCE(proveedor_id, 0) = ? " : "") +
+                        "GROUP BY COALESCE(proveedor_id, 0), estado";
+        try (PreparedStatement consulta = conn.prepareStatement(agregar);
+             PreparedStatement insertar = conn.prepareStatement(SQL_INSERTAR_RESUMEN_RECEPCION)) {
+            consulta.setTimestamp(1, Timestamp.valueOf(dia.atStartOfDay()));
+            consulta.setTimestamp(2, Timestamp.valueOf(dia.plusDays(1).atStartOfDay()));
+            if (proveedorId != null) {
+                consulta.setLong(3, proveedorId);
+            }
+            copiar(consulta, insertar, dia);
+        }
+    }
+
+    // Reagrega día × producto; con productoIds null reagrega todos los productos del día.
+    // Se recalculan las filas en lugar de sumar diferencias porque "recepciones" es un
+    // COUNT(DISTINCT) y un cambio de estado mueve las líneas de una fila a otra
+    private void agregarProductos(Connection conn, LocalDate dia, Collection<Long> productoIds)
+            throws SQLException {
+        String marcas = productoIds != null
+            ? String.join(",", Collections.nCopies(productoIds.size(), "?"))
+            : null;
+        String borrar = "DELETE FROM resumen_producto_diario WHERE fecha = ?" +
+                       (marcas != null ? " AND producto_id IN (" + marcas + ")" : "");
+        try (PreparedStatement stmt = conn.prepareStatement(borrar)) {
+            stmt.setDate(1, Date.valueOf(dia));
+            asignarProductos(stmt, 2, productoIds);
+            stmt.executeUpdate();
+        }
+
+        String agregar = SQL_AGREGAR_PRODUCTOS +
+                        (marcas != null ? "AND dr.producto_id IN (" + marcas + ") " : "") +
+                        "GROUP BY dr.producto_id, rm.estado";
+        try (PreparedStatement consulta = conn.prepareStatement(agregar);
+             PreparedStatement insertar = conn.prepareStatement(SQL_INSERTAR_RESUMEN_PRODUCTO)) {
+            consulta.setTimestamp(1, Timestamp.valueOf(dia.atStartOfDay()));
+            consulta.setTimestamp(2, Timestamp.valueOf(dia.plusDays(1).atStartOfDay()));
+            asignarProductos(consulta, 3, productoIds);
+            copiar(consulta, insertar, dia);
+        }
+    }
+
+    // Inserta cada fila de la consulta como (dia, columnas de la fila...)
+    private static void copiar(PreparedStatement consulta, PreparedStatement insertar, LocalDate dia)
+            throws SQLException {
+        int filas = 0;
+        try (ResultSet rs = consulta.executeQuery()) {
+            int columnas = rs.getMetaData().getColumnCount();
+            while (rs.next()) {
+                insertar.setDate(1, Date.valueOf(dia));
+                for (int i = 1; i <= columnas; i++) {
+                    insertar.setObject(i + 1, rs.getObject(i));
+                }
+                insertar.addBatch();
+                filas++;
+            }
+        }
+        if (filas > 0) {
+            insertar.executeBatch();
+        }
+    }
+
+    private static void asignarProductos(PreparedStatement stmt, int desde, Collection<Long> productoIds)
+            throws SQLException {
+        if (productoIds == null) {
+            return;
+        }
+        int index = desde;
+        for (Long productoId : productoIds) {
+            stmt.setLong(index++, productoId);
+        }
+    }
+
+    // En una conexión propia y una sola vez: en MySQL un CREATE TABLE confirma
+    // la transacción abierta del llamador
+    private static void asegurarTablas() throws SQLException {
+        if (tablasVerificadas) {
+            return;
+        }
+        try (Connection conn = DatabaseConfig.getConexionIndependiente();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute(SQL_CREAR_RESUMEN_RECEPCION);
+            stmt.execute(SQL_CREAR_RESUMEN_PRODUCTO);
+        }
+        tablasVerificadas = true;
+    }
+
+    // ---------------------------------------------------------------------
+    // Reconstrucción
+    // ---------------------------------------------------------------------
+
+    @Override
+    public int reconstruir(LocalDate desde, LocalDate hasta) throws DatabaseException {
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            asegurarTablas();
+
+            if (desde == null || hasta == null) {
+                String sql = "SELECT MIN(fecha_recepcion), MAX(fecha_recepcion) FROM recepciones_mercancia";
+                try (Statement stmt = conn.createStatement();
+                     ResultSet rs = stmt.executeQuery(sql)) {
+                    if (!rs.next() || rs.getTimestamp(1) == null) {
+                        logger.info("No hay recepciones para reconstruir el resumen");
+                        return 0;
+                    }
+                    if (desde == null) {
+                        desde = rs.getTimestamp(1).toLocalDateTime().toLocalDate();
+                    }
+                    if (hasta == null) {
+                        hasta = rs.getTimestamp(2).toLocalDateTime().toLocalDate();
+                    }
+                }
+            }
+
+            logger.info("Reconstruyendo resumen de recepciones del {} al {}", desde, hasta);
+            int dias = 0;
+            conn.setAutoCommit(false);
+            try {
+                // Un día por transacción para no mantener bloqueos largos
+                for (LocalDate dia = desde; !dia.isAfter(hasta); dia = dia.plusDays(1)) {
+                    agregarRecepciones(conn, dia, null);
+                    agregarProductos(conn, dia, null);
+                    conn.commit();
+                    dias++;
+                    if (dias % 30 == 0) {
+                        logger.info("Resumen reconstruido hasta {}", dia);
+                    }
+                }
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+
+            logger.info("Resumen de recepciones reconstruido: {} días", dias);
+            return dias;
+
+        } catch (SQLException e) {
+            logger.error("Error al reconstruir resumen de recepciones", e);
+            throw new DatabaseException("Error al reconstruir resumen: " + e.getMessage());
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // Consultas
+    // ---------------------------------------------------------------------
+
+    @Override
+    public Map<String, Object> getEstadisticas(LocalDate desde, LocalDate hasta) throws DatabaseException {
+        logger.debug("Obteniendo estadísticas desde el resumen para {} - {}", desde, hasta);
+        Map<String, Object> estadisticas = new HashMap<>();
+
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            asegurarTablas();
+
+            String sqlGenerales = "SELECT " +
+                "COALESCE(SUM(cantidad), 0) as total_recepciones, " +
+                "COUNT(DISTINCT NULLIF(proveedor_id, 0)) as total_proveedores, " +
+                "SUM(CASE WHEN estado = 'ACEPTADO' THEN monto_total ELSE 0 END) as monto_total_aceptado, " +
+                "SUM(CASE WHEN estado = 'ACEPTADO' THEN monto_total END) / " +
+                "   NULLIF(SUM(CASE WHEN estado = 'ACEPTADO' THEN cantidad END), 0) as promedio_por_recepcion, " +
+                "MIN(monto_minimo) as monto_minimo, " +
+                "MAX(monto_maximo) as monto_maximo " +
+                "FROM resumen_recepcion_diaria " +
+                "WHERE fecha BETWEEN ? AND ?";
+            try (PreparedStatement stmt = prepararRango(conn, sqlGenerales, desde, hasta);
+                 ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    estadisticas.put("totalRecepciones", rs.getInt("total_recepciones"));
+                    estadisticas.put("totalProveedores", rs.getInt("total_proveedores"));
+                    estadisticas.put("montoTotalAceptado", rs.getDouble("monto_total_aceptado"));
+                    estadisticas.put("promedioPorRecepcion", rs.getDouble("promedio_por_recepcion"));
+                    estadisticas.put("montoMinimo", rs.getDouble("monto_minimo"));
+                    estadisticas.put("montoMaximo", rs.getDouble("monto_maximo"));
+                }
+            }
+
+            String sqlPorEstado = "SELECT estado, SUM(cantidad) as cantidad, " +
+                "SUM(monto_total) as monto_total " +
+                "FROM resumen_recepcion_diaria " +
+                "WHERE fecha BETWEEN ? AND ? " +
+                "GROUP BY estado";
+            Map<String, Object> porEstado = new HashMap<>();
+            try (PreparedStatement stmt = prepararRango(conn, sqlPorEstado, desde, hasta);
+                 ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    int cantidad = rs.getInt("cantidad");
+                    double montoTotal = rs.getDouble("monto_total");
+                    Map<String, Object> estadoInfo = new HashMap<>();
+                    estadoInfo.put("cantidad", cantidad);
+                    estadoInfo.put("montoTotal", montoTotal);
+                    estadoInfo.put("promedio", cantidad > 0 ? montoTotal / cantidad : 0.0);
+                    porEstado.put(rs.getString("estado"), estadoInfo);
+                }
+            }
+            estadisticas.put("porEstado", porEstado);
+
+            String sqlPorProveedor = "SELECT p.razon_social, " +
+                "SUM(r.cantidad) as total_recepciones, " +
+                "SUM(r.monto_total) as monto_total, " +
+                "SUM(CASE WHEN r.estado = 'RECHAZADO' THEN r.cantidad ELSE 0 END) as rechazos " +
+                "FROM resumen_recepcion_diaria r " +
+                "JOIN proveedores p ON r.proveedor_id = p.id " +
+                "WHERE r.fecha BETWEEN ? AND ? " +
+                "GROUP BY p.id, p.razon_social " +
+                "ORDER BY monto_total DESC";
+            List<Map<String, Object>> porProveedor = new ArrayList<>();
+            try (PreparedStatement stmt = prepararRango(conn, sqlPorProveedor, desde, hasta);
+                 ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    int total = rs.getInt("total_recepciones");
+                    double monto = rs.getDouble("monto_total");
+                    Map<String, Object> proveedorInfo = new HashMap<>();
+                    proveedorInfo.put("razonSocial", rs.getString("razon_social"));
+                    proveedorInfo.put("totalRecepciones", total);
+                    proveedorInfo.put("montoTotal", monto);
+                    proveedorInfo.put("promedio", total > 0 ? monto / total : 0.0);
+                    proveedorInfo.put("rechazos", rs.getInt("rechazos"));
+                    porProveedor.add(proveedorInfo);
+                }
+            }
+            estadisticas.put("porProveedor", porProveedor);
+
+            String sqlProductos = "SELECT p.codigo, p.nombre, " +
+                "SUM(r.cantidad_recibida) as cantidad_total, " +
+                "SUM(r.recepciones) as total_recepciones, " +
+                "SUM(r.monto_recibido) as monto_total " +
+                "FROM resumen_producto_diario r " +
+                "JOIN productos p ON r.producto_id = p.id " +
+                "WHERE r.fecha BETWEEN ? AND ? " +
+                "AND r.estado = 'ACEPTADO' " +
+                "GROUP BY p.id, p.codigo, p.nombre " +
+                "ORDER BY cantidad_total DESC " +
+                "LIMIT 10";
+            List<Map<String, Object>> productos = new ArrayList<>();
+            try (PreparedStatement stmt = prepararRango(conn, sqlProductos, desde, hasta);
+                 ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Map<String, Object> producto = new HashMap<>();
+                    producto.put("codigo", rs.getString("codigo"));
+                    producto.put("nombre", rs.getString("nombre"));
+                    producto.put("cantidadTotal", rs.getInt("cantidad_total"));
+                    producto.put("totalRecepciones", rs.getInt("total_recepciones"));
+                    producto.put("montoTotal", rs.getDouble("monto_total"));
+                    productos.add(producto);
+                }
+            }
+            estadisticas.put("productosMasRecibidos", productos);
+
+            String sqlDiscrepancias = "SELECT " +
+                "COALESCE(SUM(lineas), 0) as total_detalles, " +
+                "COALESCE(SUM(lineas_discrepancia), 0) as total_discrepancias, " +
+                "COALESCE(SUM(suma_diferencia), 0) as suma_diferencia, " +
+                "COALESCE(SUM(perdida), 0) as perdida_total " +
+                "FROM resumen_producto_diario " +
+                "WHERE fecha BETWEEN ? AND ? " +
+                "AND estado = 'ACEPTADO'";
+            Map<String, Object> discrepancias = new HashMap<>();
+            try (PreparedStatement stmt = prepararRango(conn, sqlDiscrepancias, desde, hasta);
+                 ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    int totalDetalles = rs.getInt("total_detalles");
+                    int totalDiscrepancias = rs.getInt("total_discrepancias");
+                    discrepancias.put("totalDetalles", totalDetalles);
+                    discrepancias.put("totalDiscrepancias", totalDiscrepancias);
+                    discrepancias.put("promedioDiferencia", totalDiscrepancias > 0 ?
+                        rs.getDouble("suma_diferencia") / totalDiscrepancias : 0.0);
+                    discrepancias.put("perdidaTotal", rs.getDouble("perdida_total"));
+                    discrepancias.put("porcentajeDiscrepancias", totalDetalles > 0 ?
+                        (totalDiscrepancias * 100.0) / totalDetalles : 0);
+                }
+            }
+            estadisticas.put("analisisDiscrepancias", discrepancias);
+
+            return estadisticas;
+
+        } catch (SQLException e) {
+            logger.error("Error al obtener estadísticas desde el resumen", e);
+            throw new DatabaseException("Error al obtener estadísticas: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Map<String, Object> getEstadisticasPorFechas(LocalDate desde, LocalDate hasta)
+        throws DatabaseException {
+        String sql = "SELECT " +
+            "COALESCE(SUM(cantidad), 0) as total_recepciones, " +
+            "COALESCE(SUM(CASE WHEN estado = 'ACEPTADO' THEN cantidad END), 0) as aceptadas, " +
+            "COALESCE(SUM(CASE WHEN estado = 'RECHAZADO' THEN cantidad END), 0) as rechazadas, " +
+            "COALESCE(SUM(CASE WHEN estado = 'PENDIENTE' THEN cantidad END), 0) as pendientes, " +
+            "COALESCE(SUM(CASE WHEN estado = 'VERIFICADO' THEN cantidad END), 0) as verificadas " +
+            "FROM resumen_recepcion_diaria " +
+            "WHERE fecha BETWEEN ? AND ?";
+
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            asegurarTablas();
+            try (PreparedStatement stmt = prepararRango(conn, sql, desde, hasta);
+                 ResultSet rs = stmt.executeQuery()) {
+                Map<String, Object> estadisticas = new HashMap<>();
+                if (rs.next()) {
+                    estadisticas.put("totalRecepciones", rs.getInt("total_recepciones"));
+                    estadisticas.put("recepcionesAceptadas", rs.getInt("aceptadas"));
+                    estadisticas.put("recepcionesRechazadas", rs.getInt("rechazadas"));
+                    estadisticas.put("recepcionesPendientes", rs.getInt("pendientes"));
+                    estadisticas.put("recepcionesVerificadas", rs.getInt("verificadas"));
+                }
+                return estadisticas;
+            }
+        } catch (SQLException e) {
+            logger.error("Error al obtener estadísticas por fechas desde el resumen", e);
+            throw new DatabaseException("Error al obtener estadísticas por fechas: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Map<EstadoRecepcion, Integer> getConteosPorEstado() throws DatabaseException {
+        String sql = "SELECT estado, SUM(cantidad) as conteo " +
+                    "FROM resumen_recepcion_diaria " +
+                    "GROUP BY estado";
+
+        Map<EstadoRecepcion, Integer> conteos = new EnumMap<>(EstadoRecepcion.class);
+
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            asegurarTablas();
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery(sql)) {
+                while (rs.next()) {
+                    conteos.put(EstadoRecepcion.valueOf(rs.getString("estado")), rs.getInt("conteo"));
+                }
+            }
+            for (EstadoRecepcion estado : EstadoRecepcion.values()) {
+                conteos.putIfAbsent(estado, 0);
+            }
+            return conteos;
+        } catch (SQLException e) {
+            logger.error("Error al obtener conteos por estado desde el resumen", e);
+            throw new DatabaseException("Error al obtener conteos por estado: " + e.getMessage());
+        }
+    }
+
+    private static PreparedStatement prepararRango(Connection conn, String sql,
+                                                   LocalDate desde, LocalDate hasta) throws SQLException {
+        PreparedStatement stmt = conn.prepareStatement(sql);
+        stmt.setDate(1, Date.valueOf(desde));
+        stmt.setDate(2, Date.valueOf(hasta));
+        return stmt;
+    }
+}
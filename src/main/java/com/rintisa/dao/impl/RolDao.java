@@ -32,6 +32,7 @@ public class RolDao implements IRolDao {
             if (affectedRows == 0) {
                 throw new DatabaseException("Creating role failed, no rows affected.");
             }
+            VersionDatosDao.incrementar(VersionDatosDao.ROLES);
 
             try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
                 if (generatedKeys.next()) {
@@ -58,8 +59,9 @@ public class RolDao implements IRolDao {
             stmt.setLong(1, id);
             
             try (ResultSet rs = stmt.executeQuery()) {
+                int[] columnas = PlanColumnas.indices(sql, rs, COLUMNAS_ROL);
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToRol(rs));
+                    return Optional.of(mapResultSetToRol(rs, columnas));
                 }
             }
             
@@ -70,12 +72,17 @@ public class RolDao implements IRolDao {
         }
     }
 
-    private Rol mapResultSetToRol(ResultSet rs) throws SQLException {
+    // Columnas que lee mapResultSetToRol, en el orden en que las lee
+    private static final PlanColumnas.Columnas COLUMNAS_ROL = new PlanColumnas.Columnas(
+        "id", "nombre", "descripcion", "activo");
+
+    private Rol mapResultSetToRol(ResultSet rs, int[] columnas) throws SQLException {
+        int c = 0;
         Rol rol = new Rol();
-        rol.setId(rs.getLong("id"));
-        rol.setNombre(rs.getString("nombre"));
-        rol.setDescripcion(rs.getString("descripcion"));
-        rol.setActivo(rs.getBoolean("activo"));
+        rol.setId(rs.getLong(columnas[c++]));
+        rol.setNombre(rs.getString(columnas[c++]));
+        rol.setDescripcion(rs.getString(columnas[c++]));
+        rol.setActivo(rs.getBoolean(columnas[c++]));
         return rol;
     }
     @Override
@@ -86,9 +93,10 @@ public class RolDao implements IRolDao {
         try (Connection conn = DatabaseConfig.getConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
+            int[] columnas = PlanColumnas.indices(sql, rs, COLUMNAS_ROL);
             
             while (rs.next()) {
-                roles.add(mapResultSetToRol(rs));
+                roles.add(mapResultSetToRol(rs, columnas));
             }
             
             return roles;
@@ -115,6 +123,7 @@ public class RolDao implements IRolDao {
             if (affectedRows == 0) {
                 throw new DatabaseException("Updating role failed, no rows affected.");
             }
+            VersionDatosDao.incrementar(VersionDatosDao.ROLES);
         } catch (SQLException e) {
             logger.error("Error updating role", e);
             throw new DatabaseException("Error updating role: " + e.getMessage());
@@ -140,6 +149,7 @@ public class RolDao implements IRolDao {
             if (affectedRows == 0) {
                 throw new DatabaseException("Deleting role failed, no rows affected.");
             }
+            VersionDatosDao.incrementar(VersionDatosDao.ROLES);
         } catch (SQLException e) {
             logger.error("Error deleting role", e);
             throw new DatabaseException("Error deleting role: " + e.getMessage());
@@ -175,8 +185,9 @@ public class RolDao implements IRolDao {
             stmt.setString(1, nombre);
             
             try (ResultSet rs = stmt.executeQuery()) {
+                int[] columnas = PlanColumnas.indices(sql, rs, COLUMNAS_ROL);
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToRol(rs));
+                    return Optional.of(mapResultSetToRol(rs, columnas));
                 }
             }
             
@@ -198,8 +209,9 @@ public class RolDao implements IRolDao {
             stmt.setBoolean(1, activo);
             
             try (ResultSet rs = stmt.executeQuery()) {
+                int[] columnas = PlanColumnas.indices(sql, rs, COLUMNAS_ROL);
                 while (rs.next()) {
-                    roles.add(mapResultSetToRol(rs));
+                    roles.add(mapResultSetToRol(rs, columnas));
                 }
             }
             
@@ -243,8 +255,9 @@ public class RolDao implements IRolDao {
             stmt.setString(2, searchPattern);
             
             try (ResultSet rs = stmt.executeQuery()) {
+                int[] columnas = PlanColumnas.indices(sql, rs, COLUMNAS_ROL);
                 while (rs.next()) {
-                    roles.add(mapResultSetToRol(rs));
+                    roles.add(mapResultSetToRol(rs, columnas));
                 }
             }
             
@@ -40,6 +40,7 @@ public class UsuarioDao implements IUsuarioDao {
             if (affectedRows == 0) {
                 throw new DatabaseException("Creating user failed, no rows affected.");
             }
+            VersionDatosDao.incrementar(VersionDatosDao.USUARIOS);
 
             try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
                 if (generatedKeys.next()) {
@@ -69,8 +70,9 @@ public class UsuarioDao implements IUsuarioDao {
             stmt.setLong(1, id);
             
             try (ResultSet rs = stmt.executeQuery()) {
+                int[] columnas = PlanColumnas.indices(sql, rs, COLUMNAS_USUARIO);
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToUsuario(rs));
+                    return Optional.of(mapResultSetToUsuario(rs, columnas));
                 }
             }
             
@@ -92,9 +94,10 @@ public class UsuarioDao implements IUsuarioDao {
         try (Connection conn = DatabaseConfig.getConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
+            int[] columnas = PlanColumnas.indices(sql, rs, COLUMNAS_USUARIO);
             
             while (rs.next()) {
-                usuarios.add(mapResultSetToUsuario(rs));
+                usuarios.add(mapResultSetToUsuario(rs, columnas));
             }
             
             return usuarios;
@@ -126,6 +129,7 @@ public class UsuarioDao implements IUsuarioDao {
             if (affectedRows == 0) {
                 throw new DatabaseException("Updating user failed, no rows affected.");
             }
+            VersionDatosDao.incrementar(VersionDatosDao.USUARIOS);
         } catch (SQLException e) {
             logger.error("Error updating user", e);
             throw new DatabaseException("Error updating user: " + e.getMessage());
@@ -146,6 +150,7 @@ public class UsuarioDao implements IUsuarioDao {
             if (affectedRows == 0) {
                 throw new DatabaseException("Deleting user failed, no rows affected.");
             }
+            VersionDatosDao.incrementar(VersionDatosDao.USUARIOS);
         } catch (SQLException e) {
             logger.error("Error deleting user", e);
             throw new DatabaseException("Error deleting user: " + e.getMessage());
@@ -165,8 +170,9 @@ public class UsuarioDao implements IUsuarioDao {
             stmt.setString(1, username);
             
             try (ResultSet rs = stmt.executeQuery()) {
+                int[] columnas = PlanColumnas.indices(sql, rs, COLUMNAS_USUARIO);
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToUsuario(rs));
+                    return Optional.of(mapResultSetToUsuario(rs, columnas));
                 }
             }
             
@@ -192,8 +198,9 @@ public class UsuarioDao implements IUsuarioDao {
             stmt.setBoolean(1, activo);
             
             try (ResultSet rs = stmt.executeQuery()) {
+                int[] columnas = PlanColumnas.indices(sql, rs, COLUMNAS_USUARIO);
                 while (rs.next()) {
-                    usuarios.add(mapResultSetToUsuario(rs));
+                    usuarios.add(mapResultSetToUsuario(rs, columnas));
                 }
             }
             
@@ -261,6 +268,7 @@ public class UsuarioDao implements IUsuarioDao {
             if (filasActualizadas == 0) {
                 throw new DatabaseException("No se pudo actualizar el último acceso: usuario no encontrado");
             }
+            VersionDatosDao.incrementar(VersionDatosDao.USUARIOS);
             
             logger.debug("Último acceso actualizado para usuario ID: {}", userId);
             
@@ -299,29 +307,35 @@ public class UsuarioDao implements IUsuarioDao {
     
     
 
-    private Usuario mapResultSetToUsuario(ResultSet rs) throws SQLException {
+    // Columnas que lee mapResultSetToUsuario, en el orden en que las lee
+    private static final PlanColumnas.Columnas COLUMNAS_USUARIO = new PlanColumnas.Columnas(
+        "id", "username", "password", "nombre", "apellido", "email", "activo",
+        "fecha_creacion", "ultimo_acceso", "rol_id", "rol_nombre", "rol_descripcion");
+
+    private Usuario mapResultSetToUsuario(ResultSet rs, int[] columnas) throws SQLException {
+        int c = 0;
         Usuario usuario = new Usuario();
-        usuario.setId(rs.getLong("id"));
-        usuario.setUsername(rs.getString("username"));
-        usuario.setPassword(rs.getString("password"));
-        usuario.setNombre(rs.getString("nombre"));
-        usuario.setApellido(rs.getString("apellido"));
-        usuario.setEmail(rs.getString("email"));
-        usuario.setActivo(rs.getBoolean("activo"));
-        usuario.setFechaCreacion(rs.getTimestamp("fecha_creacion").toLocalDateTime());
+        usuario.setId(rs.getLong(columnas[c++]));
+        usuario.setUsername(rs.getString(columnas[c++]));
+        usuario.setPassword(rs.getString(columnas[c++]));
+        usuario.setNombre(rs.getString(columnas[c++]));
+        usuario.setApellido(rs.getString(columnas[c++]));
+        usuario.setEmail(rs.getString(columnas[c++]));
+        usuario.setActivo(rs.getBoolean(columnas[c++]));
+        usuario.setFechaCreacion(rs.getTimestamp(columnas[c++]).toLocalDateTime());
         
-        Timestamp ultimoAcceso = rs.getTimestamp("ultimo_acceso");
+        Timestamp ultimoAcceso = rs.getTimestamp(columnas[c++]);
         if (ultimoAcceso != null) {
             usuario.setUltimoAcceso(ultimoAcceso.toLocalDateTime());
         }
 
         // Mapear el rol si existe
-        Long rolId = rs.getLong("rol_id");
+        Long rolId = rs.getLong(columnas[c++]);
         if (!rs.wasNull()) {
             Rol rol = new Rol();
             rol.setId(rolId);
-            rol.setNombre(rs.getString("rol_nombre"));
-            rol.setDescripcion(rs.getString("rol_descripcion"));
+            rol.setNombre(rs.getString(columnas[c++]));
+            rol.setDescripcion(rs.getString(columnas[c++]));
             usuario.setRol(rol);
         }
 
@@ -0,0 +1,151 @@
+package com.rintisa.dao.impl;
+
+import com.rintisa.config.DatabaseConfig;
+import com.rintisa.config.TransactionManager;
+import com.rintisa.dao.interfaces.IVersionDatosDao;
+import com.rintisa.exception.DatabaseException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Mantiene la tabla version_datos: un contador por grupo de tablas que se
+ * incrementa después de confirmar cada cambio. Sirve como marca de agua para
+ * saber si un resultado calculado antes (por ejemplo un reporte) sigue vigente.
+ *
+ * El contador se actualiza fuera de la transacción del cambio, en una conexión
+ * propia con autocommit: así su fila, que comparten todas las escrituras del
+ * grupo, queda bloqueada solo un instante y no serializa a los escritores. Como
+ * se incrementa después del commit, un resultado calculado en medio puede
+ * guardarse con la versión anterior, pero nunca con la nueva.
+ *
+ * Los cambios hechos fuera de los DAO, directamente en la base, no mueven el
+ * contador; después de una carga manual se debe llamar a {@link #incrementar}.
+ */
+public class VersionDatosDao implements IVersionDatosDao {
+    private static final Logger logger = LoggerFactory.getLogger(VersionDatosDao.class);
+
+    /** recepciones_mercancia y detalle_recepcion */
+    public static final String RECEPCIONES = "recepciones";
+    public static final String PROVEEDORES = "proveedores";
+    public static final String USUARIOS = "usuarios";
+    public static final String ROLES = "roles";
+
+    private static final String SQL_CREAR =
+        "CREATE TABLE IF NOT EXISTS version_datos (" +
+        "tabla VARCHAR(50) NOT NULL PRIMARY KEY, " +
+        "version BIGINT NOT NULL)";
+
+    private static final String SQL_INCREMENTAR =
+        "UPDATE version_datos SET version = version + 1 WHERE tabla = ?";
+
+    private static final String SQL_INSERTAR =
+        "INSERT INTO version_datos (tabla, version) VALUES (?, 1)";
+
+    private static volatile boolean tablaVerificada;
+
+    /**
+     * Incrementa la versión del grupo cuando el cambio ya está confirmado: al
+     * terminar la transacción activa del hilo, o de inmediato si no hay una. Los
+     * DAO que manejan su propia transacción deben llamarlo después del commit.
+     * Un error se registra y no se propaga, porque el cambio ya está hecho.
+     */
+    public static void incrementar(String tabla) {
+        TransactionManager.alFinalizar(() -> {
+            try {
+                asegurarTabla();
+                try (Connection conn = DatabaseConfig.getConexionIndependiente()) {
+                    incrementar(conn, tabla);
+                }
+            } catch (SQLException e) {
+                logger.error("Error al incrementar la versión de {}", tabla, e);
+            }
+        });
+    }
+
+    /**
+     * Incrementa la versión del grupo en la conexión dada, para cargas que no
+     * pasan por los DAO y manejan su propia conexión. Los errores se propagan.
+     */
+    public static void incrementar(Connection conn, String tabla) throws SQLException {
+        asegurarTabla();
+        try (PreparedStatement stmt = conn.prepareStatement(SQL_INCREMENTAR)) {
+            stmt.setString(1, tabla);
+            if (stmt.executeUpdate() > 0) {
+                return;
+            }
+        }
+        // Primer cambio del grupo
+        try (PreparedStatement stmt = conn.prepareStatement(SQL_INSERTAR)) {
+            stmt.setString(1, tabla);
+            stmt.executeUpdate();
+        } catch (SQLException e) {
+            // Otra conexión insertó la fila al mismo tiempo
+            try (PreparedStatement stmt = conn.prepareStatement(SQL_INCREMENTAR)) {
+                stmt.setString(1, tabla);
+                stmt.executeUpdate();
+            }
+        }
+    }
+
+    @Override
+    public Map<String, Long> getVersiones(Collection<String> tablas) throws DatabaseException {
+        Map<String, Long> versiones = new TreeMap<>();
+        for (String tabla : tablas) {
+            versiones.put(tabla, 0L);
+        }
+        if (tablas.isEmpty()) {
+            return versiones;
+        }
+
+        String sql = "SELECT tabla, version FROM version_datos WHERE tabla IN (" +
+            String.join(",", Collections.nCopies(versiones.size(), "?")) + ")";
+
+        try {
+            asegurarTabla();
+        } catch (SQLException e) {
+            logger.error("Error al crear la tabla version_datos", e);
+            throw new DatabaseException("Error al obtener versiones de datos: " + e.getMessage());
+        }
+
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            for (String tabla : versiones.keySet()) {
+                stmt.setString(index++, tabla);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    versiones.put(rs.getString(1), rs.getLong(2));
+                }
+            }
+            return versiones;
+
+        } catch (SQLException e) {
+            logger.error("Error al obtener versiones de datos", e);
+            throw new DatabaseException("Error al obtener versiones de datos: " + e.getMessage());
+        }
+    }
+
+    // En una conexión propia: en MySQL un CREATE TABLE confirma la transacción
+    // abierta de la conexión en la que se ejecuta
+    private static void asegurarTabla() throws SQLException {
+        if (tablaVerificada) {
+            return;
+        }
+        try (Connection conn = DatabaseConfig.getConexionIndependiente();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute(SQL_CREAR);
+        }
+        tablaVerificada = true;
+    }
+}
@@ -2,7 +2,10 @@
 package com.rintisa.dao.interfaces;
 
 import com.rintisa.model.RecepcionMercancia;
+import com.rintisa.model.CursorRecepcion;
 import com.rintisa.model.DetalleRecepcion;
+import com.rintisa.model.PaginaRecepciones;
+import com.rintisa.model.ResumenRecepcion;
 import com.rintisa.exception.DatabaseException;
 import com.rintisa.model.enums.EstadoRecepcion;
 import java.time.LocalDateTime;
@@ -24,6 +27,15 @@ public interface IRecepcionMercanciaDao extends IGenericDao<RecepcionMercancia,
     //Actualiza un detalle de recepción
     void updateDetalle(DetalleRecepcion detalle) throws DatabaseException;
     
+    /**
+     * Actualiza cantidad recibida, estado y observaciones de varios detalles
+     * en un solo lote JDBC y una sola transacción.
+     * @param detalles Detalles a actualizar
+     * @throws DatabaseException si algún detalle no existe o falla la actualización;
+     *         en ese caso no se aplica ningún cambio
+     */
+    void updateDetalles(List<DetalleRecepcion> detalles) throws DatabaseException;
+    
     
     //Elimina un detalle de recepción
     void deleteDetalle(Long detalleId) throws DatabaseException; 
@@ -73,6 +85,41 @@ public interface IRecepcionMercanciaDao extends IGenericDao<RecepcionMercancia,
     ) throws DatabaseException;
     
     
+    /**
+     * Obtiene una página de recepciones ordenadas por fecha de recepción descendente.
+     * Usa paginación por clave (fecha_recepcion, id), por lo que el costo de cada
+     * página no depende de la posición ni del tamaño de la tabla.
+     * @param despuesDe Cursor devuelto por la página anterior, o null para la primera
+     * @param tamanio Número máximo de recepciones a devolver
+     * @return Página con las recepciones y el cursor de la siguiente página
+     * @throws DatabaseException si ocurre un error en la base de datos
+     */
+    PaginaRecepciones findPagina(CursorRecepcion despuesDe, int tamanio) throws DatabaseException;
+
+    /**
+     * Igual que {@link #findPagina(CursorRecepcion, int)} limitado a un rango de fechas.
+     */
+    PaginaRecepciones findPaginaByFechas(LocalDateTime fechaInicio, LocalDateTime fechaFin,
+                                         CursorRecepcion despuesDe, int tamanio) throws DatabaseException;
+
+    /**
+     * Versión paginada de {@link #search}. Los criterios nulos o vacíos se ignoran.
+     * La consulta recorre el índice (fecha_recepcion, id) en orden y se detiene
+     * al completar la página; para filtrar por estado sin leer las demás filas
+     * conviene un índice (estado, fecha_recepcion, id).
+     */
+    PaginaRecepciones searchPagina(
+        String numeroRecepcion,
+        String numeroOrdenCompra,
+        Long proveedorId,
+        EstadoRecepcion estado,
+        LocalDateTime fechaInicio,
+        LocalDateTime fechaFin,
+        CursorRecepcion despuesDe,
+        int tamanio
+    ) throws DatabaseException;
+
+
     //Marca una recepción como anulada
     void anular(Long recepcionId, String motivo, Long usuarioId) throws DatabaseException;
     
@@ -93,7 +140,37 @@ public interface IRecepcionMercanciaDao extends IGenericDao<RecepcionMercancia,
      //Obtiene los detalles de una recepción
     List<DetalleRecepcion> findDetallesByRecepcionId(Long recepcionId) throws DatabaseException;
     
-      //Obtiene estadísticas de recepciones para un período
+    /**
+     * Obtiene los detalles de varias recepciones con consultas IN por lotes,
+     * en lugar de una consulta por recepción.
+     * @param recepcionIds Ids de las recepciones
+     * @return Detalles agrupados por id de recepción; las recepciones sin detalles
+     *         aparecen con una lista vacía
+     * @throws DatabaseException si ocurre un error en la base de datos
+     */
+    java.util.Map<Long, List<DetalleRecepcion>> findDetallesByRecepcionIds(java.util.Collection<Long> recepcionIds)
+        throws DatabaseException;
+    
+    //Cuenta las recepciones de un rango de fechas
+    long countByFechas(LocalDateTime fechaInicio, LocalDateTime fechaFin) throws DatabaseException;
+    
+    /**
+     * Recorre las recepciones de un rango de fechas, con la suma de sus detalles,
+     * sobre un cursor de solo avance y sin acumularlas en memoria. Pensado para
+     * exportaciones grandes: la conexión queda ocupada mientras dura el recorrido.
+     * @param consumidor Recibe cada recepción en orden de fecha de recepción descendente
+     * @param alCancelar Recibe, al abrir la consulta, la acción que la cancela en el
+     *        servidor, y null al terminar; puede ser null
+     * @return Número de recepciones recorridas
+     * @throws DatabaseException si ocurre un error en la base de datos o la consulta se cancela
+     */
+    long recorrerResumenPorFechas(LocalDateTime fechaInicio, LocalDateTime fechaFin,
+                                  java.util.function.Consumer<ResumenRecepcion> consumidor,
+                                  java.util.function.Consumer<Runnable> alCancelar)
+        throws DatabaseException;
+    
+      //Obtiene estadísticas de recepciones para un período.
+      //Incluye en "tiemposMs" la duración de cada sección de la consulta
     java.util.Map<String, Object> getEstadisticas(LocalDateTime fechaInicio, LocalDateTime fechaFin) 
         throws DatabaseException;
     
@@ -0,0 +1,33 @@
+package com.rintisa.dao.interfaces;
+
+import com.rintisa.exception.DatabaseException;
+import com.rintisa.model.enums.EstadoRecepcion;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Acceso a las tablas de resumen diario de recepciones
+ * (día × proveedor × estado y día × producto × estado).
+ */
+public interface IResumenRecepcionesDao {
+
+    //Indica si el resumen está habilitado (db.estadisticas.resumen)
+    boolean isHabilitado();
+
+    /**
+     * Recalcula el resumen de todos los días del rango a partir de
+     * recepciones_mercancia y detalle_recepcion.
+     * @param desde Primer día, o null para el día de la recepción más antigua
+     * @param hasta Último día, o null para el día de la recepción más reciente
+     * @return Número de días procesados
+     */
+    int reconstruir(LocalDate desde, LocalDate hasta) throws DatabaseException;
+
+    //Mismas claves que IRecepcionMercanciaDao.getEstadisticas, calculadas desde el resumen
+    Map<String, Object> getEstadisticas(LocalDate desde, LocalDate hasta) throws DatabaseException;
+
+    //Mismas claves que RecepcionMercanciaDao.getEstadisticasPorFechas
+    Map<String, Object> getEstadisticasPorFechas(LocalDate desde, LocalDate hasta) throws DatabaseException;
+
+    Map<EstadoRecepcion, Integer> getConteosPorEstado() throws DatabaseException;
+}
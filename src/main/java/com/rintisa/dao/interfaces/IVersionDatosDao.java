@@ -0,0 +1,20 @@
+package com.rintisa.dao.interfaces;
+
+import com.rintisa.exception.DatabaseException;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Contadores de cambios por grupo de tablas (tabla version_datos). Cada
+ * escritura de los DAO incrementa el contador de su grupo en la misma conexión,
+ * así que dos lecturas con los mismos valores ven los mismos datos.
+ */
+public interface IVersionDatosDao {
+
+    /**
+     * Obtiene la versión actual de cada grupo de tablas.
+     * @param tablas Nombres de grupo, por ejemplo VersionDatosDao.RECEPCIONES
+     * @return Versión por grupo; 0 para los grupos que nunca cambiaron
+     */
+    Map<String, Long> getVersiones(Collection<String> tablas) throws DatabaseException;
+}
@@ -0,0 +1,45 @@
+package com.rintisa.model;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Posición dentro del listado de recepciones ordenado por
+ * (fecha_recepcion DESC, id DESC). Se usa para paginar por clave
+ * en lugar de OFFSET, de modo que cada página cuesta lo mismo sin
+ * importar cuántas recepciones existan.
+ */
+public final class CursorRecepcion {
+    private final LocalDateTime fechaRecepcion;
+    private final Long id;
+
+    public CursorRecepcion(LocalDateTime fechaRecepcion, Long id) {
+        if (fechaRecepcion == null || id == null) {
+            throw new IllegalArgumentException("La fecha y el ID del cursor son requeridos");
+        }
+        this.fechaRecepcion = fechaRecepcion;
+        this.id = id;
+    }
+
+    public LocalDateTime getFechaRecepcion() { return fechaRecepcion; }
+
+    public Long getId() { return id; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CursorRecepcion)) return false;
+        CursorRecepcion that = (CursorRecepcion) o;
+        return fechaRecepcion.equals(that.fechaRecepcion) && id.equals(that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(fechaRecepcion, id);
+    }
+
+    @Override
+    public String toString() {
+        return "CursorRecepcion{fechaRecepcion=" + fechaRecepcion + ", id=" + id + "}";
+    }
+}
@@ -0,0 +1,35 @@
+package com.rintisa.model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Página de recepciones obtenida por paginación por clave.
+ * Si hay más resultados, {@link #getSiguiente()} devuelve el cursor
+ * que debe pasarse para obtener la página siguiente.
+ */
+public class PaginaRecepciones {
+    private final List<RecepcionMercancia> recepciones;
+    private final CursorRecepcion siguiente;
+
+    public PaginaRecepciones(List<RecepcionMercancia> recepciones, CursorRecepcion siguiente) {
+        this.recepciones = recepciones != null
+            ? Collections.unmodifiableList(recepciones)
+            : Collections.emptyList();
+        this.siguiente = siguiente;
+    }
+
+    public static PaginaRecepciones vacia() {
+        return new PaginaRecepciones(Collections.emptyList(), null);
+    }
+
+    public List<RecepcionMercancia> getRecepciones() { return recepciones; }
+
+    public CursorRecepcion getSiguiente() { return siguiente; }
+
+    public boolean hayMas() { return siguiente != null; }
+
+    public int size() { return recepciones.size(); }
+
+    public boolean isEmpty() { return recepciones.isEmpty(); }
+}
@@ -28,6 +28,23 @@ public class Producto {
         this.precioUnitario = 0.0;
     }
 
+    // Constructor de copia
+    public Producto(Producto otro) {
+        this.id = otro.id;
+        this.codigo = otro.codigo;
+        this.nombre = otro.nombre;
+        this.descripcion = otro.descripcion;
+        this.unidadMedida = otro.unidadMedida;
+        this.precioUnitario = otro.precioUnitario;
+        this.stockMinimo = otro.stockMinimo;
+        this.stockActual = otro.stockActual;
+        this.activo = otro.activo;
+        this.fechaRegistro = otro.fechaRegistro;
+        this.fechaModificacion = otro.fechaModificacion;
+        this.categoria = otro.categoria;
+        this.ubicacion = otro.ubicacion;
+    }
+
     // Getters y Setters
     public Long getId() {
         return id;
@@ -15,6 +15,18 @@ public class Proveedor {
         this.activo = true;
     }
 
+    // Constructor de copia
+    public Proveedor(Proveedor otro) {
+        this.id = otro.id;
+        this.codigo = otro.codigo;
+        this.razonSocial = otro.razonSocial;
+        this.ruc = otro.ruc;
+        this.direccion = otro.direccion;
+        this.telefono = otro.telefono;
+        this.email = otro.email;
+        this.activo = otro.activo;
+    }
+
     // Getters y Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
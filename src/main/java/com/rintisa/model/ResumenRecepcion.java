@@ -0,0 +1,62 @@
+package com.rintisa.model;
+
+import com.rintisa.model.enums.EstadoRecepcion;
+import java.time.LocalDateTime;
+
+/**
+ * Fila del reporte general de recepciones: datos de cabecera de una recepción
+ * y la suma de sus detalles. Se construye directamente desde el cursor del
+ * reporte, sin cargar la recepción ni sus detalles completos.
+ */
+public final class ResumenRecepcion {
+    private final Long id;
+    private final String numeroRecepcion;
+    private final LocalDateTime fechaRecepcion;
+    private final String proveedorNombre;
+    private final String numeroOrdenCompra;
+    private final EstadoRecepcion estado;
+    private final String observaciones;
+    private final long totalItems;
+    private final double totalValor;
+
+    public ResumenRecepcion(Long id, String numeroRecepcion, LocalDateTime fechaRecepcion,
+                            String proveedorNombre, String numeroOrdenCompra,
+                            EstadoRecepcion estado, String observaciones,
+                            long totalItems, double totalValor) {
+        this.id = id;
+        this.numeroRecepcion = numeroRecepcion;
+        this.fechaRecepcion = fechaRecepcion;
+        this.proveedorNombre = proveedorNombre;
+        this.numeroOrdenCompra = numeroOrdenCompra;
+        this.estado = estado;
+        this.observaciones = observaciones;
+        this.totalItems = totalItems;
+        this.totalValor = totalValor;
+    }
+
+    public Long getId() { return id; }
+
+    public String getNumeroRecepcion() { return numeroRecepcion; }
+
+    public LocalDateTime getFechaRecepcion() { return fechaRecepcion; }
+
+    public String getProveedorNombre() { return proveedorNombre; }
+
+    public String getNumeroOrdenCompra() { return numeroOrdenCompra; }
+
+    public EstadoRecepcion getEstado() { return estado; }
+
+    public String getObservaciones() { return observaciones; }
+
+    /** Suma de cantidad_esperada de los detalles. */
+    public long getTotalItems() { return totalItems; }
+
+    /** Suma de cantidad_esperada * precio_unitario de los detalles. */
+    public double getTotalValor() { return totalValor; }
+
+    @Override
+    public String toString() {
+        return "ResumenRecepcion{numeroRecepcion=" + numeroRecepcion + ", totalItems=" + totalItems
+            + ", totalValor=" + totalValor + "}";
+    }
+}
@@ -0,0 +1,240 @@
+package com.rintisa.service.impl;
+
+import com.rintisa.config.DatabaseConfig;
+import com.rintisa.dao.impl.VersionDatosDao;
+import com.rintisa.dao.interfaces.IVersionDatosDao;
+import com.rintisa.exception.DatabaseException;
+import com.rintisa.util.ReportGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache de reportes generados en el directorio de reportes.
+ *
+ * El nombre de cada archivo lleva una huella de su {@link Clave}: tipo de
+ * reporte, parámetros y versión actual de las tablas de las que se leyó
+ * (VersionDatosDao). Si los datos no cambiaron desde que se generó, la huella
+ * es la misma y el archivo existente se reutiliza; si cambiaron, la huella es
+ * otra y el archivo viejo solo espera a ser expulsado.
+ *
+ * La expulsión borra los reportes de más de db.reportes.cacheDias días y, si el
+ * directorio sigue pasando de db.reportes.cacheMB, los menos usados primero.
+ */
+public final class CacheReportes {
+    private static final Logger logger = LoggerFactory.getLogger(CacheReportes.class);
+
+    // Subir cuando cambie el contenido de algún reporte, para no reutilizar los anteriores
+    private static final int VERSION_FORMATO = 1;
+
+    private static final int LARGO_HUELLA = 16;
+    private static final int DIAS_DEFECTO = 30;
+    private static final int MB_DEFECTO = 500;
+
+    /**
+     * Identifica un reporte: tipo, parámetros y grupos de tablas de los que depende.
+     */
+    public static final class Clave {
+        private final String tipo;
+        private final SortedSet<String> tablas = new TreeSet<>();
+        private final SortedMap<String, String> parametros = new TreeMap<>();
+
+        /**
+         * @param tipo Tipo de reporte; forma parte del nombre del archivo
+         * @param tablas Grupos de VersionDatosDao que lee el reporte
+         */
+        public Clave(String tipo, String... tablas) {
+            this.tipo = tipo;
+            for (String tabla : tablas) {
+                this.tablas.add(tabla);
+            }
+        }
+
+        public Clave con(String nombre, Object valor) {
+            parametros.put(nombre, String.valueOf(valor));
+            return this;
+        }
+
+        public String getTipo() { return tipo; }
+
+        private String canonica(Map<String, Long> versiones) {
+            StringBuilder sb = new StringBuilder();
+            sb.append(VERSION_FORMATO).append('|').append(tipo);
+            parametros.forEach((k, v) -> sb.append('|').append(k).append('=').append(v));
+            versiones.forEach((k, v) -> sb.append("|v:").append(k).append('=').append(v));
+            return sb.toString();
+        }
+
+        @Override
+        public String toString() {
+            return tipo + parametros;
+        }
+    }
+
+    private static final class Instancia {
+        static final CacheReportes INSTANCIA = new CacheReportes(new VersionDatosDao(),
+            Duration.ofDays(DatabaseConfig.getIntProperty("db.reportes.cacheDias", DIAS_DEFECTO)),
+            DatabaseConfig.getIntProperty("db.reportes.cacheMB", MB_DEFECTO) * 1024L * 1024L);
+    }
+
+    private final IVersionDatosDao versionDao;
+    private final Duration edadMaxima;
+    private final long bytesMaximos;
+
+    private final AtomicLong aciertos = new AtomicLong();
+    private final AtomicLong fallos = new AtomicLong();
+    private final AtomicLong expulsados = new AtomicLong();
+
+    private CacheReportes(IVersionDatosDao versionDao, Duration edadMaxima, long bytesMaximos) {
+        this.versionDao = versionDao;
+        this.edadMaxima = edadMaxima;
+        this.bytesMaximos = bytesMaximos;
+    }
+
+    public static CacheReportes getInstancia() {
+        return Instancia.INSTANCIA;
+    }
+
+    /**
+     * Ruta del reporte para la clave con los datos actuales. Consulta las
+     * versiones de las tablas de la clave.
+     */
+    public Path ruta(Clave clave) throws DatabaseException {
+        Map<String, Long> versiones = versionDao.getVersiones(clave.tablas);
+        String huella = huella(clave.canonica(versiones));
+        return ReportGenerator.rutaReporte(clave.tipo + "_" + huella);
+    }
+
+    /**
+     * Indica si el reporte ya existe y cuenta el acierto o fallo. Un acierto
+     * renueva la fecha del archivo para que la expulsión lo considere recién usado.
+     */
+    public boolean buscar(Path ruta) {
+        if (Files.isRegularFile(ruta)) {
+            aciertos.incrementAndGet();
+            try {
+                Files.setLastModifiedTime(ruta, FileTime.from(Instant.now()));
+            } catch (IOException e) {
+                logger.debug("No se pudo actualizar la fecha de {}", ruta);
+            }
+            logger.info("Reporte reutilizado: {} ({})", ruta.getFileName(), resumen());
+            return true;
+        }
+        fallos.incrementAndGet();
+        logger.debug("Reporte no encontrado en cache: {} ({})", ruta.getFileName(), resumen());
+        return false;
+    }
+
+    /**
+     * Borra los reportes vencidos y, si hace falta, los menos usados hasta
+     * quedar bajo el tamaño máximo. Nunca borra el archivo indicado.
+     * @param conservar Reporte recién generado o entregado; puede ser null
+     */
+    public void expulsar(Path conservar) {
+        Path directorio = Paths.get(ReportGenerator.getRutaReportes());
+        Path protegido = conservar != null ? conservar.toAbsolutePath().normalize() : null;
+        Instant limite = Instant.now().minus(edadMaxima);
+
+        List<Path> archivos = new ArrayList<>();
+        Map<Path, FileTime> fechas = new TreeMap<>();
+        long total = 0;
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directorio, "Reporte_*")) {
+            for (Path archivo : stream) {
+                Path absoluto = archivo.toAbsolutePath().normalize();
+                if (absoluto.equals(protegido) || !Files.isRegularFile(absoluto)) {
+                    continue;
+                }
+                FileTime fecha = Files.getLastModifiedTime(absoluto);
+                boolean parcial = absoluto.getFileName().toString().endsWith(".parcial");
+                if (fecha.toInstant().isBefore(limite)) {
+                    borrar(absoluto);
+                } else if (!parcial) {
+                    archivos.add(absoluto);
+                    fechas.put(absoluto, fecha);
+                    total += Files.size(absoluto);
+                }
+            }
+            if (protegido != null && Files.isRegularFile(protegido)) {
+                total += Files.size(protegido);
+            }
+
+            archivos.sort(Comparator.comparing(fechas::get));
+            for (Path archivo : archivos) {
+                if (total <= bytesMaximos) {
+                    break;
+                }
+                long tamanio = Files.size(archivo);
+                if (borrar(archivo)) {
+                    total -= tamanio;
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Error al expulsar reportes de {}: {}", directorio, e.getMessage());
+        }
+    }
+
+    public long getAciertos() { return aciertos.get(); }
+
+    public long getFallos() { return fallos.get(); }
+
+    public long getExpulsados() { return expulsados.get(); }
+
+    /** Proporción de búsquedas que reutilizaron un reporte, entre 0 y 1. */
+    public double getTasaAciertos() {
+        long a = aciertos.get();
+        long total = a + fallos.get();
+        return total == 0 ? 0 : (double) a / total;
+    }
+
+    private String resumen() {
+        return String.format("aciertos=%d, fallos=%d, tasa=%.0f%%, expulsados=%d",
+            aciertos.get(), fallos.get(), getTasaAciertos() * 100, expulsados.get());
+    }
+
+    private boolean borrar(Path archivo) {
+        try {
+            Files.deleteIfExists(archivo);
+            expulsados.incrementAndGet();
+            logger.debug("Reporte expulsado: {}", archivo.getFileName());
+            return true;
+        } catch (IOException e) {
+            // Por ejemplo, abierto en Excel en Windows
+            logger.debug("No se pudo expulsar {}: {}", archivo.getFileName(), e.getMessage());
+            return false;
+        }
+    }
+
+    private static String huella(String texto) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(texto.getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < LARGO_HUELLA / 2; i++) {
+                sb.append(String.format("%02x", hash[i]));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.rintisa.service.impl;
+
+import com.rintisa.config.DatabaseConfig;
+import com.rintisa.exception.DatabaseException;
+import com.rintisa.exception.ReportException;
+import com.rintisa.util.AvanceReporte;
+import com.rintisa.util.ReportGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.SwingUtilities;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Cola de reportes que se generan en segundo plano.
+ *
+ * Los reportes corren en un grupo fijo de hilos (db.reportes.hilos), para que
+ * varias exportaciones pesadas no compitan a la vez por el pool de conexiones,
+ * y cada usuario puede tener como máximo db.reportes.porUsuario reportes en
+ * cola o en curso. El archivo se escribe primero como .parcial y se mueve al
+ * directorio de reportes solo si termina bien; al finalizar, en cualquier
+ * estado, se avisa en el hilo de eventos de Swing. Los reportes enviados con
+ * una clave se reutilizan de {@link CacheReportes} si los datos no cambiaron.
+ */
+public final class ColaReportes {
+    private static final Logger logger = LoggerFactory.getLogger(ColaReportes.class);
+
+    private static final int HILOS_DEFECTO = 2;
+    private static final int POR_USUARIO_DEFECTO = 2;
+    private static final int COLA_MAXIMA = 20;
+
+    /** Escribe un reporte en la salida informando su avance. */
+    @FunctionalInterface
+    public interface Generador {
+        void generar(OutputStream salida, AvanceReporte avance) throws Exception;
+    }
+
+    // Se crea en el primer uso para no leer la configuración al cargar la clase
+    private static final class Instancia {
+        static final ColaReportes INSTANCIA = new ColaReportes(
+            DatabaseConfig.getIntProperty("db.reportes.hilos", HILOS_DEFECTO),
+            DatabaseConfig.getIntProperty("db.reportes.porUsuario", POR_USUARIO_DEFECTO));
+    }
+
+    private final ThreadPoolExecutor ejecutor;
+    private final int maximoPorUsuario;
+    private final AtomicLong secuencia = new AtomicLong();
+
+    // Trabajos en cola o en curso, por id
+    private final Map<Long, TrabajoReporte> activos = new ConcurrentHashMap<>();
+    private final Map<String, Integer> activosPorUsuario = new HashMap<>();
+
+    private ColaReportes(int hilos, int maximoPorUsuario) {
+        this.maximoPorUsuario = maximoPorUsuario;
+        AtomicInteger contador = new AtomicInteger();
+        this.ejecutor = new ThreadPoolExecutor(hilos, hilos, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(COLA_MAXIMA), r -> {
+                Thread t = new Thread(r, "reportes-" + contador.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        logger.info("Cola de reportes con {} hilos y {} reportes por usuario", hilos, maximoPorUsuario);
+    }
+
+    public static ColaReportes getInstancia() {
+        return Instancia.INSTANCIA;
+    }
+
+    /**
+     * Encola un reporte.
+     * @param usuario Usuario que lo pide, para el límite por usuario
+     * @param tipo Tipo de reporte; forma parte del nombre del archivo
+     * @param generador Escribe el reporte; corre en un hilo de la cola
+     * @param alTerminar Se llama en el hilo de eventos de Swing cuando el reporte
+     *        termina, falla o se cancela; puede ser null
+     * @return Trabajo para seguir el avance o cancelarlo
+     * @throws ReportException si el usuario ya tiene el máximo de reportes o la cola está llena
+     */
+    public TrabajoReporte enviar(String usuario, String tipo, Generador generador,
+                                 Consumer<TrabajoReporte> alTerminar) throws ReportException {
+        return encolar(usuario, tipo, null, generador, alTerminar);
+    }
+
+    /**
+     * Encola un reporte que puede reutilizarse de {@link CacheReportes}: si ya se
+     * generó con la misma clave y los datos no cambiaron, el trabajo termina sin
+     * llamar al generador y su ruta apunta al archivo existente.
+     * @see #enviar(String, String, Generador, Consumer)
+     */
+    public TrabajoReporte enviar(String usuario, CacheReportes.Clave clave, Generador generador,
+                                 Consumer<TrabajoReporte> alTerminar) throws ReportException {
+        return encolar(usuario, clave.getTipo(), clave, generador, alTerminar);
+    }
+
+    private TrabajoReporte encolar(String usuario, String tipo, CacheReportes.Clave clave,
+                                   Generador generador, Consumer<TrabajoReporte> alTerminar)
+            throws ReportException {
+        // El id va en el nombre para que dos reportes del mismo segundo no choquen
+        long id = secuencia.incrementAndGet();
+        TrabajoReporte trabajo = new TrabajoReporte(id, usuario, tipo,
+            ReportGenerator.nuevaRutaReporte(tipo + "_" + id));
+
+        reservar(usuario);
+        activos.put(trabajo.getId(), trabajo);
+        try {
+            ejecutor.execute(() -> ejecutar(trabajo, clave, generador, alTerminar));
+        } catch (RejectedExecutionException e) {
+            activos.remove(trabajo.getId());
+            liberar(usuario);
+            throw new ReportException("Hay demasiados reportes en espera, intente más tarde");
+        }
+
+        logger.info("Reporte encolado: {}", trabajo);
+        return trabajo;
+    }
+
+    /** Trabajos en cola o en curso del usuario. */
+    public List<TrabajoReporte> getTrabajos(String usuario) {
+        List<TrabajoReporte> trabajos = new ArrayList<>();
+        for (TrabajoReporte trabajo : activos.values()) {
+            if (trabajo.getUsuario().equals(usuario)) {
+                trabajos.add(trabajo);
+            }
+        }
+        return trabajos;
+    }
+
+    /** Todos los trabajos en cola o en curso. */
+    public Collection<TrabajoReporte> getTrabajos() {
+        return new ArrayList<>(activos.values());
+    }
+
+    private void ejecutar(TrabajoReporte trabajo, CacheReportes.Clave clave, Generador generador,
+                          Consumer<TrabajoReporte> alTerminar) {
+        Path parcial = null;
+        long inicio = System.nanoTime();
+        try {
+            if (trabajo.isCancelado()) {
+                throw new CancellationException();
+            }
+
+            if (clave != null && buscarEnCache(trabajo, clave)) {
+                trabajo.setEstado(TrabajoReporte.Estado.TERMINADO);
+            } else {
+                trabajo.setEstado(TrabajoReporte.Estado.EN_CURSO);
+
+                // Dos trabajos con la misma clave pueden coincidir; cada uno escribe su parcial
+                Path ruta = trabajo.getRuta();
+                parcial = ruta.resolveSibling(ruta.getFileName() + "." + trabajo.getId() + ".parcial");
+                Files.createDirectories(ruta.toAbsolutePath().getParent());
+                try (OutputStream salida = new BufferedOutputStream(Files.newOutputStream(parcial))) {
+                    generador.generar(salida, trabajo);
+                }
+                if (trabajo.isCancelado()) {
+                    throw new CancellationException();
+                }
+                mover(parcial, ruta);
+
+                trabajo.setEstado(TrabajoReporte.Estado.TERMINADO);
+                logger.info("Reporte terminado en {} ms: {}", (System.nanoTime() - inicio) / 1_000_000, trabajo);
+                CacheReportes.getInstancia().expulsar(ruta);
+            }
+
+        } catch (Exception e) {
+            if (trabajo.isCancelado() || e instanceof CancellationException) {
+                trabajo.setEstado(TrabajoReporte.Estado.CANCELADO);
+                logger.info("Reporte cancelado: {}", trabajo);
+            } else {
+                trabajo.setError(e);
+                trabajo.setEstado(TrabajoReporte.Estado.FALLIDO);
+                logger.error("Error al generar reporte " + trabajo, e);
+            }
+        } finally {
+            if (parcial != null) {
+                try {
+                    Files.deleteIfExists(parcial);
+                } catch (IOException e) {
+                    logger.warn("No se pudo eliminar el archivo parcial {}", parcial);
+                }
+            }
+            activos.remove(trabajo.getId());
+            liberar(trabajo.getUsuario());
+        }
+
+        if (alTerminar != null) {
+            SwingUtilities.invokeLater(() -> alTerminar.accept(trabajo));
+        }
+    }
+
+    /**
+     * Pone en el trabajo la ruta de la cache para su clave e indica si el
+     * reporte ya existe. Si no se pueden leer las versiones de los datos, el
+     * trabajo conserva su ruta con fecha y se genera sin cache.
+     */
+    private boolean buscarEnCache(TrabajoReporte trabajo, CacheReportes.Clave clave) {
+        CacheReportes cache = CacheReportes.getInstancia();
+        try {
+            Path ruta = cache.ruta(clave);
+            trabajo.setRuta(ruta);
+            if (cache.buscar(ruta)) {
+                trabajo.setDesdeCache(true);
+                return true;
+            }
+        } catch (DatabaseException e) {
+            logger.warn("Reporte {} sin cache, no se pudo leer la versión de los datos: {}",
+                clave, e.getMessage());
+        }
+        return false;
+    }
+
+    private static void mover(Path origen, Path destino) throws IOException {
+        try {
+            Files.move(origen, destino, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(origen, destino, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private synchronized void reservar(String usuario) throws ReportException {
+        int enCurso = activosPorUsuario.getOrDefault(usuario, 0);
+        if (enCurso >= maximoPorUsuario) {
+            throw new ReportException("Ya tiene " + enCurso
+                + " reportes en proceso; espere a que terminen o cancele alguno");
+        }
+        activosPorUsuario.put(usuario, enCurso + 1);
+    }
+
+    private synchronized void liberar(String usuario) {
+        int enCurso = activosPorUsuario.getOrDefault(usuario, 0) - 1;
+        if (enCurso <= 0) {
+            activosPorUsuario.remove(usuario);
+        } else {
+            activosPorUsuario.put(usuario, enCurso);
+        }
+    }
+}
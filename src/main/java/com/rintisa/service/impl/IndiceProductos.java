@@ -0,0 +1,392 @@
+package com.rintisa.service.impl;
+
+import com.rintisa.config.TransactionManager;
+import com.rintisa.dao.interfaces.IProductoDao;
+import com.rintisa.exception.DatabaseException;
+import com.rintisa.model.Producto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido en memoria del catálogo de productos.
+ *
+ * Cada producto se indexa por los trigramas de su código, nombre, descripción y
+ * unidad de medida, normalizados sin mayúsculas ni tildes (igual que la
+ * intercalación de MySQL). Una búsqueda intersecta las listas de trigramas de cada
+ * palabra del criterio y luego confirma la coincidencia por subcadena, de modo que
+ * devuelve los mismos productos que ProductoDao.buscar (un LIKE '%palabra%' por
+ * cada palabra) sin recorrer la tabla.
+ *
+ * Mientras el índice no esté cargado, o si no pudo mantenerse al día, isCargado()
+ * devuelve false y los servicios deben consultar la base de datos.
+ */
+public final class IndiceProductos {
+    private static final Logger logger = LoggerFactory.getLogger(IndiceProductos.class);
+
+    private static final IndiceProductos INSTANCIA = new IndiceProductos();
+
+    private static final int N = 3;
+
+    // Pesos de relevancia por campo en el que aparece cada palabra
+    private static final int PESO_CODIGO_EXACTO = 100;
+    private static final int PESO_CODIGO_PREFIJO = 50;
+    private static final int PESO_CODIGO = 30;
+    private static final int PESO_NOMBRE_PREFIJO = 20;
+    private static final int PESO_NOMBRE = 10;
+    private static final int PESO_DESCRIPCION = 5;
+    private static final int PESO_UNIDAD = 2;
+
+    private static final class Documento {
+        final Producto producto;
+        final String codigo;
+        final String nombre;
+        final String descripcion;
+        final String unidad;
+
+        Documento(Producto producto) {
+            this.producto = new Producto(producto);
+            this.codigo = normalizar(producto.getCodigo());
+            this.nombre = normalizar(producto.getNombre());
+            this.descripcion = normalizar(producto.getDescripcion());
+            this.unidad = normalizar(producto.getUnidadMedida());
+        }
+
+        Set<String> trigramas() {
+            Set<String> trigramas = new HashSet<>();
+            agregarTrigramas(codigo, trigramas);
+            agregarTrigramas(nombre, trigramas);
+            agregarTrigramas(descripcion, trigramas);
+            agregarTrigramas(unidad, trigramas);
+            return trigramas;
+        }
+
+        boolean contiene(String palabra) {
+            return codigo.contains(palabra) || nombre.contains(palabra)
+                || descripcion.contains(palabra) || unidad.contains(palabra);
+        }
+
+        int puntaje(String palabra) {
+            if (codigo.equals(palabra)) return PESO_CODIGO_EXACTO;
+            if (codigo.startsWith(palabra)) return PESO_CODIGO_PREFIJO;
+            if (codigo.contains(palabra)) return PESO_CODIGO;
+            if (nombre.startsWith(palabra) || nombre.contains(" " + palabra)) return PESO_NOMBRE_PREFIJO;
+            if (nombre.contains(palabra)) return PESO_NOMBRE;
+            if (descripcion.contains(palabra)) return PESO_DESCRIPCION;
+            if (unidad.contains(palabra)) return PESO_UNIDAD;
+            return 0;
+        }
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Documento> documentos = new HashMap<>();
+    private final Map<String, Set<Long>> trigramas = new HashMap<>();
+    // Productos modificados durante una carga; se releen al terminarla. Protegido por lock
+    private final Set<Long> modificadosEnCarga = new HashSet<>();
+    private boolean cargando;
+    private volatile boolean cargado;
+    private volatile IProductoDao productoDao;
+
+    private IndiceProductos() {
+    }
+
+    public static IndiceProductos getInstancia() {
+        return INSTANCIA;
+    }
+
+    public boolean isCargado() {
+        return cargado;
+    }
+
+    /**
+     * Construye el índice con todos los productos. Reemplaza cualquier contenido anterior.
+     * Los productos refrescados mientras se lee el catálogo se vuelven a leer al final,
+     * porque la lectura pudo haber visto su estado anterior.
+     */
+    public void cargar(IProductoDao productoDao) throws DatabaseException {
+        long inicio = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            this.productoDao = productoDao;
+            cargando = true;
+            modificadosEnCarga.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<Producto> productos;
+        try {
+            productos = productoDao.findAll();
+        } catch (DatabaseException | RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                cargando = false;
+                modificadosEnCarga.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        Set<Long> modificados;
+        lock.writeLock().lock();
+        try {
+            documentos.clear();
+            trigramas.clear();
+            for (Producto producto : productos) {
+                indexar(new Documento(producto));
+            }
+            cargado = true;
+            cargando = false;
+            modificados = new HashSet<>(modificadosEnCarga);
+            modificadosEnCarga.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        for (Long productoId : modificados) {
+            releer(productoId);
+        }
+        logger.info("Índice de productos cargado: {} productos, {} trigramas en {} ms",
+            productos.size(), trigramas.size(), (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    /**
+     * Carga el índice en un hilo aparte; mientras tanto las búsquedas van a la base de datos.
+     */
+    public void cargarEnSegundoPlano(IProductoDao productoDao) {
+        Thread hilo = new Thread(() -> {
+            try {
+                cargar(productoDao);
+            } catch (Exception e) {
+                logger.error("No se pudo cargar el índice de productos; se usará SQL", e);
+            }
+        }, "indice-productos");
+        hilo.setDaemon(true);
+        hilo.start();
+    }
+
+    /**
+     * Vuelve a leer el producto de la base de datos y actualiza su entrada. Si hay una
+     * transacción activa, se hace al terminar, para reflejar solo lo confirmado. Durante
+     * una carga el producto se anota y se relee cuando esta termina.
+     */
+    public void refrescar(Long productoId) {
+        if (productoId == null) {
+            return;
+        }
+        TransactionManager.alFinalizar(() -> {
+            lock.writeLock().lock();
+            try {
+                if (cargando) {
+                    modificadosEnCarga.add(productoId);
+                    return;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            if (cargado) {
+                releer(productoId);
+            }
+        });
+    }
+
+    private void releer(Long productoId) {
+        try {
+            Optional<Producto> producto = productoDao.findById(productoId);
+            lock.writeLock().lock();
+            try {
+                desindexar(productoId);
+                producto.ifPresent(p -> indexar(new Documento(p)));
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } catch (DatabaseException e) {
+            // Sin poder confirmar el estado del producto el índice ya no es fiable
+            cargado = false;
+            logger.error("Índice de productos desactivado: no se pudo refrescar el producto {}",
+                productoId, e);
+        }
+    }
+
+    /**
+     * Productos activos que contienen todas las palabras del criterio en su código,
+     * nombre, descripción o unidad de medida, ordenados por relevancia y código.
+     */
+    public List<Producto> buscar(String criterio) {
+        List<String> palabras = palabras(criterio);
+        List<Documento> encontrados = new ArrayList<>();
+        Map<Long, Integer> puntajes = new HashMap<>();
+
+        lock.readLock().lock();
+        try {
+            for (Documento doc : candidatos(palabras)) {
+                if (!doc.producto.isActivo()) {
+                    continue;
+                }
+                int puntaje = 0;
+                boolean coincide = true;
+                for (String palabra : palabras) {
+                    if (!doc.contiene(palabra)) {
+                        coincide = false;
+                        break;
+                    }
+                    puntaje += doc.puntaje(palabra);
+                }
+                if (coincide) {
+                    encontrados.add(doc);
+                    puntajes.put(doc.producto.getId(), puntaje);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        encontrados.sort(Comparator
+            .comparing((Documento d) -> puntajes.get(d.producto.getId()), Comparator.reverseOrder())
+            .thenComparing(d -> d.codigo));
+        return copiar(encontrados);
+    }
+
+    /**
+     * Equivalente en memoria de IProductoDao.buscarPorFiltros, con los mismos filtros.
+     */
+    public List<Producto> buscarPorFiltros(Map<String, Object> filtros) {
+        String codigo = filtros.containsKey("codigo") ? normalizar(String.valueOf(filtros.get("codigo"))) : null;
+        String nombre = filtros.containsKey("nombre") ? normalizar(String.valueOf(filtros.get("nombre"))) : null;
+        String unidad = filtros.containsKey("unidadMedida")
+            ? normalizar(String.valueOf(filtros.get("unidadMedida"))) : null;
+        Double precioMinimo = filtros.containsKey("precioMinimo")
+            ? Double.valueOf(String.valueOf(filtros.get("precioMinimo"))) : null;
+        Double precioMaximo = filtros.containsKey("precioMaximo")
+            ? Double.valueOf(String.valueOf(filtros.get("precioMaximo"))) : null;
+        boolean stockBajo = filtros.containsKey("stockBajo");
+        Boolean activo = filtros.containsKey("activo")
+            ? Boolean.valueOf(String.valueOf(filtros.get("activo"))) : null;
+
+        List<String> palabras = new ArrayList<>();
+        if (codigo != null) palabras.add(codigo);
+        if (nombre != null) palabras.add(nombre);
+
+        List<Documento> encontrados = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Documento doc : candidatos(palabras)) {
+                Producto p = doc.producto;
+                if ((codigo == null || doc.codigo.contains(codigo))
+                    && (nombre == null || doc.nombre.contains(nombre))
+                    && (unidad == null || doc.unidad.equals(unidad))
+                    && (precioMinimo == null || p.getPrecioUnitario() >= precioMinimo)
+                    && (precioMaximo == null || p.getPrecioUnitario() <= precioMaximo)
+                    && (!stockBajo || p.getStockActual() <= p.getStockMinimo())
+                    && (activo == null || p.isActivo() == activo)) {
+                    encontrados.add(doc);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        encontrados.sort(Comparator.comparing(d -> d.codigo));
+        return copiar(encontrados);
+    }
+
+    // Documentos que contienen todos los trigramas de todas las palabras. Las palabras
+    // de menos de tres letras no tienen trigramas y se verifican luego por subcadena.
+    private Collection<Documento> candidatos(List<String> palabras) {
+        Set<Long> ids = null;
+        for (String palabra : palabras) {
+            Set<String> delaPalabra = new HashSet<>();
+            agregarTrigramas(palabra, delaPalabra);
+            for (String trigrama : delaPalabra) {
+                Set<Long> lista = trigramas.getOrDefault(trigrama, Collections.emptySet());
+                if (ids == null) {
+                    ids = new HashSet<>(lista);
+                } else {
+                    ids.retainAll(lista);
+                }
+                if (ids.isEmpty()) {
+                    return Collections.emptyList();
+                }
+            }
+        }
+        if (ids == null) {
+            return documentos.values();
+        }
+        List<Documento> candidatos = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            candidatos.add(documentos.get(id));
+        }
+        return candidatos;
+    }
+
+    private void indexar(Documento doc) {
+        Long id = doc.producto.getId();
+        documentos.put(id, doc);
+        for (String trigrama : doc.trigramas()) {
+            trigramas.computeIfAbsent(trigrama, t -> new HashSet<>()).add(id);
+        }
+    }
+
+    private void desindexar(Long id) {
+        Documento anterior = documentos.remove(id);
+        if (anterior == null) {
+            return;
+        }
+        for (String trigrama : anterior.trigramas()) {
+            Set<Long> lista = trigramas.get(trigrama);
+            if (lista != null) {
+                lista.remove(id);
+                if (lista.isEmpty()) {
+                    trigramas.remove(trigrama);
+                }
+            }
+        }
+    }
+
+    private static List<String> palabras(String criterio) {
+        List<String> palabras = new ArrayList<>();
+        for (String palabra : normalizar(criterio).split("\\s+")) {
+            if (!palabra.isEmpty()) {
+                palabras.add(palabra);
+            }
+        }
+        return palabras;
+    }
+
+    private static void agregarTrigramas(String texto, Set<String> destino) {
+        for (int i = 0; i + N <= texto.length(); i++) {
+            destino.add(texto.substring(i, i + N));
+        }
+    }
+
+    static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String sinTildes = Normalizer.normalize(texto, Normalizer.Form.NFD)
+            .replaceAll("\\p{M}", "");
+        return sinTildes.toLowerCase(Locale.ROOT).trim();
+    }
+
+    private static List<Producto> copiar(List<Documento> documentos) {
+        List<Producto> productos = new ArrayList<>(documentos.size());
+        for (Documento doc : documentos) {
+            productos.add(new Producto(doc.producto));
+        }
+        return productos;
+    }
+}
@@ -18,6 +18,7 @@ import java.util.logging.Level;
 public class ProductoService implements IProductoService {
     private static final Logger logger = LoggerFactory.getLogger(ProductoService.class);
     private final IProductoDao productoDao;
+    private final IndiceProductos indice = IndiceProductos.getInstancia();
 
     public ProductoService(IProductoDao productoDao) {
         this.productoDao = productoDao;
@@ -37,6 +38,7 @@ public class ProductoService implements IProductoService {
         
         try {
             Producto productoCreado = productoDao.save(producto);
+            indice.refrescar(productoCreado.getId());
             logger.info("Producto creado exitosamente: {}", producto.getCodigo());
             return productoCreado;
         } catch (DatabaseException e) {
@@ -66,6 +68,7 @@ public class ProductoService implements IProductoService {
         
         try {
             productoDao.update(producto);
+            indice.refrescar(producto.getId());
             logger.info("Producto actualizado exitosamente: {}", producto.getCodigo());
         } catch (DatabaseException e) {
             logger.error("Error al actualizar producto: {}", e.getMessage());
@@ -87,6 +90,7 @@ public class ProductoService implements IProductoService {
             // TODO: Implementar verificación de movimientos
             
             productoDao.delete(id);
+            indice.refrescar(id);
             logger.info("Producto eliminado exitosamente: {}", id);
         } catch (DatabaseException e) {
             logger.error("Error al eliminar producto: {}", e.getMessage());
@@ -156,6 +160,7 @@ public class ProductoService implements IProductoService {
             
             producto.setStockActual(nuevoStock);
             productoDao.update(producto);
+            indice.refrescar(productoId);
             
             logger.info("Stock actualizado para producto {}: {}", producto.getCodigo(), nuevoStock);
         } catch (DatabaseException e) {
@@ -250,6 +255,9 @@ public class ProductoService implements IProductoService {
                 return listarTodos();
             }
             
+            if (indice.isCargado()) {
+                return indice.buscar(criterio.trim());
+            }
             return productoDao.buscar(criterio.trim());
             
         } catch (DatabaseException e) {
@@ -270,6 +278,9 @@ public class ProductoService implements IProductoService {
             // Validar valores de los filtros
             validarFiltros(filtros);
             
+            if (indice.isCargado()) {
+                return indice.buscarPorFiltros(filtros);
+            }
             return productoDao.buscarPorFiltros(filtros);
             
         } catch (DatabaseException e) {
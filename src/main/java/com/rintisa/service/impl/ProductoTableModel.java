@@ -81,6 +81,15 @@ public class ProductoTableModel extends AbstractTableModel {
         fireTableDataChanged();
     }
     
+    /** Agrega varias filas al final con un solo evento. */
+    public void addProductos(List<Producto> nuevos) {
+        if (nuevos != null && !nuevos.isEmpty()) {
+            int desde = productos.size();
+            productos.addAll(nuevos);
+            fireTableRowsInserted(desde, productos.size() - 1);
+        }
+    }
+    
     public Producto getProductoAt(int row) {
         if (row >= 0 && row < productos.size()) {
             return productos.get(row);
@@ -2,22 +2,23 @@
 package com.rintisa.service.impl;
 
 
-import com.rintisa.config.DatabaseConfig;
+import com.rintisa.config.TransactionManager;
 import com.rintisa.dao.impl.RecepcionMercanciaDao;
 import com.rintisa.dao.interfaces.IRecepcionMercanciaDao;
 import com.rintisa.dao.interfaces.IProductoDao;
 import com.rintisa.service.interfaces.IRecepcionMercanciaService;
 import com.rintisa.model.RecepcionMercancia;
+import com.rintisa.model.CursorRecepcion;
 import com.rintisa.model.DetalleRecepcion;
+import com.rintisa.model.PaginaRecepciones;
 import com.rintisa.model.Producto;
+import com.rintisa.model.ResumenRecepcion;
 import com.rintisa.exception.DatabaseException;
 import com.rintisa.exception.ValidationException;
 
 
 import com.rintisa.model.enums.EstadoRecepcion;
 
-import java.sql.Connection;
-import java.sql.SQLException;
 import java.time.LocalDate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,6 +26,7 @@ import org.slf4j.LoggerFactory;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.*;
+import java.util.function.Consumer;
 
 public class RecepcionMercanciaService implements IRecepcionMercanciaService {
     private static final Logger logger = LoggerFactory.getLogger(RecepcionMercanciaService.class);
@@ -68,76 +70,54 @@ public class RecepcionMercanciaService implements IRecepcionMercanciaService {
     @Override
     public void verificarRecepcion(Long recepcionId, Map<Long, Integer> cantidadesRecibidas, 
                              String observaciones) throws DatabaseException, ValidationException {
-    Connection conn = null;
     try {
-        conn = DatabaseConfig.getConnection();
-        conn.setAutoCommit(false);
-
-        // 1. Obtener la recepción y validar estado
-        Optional<RecepcionMercancia> recepcionOpt = recepcionDao.findById(recepcionId);
-        if (!recepcionOpt.isPresent()) {
-            throw new ValidationException("id", "La recepción no existe");
-        }
-
-        RecepcionMercancia recepcion = recepcionOpt.get();
-        if (recepcion.getEstado() != EstadoRecepcion.PENDIENTE) {
-            throw new ValidationException("estado",
-                "Solo se pueden verificar recepciones en estado PENDIENTE");
-        }
+        // Todas las llamadas al DAO comparten una conexión y se confirman juntas
+        TransactionManager.enTransaccion(() -> {
+            // 1. Obtener la recepción y validar estado
+            Optional<RecepcionMercancia> recepcionOpt = recepcionDao.findById(recepcionId);
+            if (!recepcionOpt.isPresent()) {
+                throw new ValidationException("id", "La recepción no existe");
+            }
 
-        // 2. Obtener y actualizar los detalles
-        List<DetalleRecepcion> detalles = recepcionDao.findDetallesByRecepcionId(recepcionId);
-        if (detalles.isEmpty()) {
-            throw new ValidationException("detalles",
-                "La recepción no tiene detalles para verificar");
-        }
+            RecepcionMercancia recepcion = recepcionOpt.get();
+            if (recepcion.getEstado() != EstadoRecepcion.PENDIENTE) {
+                throw new ValidationException("estado",
+                    "Solo se pueden verificar recepciones en estado PENDIENTE");
+            }
 
-        // 3. Actualizar cada detalle con su cantidad recibida
-        for (DetalleRecepcion detalle : detalles) {
-            Integer cantidadRecibida = cantidadesRecibidas.get(detalle.getId());
-            if (cantidadRecibida == null) {
-                throw new ValidationException("cantidadRecibida",
-                    "Falta la cantidad recibida para el producto " +
-                    detalle.getProducto().getNombre());
+            // 2. Obtener y actualizar los detalles
+            List<DetalleRecepcion> detalles = recepcionDao.findDetallesByRecepcionId(recepcionId);
+            if (detalles.isEmpty()) {
+                throw new ValidationException("detalles",
+                    "La recepción no tiene detalles para verificar");
             }
 
-            detalle.setCantidadRecibida(cantidadRecibida);
-            detalle.setEstado(DetalleRecepcion.EstadoDetalle.VERIFICADO);
-            recepcionDao.updateDetalle(detalle);
-        }
+            // 3. Asignar a cada detalle su cantidad recibida
+            for (DetalleRecepcion detalle : detalles) {
+                Integer cantidadRecibida = cantidadesRecibidas.get(detalle.getId());
+                if (cantidadRecibida == null) {
+                    throw new ValidationException("cantidadRecibida",
+                        "Falta la cantidad recibida para el producto " +
+                        detalle.getProducto().getNombre());
+                }
+
+                detalle.setCantidadRecibida(cantidadRecibida);
+                detalle.setEstado(DetalleRecepcion.EstadoDetalle.VERIFICADO);
+            }
+            recepcionDao.updateDetalles(detalles);
 
-        // 4. Actualizar estado de la recepción
-        recepcion.setEstado(EstadoRecepcion.EN_PROCESO);
-        recepcion.setFecha(LocalDateTime.now());
-        recepcion.setObservaciones(observaciones);
-        recepcionDao.update(recepcion);
+            // 4. Actualizar estado de la recepción
+            recepcion.setEstado(EstadoRecepcion.EN_PROCESO);
+            recepcion.setFecha(LocalDateTime.now());
+            recepcion.setObservaciones(observaciones);
+            recepcionDao.update(recepcion);
+        });
 
-        // 5. Commit de la transacción
-        conn.commit();
         logger.info("Recepción {} verificada exitosamente", recepcionId);
 
     } catch (Exception e) {
-        // Rollback en caso de error
-        if (conn != null) {
-            try {
-                conn.rollback();
-                logger.debug("Rollback ejecutado por error en verificación");
-            } catch (SQLException ex) {
-                logger.error("Error al hacer rollback", ex);
-            }
-        }
         logger.error("Error al verificar recepción", e);
         throw new DatabaseException("Error al verificar recepción: " + e.getMessage());
-    } finally {
-        // Restaurar autoCommit y cerrar conexión
-        if (conn != null) {
-            try {
-                conn.setAutoCommit(true);
-                conn.close();
-            } catch (SQLException e) {
-                logger.error("Error al cerrar conexión", e);
-            }
-        }
     }
 }
 
@@ -218,23 +198,26 @@ public class RecepcionMercanciaService implements IRecepcionMercanciaService {
                 "Solo se pueden aceptar recepciones verificadas");
         }
         
-        // Actualizar inventario
-        List<DetalleRecepcion> detalles = recepcionDao.findDetallesByRecepcionId(recepcionId);
-        for (DetalleRecepcion detalle : detalles) {
-            Producto producto = productoDao.findById(detalle.getProducto().getId())
-                .orElseThrow(() -> new ValidationException("productoId", "Producto no encontrado"));
+        // Inventario y estado se actualizan en una sola transacción
+        TransactionManager.enTransaccion(() -> {
+            List<DetalleRecepcion> detalles = recepcionDao.findDetallesByRecepcionId(recepcionId);
+            for (DetalleRecepcion detalle : detalles) {
+                Producto producto = productoDao.findById(detalle.getProducto().getId())
+                    .orElseThrow(() -> new ValidationException("productoId", "Producto no encontrado"));
+                
+                int nuevoStock = producto.getStockActual() + detalle.getCantidadRecibida();
+                producto.setStockActual(nuevoStock);
+                productoDao.update(producto);
+                IndiceProductos.getInstancia().refrescar(producto.getId());
+            }
             
-            int nuevoStock = producto.getStockActual() + detalle.getCantidadRecibida();
-            producto.setStockActual(nuevoStock);
-            productoDao.update(producto);
-        }
-        
-        // Actualizar estado
-        recepcion.setEstado(EstadoRecepcion.APROBADA);
-        recepcion.setFechaModificacion(LocalDateTime.now());
-        recepcion.setObservaciones(observaciones);
-        
-        recepcionDao.update(recepcion);
+            // Actualizar estado
+            recepcion.setEstado(EstadoRecepcion.APROBADA);
+            recepcion.setFechaModificacion(LocalDateTime.now());
+            recepcion.setObservaciones(observaciones);
+            
+            recepcionDao.update(recepcion);
+        });
         logger.info("Recepción {} aceptada exitosamente", recepcionId);
     }
     
@@ -317,6 +300,12 @@ public class RecepcionMercanciaService implements IRecepcionMercanciaService {
         return recepcionDao.findDetallesByRecepcionId(recepcionId);
     }
 
+    @Override
+    public Map<Long, List<DetalleRecepcion>> listarDetalles(Collection<Long> recepcionIds)
+        throws DatabaseException {
+        return recepcionDao.findDetallesByRecepcionIds(recepcionIds);
+    }
+
     @Override
     public Map<String, Object> obtenerEstadisticas(LocalDateTime fechaInicio, LocalDateTime fechaFin) 
             throws DatabaseException {
@@ -363,11 +352,41 @@ public class RecepcionMercanciaService implements IRecepcionMercanciaService {
         return recepcionDao.findByFechas(fechaInicio, fechaFin);
     }
 
+    @Override
+    public long contarPorFechas(LocalDateTime fechaInicio, LocalDateTime fechaFin) throws DatabaseException {
+        return recepcionDao.countByFechas(fechaInicio, fechaFin);
+    }
+
+    @Override
+    public long recorrerResumenPorFechas(LocalDateTime fechaInicio, LocalDateTime fechaFin,
+                                         Consumer<ResumenRecepcion> consumidor,
+                                         Consumer<Runnable> alCancelar)
+            throws DatabaseException {
+        return recepcionDao.recorrerResumenPorFechas(fechaInicio, fechaFin, consumidor, alCancelar);
+    }
+
     @Override
     public List<RecepcionMercancia> listarTodas() throws DatabaseException {
         return recepcionDao.findAll();
     }
 
+    @Override
+    public PaginaRecepciones listarPagina(LocalDateTime fechaInicio, LocalDateTime fechaFin,
+                                          EstadoRecepcion estado, CursorRecepcion despuesDe,
+                                          int tamanio) throws DatabaseException {
+        return recepcionDao.searchPagina(null, null, null, estado,
+            fechaInicio, fechaFin, despuesDe, tamanio);
+    }
+
+    @Override
+    public PaginaRecepciones buscarPagina(String numeroRecepcion, String numeroOrdenCompra,
+                                          EstadoRecepcion estado, LocalDateTime fechaInicio,
+                                          LocalDateTime fechaFin, CursorRecepcion despuesDe,
+                                          int tamanio) throws DatabaseException {
+        return recepcionDao.searchPagina(numeroRecepcion, numeroOrdenCompra, null, estado,
+            fechaInicio, fechaFin, despuesDe, tamanio);
+    }
+
     @Override
     public Optional<RecepcionMercancia> buscarPorId(Long id) throws DatabaseException {
         return recepcionDao.findById(id);
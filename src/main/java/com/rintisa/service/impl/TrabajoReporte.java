@@ -0,0 +1,147 @@
+package com.rintisa.service.impl;
+
+import com.rintisa.util.AvanceReporte;
+
+import java.nio.file.Path;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Reporte enviado a {@link ColaReportes}. Permite consultar el avance
+ * (filas escritas sobre el total) y cancelarlo desde cualquier hilo.
+ */
+public final class TrabajoReporte implements AvanceReporte {
+
+    public enum Estado {
+        EN_COLA,
+        EN_CURSO,
+        TERMINADO,
+        CANCELADO,
+        FALLIDO;
+
+        public boolean isFinal() {
+            return this == TERMINADO || this == CANCELADO || this == FALLIDO;
+        }
+    }
+
+    private final long id;
+    private final String usuario;
+    private final String tipo;
+    private volatile Path ruta;
+    private volatile boolean desdeCache;
+
+    private final AtomicLong filasEscritas = new AtomicLong();
+    private volatile long total = -1;
+    private volatile Estado estado = Estado.EN_COLA;
+    private volatile boolean cancelado;
+    private final AtomicReference<Runnable> alCancelar = new AtomicReference<>();
+    private volatile Exception error;
+
+    TrabajoReporte(long id, String usuario, String tipo, Path ruta) {
+        this.id = id;
+        this.usuario = usuario;
+        this.tipo = tipo;
+        this.ruta = ruta;
+    }
+
+    public long getId() { return id; }
+
+    public String getUsuario() { return usuario; }
+
+    public String getTipo() { return tipo; }
+
+    /** Archivo final en el directorio de reportes; solo existe si el estado es TERMINADO. */
+    public Path getRuta() { return ruta; }
+
+    /** Indica si el reporte no se generó sino que se reutilizó de {@link CacheReportes}. */
+    public boolean isDesdeCache() { return desdeCache; }
+
+    public Estado getEstado() { return estado; }
+
+    public long getFilasEscritas() { return filasEscritas.get(); }
+
+    /** Total de filas esperadas, o -1 mientras no se conozca. */
+    public long getTotal() { return total; }
+
+    /** Avance entre 0 y 1, o -1 si no se conoce el total. */
+    public double getProgreso() {
+        long t = total;
+        if (estado == Estado.TERMINADO) return 1;
+        if (t <= 0) return -1;
+        return Math.min(1.0, (double) filasEscritas.get() / t);
+    }
+
+    /** Error del reporte si el estado es FALLIDO. */
+    public Exception getError() { return error; }
+
+    public boolean isCancelado() { return cancelado; }
+
+    /**
+     * Pide cancelar el reporte. Si aún está en cola no llega a ejecutarse; si está
+     * en curso se detiene en la siguiente fila y el archivo parcial se elimina.
+     *
+     * La consulta abierta registrada con {@link #alCancelar} se interrumpe una sola
+     * vez: en la siguiente fila, antes de que se cierre el cursor, o en un hilo
+     * aparte si no llegan filas (cancelarla en el servidor abre otra conexión, y
+     * este método suele llamarse desde el hilo de eventos).
+     */
+    public void cancelar() {
+        cancelado = true;
+        Thread hilo = new Thread(this::interrumpirConsulta, "reportes-cancelar-" + id);
+        hilo.setDaemon(true);
+        hilo.start();
+    }
+
+    @Override
+    public void alCancelar(Runnable accion) {
+        alCancelar.set(accion);
+        // La cancelación pudo llegar antes que la consulta
+        if (cancelado) {
+            interrumpirConsulta();
+        }
+    }
+
+    private void interrumpirConsulta() {
+        Runnable accion = alCancelar.getAndSet(null);
+        if (accion != null) {
+            accion.run();
+        }
+    }
+
+    @Override
+    public void setTotal(long total) {
+        this.total = total;
+    }
+
+    @Override
+    public void filaEscrita() {
+        filasEscritas.incrementAndGet();
+        if (cancelado) {
+            interrumpirConsulta();
+            throw new CancellationException("Reporte cancelado");
+        }
+    }
+
+    void setEstado(Estado estado) {
+        this.estado = estado;
+    }
+
+    void setError(Exception error) {
+        this.error = error;
+    }
+
+    void setRuta(Path ruta) {
+        this.ruta = ruta;
+    }
+
+    void setDesdeCache(boolean desdeCache) {
+        this.desdeCache = desdeCache;
+    }
+
+    @Override
+    public String toString() {
+        return "TrabajoReporte{id=" + id + ", tipo=" + tipo + ", usuario=" + usuario
+            + ", estado=" + estado + ", filas=" + filasEscritas.get() + "/" + total + "}";
+    }
+}
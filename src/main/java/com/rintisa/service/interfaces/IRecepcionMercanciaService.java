@@ -3,16 +3,21 @@ package com.rintisa.service.interfaces;
 
 import static com.mysql.cj.conf.PropertyKey.logger;
 import com.rintisa.model.RecepcionMercancia;
+import com.rintisa.model.CursorRecepcion;
 import com.rintisa.model.DetalleRecepcion;
+import com.rintisa.model.PaginaRecepciones;
+import com.rintisa.model.ResumenRecepcion;
 import com.rintisa.exception.DatabaseException;
 import com.rintisa.exception.ValidationException;
 import com.rintisa.model.enums.EstadoRecepcion;
 import java.time.LocalDate;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface IRecepcionMercanciaService {
     /**
@@ -72,6 +77,47 @@ public interface IRecepcionMercanciaService {
     List<RecepcionMercancia> listarPorFechas(LocalDateTime fechaInicio, LocalDateTime fechaFin) 
         throws DatabaseException;
 
+    /**
+     * Cuenta las recepciones de un rango de fechas
+     */
+    long contarPorFechas(LocalDateTime fechaInicio, LocalDateTime fechaFin) throws DatabaseException;
+
+    /**
+     * Recorre las recepciones de un rango de fechas con los totales de sus
+     * detalles, sin cargarlas en memoria. Usado por los reportes grandes.
+     * @param consumidor Recibe cada recepción a medida que se lee
+     * @param alCancelar Recibe la acción que cancela la consulta en curso, y null
+     *        al terminar; puede ser null
+     * @return Número de recepciones recorridas
+     */
+    long recorrerResumenPorFechas(LocalDateTime fechaInicio, LocalDateTime fechaFin,
+                                  Consumer<ResumenRecepcion> consumidor,
+                                  Consumer<Runnable> alCancelar)
+        throws DatabaseException;
+
+    /**
+     * Lista una página de recepciones con filtros opcionales, ordenadas por
+     * fecha de recepción descendente
+     * @param fechaInicio Fecha inicial del rango (opcional)
+     * @param fechaFin Fecha final del rango (opcional)
+     * @param estado Estado de las recepciones (opcional)
+     * @param despuesDe Cursor de la página anterior, o null para la primera página
+     * @param tamanio Número máximo de recepciones por página
+     * @return Página de recepciones con el cursor de la siguiente
+     */
+    PaginaRecepciones listarPagina(LocalDateTime fechaInicio, LocalDateTime fechaFin,
+                                   EstadoRecepcion estado, CursorRecepcion despuesDe, int tamanio)
+        throws DatabaseException;
+
+    /**
+     * Igual que {@link #listarPagina} con búsqueda por número de recepción y de
+     * orden de compra. Los criterios nulos o vacíos se ignoran.
+     */
+    PaginaRecepciones buscarPagina(String numeroRecepcion, String numeroOrdenCompra,
+                                   EstadoRecepcion estado, LocalDateTime fechaInicio,
+                                   LocalDateTime fechaFin, CursorRecepcion despuesDe, int tamanio)
+        throws DatabaseException;
+
     /**
      * Agrega un detalle a una recepción
      * @param recepcionId ID de la recepción
@@ -87,6 +133,13 @@ public interface IRecepcionMercanciaService {
      */
     List<DetalleRecepcion> listarDetalles(Long recepcionId) throws DatabaseException;
 
+    /**
+     * Lista los detalles de varias recepciones con pocas consultas
+     * @param recepcionIds IDs de las recepciones
+     * @return Detalles agrupados por ID de recepción
+     */
+    Map<Long, List<DetalleRecepcion>> listarDetalles(Collection<Long> recepcionIds) throws DatabaseException;
+
     /**
      * Genera un nuevo número de recepción
      * @return Número de recepción generado
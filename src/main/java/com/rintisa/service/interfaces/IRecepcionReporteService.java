@@ -1,6 +1,8 @@
 package com.rintisa.service.interfaces;
 
 import com.rintisa.exception.ReportException;
+import com.rintisa.util.AvanceReporte;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 
 public interface IRecepcionReporteService {
@@ -8,6 +10,15 @@ public interface IRecepcionReporteService {
     byte[] generarReporteGeneral(LocalDateTime fechaInicio, LocalDateTime fechaFin) 
         throws ReportException;
     
+    /**
+     * Escribe el reporte general directamente en la salida, con memoria constante
+     * sin importar el número de recepciones del período. La salida no se cierra.
+     * @param avance Recibe el total de recepciones y el avance por fila; puede ser null
+     * @return Número de recepciones escritas
+     */
+    long generarReporteGeneral(LocalDateTime fechaInicio, LocalDateTime fechaFin, OutputStream salida,
+                               AvanceReporte avance) throws ReportException;
+    
   // Tipos de períodos para reportes
     enum TipoPeriodo {
         DIARIO,
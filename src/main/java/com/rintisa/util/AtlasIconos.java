@@ -0,0 +1,79 @@
+package com.rintisa.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Iconos ya dibujados al compilar por {@link GeneradorAtlasIconos}: una sola
+ * imagen con todos los SVG de /icons en los tamaños de IconManager y un índice
+ * con la posición de cada uno.
+ *
+ * Si el atlas no está en el classpath (por ejemplo, al correr desde un IDE sin
+ * pasar por Maven) todas las búsquedas devuelven null y SvgConverter convierte
+ * los SVG como antes.
+ */
+final class AtlasIconos {
+    private static final Logger logger = LoggerFactory.getLogger(AtlasIconos.class);
+
+    static final String IMAGEN = "atlas.png";
+    static final String INDICE = "atlas.properties";
+
+    // Se lee en el primer icono pedido
+    private static final class Carga {
+        static final AtlasIconos INSTANCIA = cargar();
+    }
+
+    private final BufferedImage imagen;
+    private final Properties indice;
+
+    private AtlasIconos(BufferedImage imagen, Properties indice) {
+        this.imagen = imagen;
+        this.indice = indice;
+    }
+
+    /**
+     * Icono del atlas, o null si no está para ese nombre y tamaño. La imagen
+     * comparte memoria con el atlas y no debe modificarse.
+     */
+    static BufferedImage buscar(String nombre, int ancho, int alto) {
+        AtlasIconos atlas = Carga.INSTANCIA;
+        if (atlas.imagen == null || ancho != alto) {
+            return null;
+        }
+        String posicion = atlas.indice.getProperty(clave(nombre, ancho));
+        if (posicion == null) {
+            return null;
+        }
+        int coma = posicion.indexOf(',');
+        int x = Integer.parseInt(posicion.substring(0, coma));
+        int y = Integer.parseInt(posicion.substring(coma + 1));
+        return atlas.imagen.getSubimage(x, y, ancho, alto);
+    }
+
+    static String clave(String nombre, int tamanio) {
+        return nombre + "@" + tamanio;
+    }
+
+    private static AtlasIconos cargar() {
+        try (InputStream indiceStream = AtlasIconos.class.getResourceAsStream("/icons/" + INDICE);
+             InputStream imagenStream = AtlasIconos.class.getResourceAsStream("/icons/" + IMAGEN)) {
+            if (indiceStream == null || imagenStream == null) {
+                logger.info("Sin atlas de iconos, se convertirán los SVG al usarlos");
+                return new AtlasIconos(null, new Properties());
+            }
+            Properties indice = new Properties();
+            indice.load(indiceStream);
+            BufferedImage imagen = ImageIO.read(imagenStream);
+            logger.debug("Atlas de iconos cargado: {} iconos", indice.size());
+            return new AtlasIconos(imagen, indice);
+        } catch (Exception e) {
+            logger.warn("No se pudo leer el atlas de iconos: {}", e.getMessage());
+            return new AtlasIconos(null, new Properties());
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.rintisa.util;
+
+/**
+ * Recibe el avance de un reporte mientras se escribe.
+ *
+ * {@link ReporteStreaming} llama a {@link #filaEscrita()} por cada fila de datos;
+ * la implementación puede lanzar {@link java.util.concurrent.CancellationException}
+ * desde ahí para detener el reporte, que entonces no se guarda.
+ */
+public interface AvanceReporte {
+
+    /** Número total de filas esperadas, o -1 si no se conoce. */
+    void setTotal(long total);
+
+    void filaEscrita();
+
+    /**
+     * Registra la acción que interrumpe la consulta que alimenta el reporte,
+     * para ejecutarla si el reporte se cancela mientras está abierta; null la
+     * quita. Sin ella, una cancelación solo se nota en la siguiente fila y el
+     * controlador puede tener que leer el resto del resultado al cerrarlo.
+     */
+    default void alCancelar(Runnable accion) {
+    }
+}
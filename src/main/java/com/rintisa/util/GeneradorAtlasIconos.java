@@ -0,0 +1,126 @@
+package com.rintisa.util;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Paso de compilación (fase process-classes del pom) que dibuja todos los SVG de
+ * src/main/resources/icons en los tamaños de IconManager y los junta en
+ * icons/atlas.png, con su índice en icons/atlas.properties. Así la aplicación no
+ * carga Batik ni convierte SVG al arrancar.
+ *
+ * Uso: GeneradorAtlasIconos &lt;directorio de SVG&gt; &lt;directorio de salida&gt;
+ *
+ * Cada tamaño ocupa una fila del atlas. Si el atlas es más nuevo que todos los
+ * SVG no se vuelve a generar.
+ */
+public class GeneradorAtlasIconos {
+
+    static final int[] TAMANIOS = {
+        IconManager.SMALL, IconManager.MEDIUM, IconManager.LARGE, IconManager.EXTRA_LARGE
+    };
+
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.err.println("Uso: GeneradorAtlasIconos <directorio de SVG> <directorio de salida>");
+            System.exit(2);
+        }
+        try {
+            generar(Paths.get(args[0]), Paths.get(args[1]));
+        } catch (Exception e) {
+            System.err.println("Error al generar el atlas de iconos: " + e);
+            System.exit(1);
+        }
+    }
+
+    static void generar(Path origen, Path destino) throws Exception {
+        List<Path> svgs = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(origen, "*.svg")) {
+            stream.forEach(svgs::add);
+        }
+        svgs.sort(null);
+
+        Path imagen = destino.resolve(AtlasIconos.IMAGEN);
+        Path indice = destino.resolve(AtlasIconos.INDICE);
+        if (actualizado(origen, svgs, imagen, indice)) {
+            System.out.println("Atlas de iconos al día: " + imagen);
+            return;
+        }
+
+        int mayor = TAMANIOS[TAMANIOS.length - 1];
+        int alto = 0;
+        for (int tamanio : TAMANIOS) {
+            alto += tamanio;
+        }
+        BufferedImage atlas = new BufferedImage(Math.max(1, svgs.size() * mayor), alto,
+            BufferedImage.TYPE_INT_ARGB);
+        List<String> lineas = new ArrayList<>();
+
+        Graphics2D g = atlas.createGraphics();
+        try {
+            int y = 0;
+            for (int tamanio : TAMANIOS) {
+                int x = 0;
+                for (Path svg : svgs) {
+                    String nombre = svg.getFileName().toString().replaceFirst("\\.svg$", "");
+                    g.drawImage(dibujar(svg, tamanio), x, y, null);
+                    lineas.add(AtlasIconos.clave(nombre, tamanio) + "=" + x + "," + y);
+                    x += tamanio;
+                }
+                y += tamanio;
+            }
+        } finally {
+            g.dispose();
+        }
+
+        Files.createDirectories(destino);
+        ImageIO.write(atlas, "PNG", imagen.toFile());
+        try (Writer salida = Files.newBufferedWriter(indice, StandardCharsets.ISO_8859_1)) {
+            salida.write("# Generado por GeneradorAtlasIconos: nombre@tamanio=x,y\n");
+            for (String linea : lineas) {
+                salida.write(linea);
+                salida.write('\n');
+            }
+        }
+        System.out.println("Atlas de iconos: " + svgs.size() + " SVG en " + TAMANIOS.length
+            + " tamaños, " + Files.size(imagen) / 1024 + " KB en " + imagen);
+    }
+
+    private static BufferedImage dibujar(Path svg, int tamanio) throws Exception {
+        try (InputStream entrada = Files.newInputStream(svg)) {
+            byte[] png = SvgConverter.Transcodificador.aPng(entrada, tamanio, tamanio);
+            return ImageIO.read(new ByteArrayInputStream(png));
+        }
+    }
+
+    private static boolean actualizado(Path origen, List<Path> svgs, Path imagen, Path indice)
+            throws IOException {
+        if (!Files.exists(imagen) || !Files.exists(indice)) {
+            return false;
+        }
+        long generado = Math.min(Files.getLastModifiedTime(imagen).toMillis(),
+            Files.getLastModifiedTime(indice).toMillis());
+        // La fecha del directorio cambia al agregar o quitar iconos
+        if (Files.getLastModifiedTime(origen).toMillis() > generado) {
+            return false;
+        }
+        for (Path svg : svgs) {
+            if (Files.getLastModifiedTime(svg).toMillis() > generado) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,511 @@
+package com.rintisa.util;
+
+import com.rintisa.dao.impl.VersionDatosDao;
+import com.rintisa.model.DetalleRecepcion.EstadoDetalle;
+import com.rintisa.model.RegistroAcceso.TipoAcceso;
+import com.rintisa.model.enums.EstadoRecepcion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Genera datos sintéticos de recepciones para pruebas de escala.
+ *
+ * Inserta usuarios, proveedores, productos, recepciones con sus detalles y
+ * registros de acceso con sentencias INSERT de varias filas, confirmando cada
+ * sentencia. Los datos imitan la operación real: pocos proveedores y productos
+ * concentran la mayoría de las recepciones, hay más movimiento en campañas
+ * (marzo, julio, noviembre y diciembre) y casi nada los domingos, y las
+ * recepciones de los últimos días siguen pendientes o en proceso.
+ *
+ * Los ids se asignan a partir del máximo existente en cada tabla, así que se
+ * puede generar sobre una base con datos. Los números de recepción usan el
+ * prefijo {@value #PREFIJO_RECEPCION} para no chocar con los de recepcion_sequence.
+ * La misma semilla produce siempre los mismos datos.
+ */
+public class GeneradorDatosSinteticos {
+    private static final Logger logger = LoggerFactory.getLogger(GeneradorDatosSinteticos.class);
+
+    public static final String PREFIJO_USUARIO = "sintetico";
+    public static final String PREFIJO_RECEPCION = "SIN";
+
+    // Exponente de la distribución de Zipf: cuanto mayor, más concentrada
+    private static final double SESGO = 1.1;
+    private static final int DIAS_RECIENTES = 3;
+    private static final long AVISO_PROGRESO = 100_000;
+
+    private static final String[] PALABRAS = {
+        "aceite", "arroz", "azucar", "harina", "leche", "fideos", "atun", "galletas",
+        "detergente", "jabon", "cafe", "avena", "mantequilla", "sal", "vinagre", "te",
+        "mermelada", "gaseosa", "agua", "cereal", "chocolate", "yogurt", "queso", "pollo"
+    };
+    private static final String[] UNIDADES = {"UND", "KG", "LT", "CJA", "BOL", "PAQ"};
+
+    // Factor de volumen por mes (enero a diciembre) y por día de la semana (lunes a domingo)
+    private static final double[] FACTOR_MES = {0.8, 0.8, 1.3, 1.0, 1.0, 0.9, 1.2, 0.9, 0.9, 1.0, 1.4, 1.6};
+    private static final double[] FACTOR_DIA = {1.1, 1.0, 1.0, 1.0, 1.1, 0.5, 0.1};
+
+    private static final EstadoRecepcion[] ESTADOS = {
+        EstadoRecepcion.PROCESADA, EstadoRecepcion.APROBADA, EstadoRecepcion.EN_PROCESO,
+        EstadoRecepcion.PENDIENTE, EstadoRecepcion.RECHAZADA, EstadoRecepcion.ANULADA
+    };
+    private static final double[] PESO_ESTADOS = {70, 12, 5, 6, 4, 3};
+    private static final double[] PESO_ESTADOS_RECIENTES = {10, 20, 30, 40, 0, 0};
+
+    private static final TipoAcceso[] TIPOS_ACCESO = {TipoAcceso.LOGIN, TipoAcceso.LOGOUT, TipoAcceso.FAILED_LOGIN};
+    private static final double[] PESO_TIPOS_ACCESO = {48, 45, 7};
+
+    private final Random random;
+    private final LocalDate desde;
+    private final LocalDate hasta;
+
+    private int usuarios = 50;
+    private int proveedores = 2_000;
+    private int productos = 5_000;
+    private int recepciones = 100_000;
+    private int detallesPorRecepcion = 8;
+    private int accesos = 100_000;
+    private int filasPorSentencia = 500;
+
+    // Lo confirmado hasta ahora en generar(), para informarlo si falla a mitad
+    private long sentenciasConfirmadas;
+    private long filasConfirmadas;
+    private String claveUsuarios = "clave123";
+
+    public GeneradorDatosSinteticos(long semilla, LocalDate desde, LocalDate hasta) {
+        if (hasta.isBefore(desde)) {
+            throw new IllegalArgumentException("La fecha final es anterior a la inicial");
+        }
+        this.random = new Random(semilla);
+        this.desde = desde;
+        this.hasta = hasta;
+    }
+
+    public void setUsuarios(int usuarios) {
+        this.usuarios = Math.max(1, usuarios);
+    }
+
+    public void setProveedores(int proveedores) {
+        this.proveedores = Math.max(1, proveedores);
+    }
+
+    public void setProductos(int productos) {
+        this.productos = Math.max(1, productos);
+    }
+
+    public void setRecepciones(int recepciones) {
+        this.recepciones = Math.max(0, recepciones);
+    }
+
+    /** Promedio de líneas por recepción; cada una tiene entre 1 y el doble menos uno. */
+    public void setDetallesPorRecepcion(int detallesPorRecepcion) {
+        this.detallesPorRecepcion = Math.max(1, detallesPorRecepcion);
+    }
+
+    public void setAccesos(int accesos) {
+        this.accesos = Math.max(0, accesos);
+    }
+
+    public void setFilasPorSentencia(int filasPorSentencia) {
+        this.filasPorSentencia = Math.max(1, filasPorSentencia);
+    }
+
+    /** Contraseña de todos los usuarios generados. */
+    public void setClaveUsuarios(String claveUsuarios) {
+        this.claveUsuarios = claveUsuarios;
+    }
+
+    /**
+     * Genera todos los datos en la conexión dada y devuelve las filas insertadas por tabla.
+     * No es atómico: cada INSERT de varias filas se confirma por separado, y si la
+     * generación falla lo ya confirmado queda en la base.
+     */
+    public Map<String, Long> generar(Connection conn) throws SQLException {
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        sentenciasConfirmadas = 0;
+        filasConfirmadas = 0;
+        try {
+            Map<String, Long> filas = new LinkedHashMap<>();
+            long primerUsuario = generarUsuarios(conn, filas);
+            long primerProveedor = generarProveedores(conn, filas);
+            double[] precios = new double[productos];
+            long primerProducto = generarProductos(conn, precios, filas);
+            generarRecepciones(conn, primerUsuario, primerProveedor, primerProducto, precios, filas);
+            generarAccesos(conn, primerUsuario, filas);
+
+            // La carga no pasa por los DAO: mover las versiones para que no se
+            // reutilicen reportes calculados con los datos anteriores
+            for (String grupo : new String[] {VersionDatosDao.USUARIOS, VersionDatosDao.ROLES,
+                    VersionDatosDao.PROVEEDORES, VersionDatosDao.RECEPCIONES}) {
+                VersionDatosDao.incrementar(conn, grupo);
+            }
+            conn.commit();
+            return filas;
+        } catch (SQLException e) {
+            // Solo descarta la sentencia en curso, para que restaurar el autocommit
+            // no la confirme; las anteriores ya están confirmadas
+            conn.rollback();
+            logger.error("La generación falló después de confirmar {} sentencias con {} filas; " +
+                "esas filas quedan en la base", sentenciasConfirmadas, filasConfirmadas);
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    private long generarUsuarios(Connection conn, Map<String, Long> filas) throws SQLException {
+        long rolId = obtenerRol(conn);
+        long primerId = siguienteId(conn, "usuarios");
+        // Un solo hash: BCrypt por usuario haría la carga mucho más lenta sin aportar nada
+        String hash = PasswordUtil.hashPassword(claveUsuarios);
+        Timestamp creacion = Timestamp.valueOf(desde.atStartOfDay());
+
+        try (InsercionMultiple insercion = new InsercionMultiple(conn, "usuarios",
+                "id, username, password, nombre, apellido, email, activo, fecha_creacion, rol_id", null)) {
+            for (int i = 0; i < usuarios; i++) {
+                long id = primerId + i;
+                insercion.agregar(id, PREFIJO_USUARIO + id, hash, "Nombre" + id, "Apellido" + id,
+                    PREFIJO_USUARIO + id + "@rintisa.com", true, creacion, rolId);
+            }
+            insercion.vaciar();
+            filas.put("usuarios", insercion.getTotal());
+        }
+        return primerId;
+    }
+
+    private long generarProveedores(Connection conn, Map<String, Long> filas) throws SQLException {
+        long primerId = siguienteId(conn, "proveedores");
+        try (InsercionMultiple insercion = new InsercionMultiple(conn, "proveedores",
+                "id, codigo, razon_social, ruc, direccion, telefono, email, activo", null)) {
+            for (int i = 0; i < proveedores; i++) {
+                long id = primerId + i;
+                insercion.agregar(id, String.format("PRV-%06d", id),
+                    capitalizar(palabra()) + " " + capitalizar(palabra()) + " " + id + " S.A.C.",
+                    String.format("20%09d", id), "Av. Industrial " + (100 + random.nextInt(9000)),
+                    String.format("01%07d", random.nextInt(10_000_000)), "ventas" + id + "@proveedor.com",
+                    random.nextInt(20) != 0);
+            }
+            insercion.vaciar();
+            filas.put("proveedores", insercion.getTotal());
+        }
+        return primerId;
+    }
+
+    private long generarProductos(Connection conn, double[] precios, Map<String, Long> filas) throws SQLException {
+        long primerId = siguienteId(conn, "productos");
+        Timestamp registro = Timestamp.valueOf(desde.atStartOfDay());
+        try (InsercionMultiple insercion = new InsercionMultiple(conn, "productos",
+                "id, codigo, nombre, descripcion, unidad_medida, precio_unitario, stock_minimo, " +
+                "stock_actual, activo, fecha_registro", null)) {
+            for (int i = 0; i < productos; i++) {
+                long id = primerId + i;
+                precios[i] = Math.round((0.5 + random.nextDouble() * 150) * 100) / 100.0;
+                insercion.agregar(id, String.format("PRD-%06d", id),
+                    capitalizar(palabra()) + " " + palabra() + " " + id,
+                    "Presentación " + palabra() + " de " + palabra(),
+                    UNIDADES[random.nextInt(UNIDADES.length)], precios[i],
+                    10 + random.nextInt(90), random.nextInt(2000), random.nextInt(15) != 0, registro);
+            }
+            insercion.vaciar();
+            filas.put("productos", insercion.getTotal());
+        }
+        return primerId;
+    }
+
+    private void generarRecepciones(Connection conn, long primerUsuario, long primerProveedor,
+                                    long primerProducto, double[] precios,
+                                    Map<String, Long> filas) throws SQLException {
+        long primerId = siguienteId(conn, "recepciones_mercancia");
+        Distribucion proveedorSesgado = Distribucion.zipf(proveedores);
+        Distribucion productoSesgado = Distribucion.zipf(productos);
+        Distribucion usuarioSesgado = Distribucion.zipf(usuarios);
+        Distribucion dias = distribucionDias();
+        Distribucion estados = new Distribucion(PESO_ESTADOS);
+        Distribucion estadosRecientes = new Distribucion(PESO_ESTADOS_RECIENTES);
+        long totalDias = ChronoUnit.DAYS.between(desde, hasta);
+
+        try (InsercionMultiple cabeceras = new InsercionMultiple(conn, "recepciones_mercancia",
+                "id, numero_recepcion, numero_documento, numero_orden_compra, numero_guia_remision, " +
+                "fecha, fecha_recepcion, proveedor_id, usuario_id, responsable_id, estado, total, " +
+                "observaciones, fecha_creacion, usuario_creacion", null);
+             // Los detalles vacían antes las cabeceras pendientes, por la clave foránea
+             InsercionMultiple detalles = new InsercionMultiple(conn, "detalle_recepcion",
+                "recepcion_id, producto_id, cantidad_esperada, cantidad_recibida, precio_unitario, estado",
+                cabeceras)) {
+
+            for (int i = 0; i < recepciones; i++) {
+                long id = primerId + i;
+                int dia = dias.muestra(random);
+                LocalDateTime momento = desde.plusDays(dia).atTime(7, 0)
+                    .plusSeconds(random.nextInt(12 * 3600));
+                Timestamp fecha = Timestamp.valueOf(momento);
+                EstadoRecepcion estado = ESTADOS[(totalDias - dia < DIAS_RECIENTES ? estadosRecientes : estados)
+                    .muestra(random)];
+                long usuario = primerUsuario + usuarioSesgado.muestra(random);
+
+                int lineas = 1 + random.nextInt(detallesPorRecepcion * 2 - 1);
+                int[] producto = new int[lineas];
+                int[] esperada = new int[lineas];
+                Integer[] recibida = new Integer[lineas];
+                double total = 0;
+                for (int d = 0; d < lineas; d++) {
+                    producto[d] = productoSesgado.muestra(random);
+                    esperada[d] = 1 + random.nextInt(200);
+                    recibida[d] = cantidadRecibida(estado, esperada[d]);
+                    total += (recibida[d] != null ? recibida[d] : esperada[d]) * precios[producto[d]];
+                }
+
+                cabeceras.agregar(id, String.format("%s-%d-%07d", PREFIJO_RECEPCION, momento.getYear(), id),
+                    "F" + (1 + random.nextInt(20)) + "-" + (10000 + random.nextInt(90000)),
+                    "OC-" + (100000 + random.nextInt(900000)), "GR-" + (100000 + random.nextInt(900000)),
+                    fecha, fecha, primerProveedor + proveedorSesgado.muestra(random), usuario,
+                    primerUsuario + usuarioSesgado.muestra(random), estado.name(),
+                    Math.round(total * 100) / 100.0, null, fecha, usuario);
+                for (int d = 0; d < lineas; d++) {
+                    detalles.agregar(id, primerProducto + producto[d], esperada[d], recibida[d],
+                        precios[producto[d]], estadoDetalle(estado, esperada[d], recibida[d]).name());
+                }
+            }
+            cabeceras.vaciar();
+            detalles.vaciar();
+            filas.put("recepciones_mercancia", cabeceras.getTotal());
+            filas.put("detalle_recepcion", detalles.getTotal());
+        }
+    }
+
+    private void generarAccesos(Connection conn, long primerUsuario, Map<String, Long> filas) throws SQLException {
+        if (accesos == 0) {
+            return;
+        }
+        Distribucion usuarioSesgado = Distribucion.zipf(usuarios);
+        Distribucion dias = distribucionDias();
+        Distribucion tipos = new Distribucion(PESO_TIPOS_ACCESO);
+
+        try (InsercionMultiple insercion = new InsercionMultiple(conn, "accesos",
+                "usuario_id, fecha_acceso, tipo_acceso, ip_address, detalles", null)) {
+            for (int i = 0; i < accesos; i++) {
+                LocalDateTime momento = desde.plusDays(dias.muestra(random)).atTime(6, 0)
+                    .plusSeconds(random.nextInt(16 * 3600));
+                TipoAcceso tipo = TIPOS_ACCESO[tipos.muestra(random)];
+                insercion.agregar(primerUsuario + usuarioSesgado.muestra(random), Timestamp.valueOf(momento),
+                    tipo.name(), "192.168." + random.nextInt(8) + "." + (2 + random.nextInt(250)),
+                    tipo == TipoAcceso.FAILED_LOGIN ? "Contraseña incorrecta" : null);
+            }
+            insercion.vaciar();
+            filas.put("accesos", insercion.getTotal());
+        }
+    }
+
+    // Recepciones pendientes aún no se cuentan; en las demás una de cada cinco líneas llega incompleta
+    private Integer cantidadRecibida(EstadoRecepcion estado, int esperada) {
+        if (estado == EstadoRecepcion.PENDIENTE || estado == EstadoRecepcion.ANULADA) {
+            return null;
+        }
+        return random.nextInt(5) == 0 ? Math.max(0, esperada - 1 - random.nextInt(Math.max(1, esperada / 4))) : esperada;
+    }
+
+    private static EstadoDetalle estadoDetalle(EstadoRecepcion estado, int esperada, Integer recibida) {
+        switch (estado) {
+            case PROCESADA:
+            case APROBADA:
+                return recibida != null && recibida == esperada ? EstadoDetalle.ACEPTADO : EstadoDetalle.RECHAZADO;
+            case RECHAZADA:
+                return EstadoDetalle.RECHAZADO;
+            case EN_PROCESO:
+                return EstadoDetalle.VERIFICADO;
+            default:
+                return EstadoDetalle.PENDIENTE;
+        }
+    }
+
+    // Peso de cada día del rango según la temporada y el día de la semana
+    private Distribucion distribucionDias() {
+        int totalDias = (int) ChronoUnit.DAYS.between(desde, hasta) + 1;
+        double[] pesos = new double[totalDias];
+        for (int i = 0; i < totalDias; i++) {
+            LocalDate dia = desde.plusDays(i);
+            pesos[i] = FACTOR_MES[dia.getMonthValue() - 1] * FACTOR_DIA[dia.getDayOfWeek().getValue() - 1];
+        }
+        return new Distribucion(pesos);
+    }
+
+    private static long obtenerRol(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT id FROM roles ORDER BY id LIMIT 1")) {
+            if (rs.next()) {
+                return rs.getLong(1);
+            }
+        }
+        try (PreparedStatement stmt = conn.prepareStatement(
+                "INSERT INTO roles (nombre, descripcion, activo) VALUES (?, ?, ?)",
+                Statement.RETURN_GENERATED_KEYS)) {
+            stmt.setString(1, "OPERADOR");
+            stmt.setString(2, "Rol de los usuarios sintéticos");
+            stmt.setBoolean(3, true);
+            stmt.executeUpdate();
+            try (ResultSet keys = stmt.getGeneratedKeys()) {
+                keys.next();
+                return keys.getLong(1);
+            }
+        }
+    }
+
+    private static long siguienteId(Connection conn, String tabla) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM " + tabla)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private String palabra() {
+        return PALABRAS[random.nextInt(PALABRAS.length)];
+    }
+
+    private static String capitalizar(String texto) {
+        return Character.toUpperCase(texto.charAt(0)) + texto.substring(1);
+    }
+
+    /**
+     * Muestreo de un índice 0..n-1 con probabilidad proporcional a su peso.
+     */
+    private static final class Distribucion {
+        private final double[] acumulada;
+
+        Distribucion(double[] pesos) {
+            acumulada = new double[pesos.length];
+            double suma = 0;
+            for (int i = 0; i < pesos.length; i++) {
+                suma += pesos[i];
+                acumulada[i] = suma;
+            }
+        }
+
+        // Los primeros índices son los más frecuentes
+        static Distribucion zipf(int n) {
+            double[] pesos = new double[n];
+            for (int i = 0; i < n; i++) {
+                pesos[i] = 1.0 / Math.pow(i + 1, SESGO);
+            }
+            return new Distribucion(pesos);
+        }
+
+        int muestra(Random random) {
+            double valor = random.nextDouble() * acumulada[acumulada.length - 1];
+            int indice = Arrays.binarySearch(acumulada, valor);
+            indice = indice >= 0 ? indice + 1 : -indice - 1;
+            return Math.min(indice, acumulada.length - 1);
+        }
+    }
+
+    /**
+     * Acumula filas y las inserta con un INSERT de varias filas cada filasPorSentencia,
+     * confirmando tras cada sentencia. Las filas que queden se insertan con vaciar().
+     */
+    private final class InsercionMultiple implements AutoCloseable {
+        private final Connection conn;
+        private final String tabla;
+        private final String encabezado;
+        private final String fila;
+        private final int columnas;
+        private final InsercionMultiple previa;
+        private final Object[] valores;
+        private PreparedStatement completa;
+        private int pendientes;
+        private long total;
+
+        InsercionMultiple(Connection conn, String tabla, String columnas, InsercionMultiple previa) {
+            this.conn = conn;
+            this.tabla = tabla;
+            this.columnas = columnas.split(",").length;
+            this.encabezado = "INSERT INTO " + tabla + " (" + columnas + ") VALUES ";
+            this.fila = "(" + String.join(", ", Collections.nCopies(this.columnas, "?")) + ")";
+            this.previa = previa;
+            this.valores = new Object[filasPorSentencia * this.columnas];
+        }
+
+        void agregar(Object... fila) throws SQLException {
+            System.arraycopy(fila, 0, valores, pendientes * columnas, columnas);
+            pendientes++;
+            if (pendientes == filasPorSentencia) {
+                vaciar();
+            }
+        }
+
+        void vaciar() throws SQLException {
+            if (pendientes == 0) {
+                return;
+            }
+            if (previa != null) {
+                previa.vaciar();
+            }
+            if (pendientes == filasPorSentencia) {
+                if (completa == null) {
+                    completa = conn.prepareStatement(sql(filasPorSentencia));
+                }
+                ejecutar(completa);
+            } else {
+                try (PreparedStatement parcial = conn.prepareStatement(sql(pendientes))) {
+                    ejecutar(parcial);
+                }
+            }
+            conn.commit();
+            sentenciasConfirmadas++;
+            filasConfirmadas += pendientes;
+
+            long antes = total;
+            total += pendientes;
+            pendientes = 0;
+            if (total / AVISO_PROGRESO != antes / AVISO_PROGRESO) {
+                logger.info("{}: {} filas insertadas", tabla, total);
+            }
+        }
+
+        long getTotal() {
+            return total;
+        }
+
+        private void ejecutar(PreparedStatement stmt) throws SQLException {
+            int parametros = pendientes * columnas;
+            for (int i = 0; i < parametros; i++) {
+                stmt.setObject(i + 1, valores[i]);
+            }
+            stmt.executeUpdate();
+            Arrays.fill(valores, 0, parametros, null);
+        }
+
+        private String sql(int filas) {
+            StringBuilder sql = new StringBuilder(encabezado.length() + filas * (fila.length() + 2));
+            sql.append(encabezado);
+            for (int i = 0; i < filas; i++) {
+                if (i > 0) {
+                    sql.append(", ");
+                }
+                sql.append(fila);
+            }
+            return sql.toString();
+        }
+
+        @Override
+        public void close() throws SQLException {
+            if (completa != null) {
+                completa.close();
+            }
+        }
+    }
+}
@@ -3,9 +3,18 @@ package com.rintisa.util;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Iconos de la aplicación a partir de los SVG de /icons. Cada icono se dibuja
+ * una vez por tamaño y se guarda en memoria, así construir menús y barras de
+ * herramientas no vuelve a leer el disco. Los ImageIcon devueltos se comparten
+ * entre componentes y no deben modificarse.
+ */
 public class IconManager {
     private static final Logger logger = LoggerFactory.getLogger(IconManager.class);
     
@@ -19,14 +28,118 @@ public class IconManager {
         return getIcon(name, MEDIUM);
     }
 
+    // Iconos ya dibujados por nombre y tamaño; los menos usados salen primero al
+    // pasar de iconos.cacheKB. Los campos de abajo se protegen con CACHE.
+    private static final long BYTES_MAXIMOS = Long.getLong("iconos.cacheKB", 2048L) * 1024;
+    private static final Map<String, ImageIcon> CACHE = new LinkedHashMap<>(64, 0.75f, true);
+    private static long bytesEnCache;
+    private static long aciertos;
+    private static long fallos;
+    private static long expulsados;
+
     public static ImageIcon getIcon(String name, int size) {
+        String clave = name + "@" + size;
+        synchronized (CACHE) {
+            ImageIcon icono = CACHE.get(clave);
+            if (icono != null) {
+                aciertos++;
+                return icono;
+            }
+            fallos++;
+        }
+
+        ImageIcon icono;
         try {
+            // SvgConverter ya junta en una sola conversión las pedidas a la vez
             BufferedImage image = SvgConverter.convertSvgToPng(name, size, size);
-            return new ImageIcon(image);
+            icono = new ImageIcon(image);
         } catch (Exception e) {
             logger.warn("No se pudo cargar el icono: {} ({}px)", name, size);
             return createDefaultIcon(size);
         }
+        guardar(clave, icono);
+        return icono;
+    }
+
+    // Iconos de LoginView y de los menús y la barra de herramientas de MainView
+    private static final String[] ICONOS_MEDIANOS = {"logo", "user", "key", "login", "cancel"};
+    private static final String[] ICONOS_GRANDES = {"logo"};
+    private static final String[] ICONOS_PEQUENOS = {
+        "file-text", "groups", "inbox", "info", "key", "lock", "log-out", "package", "password",
+        "perfil", "permisos", "productos", "recepcion", "roles", "shield", "user", "user-check",
+        "users", "usuarios", "x"
+    };
+
+    /**
+     * Dibuja por adelantado los iconos que usan la ventana de login y la
+     * principal, para que al construirlas ya estén en memoria. Solo carga los
+     * que tienen SVG; los demás siguen usando el icono por defecto al pedirlos.
+     * @return Cantidad de iconos cargados
+     */
+    public static int precargar() {
+        int cargados = 0;
+        cargados += precargar(ICONOS_MEDIANOS, MEDIUM);
+        cargados += precargar(ICONOS_GRANDES, LARGE);
+        cargados += precargar(ICONOS_PEQUENOS, SMALL);
+        return cargados;
+    }
+
+    private static int precargar(String[] nombres, int size) {
+        int cargados = 0;
+        for (String nombre : nombres) {
+            if (IconManager.class.getResource("/icons/" + nombre + ".svg") != null) {
+                getIcon(nombre, size);
+                cargados++;
+            }
+        }
+        return cargados;
+    }
+
+    private static void guardar(String clave, ImageIcon icono) {
+        synchronized (CACHE) {
+            ImageIcon anterior = CACHE.put(clave, icono);
+            if (anterior != null) {
+                bytesEnCache -= bytes(anterior);
+            }
+            bytesEnCache += bytes(icono);
+
+            Iterator<Map.Entry<String, ImageIcon>> it = CACHE.entrySet().iterator();
+            while (bytesEnCache > BYTES_MAXIMOS && CACHE.size() > 1 && it.hasNext()) {
+                Map.Entry<String, ImageIcon> menosUsado = it.next();
+                if (menosUsado.getKey().equals(clave)) {
+                    continue;
+                }
+                bytesEnCache -= bytes(menosUsado.getValue());
+                it.remove();
+                expulsados++;
+            }
+        }
+    }
+
+    // Memoria aproximada de la imagen: ARGB, 4 bytes por pixel
+    private static long bytes(ImageIcon icono) {
+        return 4L * Math.max(0, icono.getIconWidth()) * Math.max(0, icono.getIconHeight());
+    }
+
+    /** Memoria aproximada que ocupan los iconos en caché, en bytes. */
+    public static long getBytesEnCache() {
+        synchronized (CACHE) {
+            return bytesEnCache;
+        }
+    }
+
+    public static int getIconosEnCache() {
+        synchronized (CACHE) {
+            return CACHE.size();
+        }
+    }
+
+    /** Registra el tamaño de la caché de iconos y su tasa de aciertos. */
+    public static void logEstadisticas() {
+        synchronized (CACHE) {
+            logger.info("Caché de iconos: {} iconos, {} KB de {} KB, aciertos={}, fallos={}, expulsados={}",
+                CACHE.size(), bytesEnCache / 1024, BYTES_MAXIMOS / 1024, aciertos, fallos, expulsados);
+        }
     }
 
     private static ImageIcon createDefaultIcon(int size) {
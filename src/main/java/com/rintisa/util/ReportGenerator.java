@@ -1,7 +1,5 @@
 package com.rintisa.util;
 
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import com.rintisa.model.Usuario;
 import com.rintisa.model.Rol;
 import com.rintisa.model.RegistroAcceso;
@@ -9,8 +7,11 @@ import java.awt.Desktop;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -33,54 +34,8 @@ public class ReportGenerator {
 
     public static String generarReporteUsuarios(List<Usuario> usuarios) {
         String fileName = generarNombreArchivo("Usuarios");
-        try (Workbook workbook = new XSSFWorkbook()) {
-            Sheet sheet = workbook.createSheet("Usuarios");
-            
-            // Crear estilos
-            CellStyle headerStyle = crearEstiloEncabezado(workbook);
-            CellStyle dateStyle = crearEstiloFecha(workbook);
-            
-            // Crear encabezados
-            Row headerRow = sheet.createRow(0);
-            String[] headers = {"ID", "Usuario", "Nombre", "Apellido", "Email", "Rol", "Estado", "Último Acceso"};
-            
-            for (int i = 0; i < headers.length; i++) {
-                Cell cell = headerRow.createCell(i);
-                cell.setCellValue(headers[i]);
-                cell.setCellStyle(headerStyle);
-            }
-            
-            // Llenar datos
-            int rowNum = 1;
-            for (Usuario usuario : usuarios) {
-                Row row = sheet.createRow(rowNum++);
-                
-                row.createCell(0).setCellValue(usuario.getId());
-                row.createCell(1).setCellValue(usuario.getUsername());
-                row.createCell(2).setCellValue(usuario.getNombre());
-                row.createCell(3).setCellValue(usuario.getApellido());
-                row.createCell(4).setCellValue(usuario.getEmail());
-                row.createCell(5).setCellValue(usuario.getRol().getNombre());
-                row.createCell(6).setCellValue(usuario.isActivo() ? "Activo" : "Inactivo");
-                
-                Cell lastAccessCell = row.createCell(7);
-                if (usuario.getUltimoAcceso() != null) {
-                    lastAccessCell.setCellValue(usuario.getUltimoAcceso().toString());
-                    lastAccessCell.setCellStyle(dateStyle);
-                }
-            }
-            
-            // Autoajustar columnas
-            for (int i = 0; i < headers.length; i++) {
-                sheet.autoSizeColumn(i);
-            }
-            
-            // Guardar archivo
-            String filePath = REPORTS_DIR + File.separator + fileName;
-            try (FileOutputStream fileOut = new FileOutputStream(filePath)) {
-                workbook.write(fileOut);
-            }
-            
+        try {
+            String filePath = guardar(fileName, salida -> generarReporteUsuarios(usuarios, salida, null));
             logger.info("Reporte de usuarios generado: {}", filePath);
             return filePath;
             
@@ -90,46 +45,37 @@ public class ReportGenerator {
         }
     }
 
-    public static String generarReporteRoles(List<Rol> roles) {
-        String fileName = generarNombreArchivo("Roles");
-        try (Workbook workbook = new XSSFWorkbook()) {
-            Sheet sheet = workbook.createSheet("Roles");
-            
-            // Crear estilos
-            CellStyle headerStyle = crearEstiloEncabezado(workbook);
-            
-            // Crear encabezados
-            Row headerRow = sheet.createRow(0);
-            String[] headers = {"ID", "Nombre", "Descripción", "Estado"};
-            
-            for (int i = 0; i < headers.length; i++) {
-                Cell cell = headerRow.createCell(i);
-                cell.setCellValue(headers[i]);
-                cell.setCellStyle(headerStyle);
-            }
+    /**
+     * Escribe el reporte de usuarios en la salida, sin cerrarla.
+     * @param avance Recibe el avance por fila; puede ser null
+     */
+    public static void generarReporteUsuarios(List<Usuario> usuarios, OutputStream salida,
+                                              AvanceReporte avance) throws IOException {
+        try (ReporteStreaming reporte = new ReporteStreaming("Usuarios")) {
+            iniciarAvance(reporte, avance, usuarios.size());
+            reporte.encabezados("ID", "Usuario", "Nombre", "Apellido", "Email", "Rol", "Estado", "Último Acceso");
             
             // Llenar datos
-            int rowNum = 1;
-            for (Rol rol : roles) {
-                Row row = sheet.createRow(rowNum++);
-                
-                row.createCell(0).setCellValue(rol.getId());
-                row.createCell(1).setCellValue(rol.getNombre());
-                row.createCell(2).setCellValue(rol.getDescripcion());
-                row.createCell(3).setCellValue(rol.isActivo() ? "Activo" : "Inactivo");
-            }
-            
-            // Autoajustar columnas
-            for (int i = 0; i < headers.length; i++) {
-                sheet.autoSizeColumn(i);
-            }
-            
-            // Guardar archivo
-            String filePath = REPORTS_DIR + File.separator + fileName;
-            try (FileOutputStream fileOut = new FileOutputStream(filePath)) {
-                workbook.write(fileOut);
+            for (Usuario usuario : usuarios) {
+                reporte.fila(
+                    usuario.getId(),
+                    usuario.getUsername(),
+                    usuario.getNombre(),
+                    usuario.getApellido(),
+                    usuario.getEmail(),
+                    usuario.getRol().getNombre(),
+                    usuario.isActivo() ? "Activo" : "Inactivo",
+                    usuario.getUltimoAcceso());
             }
             
+            reporte.guardar(salida);
+        }
+    }
+
+    public static String generarReporteRoles(List<Rol> roles) {
+        String fileName = generarNombreArchivo("Roles");
+        try {
+            String filePath = guardar(fileName, salida -> generarReporteRoles(roles, salida, null));
             logger.info("Reporte de roles generado: {}", filePath);
             return filePath;
             
@@ -138,67 +84,103 @@ public class ReportGenerator {
             throw new RuntimeException("Error al generar reporte: " + e.getMessage());
         }
     }
+
+    /**
+     * Escribe el reporte de roles en la salida, sin cerrarla.
+     * @param avance Recibe el avance por fila; puede ser null
+     */
+    public static void generarReporteRoles(List<Rol> roles, OutputStream salida,
+                                           AvanceReporte avance) throws IOException {
+        try (ReporteStreaming reporte = new ReporteStreaming("Roles")) {
+            iniciarAvance(reporte, avance, roles.size());
+            reporte.encabezados("ID", "Nombre", "Descripción", "Estado");
+            
+            // Llenar datos
+            for (Rol rol : roles) {
+                reporte.fila(
+                    rol.getId(),
+                    rol.getNombre(),
+                    rol.getDescripcion(),
+                    rol.isActivo() ? "Activo" : "Inactivo");
+            }
+            
+            reporte.guardar(salida);
+        }
+    }
     
     public static String generarReporteAccesos(List<RegistroAcceso> accesos) {
-    String fileName = generarNombreArchivo("Accesos");
-    try (Workbook workbook = new XSSFWorkbook()) {
-        Sheet sheet = workbook.createSheet("Accesos al Sistema");
-        
-        // Crear estilos
-        CellStyle headerStyle = crearEstiloEncabezado(workbook);
-        CellStyle dateStyle = crearEstiloFecha(workbook);
-        
-        // Crear encabezados
-        Row headerRow = sheet.createRow(0);
-        String[] headers = {
-            "Usuario", 
-            "Fecha y Hora", 
-            "Tipo de Acceso", 
-            "IP", 
-            "Detalles"
-        };
-        
-        for (int i = 0; i < headers.length; i++) {
-            Cell cell = headerRow.createCell(i);
-            cell.setCellValue(headers[i]);
-            cell.setCellStyle(headerStyle);
-        }
-        
-        // Llenar datos
-        int rowNum = 1;
-        for (RegistroAcceso acceso : accesos) {
-            Row row = sheet.createRow(rowNum++);
+        String fileName = generarNombreArchivo("Accesos");
+        try {
+            String filePath = guardar(fileName, salida -> generarReporteAccesos(accesos, salida, null));
+            logger.info("Reporte de accesos generado: {}", filePath);
+            return filePath;
             
-            row.createCell(0).setCellValue(acceso.getUsuario().getUsername());
+        } catch (Exception e) {
+            logger.error("Error al generar reporte de accesos", e);
+            throw new RuntimeException("Error al generar reporte: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Escribe el reporte de accesos en la salida, sin cerrarla.
+     * @param avance Recibe el avance por fila; puede ser null
+     */
+    public static void generarReporteAccesos(List<RegistroAcceso> accesos, OutputStream salida,
+                                             AvanceReporte avance) throws IOException {
+        try (ReporteStreaming reporte = new ReporteStreaming("Accesos al Sistema")) {
+            iniciarAvance(reporte, avance, accesos.size());
+            reporte.encabezados("Usuario", "Fecha y Hora", "Tipo de Acceso", "IP", "Detalles");
             
-            Cell fechaCell = row.createCell(1);
-            fechaCell.setCellValue(acceso.getFechaAcceso());
-            fechaCell.setCellStyle(dateStyle);
+            // Llenar datos
+            for (RegistroAcceso acceso : accesos) {
+                reporte.fila(
+                    acceso.getUsuario().getUsername(),
+                    acceso.getFechaAcceso(),
+                    acceso.getTipoAcceso().toString(),
+                    acceso.getIpAddress(),
+                    acceso.getDetalles());
+            }
             
-            row.createCell(2).setCellValue(acceso.getTipoAcceso().toString());
-            row.createCell(3).setCellValue(acceso.getIpAddress());
-            row.createCell(4).setCellValue(acceso.getDetalles());
+            reporte.guardar(salida);
         }
-        
-        // Autoajustar columnas
-        for (int i = 0; i < headers.length; i++) {
-            sheet.autoSizeColumn(i);
+    }
+
+    /**
+     * Ruta nueva dentro del directorio de reportes para un reporte del tipo dado,
+     * con el mismo formato de nombre que los reportes generados aquí.
+     */
+    public static Path nuevaRutaReporte(String tipo) {
+        return Paths.get(REPORTS_DIR, generarNombreArchivo(tipo));
+    }
+
+    /**
+     * Ruta fija dentro del directorio de reportes, sin fecha en el nombre; la usa
+     * la cache de reportes, que pone en el sufijo la huella del contenido.
+     */
+    public static Path rutaReporte(String sufijo) {
+        return Paths.get(REPORTS_DIR, String.format("Reporte_%s.xlsx", sufijo));
+    }
+
+    private static void iniciarAvance(ReporteStreaming reporte, AvanceReporte avance, long total) {
+        if (avance != null) {
+            avance.setTotal(total);
+            reporte.setAvance(avance);
         }
-        
-        // Guardar archivo
+    }
+
+    @FunctionalInterface
+    private interface Escritura {
+        void escribir(OutputStream salida) throws IOException;
+    }
+
+    // Escribe el reporte en el directorio de reportes y devuelve la ruta
+    private static String guardar(String fileName, Escritura escritura) throws IOException {
         String filePath = REPORTS_DIR + File.separator + fileName;
-        try (FileOutputStream fileOut = new FileOutputStream(filePath)) {
-            workbook.write(fileOut);
+        try (OutputStream fileOut = new BufferedOutputStream(new FileOutputStream(filePath))) {
+            escritura.escribir(fileOut);
         }
-        
-        logger.info("Reporte de accesos generado: {}", filePath);
         return filePath;
-        
-    } catch (Exception e) {
-        logger.error("Error al generar reporte de accesos", e);
-        throw new RuntimeException("Error al generar reporte: " + e.getMessage());
     }
-}
 
     private static String generarNombreArchivo(String tipo) {
         String timestamp = LocalDateTime.now().format(
@@ -206,24 +188,6 @@ public class ReportGenerator {
         return String.format("Reporte_%s_%s.xlsx", tipo, timestamp);
     }
 
-    private static CellStyle crearEstiloEncabezado(Workbook workbook) {
-        CellStyle style = workbook.createCellStyle();
-        Font font = workbook.createFont();
-        font.setBold(true);
-        style.setFont(font);
-        style.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
-        style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-        style.setBorderBottom(BorderStyle.THIN);
-        return style;
-    }
-
-    private static CellStyle crearEstiloFecha(Workbook workbook) {
-        CellStyle style = workbook.createCellStyle();
-        CreationHelper createHelper = workbook.getCreationHelper();
-        style.setDataFormat(createHelper.createDataFormat().getFormat("dd/mm/yyyy hh:mm:ss"));
-        return style;
-    }
-    
     public static String getRutaReportes() {
         try {
             Path path = Paths.get(REPORTS_DIR).toAbsolutePath();
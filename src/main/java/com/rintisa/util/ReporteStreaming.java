@@ -0,0 +1,226 @@
+package com.rintisa.util;
+
+import org.apache.poi.ss.usermodel.BorderStyle;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.HorizontalAlignment;
+import org.apache.poi.ss.usermodel.IndexedColors;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * Escritor de hojas Excel por streaming sobre SXSSFWorkbook.
+ *
+ * Solo las últimas {@link #VENTANA_FILAS} filas quedan en memoria; las anteriores
+ * se vuelcan a un archivo temporal comprimido, así que el heap no depende del
+ * número de filas. Como las filas volcadas ya no se pueden medir, el ancho de
+ * cada columna se calcula con los encabezados y las primeras
+ * {@link #FILAS_MUESTRA} filas de datos, en lugar de autoSizeColumn.
+ *
+ * Los valores de {@link #fila(Object...)} se escriben según su tipo: texto,
+ * enteros, decimales con formato numérico, fechas con formato de fecha y null
+ * como celda vacía. Uso típico: título, encabezados, filas, guardar y close.
+ */
+public class ReporteStreaming implements AutoCloseable {
+
+    /** Filas que se mantienen en memoria antes de volcarlas a disco. */
+    public static final int VENTANA_FILAS = 200;
+
+    /** Filas de datos que se miden para calcular el ancho de las columnas. */
+    public static final int FILAS_MUESTRA = 500;
+
+    private static final int ANCHO_MINIMO = 8;
+    private static final int ANCHO_MAXIMO = 60;
+    private static final int ANCHO_FECHA = 19;
+    private static final int ANCHO_NUMERO = 14;
+
+    private final SXSSFWorkbook workbook;
+    private final SXSSFSheet sheet;
+
+    private final CellStyle estiloEncabezado;
+    private final CellStyle estiloTitulo;
+    private final CellStyle estiloFecha;
+    private final CellStyle estiloNumero;
+
+    // Ancho máximo observado por columna, en caracteres
+    private int[] anchos = new int[0];
+    private int filaActual = 0;
+    private long filasDatos = 0;
+    private AvanceReporte avance;
+
+    public ReporteStreaming(String nombreHoja) {
+        workbook = new SXSSFWorkbook(VENTANA_FILAS);
+        workbook.setCompressTempFiles(true);
+        sheet = workbook.createSheet(nombreHoja);
+
+        estiloEncabezado = workbook.createCellStyle();
+        Font negrita = workbook.createFont();
+        negrita.setBold(true);
+        estiloEncabezado.setFont(negrita);
+        estiloEncabezado.setFillForegroundColor(IndexedColors.GREY_25_PERCENT.getIndex());
+        estiloEncabezado.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+        estiloEncabezado.setBorderBottom(BorderStyle.THIN);
+
+        estiloTitulo = workbook.createCellStyle();
+        Font grande = workbook.createFont();
+        grande.setBold(true);
+        grande.setFontHeightInPoints((short) 14);
+        estiloTitulo.setFont(grande);
+        estiloTitulo.setAlignment(HorizontalAlignment.CENTER);
+
+        estiloFecha = workbook.createCellStyle();
+        estiloFecha.setDataFormat(workbook.createDataFormat().getFormat("dd/mm/yyyy hh:mm:ss"));
+
+        estiloNumero = workbook.createCellStyle();
+        estiloNumero.setDataFormat(workbook.createDataFormat().getFormat("#,##0.00"));
+    }
+
+    /** Registra quién recibe el avance de cada fila de datos; puede ser null. */
+    public void setAvance(AvanceReporte avance) {
+        this.avance = avance;
+    }
+
+    /**
+     * Escribe una fila de título combinada sobre las columnas indicadas.
+     * No cuenta para el ancho de las columnas.
+     */
+    public void titulo(String texto, int columnas) {
+        combinada(texto, columnas, estiloTitulo);
+    }
+
+    /**
+     * Escribe una fila de texto en estilo de encabezado combinada sobre las
+     * columnas indicadas, por ejemplo el período del reporte.
+     */
+    public void subtitulo(String texto, int columnas) {
+        combinada(texto, columnas, estiloEncabezado);
+    }
+
+    public void encabezados(String... titulos) {
+        Row row = sheet.createRow(filaActual++);
+        for (int i = 0; i < titulos.length; i++) {
+            Cell cell = row.createCell(i);
+            cell.setCellValue(titulos[i]);
+            cell.setCellStyle(estiloEncabezado);
+            medir(i, titulos[i].length());
+        }
+    }
+
+    /** Escribe una fila de datos. */
+    public void fila(Object... valores) {
+        escribir(valores, null);
+        filasDatos++;
+        if (avance != null) {
+            avance.filaEscrita();
+        }
+    }
+
+    /** Escribe una fila de totales: los textos van en estilo de encabezado. */
+    public void filaTotales(Object... valores) {
+        escribir(valores, estiloEncabezado);
+    }
+
+    public void filaVacia() {
+        filaActual++;
+    }
+
+    /** Número de filas de datos escritas hasta ahora. */
+    public long getFilasEscritas() {
+        return filasDatos;
+    }
+
+    /**
+     * Fija el ancho de las columnas y escribe el libro completo en la salida.
+     * La salida no se cierra.
+     */
+    public void guardar(OutputStream salida) throws IOException {
+        for (int i = 0; i < anchos.length; i++) {
+            int ancho = Math.min(ANCHO_MAXIMO, Math.max(ANCHO_MINIMO, anchos[i] + 2));
+            sheet.setColumnWidth(i, ancho * 256);
+        }
+        workbook.write(salida);
+    }
+
+    /** Borra los archivos temporales del libro. */
+    @Override
+    public void close() throws IOException {
+        try {
+            workbook.dispose();
+        } finally {
+            workbook.close();
+        }
+    }
+
+    private void combinada(String texto, int columnas, CellStyle estilo) {
+        int numero = filaActual++;
+        Cell cell = sheet.createRow(numero).createCell(0);
+        cell.setCellValue(texto);
+        cell.setCellStyle(estilo);
+        if (columnas > 1) {
+            sheet.addMergedRegion(new CellRangeAddress(numero, numero, 0, columnas - 1));
+        }
+    }
+
+    private void escribir(Object[] valores, CellStyle estiloTexto) {
+        Row row = sheet.createRow(filaActual++);
+        boolean muestra = filasDatos < FILAS_MUESTRA;
+
+        for (int i = 0; i < valores.length; i++) {
+            Object valor = valores[i];
+            if (valor == null) {
+                continue;
+            }
+            Cell cell = row.createCell(i);
+            int largo;
+
+            if (valor instanceof Double || valor instanceof Float || valor instanceof BigDecimal) {
+                cell.setCellValue(((Number) valor).doubleValue());
+                cell.setCellStyle(estiloNumero);
+                largo = ANCHO_NUMERO;
+            } else if (valor instanceof Number) {
+                cell.setCellValue(((Number) valor).doubleValue());
+                largo = valor.toString().length();
+            } else if (valor instanceof LocalDateTime) {
+                cell.setCellValue((LocalDateTime) valor);
+                cell.setCellStyle(estiloFecha);
+                largo = ANCHO_FECHA;
+            } else if (valor instanceof LocalDate) {
+                cell.setCellValue((LocalDate) valor);
+                cell.setCellStyle(estiloFecha);
+                largo = ANCHO_FECHA;
+            } else if (valor instanceof Boolean) {
+                cell.setCellValue((Boolean) valor);
+                largo = 5;
+            } else {
+                String texto = valor.toString();
+                cell.setCellValue(texto);
+                if (estiloTexto != null) {
+                    cell.setCellStyle(estiloTexto);
+                }
+                largo = texto.length();
+            }
+
+            if (muestra) {
+                medir(i, largo);
+            }
+        }
+    }
+
+    private void medir(int columna, int largo) {
+        if (columna >= anchos.length) {
+            anchos = Arrays.copyOf(anchos, columna + 1);
+        }
+        anchos[columna] = Math.max(anchos[columna], largo);
+    }
+}
@@ -1,6 +1,7 @@
 package com.rintisa.util;
 
 
+import org.apache.batik.transcoder.TranscoderException;
 import org.apache.batik.transcoder.TranscoderInput;
 import org.apache.batik.transcoder.TranscoderOutput;
 import org.apache.batik.transcoder.image.PNGTranscoder;
@@ -11,6 +12,9 @@ import java.io.*;
 import java.nio.file.*;
 import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class SvgConverter {
     private static final Logger logger = LoggerFactory.getLogger(SvgConverter.class);
@@ -24,12 +28,51 @@ public class SvgConverter {
         }
     }
 
+    // Conversiones en curso por archivo de caché; quien llega después espera la misma
+    private static final ConcurrentMap<Path, CompletableFuture<BufferedImage>> EN_CURSO =
+        new ConcurrentHashMap<>();
+
+    /**
+     * Imagen del SVG al tamaño pedido. Primero la busca en el atlas que se genera
+     * al compilar; si no está, usa la caché en disco y, si tampoco, transcodifica
+     * y la guarda. Varias llamadas simultáneas para el mismo icono y tamaño
+     * comparten una sola conversión.
+     */
     public static BufferedImage convertSvgToPng(String svgName, int width, int height) {
+        BufferedImage deAtlas = AtlasIconos.buscar(svgName, width, height);
+        if (deAtlas != null) {
+            return deAtlas;
+        }
+
+        Path pngPath = CACHE_DIR.resolve(svgName + "_" + width + "x" + height + ".png");
+
+        CompletableFuture<BufferedImage> propia = new CompletableFuture<>();
+        CompletableFuture<BufferedImage> existente = EN_CURSO.putIfAbsent(pngPath, propia);
+        if (existente != null) {
+            logger.debug("Esperando conversión en curso de {}", pngPath.getFileName());
+            return existente.join();
+        }
+
+        BufferedImage image = null;
+        try {
+            image = cargar(svgName, width, height, pngPath);
+            return image;
+        } finally {
+            // Los que esperan nunca quedan bloqueados, aunque la conversión falle
+            propia.complete(image != null ? image : createFallbackImage(width, height));
+            EN_CURSO.remove(pngPath, propia);
+        }
+    }
+
+    private static BufferedImage cargar(String svgName, int width, int height, Path pngPath) {
         try {
             // Verificar caché
-            Path pngPath = CACHE_DIR.resolve(svgName + "_" + width + "x" + height + ".png");
             if (Files.exists(pngPath)) {
-                return ImageIO.read(pngPath.toFile());
+                BufferedImage cached = ImageIO.read(pngPath.toFile());
+                if (cached != null) {
+                    return cached;
+                }
+                logger.warn("Imagen en caché ilegible, se vuelve a convertir: {}", pngPath);
             }
 
             // Cargar SVG
@@ -39,23 +82,19 @@ public class SvgConverter {
                     throw new IOException("No se encontró el recurso: " + svgPath);
                 }
 
-                // Configurar el transcodificador
-                PNGTranscoder transcoder = new PNGTranscoder();
-                transcoder.addTranscodingHint(PNGTranscoder.KEY_WIDTH, (float)width);
-                transcoder.addTranscodingHint(PNGTranscoder.KEY_HEIGHT, (float)height);
-
                 // Convertir SVG a PNG
-                TranscoderInput input = new TranscoderInput(svgStream);
-                ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-                TranscoderOutput output = new TranscoderOutput(outputStream);
-                transcoder.transcode(input, output);
-
-                // Crear imagen desde bytes
-                byte[] imageData = outputStream.toByteArray();
+                byte[] imageData = Transcodificador.aPng(svgStream, width, height);
                 BufferedImage image = ImageIO.read(new ByteArrayInputStream(imageData));
 
-                // Guardar en caché
-                ImageIO.write(image, "PNG", pngPath.toFile());
+                // Guardar en caché: se escribe aparte y se mueve, así otra instancia
+                // de la aplicación nunca lee un PNG a medias
+                Path temporal = Files.createTempFile(CACHE_DIR, svgName, ".tmp");
+                try {
+                    Files.write(temporal, imageData);
+                    Files.move(temporal, pngPath, StandardCopyOption.REPLACE_EXISTING);
+                } finally {
+                    Files.deleteIfExists(temporal);
+                }
 
                 return image;
             }
@@ -65,6 +104,25 @@ public class SvgConverter {
         }
     }
 
+    /**
+     * Conversión con Batik. Está aparte para que sus clases solo se carguen si un
+     * icono no está en el atlas ni en la caché en disco.
+     */
+    static final class Transcodificador {
+        private Transcodificador() {
+        }
+
+        static byte[] aPng(InputStream svg, int width, int height) throws TranscoderException {
+            PNGTranscoder transcoder = new PNGTranscoder();
+            transcoder.addTranscodingHint(PNGTranscoder.KEY_WIDTH, (float)width);
+            transcoder.addTranscodingHint(PNGTranscoder.KEY_HEIGHT, (float)height);
+
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            transcoder.transcode(new TranscoderInput(svg), new TranscoderOutput(outputStream));
+            return outputStream.toByteArray();
+        }
+    }
+
     private static BufferedImage createFallbackImage(int width, int height) {
         BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
         image.createGraphics().dispose();
@@ -7,9 +7,11 @@ import com.rintisa.controller.PermisoPantallaController;
 import com.rintisa.controller.UsuarioController;
 import com.rintisa.dao.impl.PermisosPantallaDao;
 import com.rintisa.dao.impl.ProductoDao;
+import com.rintisa.dao.impl.ProductoDaoCache;
 import com.rintisa.dao.impl.RecepcionMercanciaDao;
 import com.rintisa.dao.impl.RolDao;
 import com.rintisa.dao.impl.UsuarioDao;
+import com.rintisa.dao.interfaces.IProductoDao;
 import com.rintisa.exception.DatabaseException;
 import com.rintisa.model.Usuario;
 import com.rintisa.service.impl.PermisosPantallaService;
@@ -83,6 +85,31 @@ public class LoginView extends JFrame {
         initComponents();
         configurarEventos();
         configurarVentana();
+        esperarConexion();
+    }
+
+    /**
+     * Mientras el pool de conexiones se inicia en segundo plano muestra que se
+     * está conectando y deja Ingresar deshabilitado. Si no se pudo conectar lo
+     * indica; al pulsar Ingresar se vuelve a intentar.
+     */
+    private void esperarConexion() {
+        if (DatabaseConfig.isListo()) {
+            return;
+        }
+        btnIngresar.setEnabled(false);
+        lblMensaje.setText("Conectando a la base de datos...");
+        lblMensaje.setForeground(Color.BLUE);
+
+        DatabaseConfig.getListo().whenComplete((r, error) -> SwingUtilities.invokeLater(() -> {
+            btnIngresar.setEnabled(true);
+            if (error == null) {
+                lblMensaje.setText(" ");
+            } else {
+                lblMensaje.setText("Sin conexión a la base de datos. Pulse Ingresar para reintentar.");
+                lblMensaje.setForeground(Color.RED);
+            }
+        }));
     }
 
     private void initComponents() {
@@ -221,6 +248,12 @@ public class LoginView extends JFrame {
             return;
         }
 
+        if (!DatabaseConfig.isListo()) {
+            DatabaseConfig.iniciarPool();
+            esperarConexion();
+            return;
+        }
+
         setControlsEnabled(false);
         lblMensaje.setText("Autenticando...");
         lblMensaje.setForeground(Color.BLUE);
@@ -356,7 +389,7 @@ public class LoginView extends JFrame {
             );
             
             // Inicializar DAOs
-            ProductoDao productoDao = new ProductoDao();
+            IProductoDao productoDao = new ProductoDaoCache(new ProductoDao());
             RecepcionMercanciaDao recepcionDao = new RecepcionMercanciaDao();
             
             // Inicializar Servicios
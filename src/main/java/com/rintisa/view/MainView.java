@@ -25,14 +25,20 @@ import com.rintisa.controller.UsuarioController;
 import com.rintisa.controller.RolController;
 import com.rintisa.dao.impl.ProductoDao;
 import com.rintisa.dao.impl.ProveedorDao;
+import com.rintisa.dao.impl.ProveedorDaoCache;
+import com.rintisa.dao.impl.VersionDatosDao;
 import com.rintisa.dao.impl.RecepcionMercanciaDao;
+import com.rintisa.dao.interfaces.IProveedorDao;
 import com.rintisa.exception.DatabaseException;
 import com.rintisa.model.Usuario;
 import com.rintisa.model.Rol;
 import com.rintisa.service.impl.ProductoService;
 import com.rintisa.service.impl.ProveedorService;
 import com.rintisa.service.impl.RecepcionMercanciaService;
+import com.rintisa.service.impl.CacheReportes;
+import com.rintisa.service.impl.ColaReportes;
 import com.rintisa.service.impl.RecepcionReporteService;
+import com.rintisa.service.impl.TrabajoReporte;
 import com.rintisa.controller.ProductoController;
 import com.rintisa.exception.ValidationException;
 import com.rintisa.model.Pantalla;
@@ -155,6 +161,7 @@ public class MainView extends JFrame {
             
             logger.info("MainView inicializado correctamente para usuario: {}", 
                 usuarioActual.getUsername());
+            IconManager.logEstadisticas();
                 
         } catch (Exception e) {
             logger.error("Error al inicializar MainView", e);
@@ -556,43 +563,37 @@ public class MainView extends JFrame {
         }*/
     }
 
-    // Métodos para reportes
+    // Métodos para reportes: se generan en la cola de reportes, fuera del hilo de eventos
     private void generarReporteUsuarios() {
-         try {
-            java.util.List<Usuario> usuarios = usuarioService.listarTodos();
-            String rutaReporte = ReportGenerator.generarReporteUsuarios(usuarios);
-            ReportDialog.mostrarDialogoReporteGenerado(this, rutaReporte);
-        } catch (Exception e) {
-            logger.error("Error al generar reporte de usuarios", e);
-            JOptionPane.showMessageDialog(this,
-                "Error al generar reporte: " + e.getMessage(),
-                "Error",
-                JOptionPane.ERROR_MESSAGE);
-        }
+        encolarReporte("Usuarios",
+            new CacheReportes.Clave("Usuarios", VersionDatosDao.USUARIOS, VersionDatosDao.ROLES),
+            (salida, avance) ->
+            ReportGenerator.generarReporteUsuarios(usuarioService.listarTodos(), salida, avance));
     }
     
     private void generarReporteRoles() {
-          try {
-            java.util.List<Rol> roles = rolService.listarTodos();
-            String rutaReporte = ReportGenerator.generarReporteRoles(roles);
-            ReportDialog.mostrarDialogoReporteGenerado(this, rutaReporte);
-        } catch (Exception e) {
-            logger.error("Error al generar reporte de roles", e);
-            JOptionPane.showMessageDialog(this,
-                "Error al generar reporte: " + e.getMessage(),
-                "Error",
-                JOptionPane.ERROR_MESSAGE);
-        }
+        encolarReporte("Roles", new CacheReportes.Clave("Roles", VersionDatosDao.ROLES),
+            (salida, avance) ->
+            ReportGenerator.generarReporteRoles(rolService.listarTodos(), salida, avance));
     }
     
     private void generarReporteAccesos() {
+        // El registro de accesos no lleva versión, siempre se genera de nuevo
+        encolarReporte("Accesos", null, (salida, avance) ->
+            ReportGenerator.generarReporteAccesos(
+                userController.getUsuarioService().obtenerRegistroAccesos(), salida, avance));
+    }
+    
+    private void encolarReporte(String tipo, CacheReportes.Clave clave, ColaReportes.Generador generador) {
         try {
-            String rutaReporte = ReportGenerator.generarReporteAccesos(
-                userController.getUsuarioService().obtenerRegistroAccesos()
-            );
-            ReportDialog.mostrarDialogoReporteGenerado(this, rutaReporte);
+            ProgresoReporteDialog progreso = new ProgresoReporteDialog(this, "Generando Reporte de " + tipo);
+            ColaReportes cola = ColaReportes.getInstancia();
+            TrabajoReporte trabajo = clave != null
+                ? cola.enviar(usuarioActual.getUsername(), clave, generador, progreso::terminado)
+                : cola.enviar(usuarioActual.getUsername(), tipo, generador, progreso::terminado);
+            progreso.seguir(trabajo);
         } catch (Exception e) {
-            logger.error("Error al generar reporte de accesos", e);
+            logger.error("Error al generar reporte de {}", tipo, e);
             JOptionPane.showMessageDialog(this,
                 "Error al generar reporte: " + e.getMessage(),
                 "Error",
@@ -701,7 +702,7 @@ public class MainView extends JFrame {
             
         case RECEPCION:
             // Inicializar DAOs necesarios
-            ProveedorDao proveedorDao = new ProveedorDao();
+            IProveedorDao proveedorDao = new ProveedorDaoCache(new ProveedorDao());
             
             // Inicializar Servicios adicionales
             IProveedorService proveedorService = new ProveedorService(proveedorDao);
@@ -0,0 +1,295 @@
+package com.rintisa.view;
+
+import com.rintisa.model.CursorRecepcion;
+import com.rintisa.model.PaginaRecepciones;
+import com.rintisa.model.RecepcionMercancia;
+import com.rintisa.model.enums.EstadoRecepcion;
+import com.rintisa.view.base.IndicadorCarga;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Modelo de la tabla de recepciones que trae las filas por páginas a medida
+ * que la tabla las muestra, en lugar de cargar todo el historial.
+ *
+ * Las páginas se piden por clave (ver {@link CursorRecepcion}) en un hilo
+ * aparte y se guarda el cursor de inicio de cada una, así una página que salió
+ * de memoria se vuelve a pedir directamente. Solo se conservan
+ * PAGINAS_EN_MEMORIA páginas; al pasar la mitad de una página se pide la
+ * siguiente. La cantidad de filas crece a medida que se descubren páginas,
+ * por lo que abrir la pantalla cuesta una sola consulta.
+ *
+ * Todo el estado se usa solo en el hilo de eventos de Swing.
+ */
+class ModeloRecepcionesPaginado extends AbstractTableModel {
+    private static final Logger logger = LoggerFactory.getLogger(ModeloRecepcionesPaginado.class);
+
+    static final int TAMANIO_PAGINA = 100;
+    private static final int PAGINAS_EN_MEMORIA = 10;
+
+    // Compartido por todas las pantallas abiertas; las consultas de una tabla van en orden
+    private static final ExecutorService CARGADOR = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "recepciones-paginas");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /** Consulta que entrega una página de recepciones a partir de un cursor. */
+    @FunctionalInterface
+    interface FuentePaginas {
+        PaginaRecepciones cargar(CursorRecepcion despuesDe, int tamanio) throws Exception;
+    }
+
+    private final String[] columnNames = {
+        "ID", "Número", "Fecha", "Proveedor", "Orden Compra", "Estado"
+    };
+
+    private final Class<?>[] columnTypes = {
+        Long.class, String.class, LocalDateTime.class,
+        String.class, String.class, EstadoRecepcion.class
+    };
+
+    private final Consumer<Exception> alFallar;
+    private IndicadorCarga indicador;
+    // La tabla está vacía esperando la primera página de la consulta actual
+    private boolean esperandoPrimera;
+    private FuentePaginas fuente;
+    private Runnable alCargarPrimera;
+
+    // Cambia con cada recarga; descarta las páginas pedidas con la fuente anterior.
+    // Solo se escribe en el hilo de eventos; el cargador la lee para saltar consultas viejas
+    private volatile int generacion;
+    // inicios.get(k) es el cursor tras el cual empieza la página k (null para la primera)
+    private final List<CursorRecepcion> inicios = new ArrayList<>();
+    private final Set<Integer> enCarga = new HashSet<>();
+    private int paginasContadas;
+    private int filas;
+    private int paginaFijada = -1;
+
+    // Tras un error no se piden más páginas hasta recargar, para no repetir el aviso
+    private boolean detenido;
+
+    // En orden de uso: las primeras son las que salen de memoria
+    private final Map<Integer, List<RecepcionMercancia>> paginas = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * @param alFallar Se llama en el hilo de eventos si falla la consulta de una página
+     */
+    ModeloRecepcionesPaginado(Consumer<Exception> alFallar) {
+        this.alFallar = alFallar;
+    }
+
+    /**
+     * Indicador a mostrar mientras se espera la primera página de cada consulta.
+     * Las páginas siguientes se cargan sin él, para no bloquear el desplazamiento.
+     */
+    void setIndicador(IndicadorCarga indicador) {
+        this.indicador = indicador;
+    }
+
+    /**
+     * Cambia la consulta y vuelve a cargar desde la primera página.
+     * @param alCargarPrimera Se llama cuando llega la primera página; puede ser null
+     */
+    void setFuente(FuentePaginas fuente, Runnable alCargarPrimera) {
+        this.fuente = fuente;
+        this.alCargarPrimera = alCargarPrimera;
+        recargar();
+    }
+
+    /** Descarta las filas en memoria y vuelve a pedir la primera página. */
+    void recargar() {
+        generacion++;
+        inicios.clear();
+        inicios.add(null);
+        paginas.clear();
+        enCarga.clear();
+        detenido = false;
+        paginasContadas = 0;
+        filas = 0;
+        fireTableDataChanged();
+        if (!esperandoPrimera && indicador != null) {
+            esperandoPrimera = true;
+            indicador.iniciar();
+        }
+        solicitar(0);
+    }
+
+    /**
+     * Evita que la página de la fila salga de memoria, para que la fila
+     * seleccionada siga disponible aunque se desplace lejos. -1 para liberar.
+     */
+    void fijarFila(int row) {
+        paginaFijada = row >= 0 ? row / TAMANIO_PAGINA : -1;
+    }
+
+    @Override
+    public int getRowCount() {
+        return filas;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columnNames[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int columnIndex) {
+        return columnTypes[columnIndex];
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        RecepcionMercancia recepcion = getRecepcionAt(row);
+        if (recepcion == null) {
+            return null;
+        }
+        switch (column) {
+            case 0: return recepcion.getId();
+            case 1: return recepcion.getNumeroRecepcion();
+            case 2: return recepcion.getFecha();
+            case 3: return String.valueOf(recepcion.getProveedor());
+            case 4: return recepcion.getNumeroOrdenCompra();
+            case 5: return recepcion.getEstado();
+            default: return null;
+        }
+    }
+
+    /**
+     * Recepción de la fila, o null si su página todavía no llegó; en ese caso
+     * se pide y la fila se actualiza al llegar.
+     */
+    public RecepcionMercancia getRecepcionAt(int row) {
+        if (row < 0 || row >= filas) {
+            return null;
+        }
+        int pagina = row / TAMANIO_PAGINA;
+        int posicion = row % TAMANIO_PAGINA;
+
+        if (posicion >= TAMANIO_PAGINA / 2 && !paginas.containsKey(pagina + 1)) {
+            solicitar(pagina + 1);
+        }
+        List<RecepcionMercancia> datos = paginas.get(pagina);
+        if (datos == null) {
+            solicitar(pagina);
+            return null;
+        }
+        return posicion < datos.size() ? datos.get(posicion) : null;
+    }
+
+    public void updateRecepcion(int row, RecepcionMercancia recepcion) {
+        List<RecepcionMercancia> datos = paginas.get(row / TAMANIO_PAGINA);
+        int posicion = row % TAMANIO_PAGINA;
+        if (datos != null && posicion < datos.size() && recepcion != null) {
+            datos.set(posicion, recepcion);
+            fireTableRowsUpdated(row, row);
+        }
+    }
+
+    private void solicitar(int pagina) {
+        if (fuente == null || detenido || pagina >= inicios.size()
+                || paginas.containsKey(pagina) || !enCarga.add(pagina)) {
+            return;
+        }
+        FuentePaginas consulta = fuente;
+        CursorRecepcion despuesDe = inicios.get(pagina);
+        int pedidaEn = generacion;
+
+        CARGADOR.execute(() -> {
+            if (pedidaEn != generacion) {
+                // Los filtros cambiaron mientras esperaba en la cola
+                return;
+            }
+            try {
+                PaginaRecepciones resultado = consulta.cargar(despuesDe, TAMANIO_PAGINA);
+                SwingUtilities.invokeLater(() -> recibir(pedidaEn, pagina, resultado));
+            } catch (Exception e) {
+                SwingUtilities.invokeLater(() -> fallo(pedidaEn, pagina, e));
+            }
+        });
+    }
+
+    private void recibir(int pedidaEn, int pagina, PaginaRecepciones resultado) {
+        if (pedidaEn != generacion) {
+            return;
+        }
+        enCarga.remove(pagina);
+        guardar(pagina, new ArrayList<>(resultado.getRecepciones()));
+
+        if (pagina == paginasContadas) {
+            // Primera vez que llega esta página: agrega sus filas y el inicio de la siguiente
+            paginasContadas++;
+            if (resultado.hayMas()) {
+                inicios.add(resultado.getSiguiente());
+            }
+            int desde = filas;
+            filas += resultado.size();
+            if (filas > desde) {
+                fireTableRowsInserted(desde, filas - 1);
+            }
+        } else {
+            int desde = pagina * TAMANIO_PAGINA;
+            int hasta = Math.min(filas, desde + TAMANIO_PAGINA) - 1;
+            if (hasta >= desde) {
+                fireTableRowsUpdated(desde, hasta);
+            }
+        }
+
+        if (pagina == 0) {
+            primeraRecibida();
+        }
+        if (pagina == 0 && alCargarPrimera != null) {
+            Runnable aviso = alCargarPrimera;
+            alCargarPrimera = null;
+            aviso.run();
+        }
+    }
+
+    private void guardar(int pagina, List<RecepcionMercancia> datos) {
+        paginas.put(pagina, datos);
+        Iterator<Integer> menosUsadas = paginas.keySet().iterator();
+        while (paginas.size() > PAGINAS_EN_MEMORIA && menosUsadas.hasNext()) {
+            if (menosUsadas.next() != paginaFijada) {
+                menosUsadas.remove();
+            }
+        }
+    }
+
+    private void primeraRecibida() {
+        if (esperandoPrimera) {
+            esperandoPrimera = false;
+            indicador.terminar();
+        }
+    }
+
+    private void fallo(int pedidaEn, int pagina, Exception e) {
+        if (pedidaEn != generacion) {
+            return;
+        }
+        enCarga.remove(pagina);
+        primeraRecibida();
+        detenido = true;
+        // El detalle del error lo registra alFallar
+        logger.warn("Falló la carga de la página {} de recepciones", pagina);
+        alFallar.accept(e);
+    }
+}
@@ -9,6 +9,8 @@ import com.rintisa.exception.DatabaseException;
 import com.rintisa.security.PermisosPantallaManager;
 import com.rintisa.service.interfaces.IPermisosPantallaService;
 import com.rintisa.util.ModernUIUtils;
+import com.rintisa.view.base.CargaEnSegundoPlano;
+import com.rintisa.view.base.IndicadorCarga;
 import com.rintisa.view.base.VistaBase;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,6 +35,9 @@ public class PermisosPantallaView extends JPanel {
     private JComboBox<RolComboItem> cmbRoles;
     private JButton btnGuardar;
     private JButton btnAgregarPantalla;
+    private IndicadorCarga indicadorCarga;
+    private CargaEnSegundoPlano cargaRoles;
+    private CargaEnSegundoPlano cargaPermisos;
     
     public PermisosPantallaView(PermisoPantallaController controller,
                                IPermisosPantallaService permisosService,
@@ -70,6 +75,11 @@ public class PermisosPantallaView extends JPanel {
         
         tablaPermisos = new JTable(modeloTabla);
         ModernUIUtils.setupModernTable(tablaPermisos);
+
+        // Las dos cargas comparten el indicador de la tabla
+        indicadorCarga = new IndicadorCarga();
+        cargaRoles = new CargaEnSegundoPlano(this, "los roles", indicadorCarga);
+        cargaPermisos = new CargaEnSegundoPlano(this, "los permisos", indicadorCarga);
         
         // Configurar anchos de columnas
         tablaPermisos.getColumnModel().getColumn(0).setPreferredWidth(100);
@@ -102,7 +112,7 @@ public class PermisosPantallaView extends JPanel {
         
         // Agregar componentes al panel principal
         add(topPanel, BorderLayout.NORTH);
-        add(new JScrollPane(tablaPermisos), BorderLayout.CENTER);
+        add(indicadorCarga.envolver(new JScrollPane(tablaPermisos)), BorderLayout.CENTER);
     }
     
     private void setupEvents() {
@@ -111,12 +121,7 @@ public class PermisosPantallaView extends JPanel {
         cmbRoles.addActionListener(e -> {
             if (cmbRoles.getSelectedItem() != null) {
                 RolComboItem selectedRol = (RolComboItem) cmbRoles.getSelectedItem();
-                try {
-                    cargarPermisosPorRol(selectedRol.getRol().getNombre());
-                } catch (DatabaseException ex) {
-                    logger.error("Error al cargar permisos", ex);
-                    mostrarError("Error al cargar permisos: " + ex.getMessage());
-                }
+                cargarPermisosPorRol(selectedRol.getRol().getNombre());
             }
         });
 
@@ -284,35 +289,41 @@ public class PermisosPantallaView extends JPanel {
     
 
     private void loadData() {
-        try {
-            // Cargar roles en el combo
-            cargarRoles();
-            
+        // Cargar roles en el combo
+        cargaRoles.cargar(controller::getRoles, roles -> {
+            cargarRoles(roles);
+
             // Seleccionar primer rol si existe
             if (cmbRoles.getItemCount() > 0) {
                 cmbRoles.setSelectedIndex(0);
             }
-        } catch (Exception e) {
-            logger.error("Error al cargar datos", e);
-            mostrarError("Error al cargar datos: " + e.getMessage());
-        }
+        });
     }
 
-    private void cargarRoles() throws DatabaseException {
+    private void cargarRoles(List<Rol> roles) {
         cmbRoles.removeAllItems();
-        List<Rol> roles = controller.getRoles();
         for (Rol rol : roles) {
             cmbRoles.addItem(new RolComboItem(rol));
         }
     }
 
-    private void cargarPermisosPorRol(String rolNombre) throws DatabaseException {
-        List<PermisosPantalla> permisos = controller.obtenerPermisosPorRol(rolNombre);
-        actualizarTablaPermisos(permisos);
+    private void cargarPermisosPorRol(String rolNombre) {
+        // Cambiar de rol antes de que lleguen los permisos cancela la consulta anterior
+        cargaPermisos.cargarPorBloques(() -> controller.obtenerPermisosPorRol(rolNombre),
+            new CargaEnSegundoPlano.Receptor<PermisosPantalla>() {
+                @Override
+                public void limpiar() {
+                    modeloTabla.setRowCount(0);
+                }
+
+                @Override
+                public void agregar(List<PermisosPantalla> bloque) {
+                    agregarPermisos(bloque);
+                }
+            });
     }
 
-    private void actualizarTablaPermisos(List<PermisosPantalla> permisos) {
-        modeloTabla.setRowCount(0);
+    private void agregarPermisos(List<PermisosPantalla> permisos) {
         for (PermisosPantalla permiso : permisos) {
             modeloTabla.addRow(new Object[]{
                 permiso.getRolNombre(),
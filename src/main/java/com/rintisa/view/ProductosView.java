@@ -6,6 +6,8 @@ import com.rintisa.exception.ValidationException;
 import com.rintisa.model.Producto;
 import com.rintisa.service.impl.ProductoTableModel;
 import com.rintisa.util.ModernUIUtils;
+import com.rintisa.view.base.CargaEnSegundoPlano;
+import com.rintisa.view.base.IndicadorCarga;
 import java.awt.BorderLayout;
 import java.awt.FlowLayout;
 import java.awt.Frame;
@@ -51,6 +53,8 @@ public class ProductosView extends JPanel {
     // Componentes de la tabla
     private JTable tablaProductos;
     private ProductoTableModel modeloTabla;
+    private IndicadorCarga indicadorCarga;
+    private CargaEnSegundoPlano carga;
     
     // Componentes de búsqueda
     private JTextField txtBuscar;
@@ -81,6 +85,8 @@ public class ProductosView extends JPanel {
         // Crear modelo y tabla
         modeloTabla = new ProductoTableModel();
         tablaProductos = new JTable(modeloTabla);
+        indicadorCarga = new IndicadorCarga();
+        carga = new CargaEnSegundoPlano(this, "los productos", indicadorCarga);
         
         
         // Crear botones
@@ -143,7 +149,7 @@ public class ProductosView extends JPanel {
 
         // Agregar componentes al panel principal
         add(topPanel, BorderLayout.NORTH);
-        add(new JScrollPane(tablaProductos), BorderLayout.CENTER);
+        add(indicadorCarga.envolver(new JScrollPane(tablaProductos)), BorderLayout.CENTER);
     }
 
     private void setupEventListeners() {
@@ -175,30 +181,26 @@ public class ProductosView extends JPanel {
     }
 
     private void loadInitialData() {
-        try {
-            List<Producto> productos = controller.listarProductos();
-            modeloTabla.setProductos(productos);
-        } catch (Exception e) {
-            logger.error("Error al cargar datos iniciales", e);
-            JOptionPane.showMessageDialog(this,
-                "Error al cargar los productos: " + e.getMessage(),
-                "Error",
-                JOptionPane.ERROR_MESSAGE);
-        }
+        carga.cargarPorBloques(controller::listarProductos, receptorProductos());
     }
 
     private void buscarProductos() {
-        try {
-            String criterio = txtBuscar.getText().trim();
-            List<Producto> productos = controller.buscarProductos(criterio);
-            modeloTabla.setProductos(productos);
-        } catch (Exception e) {
-            logger.error("Error al buscar productos", e);
-            JOptionPane.showMessageDialog(this,
-                "Error al buscar productos: " + e.getMessage(),
-                "Error",
-                JOptionPane.ERROR_MESSAGE);
-        }
+        String criterio = txtBuscar.getText().trim();
+        carga.cargarPorBloques(() -> controller.buscarProductos(criterio), receptorProductos());
+    }
+
+    private CargaEnSegundoPlano.Receptor<Producto> receptorProductos() {
+        return new CargaEnSegundoPlano.Receptor<Producto>() {
+            @Override
+            public void limpiar() {
+                modeloTabla.clear();
+            }
+
+            @Override
+            public void agregar(List<Producto> bloque) {
+                modeloTabla.addProductos(bloque);
+            }
+        };
     }
 
     private void mostrarDialogoNuevoProducto() {
@@ -0,0 +1,120 @@
+package com.rintisa.view;
+
+import com.rintisa.service.impl.TrabajoReporte;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * Diálogo no modal que muestra el avance de un reporte de la cola y permite
+ * cancelarlo. Se usa como aviso de fin del trabajo: al terminar se cierra y
+ * muestra el reporte generado o el error.
+ *
+ * Uso: crear el diálogo, pasar {@link #terminado(TrabajoReporte)} como aviso al
+ * encolar el reporte y luego llamar a {@link #seguir(TrabajoReporte)}.
+ */
+public class ProgresoReporteDialog extends JDialog {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProgresoReporteDialog.class);
+
+    private static final int INTERVALO_MS = 250;
+
+    private final JProgressBar barra = new JProgressBar(0, 1000);
+    private final JLabel lblFilas = new JLabel("En espera...");
+    private final JButton btnCancelar = new JButton("Cancelar");
+    private final Timer timer;
+    private TrabajoReporte trabajo;
+
+    public ProgresoReporteDialog(Component parent, String titulo) {
+        super(parent instanceof Window ? (Window) parent : SwingUtilities.getWindowAncestor(parent),
+              titulo, ModalityType.MODELESS);
+        setDefaultCloseOperation(DO_NOTHING_ON_CLOSE);
+
+        JPanel panel = new JPanel(new BorderLayout(10, 10));
+        panel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+        barra.setStringPainted(true);
+        barra.setIndeterminate(true);
+        panel.add(lblFilas, BorderLayout.NORTH);
+        panel.add(barra, BorderLayout.CENTER);
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        buttonPanel.add(btnCancelar);
+        panel.add(buttonPanel, BorderLayout.SOUTH);
+
+        btnCancelar.addActionListener(e -> cancelar());
+        addWindowListener(new java.awt.event.WindowAdapter() {
+            @Override
+            public void windowClosing(java.awt.event.WindowEvent e) {
+                cancelar();
+            }
+        });
+
+        setContentPane(panel);
+        setSize(380, 140);
+        setLocationRelativeTo(parent);
+
+        timer = new Timer(INTERVALO_MS, e -> actualizar());
+    }
+
+    /** Empieza a mostrar el avance del trabajo. */
+    public void seguir(TrabajoReporte trabajo) {
+        this.trabajo = trabajo;
+        timer.start();
+        setVisible(true);
+    }
+
+    /** Aviso de fin del trabajo; se llama en el hilo de eventos. */
+    public void terminado(TrabajoReporte trabajo) {
+        timer.stop();
+        dispose();
+
+        switch (trabajo.getEstado()) {
+            case TERMINADO:
+                Frame frame = JOptionPane.getFrameForComponent(getOwner());
+                ReportDialog.mostrarDialogoReporteGenerado(
+                    frame instanceof JFrame ? (JFrame) frame : null,
+                    trabajo.getRuta().toAbsolutePath().toString());
+                break;
+            case FALLIDO:
+                logger.error("Error en reporte {}", trabajo, trabajo.getError());
+                JOptionPane.showMessageDialog(getOwner(),
+                    "Error al generar reporte: " + trabajo.getError().getMessage(),
+                    "Error",
+                    JOptionPane.ERROR_MESSAGE);
+                break;
+            default:
+                logger.debug("Reporte cancelado por el usuario: {}", trabajo);
+        }
+    }
+
+    private void actualizar() {
+        if (trabajo == null || trabajo.isCancelado()) {
+            return;
+        }
+        long filas = trabajo.getFilasEscritas();
+        long total = trabajo.getTotal();
+        double progreso = trabajo.getProgreso();
+
+        if (trabajo.getEstado() == TrabajoReporte.Estado.EN_COLA) {
+            lblFilas.setText("En espera de otros reportes...");
+        } else if (progreso < 0) {
+            barra.setIndeterminate(true);
+            lblFilas.setText(String.format("%,d filas escritas", filas));
+        } else {
+            barra.setIndeterminate(false);
+            barra.setValue((int) (progreso * 1000));
+            barra.setString(String.format("%.0f%%", progreso * 100));
+            lblFilas.setText(String.format("%,d de %,d filas", filas, total));
+        }
+    }
+
+    private void cancelar() {
+        if (trabajo != null) {
+            trabajo.cancelar();
+            btnCancelar.setEnabled(false);
+            lblFilas.setText("Cancelando...");
+        }
+    }
+}
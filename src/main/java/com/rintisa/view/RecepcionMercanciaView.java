@@ -10,11 +10,14 @@ import com.rintisa.model.Producto;
 import com.rintisa.model.Proveedor;
 import com.rintisa.model.enums.EstadoRecepcion;
 import com.rintisa.model.Usuario;
+import com.rintisa.service.impl.TrabajoReporte;
 import com.rintisa.service.interfaces.IPermisosPantallaService;
 import com.rintisa.service.interfaces.IProductoService;
 import com.rintisa.service.interfaces.IProveedorService;
 import com.rintisa.util.ModernUIUtils;
 import com.rintisa.util.SwingUtils;
+import com.rintisa.view.base.CargaEnSegundoPlano;
+import com.rintisa.view.base.IndicadorCarga;
 import com.rintisa.view.base.VistaBase;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,8 +37,6 @@ import javax.swing.table.DefaultTableModel;
 import javax.swing.table.TableColumn;
 import com.toedter.calendar.JDateChooser; 
 import java.beans.PropertyChangeListener;
-import java.io.File;
-import java.io.FileOutputStream;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
@@ -47,7 +48,6 @@ import javax.swing.table.DefaultTableCellRenderer;
 import javax.swing.table.JTableHeader;
 import javax.swing.table.TableColumnModel;
 import javax.swing.table.TableModel;
-import javax.swing.table.TableRowSorter;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -58,10 +58,15 @@ import javax.swing.event.DocumentListener;
 public class RecepcionMercanciaView extends JPanel {
     private static final Logger logger = LoggerFactory.getLogger(RecepcionMercanciaView.class);
 
+    // Pausa tras el último cambio de un filtro antes de consultar
+    private static final int ESPERA_FILTROS_MS = 300;
+
     private final RecepcionMercanciaController controller;
 
     // Componentes de la tabla
-    private RecepcionTableModel modeloTabla;
+    private ModeloRecepcionesPaginado modeloTabla;
+    private IndicadorCarga indicadorCarga;
+    private CargaEnSegundoPlano cargaDetalles;
     
     // Componentes principales
     private JSplitPane splitPane;
@@ -85,6 +90,9 @@ public class RecepcionMercanciaView extends JPanel {
     private JTextField txtOrdenCompra;
     private JButton btnFiltrar;
     private JButton btnLimpiarFiltros;
+    private Timer temporizadorFiltros;
+    // Criterios de la última consulta, para no repetirla si no cambiaron
+    private String filtrosAplicados;
     
      // Agregar botones de acción
     private JButton btnNuevo;
@@ -111,120 +119,16 @@ public class RecepcionMercanciaView extends JPanel {
        setupComponents();      // Configurar componentes
        layoutComponents();     // Organizar componentes
        setupEventListeners(); // Configurar eventos
+       setupSearchListeners(); // Filtrar al escribir
        loadInitialData();     // Cargar datos iniciales
     }
        
-   // Clase del modelo de tabla
-    private class RecepcionTableModel extends DefaultTableModel {
-         private final String[] columnNames = {
-        "ID", "Número", "Fecha", "Proveedor", "Orden Compra", "Estado"
-    };
-    
-    private final Class<?>[] columnTypes = {
-        Long.class, String.class, LocalDateTime.class, 
-        String.class, String.class, EstadoRecepcion.class
-    };
-
-    private List<RecepcionMercancia> recepciones;
-
-    public RecepcionTableModel() {
-        super();
-        this.recepciones = new ArrayList<>();
-        setColumnIdentifiers(columnNames);
-    }
-
-    @Override
-    public int getRowCount() {
-        return recepciones != null ? recepciones.size() : 0;
-    }
-
-    @Override
-    public int getColumnCount() {
-        return columnNames.length;
-    }
-
-    @Override
-    public String getColumnName(int column) {
-        return columnNames[column];
-    }
-
-    @Override
-    public Class<?> getColumnClass(int columnIndex) {
-        return columnTypes[columnIndex];
-    }
-
-    @Override
-    public boolean isCellEditable(int row, int column) {
-        return false;
-    }
-
-     
-
-    
-    @Override
-    public Object getValueAt(int row, int column) {
-        if (row >= 0 && row < recepciones.size()) {
-            RecepcionMercancia recepcion = recepciones.get(row);
-            switch (column) {
-                case 0: return recepcion.getId();
-                case 1: return recepcion.getNumeroRecepcion();
-                case 2: return recepcion.getFecha();
-                //case 3: return controller.obtenerNombreProveedor(recepcion.getId());
-                case 3: return String.valueOf(recepcion.getProveedor());
-
-                case 4: return recepcion.getNumeroOrdenCompra();
-                case 5: return recepcion.getEstado();
-                default: return null;
-            }
-        }
-        return null;
-    }
-
-    public RecepcionMercancia getRecepcionAt(int row) {
-        if (row >= 0 && row < recepciones.size()) {
-            return recepciones.get(row);
-        }
-        return null;
-    }
-
-    public void setRecepciones(List<RecepcionMercancia> recepciones) {
-        this.recepciones = new ArrayList<>(recepciones != null ? recepciones : new ArrayList<>());
-        fireTableDataChanged();
-    }
-
-    public void addRecepcion(RecepcionMercancia recepcion) {
-        if (recepcion != null) {
-            recepciones.add(recepcion);
-            fireTableRowsInserted(recepciones.size() - 1, recepciones.size() - 1);
-        }
-    }
-
-    public void updateRecepcion(int row, RecepcionMercancia recepcion) {
-        if (row >= 0 && row < recepciones.size() && recepcion != null) {
-            recepciones.set(row, recepcion);
-            fireTableRowsUpdated(row, row);
-        }
-    }
-
-    public void removeRecepcion(int row) {
-        if (row >= 0 && row < recepciones.size()) {
-            recepciones.remove(row);
-            fireTableRowsDeleted(row, row);
-        }
-    }
-
-    public void clear() {
-        int oldSize = recepciones.size();
-        recepciones.clear();
-        if (oldSize > 0) {
-            fireTableRowsDeleted(0, oldSize - 1);
-        }
-            }
-    }
-
     private void createComponents() {
         // Crear el modelo de tabla
-        modeloTabla = new RecepcionTableModel();
+        modeloTabla = new ModeloRecepcionesPaginado(this::mostrarErrorCarga);
+        indicadorCarga = new IndicadorCarga();
+        modeloTabla.setIndicador(indicadorCarga);
+        cargaDetalles = new CargaEnSegundoPlano(this, "los detalles de la recepción", null);
         tablaRecepciones = new JTable(modeloTabla);
         scrollPane = new JScrollPane(tablaRecepciones);
         
@@ -273,7 +177,8 @@ public class RecepcionMercanciaView extends JPanel {
 
         // Configurar la tabla
         tablaRecepciones.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
-        tablaRecepciones.setAutoCreateRowSorter(true);
+        // Sin ordenador de filas: recorrería todas las filas y el modelo las carga por
+        // páginas; el orden (fecha descendente) y los filtros los aplica la consulta
         tablaRecepciones.setRowHeight(25);
         
         // Configurar el scroll pane
@@ -381,7 +286,7 @@ public class RecepcionMercanciaView extends JPanel {
         add(createFilterPanel(), BorderLayout.NORTH);
         
         // Panel central con la tabla
-        add(scrollPane, BorderLayout.CENTER);
+        add(indicadorCarga.envolver(scrollPane), BorderLayout.CENTER);
         
         // Panel de botones
         add(createButtonPanel(), BorderLayout.SOUTH);
@@ -474,13 +379,15 @@ public class RecepcionMercanciaView extends JPanel {
                 try {
                     // Convertir el índice de la fila seleccionada al modelo
                     int modelRow = tablaRecepciones.convertRowIndexToModel(selectedRow);
-                    RecepcionMercancia recepcion = ((RecepcionTableModel)tablaRecepciones.getModel()).getRecepcionAt(modelRow);
+                    modeloTabla.fijarFila(modelRow);
+                    RecepcionMercancia recepcion = modeloTabla.getRecepcionAt(modelRow);
                     updateButtonStates(recepcion);
                 } catch (Exception ex) {
                     logger.error("Error al manejar selección de fila", ex);
                 }
             } else {
                 // No hay fila seleccionada, deshabilitar botones
+                modeloTabla.fijarFila(-1);
                 updateButtonStates(null);
             }
         }
@@ -530,17 +437,25 @@ public class RecepcionMercanciaView extends JPanel {
         }
     }
 
+    /**
+     * Vuelve a cargar la tabla desde la primera página con los filtros actuales.
+     * Las páginas se consultan fuera del hilo de eventos.
+     */
     private void loadInitialData() {
-        try {
-            java.util.List<RecepcionMercancia> recepciones = controller.listarRecepciones(null, null, null);
-            modeloTabla.setRecepciones(recepciones);
-        } catch (Exception e) {
-            logger.error("Error al cargar datos iniciales", e);
-            JOptionPane.showMessageDialog(this,
-                "Error al cargar los datos: " + e.getMessage(),
-                "Error",
-                JOptionPane.ERROR_MESSAGE);
+        cargar(null);
+    }
+
+    private void cargar(Runnable alCargarPrimera) {
+        // Lo que quedara pendiente de escribir ya va incluido en esta consulta
+        if (temporizadorFiltros != null) {
+            temporizadorFiltros.stop();
         }
+        filtrosAplicados = criteriosFiltro();
+        modeloTabla.setFuente(crearFuente(), alCargarPrimera);
+    }
+
+    private void mostrarErrorCarga(Exception e) {
+        CargaEnSegundoPlano.informarError(this, "las recepciones", e);
     }
 
     private Color getEstadoColor(EstadoRecepcion estado) {
@@ -557,9 +472,11 @@ public class RecepcionMercanciaView extends JPanel {
         int selectedRow = tablaRecepciones.getSelectedRow();
         boolean haySeleccion = selectedRow >= 0;
         
-        if (haySeleccion) {
-            int modelRow = tablaRecepciones.convertRowIndexToModel(selectedRow);
-            RecepcionMercancia recepcion = modeloTabla.getRecepcionAt(modelRow);
+        RecepcionMercancia recepcion = haySeleccion
+            ? modeloTabla.getRecepcionAt(tablaRecepciones.convertRowIndexToModel(selectedRow))
+            : null;
+
+        if (recepcion != null) {
             EstadoRecepcion estado = recepcion.getEstado();
 
             btnEditar.setEnabled(estado == EstadoRecepcion.PENDIENTE);
@@ -1112,6 +1029,21 @@ public class RecepcionMercanciaView extends JPanel {
             return;
         }
 
+        // Los detalles se leen fuera del hilo de eventos; el diálogo se arma al llegar
+        cargaDetalles.cargar(() -> controller.obtenerDetalles(recepcion.getId()),
+            detalles -> mostrarDialogoVerificacion(recepcion, detalles));
+
+    } catch (Exception e) {
+        logger.error("Error al mostrar diálogo de verificación", e);
+        JOptionPane.showMessageDialog(this,
+            "Error al mostrar diálogo de verificación: " + e.getMessage(),
+            "Error",
+            JOptionPane.ERROR_MESSAGE);
+    }
+}
+
+    private void mostrarDialogoVerificacion(RecepcionMercancia recepcion, List<DetalleRecepcion> detalles) {
+    try {
         // Crear diálogo
         JDialog dialog = new JDialog((Frame) SwingUtilities.getWindowAncestor(this),
             "Verificar Recepción", true);
@@ -1251,9 +1183,7 @@ public class RecepcionMercanciaView extends JPanel {
         }
 
         // 5. AQUÍ VA LA CARGA DE DATOS
-        // Obtener los detalles
-        List<DetalleRecepcion> detalles = controller.obtenerDetalles(recepcion.getId());
-        
+        // Los detalles llegan ya leídos en segundo plano (verificarRecepcion)
         if (detalles.isEmpty()) {
             JOptionPane.showMessageDialog(this,
                 "La recepción no tiene detalles para verificar",
@@ -1578,7 +1508,7 @@ public class RecepcionMercanciaView extends JPanel {
                 controller.eliminarRecepcion(recepcion.getId());
 
                 // Eliminar de la tabla
-                modeloTabla.removeRecepcion(modelRow);
+                loadInitialData();
 
                 // Mostrar mensaje de éxito
                 JOptionPane.showMessageDialog(this,
@@ -1617,98 +1547,16 @@ public class RecepcionMercanciaView extends JPanel {
     }
     
     private void aplicarFiltros() {
-          try {
-            // Obtener valores de los filtros y hacerlos final
-            final LocalDateTime fechaDesde;
-            final LocalDateTime fechaHasta;
-            
-            // Convertir fecha inicial
-            if (fechaInicio.getDate() != null) {
-                fechaDesde = LocalDateTime.of(
-                    fechaInicio.getDate().toInstant()
-                    .atZone(ZoneId.systemDefault())
-                    .toLocalDate(), 
-                    LocalTime.MIN
-                );
-            } else {
-                fechaDesde = null;
-            }
-            
-            // Convertir fecha final
-            if (fechaFin.getDate() != null) {
-                fechaHasta = LocalDateTime.of(
-                    fechaFin.getDate().toInstant()
-                    .atZone(ZoneId.systemDefault())
-                    .toLocalDate(), 
-                    LocalTime.MAX
-                );
-            } else {
-                fechaHasta = null;
-            }
-
-            final EstadoRecepcion estado = (EstadoRecepcion) cmbEstado.getSelectedItem();
-            final String numeroRecepcion = txtNumeroRecepcion.getText().trim();
-            final String ordenCompra = txtOrdenCompra.getText().trim();
-
-            // Crear el filtro para el TableRowSorter
-            RowFilter<RecepcionTableModel, Integer> filtroFinal = new RowFilter<RecepcionTableModel, Integer>() {
-                @Override
-                public boolean include(Entry<? extends RecepcionTableModel, ? extends Integer> entry) {
-                    RecepcionTableModel model = entry.getModel();
-                    int row = entry.getIdentifier();
-
-                    try {
-                        // Obtener valores de la fila
-                        LocalDateTime fechaRecepcion = (LocalDateTime) model.getValueAt(row, 2);
-                        String numRecep = String.valueOf(model.getValueAt(row, 1));
-                        String numOC = String.valueOf(model.getValueAt(row, 4));
-                        EstadoRecepcion estadoRec = (EstadoRecepcion) model.getValueAt(row, 5);
-
-                        // Verificar fechas
-                        if (fechaDesde != null && fechaRecepcion.isBefore(fechaDesde)) {
-                            return false;
-                        }
-                        if (fechaHasta != null && fechaRecepcion.isAfter(fechaHasta)) {
-                            return false;
-                        }
-
-                        // Verificar estado
-                        if (estado != null && estadoRec != estado) {
-                            return false;
-                        }
-
-                        // Verificar número de recepción
-                        if (!numeroRecepcion.isEmpty() && 
-                            !numRecep.toLowerCase().contains(numeroRecepcion.toLowerCase())) {
-                            return false;
-                        }
-
-                        // Verificar orden de compra
-                        if (!ordenCompra.isEmpty() && 
-                            !numOC.toLowerCase().contains(ordenCompra.toLowerCase())) {
-                            return false;
-                        }
-
-                        return true;
-                    } catch (Exception e) {
-                        logger.error("Error al filtrar fila", e);
-                        return false;
-                    }
+        try {
+            cargar(() -> {
+                // Mostrar mensaje si no hay resultados
+                if (modeloTabla.getRowCount() == 0) {
+                    JOptionPane.showMessageDialog(this,
+                        "No se encontraron recepciones con los filtros aplicados",
+                        "Sin resultados",
+                        JOptionPane.INFORMATION_MESSAGE);
                 }
-            };
-
-            // Aplicar el filtro
-            TableRowSorter<RecepcionTableModel> sorter = 
-                (TableRowSorter<RecepcionTableModel>) tablaRecepciones.getRowSorter();
-            sorter.setRowFilter(filtroFinal);
-
-            // Mostrar mensaje si no hay resultados
-            if (tablaRecepciones.getRowCount() == 0) {
-                JOptionPane.showMessageDialog(this,
-                    "No se encontraron recepciones con los filtros aplicados",
-                    "Sin resultados",
-                    JOptionPane.INFORMATION_MESSAGE);
-            }
+            });
 
         } catch (Exception e) {
             logger.error("Error al aplicar filtros", e);
@@ -1719,6 +1567,48 @@ public class RecepcionMercanciaView extends JPanel {
         }
     }
 
+    /**
+     * Consulta de páginas con los valores actuales de los filtros. Los filtros
+     * se aplican en la base de datos, así cubren todas las recepciones y no
+     * solo las páginas cargadas.
+     */
+    private ModeloRecepcionesPaginado.FuentePaginas crearFuente() {
+        // Obtener valores de los filtros y hacerlos final
+        final LocalDateTime fechaDesde;
+        final LocalDateTime fechaHasta;
+
+        // Convertir fecha inicial
+        if (fechaInicio.getDate() != null) {
+            fechaDesde = LocalDateTime.of(
+                fechaInicio.getDate().toInstant()
+                .atZone(ZoneId.systemDefault())
+                .toLocalDate(), 
+                LocalTime.MIN
+            );
+        } else {
+            fechaDesde = null;
+        }
+
+        // Convertir fecha final
+        if (fechaFin.getDate() != null) {
+            fechaHasta = LocalDateTime.of(
+                fechaFin.getDate().toInstant()
+                .atZone(ZoneId.systemDefault())
+                .toLocalDate(), 
+                LocalTime.MAX
+            );
+        } else {
+            fechaHasta = null;
+        }
+
+        final EstadoRecepcion estado = (EstadoRecepcion) cmbEstado.getSelectedItem();
+        final String numeroRecepcion = txtNumeroRecepcion.getText().trim();
+        final String ordenCompra = txtOrdenCompra.getText().trim();
+
+        return (despuesDe, tamanio) -> controller.buscarRecepcionesPagina(
+            numeroRecepcion, ordenCompra, estado, fechaDesde, fechaHasta, despuesDe, tamanio);
+    }
+
     private void limpiarFiltros() {
         try {
             // Limpiar campos de filtro
@@ -1728,11 +1618,6 @@ public class RecepcionMercanciaView extends JPanel {
             txtNumeroRecepcion.setText("");
             txtOrdenCompra.setText("");
 
-            // Quitar filtros de la tabla
-            TableRowSorter<RecepcionTableModel> sorter = 
-                (TableRowSorter<RecepcionTableModel>) tablaRecepciones.getRowSorter();
-            sorter.setRowFilter(null);
-
             // Recargar datos
             loadInitialData();
 
@@ -1745,33 +1630,48 @@ public class RecepcionMercanciaView extends JPanel {
         }
     }
     
+    /**
+     * Vuelve a consultar cuando cambia un filtro, después de ESPERA_FILTROS_MS
+     * sin más cambios: escribir un número completo dispara una sola consulta.
+     * Las páginas de consultas anteriores que sigan en curso se descartan.
+     */
     private void setupSearchListeners() {
-        // Listener para cambios en el campo de número de recepción
-        txtNumeroRecepcion.getDocument().addDocumentListener(new DocumentListener() {
-            public void changedUpdate(DocumentEvent e) { aplicarFiltros(); }
-            public void removeUpdate(DocumentEvent e) { aplicarFiltros(); }
-            public void insertUpdate(DocumentEvent e) { aplicarFiltros(); }
-        });
+        temporizadorFiltros = new Timer(ESPERA_FILTROS_MS, e -> filtrarSiCambio());
+        temporizadorFiltros.setRepeats(false);
 
-        // Listener para cambios en el campo de orden de compra
-        txtOrdenCompra.getDocument().addDocumentListener(new DocumentListener() {
-            public void changedUpdate(DocumentEvent e) { aplicarFiltros(); }
-            public void removeUpdate(DocumentEvent e) { aplicarFiltros(); }
-            public void insertUpdate(DocumentEvent e) { aplicarFiltros(); }
-        });
+        DocumentListener textoListener = new DocumentListener() {
+            public void changedUpdate(DocumentEvent e) { temporizadorFiltros.restart(); }
+            public void removeUpdate(DocumentEvent e) { temporizadorFiltros.restart(); }
+            public void insertUpdate(DocumentEvent e) { temporizadorFiltros.restart(); }
+        };
+
+        // Listener para cambios en los campos de número de recepción y orden de compra
+        txtNumeroRecepcion.getDocument().addDocumentListener(textoListener);
+        txtOrdenCompra.getDocument().addDocumentListener(textoListener);
 
         // Listener para cambios en el combo de estado
-        cmbEstado.addActionListener(e -> aplicarFiltros());
+        cmbEstado.addActionListener(e -> temporizadorFiltros.restart());
 
         // Listener para cambios en las fechas
         PropertyChangeListener dateListener = evt -> {
             if ("date".equals(evt.getPropertyName())) {
-                aplicarFiltros();
+                temporizadorFiltros.restart();
             }
         };
         fechaInicio.addPropertyChangeListener(dateListener);
         fechaFin.addPropertyChangeListener(dateListener);
     }
+
+    private void filtrarSiCambio() {
+        if (!criteriosFiltro().equals(filtrosAplicados)) {
+            cargar(null);
+        }
+    }
+
+    private String criteriosFiltro() {
+        return fechaInicio.getDate() + "|" + fechaFin.getDate() + "|" + cmbEstado.getSelectedItem()
+            + "|" + txtNumeroRecepcion.getText().trim() + "|" + txtOrdenCompra.getText().trim();
+    }
     
     private void mostrarDialogoReporte() {
     // Crear un diálogo para seleccionar el rango de fechas
@@ -1820,40 +1720,25 @@ public class RecepcionMercanciaView extends JPanel {
                 return;
             }
 
-            // Convertir fechas a LocalDateTime
+            // Convertir fechas a LocalDateTime. Solo cuenta el día: el selector trae
+            // también la hora y los nanosegundos del momento en que se abrió, y el
+            // rango forma parte de la clave del caché de reportes
             LocalDateTime inicio = fechaInicio.getDate().toInstant()
                 .atZone(ZoneId.systemDefault())
-                .toLocalDateTime()
-                .withHour(0).withMinute(0).withSecond(0);
+                .toLocalDate()
+                .atStartOfDay();
 
             LocalDateTime fin = fechaFin.getDate().toInstant()
                 .atZone(ZoneId.systemDefault())
-                .toLocalDateTime()
-                .withHour(23).withMinute(59).withSecond(59);
-
-            // Generar el reporte
-            byte[] reporteBytes = controller.generarReporteGeneral(inicio, fin);
-
-            // Guardar el archivo
-            JFileChooser fileChooser = new JFileChooser();
-            fileChooser.setDialogTitle("Guardar Reporte");
-            fileChooser.setSelectedFile(new File("Reporte_Recepciones.xlsx"));
-            
-            if (fileChooser.showSaveDialog(dialogoReporte) == JFileChooser.APPROVE_OPTION) {
-                File file = fileChooser.getSelectedFile();
-                if (!file.getName().toLowerCase().endsWith(".xlsx")) {
-                    file = new File(file.getParentFile(), file.getName() + ".xlsx");
-                }
-                
-                try (FileOutputStream fos = new FileOutputStream(file)) {
-                    fos.write(reporteBytes);
-                    JOptionPane.showMessageDialog(dialogoReporte,
-                        "Reporte generado exitosamente",
-                        "Éxito",
-                        JOptionPane.INFORMATION_MESSAGE);
-                    dialogoReporte.dispose();
-                }
-            }
+                .toLocalDate()
+                .atTime(23, 59, 59);
+
+            // El reporte se genera en segundo plano en el directorio de reportes;
+            // el diálogo de avance avisa al terminar
+            ProgresoReporteDialog progreso = new ProgresoReporteDialog(this, "Generando Reporte General");
+            TrabajoReporte trabajo = controller.encolarReporteGeneral(inicio, fin, progreso::terminado);
+            dialogoReporte.dispose();
+            progreso.seguir(trabajo);
         } catch (Exception ex) {
             logger.error("Error al generar reporte", ex);
             JOptionPane.showMessageDialog(dialogoReporte,
@@ -5,6 +5,8 @@ import com.rintisa.controller.RolController;
 import com.rintisa.model.Rol;
 import com.rintisa.util.ModernUIUtils;
 import com.rintisa.util.SwingUtils;
+import com.rintisa.view.base.CargaEnSegundoPlano;
+import com.rintisa.view.base.IndicadorCarga;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
@@ -24,6 +26,9 @@ public class RolesView extends JPanel {
     // Componentes de la interfaz
     private JTable tablaRoles;
     private DefaultTableModel modeloTabla;
+    private IndicadorCarga indicadorCarga;
+    private CargaEnSegundoPlano carga;
+    private CargaEnSegundoPlano cargaDetalle;
     private JTextField txtBuscar;
     private JButton btnNuevo;
     private JButton btnEditar;
@@ -102,10 +107,13 @@ public class RolesView extends JPanel {
         tablaRoles = new JTable(modeloTabla);
         JScrollPane scrollPane = new JScrollPane(tablaRoles);
         ModernUIUtils.setupModernTable(tablaRoles);
+        indicadorCarga = new IndicadorCarga();
+        carga = new CargaEnSegundoPlano(this, "los roles", indicadorCarga);
+        cargaDetalle = new CargaEnSegundoPlano(this, "el rol", null);
         
         // Agregar componentes al panel izquierdo
         panelIzquierdo.add(panelSupIzq, BorderLayout.NORTH);
-        panelIzquierdo.add(scrollPane, BorderLayout.CENTER);
+        panelIzquierdo.add(indicadorCarga.envolver(scrollPane), BorderLayout.CENTER);
         
         // Panel derecho (detalles)
         panelDetalles = crearPanelDetalles();
@@ -259,30 +267,32 @@ public class RolesView extends JPanel {
     }
     
     private void cargarDatos() {
-        try {
-            // Limpiar tabla
-            modeloTabla.setRowCount(0);
-            
-            // Obtener roles
-            List<Rol> roles = rolController.listarRoles();
-            
-            // Agregar roles a la tabla
-            for (Rol rol : roles) {
-                Object[] fila = {
-                    rol.getId(),
-                    rol.getNombre(),
-                    rol.getDescripcion(),
-                    rol.isActivo() ? "Activo" : "Inactivo"
-                };
-                modeloTabla.addRow(fila);
+        carga.cargarPorBloques(rolController::listarRoles, new CargaEnSegundoPlano.Receptor<Rol>() {
+            @Override
+            public void limpiar() {
+                // Limpiar tabla
+                modeloTabla.setRowCount(0);
             }
-            
-            logger.info("Datos de roles cargados exitosamente");
-            
-        } catch (Exception e) {
-            logger.error("Error al cargar datos de roles", e);
-            SwingUtils.mostrarError(this, "Error al cargar los roles: " + e.getMessage());
-        }
+
+            @Override
+            public void agregar(List<Rol> bloque) {
+                // Agregar roles a la tabla
+                for (Rol rol : bloque) {
+                    Object[] fila = {
+                        rol.getId(),
+                        rol.getNombre(),
+                        rol.getDescripcion(),
+                        rol.isActivo() ? "Activo" : "Inactivo"
+                    };
+                    modeloTabla.addRow(fila);
+                }
+            }
+
+            @Override
+            public void terminar() {
+                logger.info("Datos de roles cargados exitosamente");
+            }
+        });
     }
     
     private void filtrarTabla() {
@@ -348,10 +358,9 @@ public class RolesView extends JPanel {
         // Obtener ID del rol seleccionado
         rolIdEnEdicion = (Long) modeloTabla.getValueAt(modelRow, 0);
         
-        try {
-            Rol rol = rolController.buscarRol(rolIdEnEdicion)
-                .orElseThrow(() -> new RuntimeException("Rol no encontrado"));
-            
+        Long rolId = rolIdEnEdicion;
+        cargaDetalle.cargar(() -> rolController.buscarRol(rolId)
+                .orElseThrow(() -> new RuntimeException("Rol no encontrado")), rol -> {
             // Si es el rol ADMIN, verificar si se puede editar
             if ("ADMIN".equals(rol.getNombre()) && !puedeEditarRolAdmin()) {
                 SwingUtils.mostrarError(this, "No tiene permisos para editar el rol de Administrador");
@@ -361,11 +370,7 @@ public class RolesView extends JPanel {
             cargarDatosEnFormulario(rol);
             actualizarEstadoComponentes(true);
             txtNombre.requestFocus();
-            
-        } catch (Exception e) {
-            logger.error("Error al cargar rol para edición", e);
-            SwingUtils.mostrarError(this, "Error al cargar el rol: " + e.getMessage());
-        }
+        });
     }
     
     private void eliminarRol() {
@@ -468,11 +473,12 @@ public class RolesView extends JPanel {
         
         // Cargar datos del rol seleccionado en el formulario
         Long rolId = (Long) modeloTabla.getValueAt(modelRow, 0);
-        try {
-            rolController.buscarRol(rolId).ifPresent(this::cargarDatosEnFormulario);
-        } catch (Exception e) {
-            logger.error("Error al cargar detalles del rol", e);
-        }
+        cargaDetalle.cargar(() -> rolController.buscarRol(rolId), encontrado -> {
+            // Si mientras tanto se empezó a editar, no pisar el formulario
+            if (!modoEdicion) {
+                encontrado.ifPresent(this::cargarDatosEnFormulario);
+            }
+        });
     }
     
     // Métodos de utilidad
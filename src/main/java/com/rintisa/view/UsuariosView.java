@@ -6,11 +6,15 @@ import com.rintisa.model.Rol;
 import com.rintisa.util.SwingUtils;
 import com.rintisa.util.ModernUIUtils;
 import com.rintisa.util.IconManager;
+import com.rintisa.view.base.CargaEnSegundoPlano;
+import com.rintisa.view.base.IndicadorCarga;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.event.*;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import javax.swing.table.TableRowSorter;
@@ -20,6 +24,31 @@ import org.slf4j.LoggerFactory;
 public class UsuariosView extends JPanel {
     
     private static final Logger logger = LoggerFactory.getLogger(UsuariosView.class);
+
+    // Pausa tras la última tecla antes de filtrar
+    private static final int ESPERA_BUSQUEDA_MS = 200;
+
+    /** Usuario con el texto en el que se busca ya pasado a minúsculas. */
+    private static final class EntradaUsuario {
+        final Usuario usuario;
+        final String texto;
+
+        EntradaUsuario(Usuario usuario) {
+            this.usuario = usuario;
+            // El salto de línea separa los campos para que un criterio no coincida entre dos
+            this.texto = String.join("\n",
+                minusculas(usuario.getUsername()),
+                minusculas(usuario.getNombre()),
+                minusculas(usuario.getApellido()),
+                minusculas(usuario.getEmail()),
+                minusculas(usuario.getRol() != null ? usuario.getRol().getNombre() : null));
+        }
+
+        private static String minusculas(String valor) {
+            return valor != null ? valor.toLowerCase() : "";
+        }
+    }
+
     private final UsuarioController usuarioController;
     private JButton btnNuevo;
     private JTable tablaUsuarios;
@@ -27,6 +56,16 @@ public class UsuariosView extends JPanel {
     private JTextField txtBuscar;
     private JButton btnEditar;
     private JButton btnEliminar;
+    private Timer temporizadorBusqueda;
+
+    // Usuarios cargados en la última consulta; la búsqueda filtra sobre esta lista
+    private List<EntradaUsuario> indice = Collections.emptyList();
+    // Último criterio mostrado y su resultado, para acotar cuando se sigue escribiendo
+    private String criterioAnterior;
+    private List<EntradaUsuario> resultadoAnterior = Collections.emptyList();
+    private IndicadorCarga indicadorCarga;
+    private CargaEnSegundoPlano carga;
+    private CargaEnSegundoPlano cargaDetalle;
     //private JButton btnGuardar;
     //private JButton btnCancelar;
         
@@ -101,11 +140,14 @@ public class UsuariosView extends JPanel {
         
         tablaUsuarios = new JTable(modeloTabla);
         JScrollPane scrollPane = new JScrollPane(tablaUsuarios);
+        indicadorCarga = new IndicadorCarga();
+        carga = new CargaEnSegundoPlano(this, "la lista de usuarios", indicadorCarga);
+        cargaDetalle = new CargaEnSegundoPlano(this, "el usuario", null);
         ModernUIUtils.setupModernTable(tablaUsuarios);
         
         // Agregar componentes al panel principal
         add(panelSuperior, BorderLayout.NORTH);
-        add(scrollPane, BorderLayout.CENTER);  
+        add(indicadorCarga.envolver(scrollPane), BorderLayout.CENTER);  
           // Estado inicial de los botones
         actualizarEstadoBotones(false);
     }
@@ -113,22 +155,24 @@ public class UsuariosView extends JPanel {
     
     private void configurarEventos() {
          
-         // Búsqueda en tiempo real/ 
-         
+         // Búsqueda en tiempo real: filtra en memoria cuando se deja de escribir
+        temporizadorBusqueda = new Timer(ESPERA_BUSQUEDA_MS, e -> buscarUsuarios());
+        temporizadorBusqueda.setRepeats(false);
+
         txtBuscar.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
             @Override
             public void insertUpdate(javax.swing.event.DocumentEvent e) {
-                buscarUsuarios();
+                temporizadorBusqueda.restart();
             }
 
             @Override
             public void removeUpdate(javax.swing.event.DocumentEvent e) {
-                buscarUsuarios();
+                temporizadorBusqueda.restart();
             }
 
             @Override
             public void changedUpdate(javax.swing.event.DocumentEvent e) {
-                buscarUsuarios();
+                temporizadorBusqueda.restart();
             }
         });
          
@@ -207,14 +251,16 @@ public class UsuariosView extends JPanel {
             int modelRow = tablaUsuarios.convertRowIndexToModel(filaSeleccionada);
             Long userId = (Long) modeloTabla.getValueAt(modelRow, 0);
             
-            usuarioController.getUsuarioService().buscarPorId(userId).ifPresent(usuario -> {
-                UsuarioDialog dialog = new UsuarioDialog(parentFrame, usuarioController, usuario);
-                dialog.setVisible(true);
-                
-                if (dialog.isAceptado()) {
-                    cargarDatos();
-                }
-            });
+            // Se lee de nuevo por si cambió desde que se cargó la lista
+            cargaDetalle.cargar(() -> usuarioController.getUsuarioService().buscarPorId(userId),
+                encontrado -> encontrado.ifPresent(usuario -> {
+                    UsuarioDialog dialog = new UsuarioDialog(parentFrame, usuarioController, usuario);
+                    dialog.setVisible(true);
+
+                    if (dialog.isAceptado()) {
+                        cargarDatos();
+                    }
+                }));
         } catch (Exception e) {
             logger.error("Error al editar usuario", e);
             JOptionPane.showMessageDialog(this,
@@ -261,30 +307,23 @@ public class UsuariosView extends JPanel {
     }
 
     
+    /**
+     * Vuelve a leer los usuarios en segundo plano y reconstruye el índice de
+     * búsqueda. Se llama al abrir la pantalla y después de crear, editar o
+     * eliminar un usuario; la búsqueda no consulta la base de datos.
+     */
     private void cargarDatos() {
-        modeloTabla.setRowCount(0);
-        try {
-            List<Usuario> usuarios = usuarioController.getUsuarioService().listarTodos();
-            for (Usuario usuario : usuarios) {
-                Object[] fila = {
-                    usuario.getId(),
-                    usuario.getUsername(),
-                    usuario.getNombre(),
-                    usuario.getApellido(),
-                    usuario.getEmail(),
-                    usuario.getRol().getNombre(),
-                    usuario.isActivo() ? "Activo" : "Inactivo",
-                    usuario.getUltimoAcceso()
-                };
-                modeloTabla.addRow(fila);
+        carga.cargar(() -> {
+            List<EntradaUsuario> entradas = new ArrayList<>();
+            for (Usuario usuario : usuarioController.getUsuarioService().listarTodos()) {
+                entradas.add(new EntradaUsuario(usuario));
             }
-        } catch (Exception e) {
-            logger.error("Error al cargar usuarios", e);
-            JOptionPane.showMessageDialog(this,
-                "Error al cargar la lista de usuarios: " + e.getMessage(),
-                "Error",
-                JOptionPane.ERROR_MESSAGE);
-        }
+            return entradas;
+        }, entradas -> {
+            indice = entradas;
+            criterioAnterior = null;
+            buscarUsuarios();
+        });
     }
     
     private void configurarTabla() {
@@ -308,40 +347,50 @@ public class UsuariosView extends JPanel {
         tablaUsuarios.getColumnModel().getColumn(0).setWidth(0);
     }
     
-     private void buscarUsuarios() {
+    private void buscarUsuarios() {
+        temporizadorBusqueda.stop();
         String criterio = txtBuscar.getText().trim().toLowerCase();
-        modeloTabla.setRowCount(0);
-        
-        try {
-            List<Usuario> usuarios = usuarioController.getUsuarioService().listarTodos();
-            for (Usuario usuario : usuarios) {
-                if (criterio.isEmpty() || coincideConCriterio(usuario, criterio)) {
-                    Object[] fila = {
-                        usuario.getId(),
-                        usuario.getUsername(),
-                        usuario.getNombre(),
-                        usuario.getApellido(),
-                        usuario.getEmail(),
-                        usuario.getRol().getNombre(),
-                        usuario.isActivo() ? "Activo" : "Inactivo"
-                    };
-                    modeloTabla.addRow(fila);
+        if (criterio.equals(criterioAnterior)) {
+            return;
+        }
+
+        // Si el criterio nuevo contiene al anterior, sus coincidencias están
+        // entre las del anterior: basta con filtrar ese resultado
+        List<EntradaUsuario> candidatos =
+            criterioAnterior != null && criterio.contains(criterioAnterior) ? resultadoAnterior : indice;
+
+        List<EntradaUsuario> resultado;
+        if (criterio.isEmpty()) {
+            resultado = indice;
+        } else {
+            resultado = new ArrayList<>();
+            for (EntradaUsuario entrada : candidatos) {
+                if (entrada.texto.contains(criterio)) {
+                    resultado.add(entrada);
                 }
             }
-        } catch (Exception e) {
-            logger.error("Error al buscar usuarios", e);
-            JOptionPane.showMessageDialog(this,
-                "Error al buscar usuarios: " + e.getMessage(),
-                "Error",
-                JOptionPane.ERROR_MESSAGE);
         }
+        criterioAnterior = criterio;
+        resultadoAnterior = resultado;
+        mostrarUsuarios(resultado);
     }
-    private boolean coincideConCriterio(Usuario usuario, String criterio) {
-        return usuario.getUsername().toLowerCase().contains(criterio) ||
-               usuario.getNombre().toLowerCase().contains(criterio) ||
-               usuario.getApellido().toLowerCase().contains(criterio) ||
-               usuario.getEmail().toLowerCase().contains(criterio) ||
-               usuario.getRol().getNombre().toLowerCase().contains(criterio);
+
+    private void mostrarUsuarios(List<EntradaUsuario> entradas) {
+        modeloTabla.setRowCount(0);
+        for (EntradaUsuario entrada : entradas) {
+            Usuario usuario = entrada.usuario;
+            Object[] fila = {
+                usuario.getId(),
+                usuario.getUsername(),
+                usuario.getNombre(),
+                usuario.getApellido(),
+                usuario.getEmail(),
+                usuario.getRol() != null ? usuario.getRol().getNombre() : "",
+                usuario.isActivo() ? "Activo" : "Inactivo",
+                usuario.getUltimoAcceso()
+            };
+            modeloTabla.addRow(fila);
+        }
     }
     
     private void actualizarEstadoBotones(boolean haySeleccion) {
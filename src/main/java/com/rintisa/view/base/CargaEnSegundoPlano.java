@@ -0,0 +1,190 @@
+package com.rintisa.view.base;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.JOptionPane;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
+import java.awt.Component;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Carga de datos de una vista fuera del hilo de eventos de Swing.
+ *
+ * La consulta corre en un SwingWorker mientras el {@link IndicadorCarga}
+ * cubre la tabla. Cada instancia atiende una carga a la vez: pedir otra
+ * cancela la anterior y sus resultados se descartan aunque lleguen después.
+ * Las listas grandes se entregan en bloques de TAMANIO_BLOQUE filas, cada uno
+ * en su propio evento, para que la ventana se siga pintando mientras se
+ * llena la tabla. Los errores se registran y se muestran con
+ * {@link #informarError}, salvo que se indique otro manejo con setAlFallar.
+ *
+ * Se usa en el hilo de eventos de Swing.
+ */
+public class CargaEnSegundoPlano {
+    private static final Logger logger = LoggerFactory.getLogger(CargaEnSegundoPlano.class);
+
+    public static final int TAMANIO_BLOQUE = 200;
+
+    /** Consulta a la base de datos; corre fuera del hilo de eventos. */
+    @FunctionalInterface
+    public interface Consulta<T> {
+        T ejecutar() throws Exception;
+    }
+
+    /** Recibe en el hilo de eventos las filas de una carga por bloques. */
+    public interface Receptor<T> {
+        /** Antes del primer bloque: quitar las filas de la carga anterior. */
+        void limpiar();
+
+        /** Filas siguientes; la lista no debe guardarse, hay que copiar lo que se necesite. */
+        void agregar(List<T> bloque);
+
+        /** Después del último bloque. */
+        default void terminar() {
+        }
+    }
+
+    private final IndicadorCarga indicador;
+    private Consumer<Exception> alFallar;
+
+    // La carga vigente; las demás ya fueron reemplazadas
+    private Trabajo<?> actual;
+
+    /**
+     * @param vista Componente sobre el que se muestran los errores
+     * @param descripcion Qué se carga, para los mensajes (por ejemplo "los productos")
+     * @param indicador Indicador a mostrar durante la carga; puede ser null
+     */
+    public CargaEnSegundoPlano(Component vista, String descripcion, IndicadorCarga indicador) {
+        this.indicador = indicador;
+        this.alFallar = e -> informarError(vista, descripcion, e);
+    }
+
+    /** Reemplaza el aviso de error por defecto. */
+    public void setAlFallar(Consumer<Exception> alFallar) {
+        this.alFallar = alFallar;
+    }
+
+    /**
+     * Ejecuta la consulta y entrega el resultado completo en el hilo de
+     * eventos. Cancela la carga anterior de esta instancia.
+     */
+    public <T> void cargar(Consulta<T> consulta, Consumer<T> alRecibir) {
+        iniciar(new Trabajo<T>(consulta) {
+            @Override
+            void entregar(T resultado) {
+                finalizar(this);
+                alRecibir.accept(resultado);
+            }
+        });
+    }
+
+    /**
+     * Ejecuta la consulta y entrega las filas por bloques en el hilo de
+     * eventos. Cancela la carga anterior de esta instancia.
+     */
+    public <T> void cargarPorBloques(Consulta<? extends List<T>> consulta, Receptor<T> receptor) {
+        iniciar(new Trabajo<List<T>>(consulta::ejecutar) {
+            @Override
+            void entregar(List<T> filas) {
+                List<T> copia = filas != null ? new ArrayList<>(filas) : new ArrayList<>();
+                receptor.limpiar();
+                publicar(this, copia, 0, receptor);
+            }
+        });
+    }
+
+    /** Cancela la carga en curso, si hay una. */
+    public void cancelar() {
+        if (actual != null) {
+            Trabajo<?> trabajo = actual;
+            trabajo.cancel(true);
+            finalizar(trabajo);
+        }
+    }
+
+    public boolean isCargando() {
+        return actual != null;
+    }
+
+    /** Registra el error y lo muestra con el formato común de las vistas. */
+    public static void informarError(Component vista, String descripcion, Exception e) {
+        logger.error("Error al cargar {}", descripcion, e);
+        JOptionPane.showMessageDialog(vista,
+            "Error al cargar " + descripcion + ": " + e.getMessage(),
+            "Error",
+            JOptionPane.ERROR_MESSAGE);
+    }
+
+    private void iniciar(Trabajo<?> trabajo) {
+        if (actual != null) {
+            actual.cancel(true);
+        } else if (indicador != null) {
+            indicador.iniciar();
+        }
+        actual = trabajo;
+        trabajo.execute();
+    }
+
+    private <T> void publicar(Trabajo<?> trabajo, List<T> filas, int desde, Receptor<T> receptor) {
+        if (trabajo != actual) {
+            return;
+        }
+        int hasta = Math.min(filas.size(), desde + TAMANIO_BLOQUE);
+        if (hasta > desde) {
+            receptor.agregar(filas.subList(desde, hasta));
+        }
+        if (hasta < filas.size()) {
+            // El siguiente bloque va en otro evento para dejar pintar en medio
+            SwingUtilities.invokeLater(() -> publicar(trabajo, filas, hasta, receptor));
+        } else {
+            finalizar(trabajo);
+            receptor.terminar();
+        }
+    }
+
+    private void finalizar(Trabajo<?> trabajo) {
+        if (trabajo == actual) {
+            actual = null;
+            if (indicador != null) {
+                indicador.terminar();
+            }
+        }
+    }
+
+    private abstract class Trabajo<T> extends SwingWorker<T, Void> {
+        private final Consulta<T> consulta;
+
+        Trabajo(Consulta<T> consulta) {
+            this.consulta = consulta;
+        }
+
+        abstract void entregar(T resultado);
+
+        @Override
+        protected T doInBackground() throws Exception {
+            return consulta.ejecutar();
+        }
+
+        @Override
+        protected void done() {
+            if (this != actual || isCancelled()) {
+                return;
+            }
+            T resultado;
+            try {
+                resultado = get();
+            } catch (Exception e) {
+                finalizar(this);
+                Throwable causa = e.getCause() != null ? e.getCause() : e;
+                alFallar.accept(causa instanceof Exception ? (Exception) causa : e);
+                return;
+            }
+            entregar(resultado);
+        }
+    }
+}
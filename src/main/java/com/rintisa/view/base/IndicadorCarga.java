@@ -0,0 +1,159 @@
+package com.rintisa.view.base;
+
+import javax.swing.JComponent;
+import javax.swing.JLayer;
+import javax.swing.Timer;
+import javax.swing.UIManager;
+import javax.swing.plaf.LayerUI;
+import java.awt.AWTEvent;
+import java.awt.Color;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.event.InputEvent;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.beans.PropertyChangeEvent;
+
+/**
+ * Capa que cubre un componente (normalmente la tabla de una vista) con un
+ * velo y el texto "Cargando..." mientras hay cargas en curso, y bloquea el
+ * ratón y el teclado sobre él.
+ *
+ * El velo aparece solo si la carga dura más de RETARDO_MS, para que las
+ * consultas rápidas no produzcan un parpadeo. Varias cargas pueden compartir
+ * el indicador: se oculta cuando termina la última. Se usa en el hilo de
+ * eventos de Swing.
+ */
+public class IndicadorCarga extends LayerUI<JComponent> {
+
+    private static final int RETARDO_MS = 150;
+    private static final String PROPIEDAD = "cargando";
+
+    private final String mensaje;
+    private final Timer retardo;
+    private int enCurso;
+    private boolean visible;
+
+    public IndicadorCarga() {
+        this("Cargando...");
+    }
+
+    public IndicadorCarga(String mensaje) {
+        this.mensaje = mensaje;
+        this.retardo = new Timer(RETARDO_MS, e -> mostrar(true));
+        this.retardo.setRepeats(false);
+    }
+
+    /** Envuelve el componente para que el indicador se dibuje sobre él. */
+    public JLayer<JComponent> envolver(JComponent contenido) {
+        return new JLayer<>(contenido, this);
+    }
+
+    /** Registra el inicio de una carga. Cada llamada debe cerrarse con {@link #terminar()}. */
+    public void iniciar() {
+        if (enCurso++ == 0) {
+            retardo.restart();
+        }
+    }
+
+    public void terminar() {
+        if (enCurso == 0) {
+            return;
+        }
+        if (--enCurso == 0) {
+            retardo.stop();
+            mostrar(false);
+        }
+    }
+
+    public boolean isCargando() {
+        return enCurso > 0;
+    }
+
+    private void mostrar(boolean mostrar) {
+        if (visible != mostrar) {
+            visible = mostrar;
+            firePropertyChange(PROPIEDAD, !mostrar, mostrar);
+        }
+    }
+
+    @Override
+    public void installUI(JComponent c) {
+        super.installUI(c);
+        ((JLayer<?>) c).setLayerEventMask(AWTEvent.MOUSE_EVENT_MASK
+            | AWTEvent.MOUSE_MOTION_EVENT_MASK | AWTEvent.MOUSE_WHEEL_EVENT_MASK
+            | AWTEvent.KEY_EVENT_MASK);
+    }
+
+    @Override
+    public void uninstallUI(JComponent c) {
+        ((JLayer<?>) c).setLayerEventMask(0);
+        super.uninstallUI(c);
+    }
+
+    @Override
+    public void applyPropertyChange(PropertyChangeEvent evt, JLayer<? extends JComponent> l) {
+        if (PROPIEDAD.equals(evt.getPropertyName())) {
+            l.repaint();
+        }
+    }
+
+    @Override
+    public void paint(Graphics g, JComponent c) {
+        super.paint(g, c);
+        if (!visible) {
+            return;
+        }
+        Graphics2D g2 = (Graphics2D) g.create();
+        try {
+            Color fondo = UIManager.getColor("Panel.background");
+            if (fondo == null) {
+                fondo = Color.WHITE;
+            }
+            g2.setColor(new Color(fondo.getRed(), fondo.getGreen(), fondo.getBlue(), 170));
+            g2.fillRect(0, 0, c.getWidth(), c.getHeight());
+
+            g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING,
+                RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g2.setColor(c.getForeground());
+            FontMetrics fm = g2.getFontMetrics(c.getFont());
+            g2.setFont(c.getFont());
+            int x = (c.getWidth() - fm.stringWidth(mensaje)) / 2;
+            int y = (c.getHeight() - fm.getHeight()) / 2 + fm.getAscent();
+            g2.drawString(mensaje, x, y);
+        } finally {
+            g2.dispose();
+        }
+    }
+
+    // Mientras se ve el velo, la tabla de abajo no recibe eventos
+
+    @Override
+    protected void processMouseEvent(MouseEvent e, JLayer<? extends JComponent> l) {
+        consumirSiVisible(e);
+    }
+
+    @Override
+    protected void processMouseMotionEvent(MouseEvent e, JLayer<? extends JComponent> l) {
+        consumirSiVisible(e);
+    }
+
+    @Override
+    protected void processMouseWheelEvent(MouseWheelEvent e, JLayer<? extends JComponent> l) {
+        consumirSiVisible(e);
+    }
+
+    @Override
+    protected void processKeyEvent(KeyEvent e, JLayer<? extends JComponent> l) {
+        consumirSiVisible(e);
+    }
+
+    private void consumirSiVisible(InputEvent e) {
+        if (visible) {
+            e.consume();
+        }
+    }
+}